@@ -0,0 +1,156 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)CodecBenchmark.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.Gson;
+
+import java.util.UUID;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of request decoding and of
+ * response and content encoding, with the
+ * reflective Gson equivalents as baselines.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CodecBenchmark {
+    private final Codec codec = Codec.getInstance();
+    private final Gson gson = new Gson();
+
+    private String requestJson;
+    private Response echoResponse;
+    private Response stopResponse;
+    private Response versionResponse;
+
+    @Setup
+    public void setup() {
+        final var request = Request.getBuilder()
+                .id(UUID.randomUUID().toString())
+                .dateTime("2024-04-22T20:02:09.952Z")
+                .event(SocketEvents.ECHO)
+                .content("git status --porcelain --branch")
+                .build();
+
+        this.requestJson = this.codec.encodeRequest(request);
+
+        final var echoContent = new EchoContent();
+
+        echoContent.setMessage("Echo: git status --porcelain --branch");
+
+        final var stopContent = new StopContent();
+
+        stopContent.setMessage("Handoff daemon stopping");
+        stopContent.setPid(12345L);
+
+        final var versionContent = new VersionContent();
+
+        versionContent.setAppName("Handoff Daemon");
+        versionContent.setAppVersion(Version.VERSION);
+
+        this.echoResponse = this.buildResponse(SocketEvents.ECHO, echoContent);
+        this.stopResponse = this.buildResponse(SocketEvents.STOP, stopContent);
+        this.versionResponse = this.buildResponse(SocketEvents.VERSION, versionContent);
+    }
+
+    private Response buildResponse(final SocketEvents event, final Content content) {
+        return Response.getBuilder()
+                .id(UUID.randomUUID().toString())
+                .requestId(UUID.randomUUID().toString())
+                .sessionId(UUID.randomUUID().toString())
+                .dateTime("2024-04-22T20:02:09.952Z")
+                .event(event)
+                .content(content)
+                .code(ResponseCode.OK)
+                .build();
+    }
+
+    @Benchmark
+    public Request decodeRequest() {
+        return this.codec.decodeRequest(this.requestJson);
+    }
+
+    @Benchmark
+    public Request decodeRequestGson() {
+        return new Gson().fromJson(this.requestJson, Request.class);
+    }
+
+    @Benchmark
+    public Request decodeRequestSharedGson() {
+        return this.gson.fromJson(this.requestJson, Request.class);
+    }
+
+    @Benchmark
+    public String encodeEchoResponse() {
+        return this.codec.encodeResponse(this.echoResponse);
+    }
+
+    @Benchmark
+    public String encodeEchoResponseGson() {
+        return new Gson().toJson(this.echoResponse);
+    }
+
+    @Benchmark
+    public String encodeStopResponse() {
+        return this.codec.encodeResponse(this.stopResponse);
+    }
+
+    @Benchmark
+    public String encodeVersionResponse() {
+        return this.codec.encodeResponse(this.versionResponse);
+    }
+
+    @Benchmark
+    public String encodeVersionResponseGson() {
+        return new Gson().toJson(this.versionResponse);
+    }
+
+    @Benchmark
+    public String encodeVersionContent() {
+        return this.codec.encodeContent(this.versionResponse.getContent());
+    }
+}
@@ -0,0 +1,125 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)HandlerBenchmark.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.UUID;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the server's handler bodies
+ * driven against a stub client. The stop
+ * handler is excluded as it stops the server.
+ * The same request is sent every time, so with
+ * the idempotency cache enabled the echo and
+ * version benchmarks measure a cache hit.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HandlerBenchmark {
+    @Param({"OFF", "INFO"})
+    public String level;
+
+    @Param({"false", "true"})
+    public boolean idempotency;
+
+    private Server server;
+    private StubSocketIOClient client;
+    private String echoMessage;
+    private String versionMessage;
+
+    @Setup
+    public void setup() {
+        LogLevels.setServerLevel(this.level);
+
+        final var idempotencyConfig = new IdempotencyConfig();
+
+        idempotencyConfig.setEnabled(this.idempotency);
+
+        this.server = Server.getBuilder()
+                .hostName("localhost")
+                .port(0)
+                .idempotencyConfig(idempotencyConfig)
+                .build();
+        this.client = new StubSocketIOClient();
+
+        final var codec = Codec.getInstance();
+
+        this.echoMessage = codec.encodeRequest(Request.getBuilder()
+                .id(UUID.randomUUID().toString())
+                .dateTime("2024-04-22T20:02:09.952Z")
+                .event(SocketEvents.ECHO)
+                .content("git status --porcelain --branch")
+                .build());
+        this.versionMessage = codec.encodeRequest(Request.getBuilder()
+                .id(UUID.randomUUID().toString())
+                .dateTime("2024-04-22T20:02:09.952Z")
+                .event(SocketEvents.VERSION)
+                .build());
+    }
+
+    @Benchmark
+    public Object connect() {
+        this.server.connectEventHandler(this.client);
+
+        return this.client.getLastEventData();
+    }
+
+    @Benchmark
+    public Object echo() {
+        this.server.echoEventHandler(this.client, this.echoMessage, null);
+
+        return this.client.getLastEventData();
+    }
+
+    @Benchmark
+    public Object version() {
+        this.server.versionEventHandler(this.client, this.versionMessage, null);
+
+        return this.client.getLastEventData();
+    }
+}
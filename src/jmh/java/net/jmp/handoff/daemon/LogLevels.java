@@ -0,0 +1,55 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)LogLevels.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+
+import org.slf4j.LoggerFactory;
+
+/**
+ * A utility that sets logging levels
+ * from benchmark parameters.
+ */
+final class LogLevels {
+    private LogLevels() {
+        super();
+    }
+
+    /**
+     * Set the level of the server's logger.
+     *
+     * @param   level   java.lang.String
+     */
+    static void setServerLevel(final String level) {
+        ((Logger) LoggerFactory.getLogger(Server.class.getName())).setLevel(Level.toLevel(level));
+    }
+}
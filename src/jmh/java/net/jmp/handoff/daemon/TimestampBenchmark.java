@@ -0,0 +1,97 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TimestampBenchmark.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import java.time.format.DateTimeFormatter;
+
+import java.util.Optional;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of response timestamping and of
+ * the local date time shown in request logs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimestampBenchmark {
+    private Server server;
+
+    @Setup
+    public void setup() {
+        LogLevels.setServerLevel("OFF");
+
+        this.server = Server.getBuilder()
+                .hostName("localhost")
+                .port(0)
+                .build();
+    }
+
+    @Benchmark
+    public String getUTCDateTime() {
+        return this.server.getUTCDateTime();
+    }
+
+    @Benchmark
+    public String getUTCDateTimeFormatter() {
+        return ZonedDateTime
+                .now(ZoneOffset.UTC)
+                .format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSX"));
+    }
+
+    @Benchmark
+    public Optional<String> getLocalDateTime() {
+        return this.server.getLocalDateTime("2024-04-22T20:02:09.952Z");
+    }
+
+    @Benchmark
+    public long parseUTC() {
+        return DateTimes.parseUTC("2024-04-22T20:02:09.952Z");
+    }
+}
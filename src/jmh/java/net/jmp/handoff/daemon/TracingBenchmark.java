@@ -0,0 +1,106 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TracingBenchmark.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.UUID;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+/**
+ * Benchmarks of the cost of entry and exit
+ * tracing while it is off, guarded by the
+ * tracing switch and not. The server's logger
+ * is at the info level. Run with -Pjmh.prof=gc
+ * to see the bytes allocated per call, which
+ * for the guarded calls is none.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TracingBenchmark {
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(Server.class.getName()));
+
+    private String eventName;
+    private String sessionId;
+    private String message;
+    private long count;
+
+    @Setup
+    public void setup() {
+        LogLevels.setServerLevel("INFO");
+
+        this.eventName = SocketEvents.ECHO.getValue();
+        this.sessionId = UUID.randomUUID().toString();
+        this.message = "git status --porcelain --branch";
+    }
+
+    @Benchmark
+    public long guarded() {
+        if (Tracing.ENABLED)
+            this.logger.entry(this.eventName, this.sessionId, this.message, this.count);
+
+        this.count++;
+
+        if (Tracing.ENABLED)
+            this.logger.exit(this.count);
+
+        return this.count;
+    }
+
+    @Benchmark
+    public long unguarded() {
+        this.logger.entry(this.eventName, this.sessionId, this.message, this.count);
+
+        this.count++;
+
+        this.logger.exit(this.count);
+
+        return this.count;
+    }
+}
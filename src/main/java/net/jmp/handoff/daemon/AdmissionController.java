@@ -0,0 +1,218 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)AdmissionController.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+/**
+ * The admission controller class. It caps the
+ * requests in flight, that is queued or running,
+ * for each session and for the whole server, so
+ * that a flood is refused at once instead of
+ * being queued without bound.
+ */
+final class AdmissionController {
+    /** The least time between logged refusals in nanoseconds. */
+    private static final long LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** The number of requests in flight. */
+    private final AtomicInteger inFlightCount = new AtomicInteger();
+
+    /** The number of requests admitted. */
+    private final LongAdder admittedCount = new LongAdder();
+
+    /** The number of requests refused at the session limit. */
+    private final LongAdder sessionRefusedCount = new LongAdder();
+
+    /** The number of requests refused at the server limit. */
+    private final LongAdder serverRefusedCount = new LongAdder();
+
+    /** The time at which a refusal was last logged. */
+    private final AtomicLong lastLogNanos = new AtomicLong(System.nanoTime() - LOG_INTERVAL_NANOS);
+
+    /** The most requests in flight across all sessions; 0 for no limit. */
+    private final int maxInFlight;
+
+    /** The most requests in flight for one session; 0 for no limit. */
+    private final int maxSessionInFlight;
+
+    /** The time a refused client is told to wait before retrying in milliseconds. */
+    private final long retryAfterMillis;
+
+    /**
+     * The constructor.
+     *
+     * @param   executionConfig net.jmp.handoff.daemon.ExecutionConfig
+     */
+    AdmissionController(final ExecutionConfig executionConfig) {
+        super();
+
+        if (executionConfig.getMaxInFlight() < 0 || executionConfig.getMaxSessionInFlight() < 0)
+            throw new IllegalArgumentException("The in-flight limits must not be negative");
+
+        if (executionConfig.getRetryAfterMillis() < 0)
+            throw new IllegalArgumentException("The retry-after time must not be negative");
+
+        this.maxInFlight = executionConfig.getMaxInFlight();
+        this.maxSessionInFlight = executionConfig.getMaxSessionInFlight();
+        this.retryAfterMillis = executionConfig.getRetryAfterMillis();
+    }
+
+    /**
+     * Try to admit a request for a session. An
+     * admitted request must be released when it
+     * is finished.
+     *
+     * @param   session net.jmp.handoff.daemon.Session
+     * @return          java.lang.String    Null if admitted, otherwise the reason it was not
+     */
+    String tryAdmit(final Session session) {
+        if (this.inFlightCount.incrementAndGet() > this.maxInFlight && this.maxInFlight > 0) {
+            this.inFlightCount.decrementAndGet();
+            this.serverRefusedCount.increment();
+            this.logRefusal();
+
+            return "The server has " + this.maxInFlight + " requests in flight";
+        }
+
+        if (session.incrementInFlight() > this.maxSessionInFlight && this.maxSessionInFlight > 0) {
+            session.decrementInFlight();
+            this.inFlightCount.decrementAndGet();
+            this.sessionRefusedCount.increment();
+            this.logRefusal();
+
+            return "The session has " + this.maxSessionInFlight + " requests in flight";
+        }
+
+        this.admittedCount.increment();
+
+        return null;
+    }
+
+    /**
+     * Release an admitted request.
+     *
+     * @param   session net.jmp.handoff.daemon.Session
+     */
+    void release(final Session session) {
+        session.decrementInFlight();
+
+        this.inFlightCount.decrementAndGet();
+    }
+
+    /**
+     * Get the time a refused client is told
+     * to wait before retrying.
+     *
+     * @return  long
+     */
+    long getRetryAfterMillis() {
+        return this.retryAfterMillis;
+    }
+
+    /**
+     * Return the number of requests in flight.
+     *
+     * @return  int
+     */
+    int getInFlightCount() {
+        return this.inFlightCount.get();
+    }
+
+    /**
+     * Return the number of requests admitted.
+     *
+     * @return  long
+     */
+    long getAdmittedCount() {
+        return this.admittedCount.sum();
+    }
+
+    /**
+     * Return the number of requests
+     * refused at the session limit.
+     *
+     * @return  long
+     */
+    long getSessionRefusedCount() {
+        return this.sessionRefusedCount.sum();
+    }
+
+    /**
+     * Return the number of requests
+     * refused at the server limit.
+     *
+     * @return  long
+     */
+    long getServerRefusedCount() {
+        return this.serverRefusedCount.sum();
+    }
+
+    /**
+     * Log the counters, at most once a
+     * second so that a flood of refusals
+     * does not become a flood of logging.
+     */
+    private void logRefusal() {
+        final var now = System.nanoTime();
+        final var last = this.lastLogNanos.get();
+
+        if (now - last >= LOG_INTERVAL_NANOS && this.lastLogNanos.compareAndSet(last, now))
+            this.logger.warn("Overloaded: {}", this);
+    }
+
+    /**
+     * The overridden to-string method.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    public String toString() {
+        return String.format("%d admitted, %d refused at the session limit of %d, %d refused at the server limit of %d, %d in flight",
+                this.getAdmittedCount(),
+                this.getSessionRefusedCount(),
+                this.maxSessionInFlight,
+                this.getServerRefusedCount(),
+                this.maxInFlight,
+                this.getInFlightCount());
+    }
+}
@@ -0,0 +1,85 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)BinaryContent.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * The content of a response to a binary event.
+ * The payload itself travels as a binary
+ * attachment; only its length is in the JSON.
+ */
+final class BinaryContent extends Content {
+    /** The type. It is typically 'Binary'. */
+    @SerializedName("type")
+    private final String type;
+
+    /** The length of the binary payload in bytes. */
+    @SerializedName("length")
+    private long length;
+
+    /**
+     * The default constructor.
+     */
+    BinaryContent() {
+        super();
+
+        this.type = "Binary";
+    }
+
+    /**
+     * Get the type.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    String getType() {
+        return this.type;
+    }
+
+    /**
+     * Get the length of the binary payload.
+     *
+     * @return  long
+     */
+    long getLength() {
+        return this.length;
+    }
+
+    /**
+     * Set the length of the binary payload.
+     *
+     * @param   length  long
+     */
+    void setLength(final long length) {
+        this.length = length;
+    }
+}
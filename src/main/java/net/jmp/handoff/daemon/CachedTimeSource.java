@@ -0,0 +1,152 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)CachedTimeSource.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.nio.charset.StandardCharsets;
+
+import java.time.Clock;
+
+/**
+ * A time source that caches the formatted
+ * timestamp. It is reformatted at most once
+ * per millisecond; all other calls return the
+ * cached string and bytes without allocating.
+ */
+final class CachedTimeSource implements TimeSource {
+    /** The clock. */
+    private final Clock clock;
+
+    /** The most recently formatted timestamp. */
+    private volatile Timestamp timestamp;
+
+    /**
+     * The default constructor. It uses
+     * the system UTC clock.
+     */
+    CachedTimeSource() {
+        this(Clock.systemUTC());
+    }
+
+    /**
+     * The constructor.
+     *
+     * @param   clock   java.time.Clock
+     */
+    CachedTimeSource(final Clock clock) {
+        super();
+
+        this.clock = clock;
+        this.timestamp = new Timestamp(clock.millis());
+    }
+
+    /**
+     * Get the current time in milliseconds
+     * since the epoch.
+     *
+     * @return  long
+     */
+    @Override
+    public long currentTimeMillis() {
+        return this.clock.millis();
+    }
+
+    /**
+     * Get the current UTC date time expressed
+     * in ISO-8601.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    public String getUTCDateTime() {
+        return this.getTimestamp().text;
+    }
+
+    /**
+     * Get the UTF-8 bytes of the current UTC
+     * date time expressed in ISO-8601.
+     *
+     * @return  byte[]
+     */
+    @Override
+    public byte[] getUTCDateTimeBytes() {
+        return this.getTimestamp().bytes;
+    }
+
+    /**
+     * Get the timestamp for the current
+     * millisecond, refreshing it if the
+     * clock has moved on.
+     *
+     * @return  net.jmp.handoff.daemon.CachedTimeSource.Timestamp
+     */
+    private Timestamp getTimestamp() {
+        final var millis = this.clock.millis();
+
+        var current = this.timestamp;
+
+        if (current.millis != millis) {
+            current = new Timestamp(millis);
+
+            this.timestamp = current;
+        }
+
+        return current;
+    }
+
+    /**
+     * An immutable formatted timestamp. A racing
+     * refresh simply replaces one complete
+     * instance with another.
+     */
+    private static final class Timestamp {
+        /** The milliseconds since the epoch. */
+        private final long millis;
+
+        /** The formatted timestamp. */
+        private final String text;
+
+        /** The UTF-8 bytes of the formatted timestamp. */
+        private final byte[] bytes;
+
+        /**
+         * The constructor.
+         *
+         * @param   millis  long
+         */
+        private Timestamp(final long millis) {
+            super();
+
+            this.millis = millis;
+            this.text = DateTimes.formatUTC(millis);
+            this.bytes = this.text.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+}
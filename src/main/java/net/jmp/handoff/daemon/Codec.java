@@ -0,0 +1,349 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)Codec.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The codec class. It encodes and decodes the
+ * daemon's messages with hand-written streaming
+ * type adapters. A single instance is shared.
+ */
+final class Codec {
+    /** The shared instance. */
+    private static final Codec INSTANCE = new Codec();
+
+    /** The characters that JSON string values must escape, including those escaped for HTML safety. */
+    private static final String ESCAPED_CHARACTERS = "\"\\<>&='\u2028\u2029";
+
+    /** The request type adapter. */
+    private final TypeAdapter<Request> requestAdapter;
+
+    /** The content type adapter. */
+    private final TypeAdapter<Content> contentAdapter;
+
+    /** The response type adapter. */
+    private final TypeAdapter<Response> responseAdapter;
+
+    /**
+     * The constructor.
+     */
+    private Codec() {
+        super();
+
+        this.requestAdapter = new RequestTypeAdapter();
+        this.contentAdapter = new ContentTypeAdapter();
+        this.responseAdapter = new ResponseTypeAdapter(this.contentAdapter);
+    }
+
+    /**
+     * Get the shared instance.
+     *
+     * @return  net.jmp.handoff.daemon.Codec
+     */
+    static Codec getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Decode a request.
+     *
+     * @param   json    java.lang.String
+     * @return          net.jmp.handoff.daemon.Request
+     */
+    Request decodeRequest(final String json) {
+        return this.decode(json, this.requestAdapter);
+    }
+
+    /**
+     * Encode a request.
+     *
+     * @param   request net.jmp.handoff.daemon.Request
+     * @return          java.lang.String
+     */
+    String encodeRequest(final Request request) {
+        return this.encode(request, this.requestAdapter);
+    }
+
+    /**
+     * Decode an array of requests. Each element
+     * is decoded on its own, so an element that
+     * is not a valid request decodes to null
+     * without failing the others. A document
+     * that is not an array fails as a whole.
+     *
+     * @param   json    java.lang.String
+     * @return          java.util.List&lt;net.jmp.handoff.daemon.Request&gt;
+     */
+    List<Request> decodeRequests(final String json) {
+        if (json == null)
+            return null;
+
+        final var reader = new JsonReader(new StringReader(json));
+
+        reader.setLenient(true);
+
+        try {
+            if (reader.peek() == JsonToken.NULL)
+                return null;
+
+            final var requests = new ArrayList<Request>();
+
+            reader.beginArray();
+
+            while (reader.hasNext())
+                requests.add(this.decodeElement(reader));
+
+            reader.endArray();
+
+            return requests;
+        } catch (final EOFException eofe) {
+            if (json.isBlank())
+                return null;
+
+            throw new JsonSyntaxException(eofe);
+        } catch (final MalformedJsonException | IllegalStateException | NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        } catch (final IOException ioe) {
+            throw new JsonIOException(ioe);
+        }
+    }
+
+    /**
+     * Encode a list of responses as an array.
+     *
+     * @param   responses   java.util.List&lt;net.jmp.handoff.daemon.Response&gt;
+     * @return              java.lang.String
+     */
+    String encodeResponses(final List<Response> responses) {
+        final var stringWriter = new StringWriter(256 * responses.size() + 2);
+        final var writer = new JsonWriter(stringWriter);
+
+        writer.setHtmlSafe(true);
+        writer.setSerializeNulls(false);
+
+        try {
+            writer.beginArray();
+
+            for (final var response : responses)
+                this.responseAdapter.write(writer, response);
+
+            writer.endArray();
+        } catch (final IOException ioe) {
+            throw new JsonIOException(ioe);
+        }
+
+        return stringWriter.toString();
+    }
+
+    /**
+     * Decode the next element of an array of
+     * requests. The element is read as a tree
+     * first so that a malformed request leaves
+     * the reader positioned at the next one.
+     *
+     * @param   reader  com.google.gson.stream.JsonReader
+     * @return          net.jmp.handoff.daemon.Request
+     * @throws          java.io.IOException
+     */
+    private Request decodeElement(final JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+
+            return null;
+        }
+
+        final var element = JsonParser.parseReader(reader);
+
+        try {
+            return this.requestAdapter.fromJsonTree(element);
+        } catch (final JsonParseException | IllegalStateException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Decode a response.
+     *
+     * @param   json    java.lang.String
+     * @return          net.jmp.handoff.daemon.Response
+     */
+    Response decodeResponse(final String json) {
+        return this.decode(json, this.responseAdapter);
+    }
+
+    /**
+     * Encode a response.
+     *
+     * @param   response    net.jmp.handoff.daemon.Response
+     * @return              java.lang.String
+     */
+    String encodeResponse(final Response response) {
+        return this.encode(response, this.responseAdapter);
+    }
+
+    /**
+     * Encode content.
+     *
+     * @param   content net.jmp.handoff.daemon.Content
+     * @return          java.lang.String
+     */
+    String encodeContent(final Content content) {
+        return this.encode(content, this.contentAdapter);
+    }
+
+    /**
+     * Append a string value as a quoted JSON
+     * string, escaped as the encoder would,
+     * or null.
+     *
+     * @param   builder java.lang.StringBuilder
+     * @param   value   java.lang.String
+     */
+    static void appendString(final StringBuilder builder, final String value) {
+        if (value == null) {
+            builder.append("null");
+
+            return;
+        }
+
+        if (isEscapeFree(value)) {
+            builder.append('"').append(value).append('"');
+
+            return;
+        }
+
+        final var stringWriter = new StringWriter(value.length() + 16);
+        final var writer = new JsonWriter(stringWriter);
+
+        writer.setHtmlSafe(true);
+
+        try {
+            writer.value(value);
+        } catch (final IOException ioe) {
+            throw new JsonIOException(ioe);
+        }
+
+        builder.append(stringWriter);
+    }
+
+    /**
+     * Return true if a string value can be
+     * written without escaping.
+     *
+     * @param   value   java.lang.String
+     * @return          boolean
+     */
+    private static boolean isEscapeFree(final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            final var c = value.charAt(i);
+
+            if (c < 0x20 || ESCAPED_CHARACTERS.indexOf(c) >= 0)
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Decode a value. As with Gson, an empty
+     * document decodes to null.
+     *
+     * @param   <T>     The type of value
+     * @param   json    java.lang.String
+     * @param   adapter com.google.gson.TypeAdapter&lt;T&gt;
+     * @return          T
+     */
+    private <T> T decode(final String json, final TypeAdapter<T> adapter) {
+        if (json == null)
+            return null;
+
+        final var reader = new JsonReader(new StringReader(json));
+
+        reader.setLenient(true);
+
+        try {
+            return adapter.read(reader);
+        } catch (final EOFException eofe) {
+            if (json.isBlank())
+                return null;
+
+            throw new JsonSyntaxException(eofe);
+        } catch (final MalformedJsonException | IllegalStateException | NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        } catch (final IOException ioe) {
+            throw new JsonIOException(ioe);
+        }
+    }
+
+    /**
+     * Encode a value. The output matches that
+     * of a default Gson instance: nulls are
+     * omitted and HTML characters are escaped.
+     *
+     * @param   <T>     The type of value
+     * @param   value   T
+     * @param   adapter com.google.gson.TypeAdapter&lt;T&gt;
+     * @return          java.lang.String
+     */
+    private <T> String encode(final T value, final TypeAdapter<T> adapter) {
+        final var stringWriter = new StringWriter(256);
+        final var writer = new JsonWriter(stringWriter);
+
+        writer.setHtmlSafe(true);
+        writer.setSerializeNulls(false);
+
+        try {
+            adapter.write(writer, value);
+        } catch (final IOException ioe) {
+            throw new JsonIOException(ioe);
+        }
+
+        return stringWriter.toString();
+    }
+}
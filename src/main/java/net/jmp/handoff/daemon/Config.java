@@ -1,10 +1,11 @@
 package net.jmp.handoff.daemon;
 
 /*
+ * (#)Config.java   0.8.0   10/18/2026
  * (#)Config.java   0.4.0   04/12/2024
  *
  * @author    Jonathan Parker
- * @version   0.4.0
+ * @version   0.8.0
  * @since     0.4.0
  *
  * MIT License
@@ -44,6 +45,38 @@ public class Config {
     @SerializedName("port")
     private int port;
 
+    /** The identifier generator, one of 'uuid-v7', 'uuid-v4' or 'counter'. */
+    @SerializedName("idGenerator")
+    private String idGenerator;
+
+    /** The transport settings. */
+    @SerializedName("transport")
+    private TransportConfig transport;
+
+    /** The handler execution settings. */
+    @SerializedName("execution")
+    private ExecutionConfig execution;
+
+    /** The idempotency settings. */
+    @SerializedName("idempotency")
+    private IdempotencyConfig idempotency;
+
+    /** The metrics settings. */
+    @SerializedName("metrics")
+    private MetricsConfig metrics;
+
+    /** The flight recorder settings. */
+    @SerializedName("flightRecorder")
+    private FlightRecorderConfig flightRecorder;
+
+    /** The request log settings. */
+    @SerializedName("requestLog")
+    private RequestLogConfig requestLog;
+
+    /** The stall detector settings. */
+    @SerializedName("stallDetector")
+    private StallDetectorConfig stallDetector;
+
     /**
      * Get the host name.
      *
@@ -79,4 +112,162 @@ public class Config {
     void setPort(final int port) {
         this.port = port;
     }
+
+    /**
+     * Get the identifier generator.
+     *
+     * @return  java.lang.String
+     */
+    String getIdGenerator() {
+        return this.idGenerator;
+    }
+
+    /**
+     * Set the identifier generator.
+     *
+     * @param   idGenerator java.lang.String
+     */
+    void setIdGenerator(final String idGenerator) {
+        this.idGenerator = idGenerator;
+    }
+
+    /**
+     * Get the transport settings. When the
+     * configuration has none the defaults
+     * are returned.
+     *
+     * @return  net.jmp.handoff.daemon.TransportConfig
+     */
+    TransportConfig getTransport() {
+        return (this.transport != null) ? this.transport : new TransportConfig();
+    }
+
+    /**
+     * Set the transport settings.
+     *
+     * @param   transport   net.jmp.handoff.daemon.TransportConfig
+     */
+    void setTransport(final TransportConfig transport) {
+        this.transport = transport;
+    }
+
+    /**
+     * Get the handler execution settings. When
+     * the configuration has none the defaults
+     * are returned.
+     *
+     * @return  net.jmp.handoff.daemon.ExecutionConfig
+     */
+    ExecutionConfig getExecution() {
+        return (this.execution != null) ? this.execution : new ExecutionConfig();
+    }
+
+    /**
+     * Set the handler execution settings.
+     *
+     * @param   execution   net.jmp.handoff.daemon.ExecutionConfig
+     */
+    void setExecution(final ExecutionConfig execution) {
+        this.execution = execution;
+    }
+
+    /**
+     * Get the idempotency settings. When the
+     * configuration has none the defaults
+     * are returned.
+     *
+     * @return  net.jmp.handoff.daemon.IdempotencyConfig
+     */
+    IdempotencyConfig getIdempotency() {
+        return (this.idempotency != null) ? this.idempotency : new IdempotencyConfig();
+    }
+
+    /**
+     * Set the idempotency settings.
+     *
+     * @param   idempotency net.jmp.handoff.daemon.IdempotencyConfig
+     */
+    void setIdempotency(final IdempotencyConfig idempotency) {
+        this.idempotency = idempotency;
+    }
+
+    /**
+     * Get the metrics settings. When the
+     * configuration has none the defaults
+     * are returned.
+     *
+     * @return  net.jmp.handoff.daemon.MetricsConfig
+     */
+    MetricsConfig getMetrics() {
+        return (this.metrics != null) ? this.metrics : new MetricsConfig();
+    }
+
+    /**
+     * Set the metrics settings.
+     *
+     * @param   metrics net.jmp.handoff.daemon.MetricsConfig
+     */
+    void setMetrics(final MetricsConfig metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Get the flight recorder settings. When
+     * the configuration has none the defaults
+     * are returned.
+     *
+     * @return  net.jmp.handoff.daemon.FlightRecorderConfig
+     */
+    FlightRecorderConfig getFlightRecorder() {
+        return (this.flightRecorder != null) ? this.flightRecorder : new FlightRecorderConfig();
+    }
+
+    /**
+     * Set the flight recorder settings.
+     *
+     * @param   flightRecorder  net.jmp.handoff.daemon.FlightRecorderConfig
+     */
+    void setFlightRecorder(final FlightRecorderConfig flightRecorder) {
+        this.flightRecorder = flightRecorder;
+    }
+
+    /**
+     * Get the request log settings. When
+     * the configuration has none the defaults
+     * are returned.
+     *
+     * @return  net.jmp.handoff.daemon.RequestLogConfig
+     */
+    RequestLogConfig getRequestLog() {
+        return (this.requestLog != null) ? this.requestLog : new RequestLogConfig();
+    }
+
+    /**
+     * Set the request log settings.
+     *
+     * @param   requestLog  net.jmp.handoff.daemon.RequestLogConfig
+     */
+    void setRequestLog(final RequestLogConfig requestLog) {
+        this.requestLog = requestLog;
+    }
+
+    /**
+     * Get the stall detector settings. When
+     * the configuration has none the defaults
+     * are returned.
+     *
+     * @return  net.jmp.handoff.daemon.StallDetectorConfig
+     */
+    StallDetectorConfig getStallDetector() {
+        return (this.stallDetector != null) ? this.stallDetector : new StallDetectorConfig();
+    }
+
+    /**
+     * Set the stall detector settings.
+     *
+     * @param   stallDetector   net.jmp.handoff.daemon.StallDetectorConfig
+     */
+    void setStallDetector(final StallDetectorConfig stallDetector) {
+        this.stallDetector = stallDetector;
+    }
 }
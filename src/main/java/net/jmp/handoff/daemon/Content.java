@@ -1,10 +1,11 @@
 package net.jmp.handoff.daemon;
 
 /*
+ * (#)Content.java  0.8.0   10/18/2026
  * (#)Content.java  0.6.0   04/20/2024
  *
  * @author    Jonathan Parker
- * @version   0.6.0
+ * @version   0.8.0
  * @since     0.6.0
  *
  * MIT License
@@ -30,6 +31,9 @@ package net.jmp.handoff.daemon;
  * SOFTWARE.
  */
 
+/**
+ * The base class of all response content.
+ */
 abstract class Content {
     /**
      * The default constructor.
@@ -37,4 +41,12 @@ abstract class Content {
     Content() {
         super();
     }
+
+    /**
+     * Get the type. It discriminates the
+     * concrete content class when decoding.
+     *
+     * @return  java.lang.String
+     */
+    abstract String getType();
 }
@@ -0,0 +1,284 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)ContentTypeAdapter.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A streaming type adapter for the content
+ * subclasses. The concrete class is selected
+ * by the 'type' property instead of by reflection.
+ */
+final class ContentTypeAdapter extends TypeAdapter<Content> {
+    /**
+     * The default constructor.
+     */
+    ContentTypeAdapter() {
+        super();
+    }
+
+    /**
+     * Write the content.
+     *
+     * @param   out     com.google.gson.stream.JsonWriter
+     * @param   content net.jmp.handoff.daemon.Content
+     * @throws  java.io.IOException
+     */
+    @Override
+    public void write(final JsonWriter out, final Content content) throws IOException {
+        if (content == null) {
+            out.nullValue();
+
+            return;
+        }
+
+        out.beginObject();
+        out.name("type").value(content.getType());
+
+        switch (content) {
+            case EchoContent echoContent -> out.name("message").value(echoContent.getMessage());
+            case StopContent stopContent -> {
+                out.name("pid").value(stopContent.getPid());
+                out.name("message").value(stopContent.getMessage());
+            }
+            case VersionContent versionContent -> {
+                out.name("name").value(versionContent.getAppName());
+                out.name("version").value(versionContent.getAppVersion());
+            }
+            case BinaryContent binaryContent -> out.name("length").value(binaryContent.getLength());
+            case ErrorContent errorContent -> out.name("message").value(errorContent.getMessage());
+            case MessageContent messageContent -> out.name("message").value(messageContent.getMessage());
+            case OverloadContent overloadContent -> {
+                out.name("message").value(overloadContent.getMessage());
+                out.name("retryAfterMillis").value(overloadContent.getRetryAfterMillis());
+            }
+            case RoomContent roomContent -> {
+                out.name("room").value(roomContent.getRoom());
+                out.name("message").value(roomContent.getMessage());
+                out.name("members").value(roomContent.getMembers());
+            }
+            case RecordingContent recordingContent -> {
+                out.name("recording").value(recordingContent.isRecording());
+                out.name("path").value(recordingContent.getPath());
+            }
+            case StatsContent statsContent -> {
+                out.name("metrics").beginObject();
+
+                for (final var metric : statsContent.getMetrics().entrySet())
+                    out.name(metric.getKey()).value(metric.getValue());
+
+                out.endObject();
+            }
+            default -> throw new IllegalArgumentException("Unsupported content type: " + content.getType());
+        }
+
+        out.endObject();
+    }
+
+    /**
+     * Read the content.
+     *
+     * @param   in  com.google.gson.stream.JsonReader
+     * @return      net.jmp.handoff.daemon.Content
+     * @throws      java.io.IOException
+     */
+    @Override
+    public Content read(final JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+
+            return null;
+        }
+
+        String type = null;
+        String message = null;
+        String appName = null;
+        String appVersion = null;
+        long pid = 0;
+        long length = 0;
+        long retryAfterMillis = 0;
+        String room = null;
+        int members = 0;
+        Map<String, Number> metrics = null;
+        boolean recording = false;
+        String path = null;
+
+        in.beginObject();
+
+        while (in.hasNext()) {
+            final var name = in.nextName();
+
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+
+                continue;
+            }
+
+            switch (name) {
+                case "type" -> type = in.nextString();
+                case "message" -> message = in.nextString();
+                case "name" -> appName = in.nextString();
+                case "version" -> appVersion = in.nextString();
+                case "pid" -> pid = in.nextLong();
+                case "length" -> length = in.nextLong();
+                case "retryAfterMillis" -> retryAfterMillis = in.nextLong();
+                case "room" -> room = in.nextString();
+                case "members" -> members = in.nextInt();
+                case "metrics" -> metrics = readMetrics(in);
+                case "recording" -> recording = in.nextBoolean();
+                case "path" -> path = in.nextString();
+                default -> in.skipValue();
+            }
+        }
+
+        in.endObject();
+
+        return switch (type) {
+            case "Echo" -> {
+                final var content = new EchoContent();
+
+                content.setMessage(message);
+
+                yield content;
+            }
+            case "Stop" -> {
+                final var content = new StopContent();
+
+                content.setPid(pid);
+                content.setMessage(message);
+
+                yield content;
+            }
+            case "Version" -> {
+                final var content = new VersionContent();
+
+                content.setAppName(appName);
+                content.setAppVersion(appVersion);
+
+                yield content;
+            }
+            case "Binary" -> {
+                final var content = new BinaryContent();
+
+                content.setLength(length);
+
+                yield content;
+            }
+            case "Error" -> {
+                final var content = new ErrorContent();
+
+                content.setMessage(message);
+
+                yield content;
+            }
+            case "Message" -> {
+                final var content = new MessageContent();
+
+                content.setMessage(message);
+
+                yield content;
+            }
+            case "Overload" -> {
+                final var content = new OverloadContent();
+
+                content.setMessage(message);
+                content.setRetryAfterMillis(retryAfterMillis);
+
+                yield content;
+            }
+            case "Room" -> {
+                final var content = new RoomContent();
+
+                content.setRoom(room);
+                content.setMessage(message);
+                content.setMembers(members);
+
+                yield content;
+            }
+            case "Recording" -> {
+                final var content = new RecordingContent();
+
+                content.setRecording(recording);
+                content.setPath(path);
+
+                yield content;
+            }
+            case "Stats" -> {
+                final var content = new StatsContent();
+
+                if (metrics != null)
+                    content.setMetrics(metrics);
+
+                yield content;
+            }
+            case null, default -> throw new JsonSyntaxException("Unsupported content type: " + type);
+        };
+    }
+
+    /**
+     * Read the metrics of stats content. A
+     * whole number is read as a long and any
+     * other as a double.
+     *
+     * @param   in  com.google.gson.stream.JsonReader
+     * @return      java.util.Map&lt;java.lang.String, java.lang.Number&gt;
+     * @throws      java.io.IOException
+     */
+    private static Map<String, Number> readMetrics(final JsonReader in) throws IOException {
+        final var metrics = new LinkedHashMap<String, Number>();
+
+        in.beginObject();
+
+        while (in.hasNext()) {
+            final var name = in.nextName();
+            final var value = in.nextString();
+
+            if (value.indexOf('.') < 0 && value.indexOf('e') < 0 && value.indexOf('E') < 0)
+                metrics.put(name, Long.parseLong(value));
+            else
+                metrics.put(name, Double.parseDouble(value));
+        }
+
+        in.endObject();
+
+        return metrics;
+    }
+}
@@ -0,0 +1,78 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)CounterIdGenerator.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.UUID;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A generator of monotonic counter-based
+ * identifiers in the form of version 8 UUIDs.
+ * The most significant bits hold the start
+ * time and a random node value; the least
+ * significant bits hold a counter.
+ */
+final class CounterIdGenerator implements IdGenerator {
+    /** The most significant bits shared by every identifier. */
+    private final long mostSigBits;
+
+    /** The counter. */
+    private final AtomicLong counter = new AtomicLong();
+
+    /**
+     * The constructor.
+     *
+     * @param   timeSource  net.jmp.handoff.daemon.TimeSource
+     */
+    CounterIdGenerator(final TimeSource timeSource) {
+        super();
+
+        this.mostSigBits = ((timeSource.currentTimeMillis() & 0xFFFF_FFFF_FFFFL) << 16)
+                | 0x8000L
+                | (ThreadLocalRandom.current().nextInt() & 0x0FFFL);
+    }
+
+    /**
+     * Return the next identifier.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    public String nextId() {
+        final var leastSigBits = (this.counter.incrementAndGet() & 0x3FFF_FFFF_FFFF_FFFFL)
+                | 0x8000_0000_0000_0000L;
+
+        return new UUID(this.mostSigBits, leastSigBits).toString();
+    }
+}
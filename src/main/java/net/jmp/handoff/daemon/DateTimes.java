@@ -0,0 +1,237 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)DateTimes.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Thread-safe formatting and parsing of UTC
+ * timestamps expressed in ISO-8601 with
+ * millisecond precision. The common fixed-width
+ * form is handled by hand without allocation;
+ * anything else falls back to java.time.
+ */
+final class DateTimes {
+    /** The value returned when a date time cannot be parsed. */
+    static final long INVALID = Long.MIN_VALUE;
+
+    /** The length of a fixed-width timestamp, i.e. 2024-04-22T20:02:09.952Z. */
+    private static final int LENGTH = 24;
+
+    /** The milliseconds in a day. */
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    /** The formatter used outside of the years 0 through 9999. */
+    private static final DateTimeFormatter FALLBACK_FORMATTER = DateTimeFormatter
+            .ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSX")
+            .withZone(ZoneOffset.UTC);
+
+    /**
+     * The constructor.
+     */
+    private DateTimes() {
+        super();
+    }
+
+    /**
+     * Format milliseconds since the epoch as
+     * a UTC date time expressed in ISO-8601.
+     *
+     * @param   millis  long
+     * @return          java.lang.String
+     */
+    static String formatUTC(final long millis) {
+        final var days = Math.floorDiv(millis, MILLIS_PER_DAY);
+        final var millisOfDay = (int) Math.floorMod(millis, MILLIS_PER_DAY);
+
+        // Civil date from days since the epoch (H. Hinnant)
+
+        final var z = days + 719_468;
+        final var era = Math.floorDiv(z, 146_097);
+        final var dayOfEra = z - era * 146_097;
+        final var yearOfEra = (dayOfEra - dayOfEra / 1_460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        final var dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        final var mp = (5 * dayOfYear + 2) / 153;
+        final var day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        final var month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        final var year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        if (year < 0 || year > 9999)
+            return FALLBACK_FORMATTER.format(Instant.ofEpochMilli(millis));
+
+        final var chars = new char[LENGTH];
+
+        put(chars, 0, (int) year, 4);
+        chars[4] = '-';
+        put(chars, 5, month, 2);
+        chars[7] = '-';
+        put(chars, 8, day, 2);
+        chars[10] = 'T';
+        put(chars, 11, millisOfDay / 3_600_000, 2);
+        chars[13] = ':';
+        put(chars, 14, millisOfDay / 60_000 % 60, 2);
+        chars[16] = ':';
+        put(chars, 17, millisOfDay / 1_000 % 60, 2);
+        chars[19] = '.';
+        put(chars, 20, millisOfDay % 1_000, 3);
+        chars[23] = 'Z';
+
+        return new String(chars);
+    }
+
+    /**
+     * Parse a UTC date time expressed in ISO-8601
+     * into milliseconds since the epoch.
+     *
+     * @param   dateTime    java.lang.String
+     * @return              long, or INVALID if the date time cannot be parsed
+     */
+    static long parseUTC(final String dateTime) {
+        if (dateTime == null)
+            return INVALID;
+
+        final var millis = parseFixed(dateTime);
+
+        if (millis != INVALID)
+            return millis;
+
+        try {
+            return Instant.parse(dateTime).toEpochMilli();
+        } catch (final DateTimeParseException | ArithmeticException e) {
+            return INVALID;
+        }
+    }
+
+    /**
+     * Parse the fixed-width form.
+     *
+     * @param   dateTime    java.lang.String
+     * @return              long, or INVALID if the date time is not in the fixed-width form
+     */
+    private static long parseFixed(final String dateTime) {
+        if (dateTime.length() != LENGTH
+                || dateTime.charAt(4) != '-'
+                || dateTime.charAt(7) != '-'
+                || dateTime.charAt(10) != 'T'
+                || dateTime.charAt(13) != ':'
+                || dateTime.charAt(16) != ':'
+                || dateTime.charAt(19) != '.'
+                || dateTime.charAt(23) != 'Z')
+            return INVALID;
+
+        final var year = digits(dateTime, 0, 4);
+        final var month = digits(dateTime, 5, 2);
+        final var day = digits(dateTime, 8, 2);
+        final var hour = digits(dateTime, 11, 2);
+        final var minute = digits(dateTime, 14, 2);
+        final var second = digits(dateTime, 17, 2);
+        final var millisecond = digits(dateTime, 20, 3);
+
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59
+                || second < 0 || second > 59 || millisecond < 0)
+            return INVALID;
+
+        // Days since the epoch from a civil date (H. Hinnant)
+
+        final var y = (long) (month <= 2 ? year - 1 : year);
+        final var era = Math.floorDiv(y, 400);
+        final var yearOfEra = y - era * 400;
+        final var dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        final var dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        final var days = era * 146_097 + dayOfEra - 719_468;
+
+        return days * MILLIS_PER_DAY
+                + hour * 3_600_000L
+                + minute * 60_000L
+                + second * 1_000L
+                + millisecond;
+    }
+
+    /**
+     * Return the number of days in a month.
+     *
+     * @param   year    int
+     * @param   month   int
+     * @return          int
+     */
+    private static int daysInMonth(final int year, final int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    /**
+     * Parse a run of decimal digits.
+     *
+     * @param   text    java.lang.String
+     * @param   offset  int
+     * @param   count   int
+     * @return          int, or -1 if a character is not a digit
+     */
+    private static int digits(final String text, final int offset, final int count) {
+        int value = 0;
+
+        for (int i = offset; i < offset + count; i++) {
+            final var c = text.charAt(i);
+
+            if (c < '0' || c > '9')
+                return -1;
+
+            value = value * 10 + (c - '0');
+        }
+
+        return value;
+    }
+
+    /**
+     * Put a zero-padded decimal number.
+     *
+     * @param   chars   char[]
+     * @param   offset  int
+     * @param   value   int
+     * @param   count   int
+     */
+    private static void put(final char[] chars, final int offset, final int value, final int count) {
+        var remaining = value;
+
+        for (int i = offset + count - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+    }
+}
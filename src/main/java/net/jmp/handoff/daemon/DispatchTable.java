@@ -0,0 +1,186 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)DispatchTable.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The dispatch table. It is built once at startup
+ * and maps each event to its slot. The daemon's
+ * own events occupy the slots indexed by their
+ * ordinal in the socket events enumeration; the
+ * events of handler services follow them.
+ */
+final class DispatchTable {
+    /** The slots indexed by slot index; null where an event has no handler. */
+    private final EventSlot[] slots;
+
+    /** The slots in index order without the gaps. */
+    private final List<EventSlot> slotList;
+
+    /** The slots by event name. */
+    private final Map<String, EventSlot> slotsByEvent;
+
+    /**
+     * A constructor that takes a builder.
+     *
+     * @param   builder net.jmp.handoff.daemon.DispatchTable.DispatchTableBuilder
+     */
+    private DispatchTable(final DispatchTableBuilder builder) {
+        super();
+
+        this.slots = builder.slots.toArray(new EventSlot[0]);
+        this.slotList = Arrays.stream(this.slots).filter(Objects::nonNull).toList();
+        this.slotsByEvent = new HashMap<>();
+
+        this.slotList.forEach(slot -> this.slotsByEvent.put(slot.getEvent(), slot));
+    }
+
+    /**
+     * Get the builder.
+     *
+     * @return  net.jmp.handoff.daemon.DispatchTable.DispatchTableBuilder
+     */
+    static DispatchTableBuilder getBuilder() {
+        return new DispatchTableBuilder();
+    }
+
+    /**
+     * Get the slot of one of the daemon's own events.
+     *
+     * @param   event   net.jmp.handoff.daemon.SocketEvents
+     * @return          net.jmp.handoff.daemon.EventSlot
+     */
+    EventSlot get(final SocketEvents event) {
+        return this.slots[event.ordinal()];
+    }
+
+    /**
+     * Get the slot of an event by name.
+     *
+     * @param   event   java.lang.String
+     * @return          net.jmp.handoff.daemon.EventSlot
+     */
+    EventSlot get(final String event) {
+        return this.slotsByEvent.get(event);
+    }
+
+    /**
+     * Get the slots in index order.
+     *
+     * @return  java.util.List&lt;net.jmp.handoff.daemon.EventSlot&gt;
+     */
+    List<EventSlot> getSlots() {
+        return this.slotList;
+    }
+
+    /**
+     * A class that uses the builder pattern
+     * to construct new instances of the
+     * dispatch table.
+     */
+    static class DispatchTableBuilder {
+        /** The slots so far, with a place for each of the daemon's own events. */
+        private final List<EventSlot> slots = new ArrayList<>(Collections.nCopies(SocketEvents.values().length, null));
+
+        /** The names of the events so far. */
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        /**
+         * The default constructor.
+         */
+        private DispatchTableBuilder() {
+            super();
+
+            for (final var event : SocketEvents.values())
+                this.indexes.put(event.getValue(), event.ordinal());
+        }
+
+        /**
+         * Add one of the daemon's own events.
+         *
+         * @param   event           net.jmp.handoff.daemon.SocketEvents
+         * @param   invoker         net.jmp.handoff.daemon.EventSlot.Invoker
+         * @param   maxConcurrency  int
+         * @param   argumentTypes   java.lang.Class&lt;?&gt;[]
+         */
+        DispatchTableBuilder event(final SocketEvents event,
+                                   final EventSlot.Invoker invoker,
+                                   final int maxConcurrency,
+                                   final Class<?> ... argumentTypes) {
+            this.slots.set(event.ordinal(), new EventSlot(event.ordinal(), event.getValue(), invoker, maxConcurrency, argumentTypes));
+
+            return this;
+        }
+
+        /**
+         * Add the event of a handler service.
+         *
+         * @param   event           java.lang.String
+         * @param   invoker         net.jmp.handoff.daemon.EventSlot.Invoker
+         * @param   maxConcurrency  int
+         * @param   argumentTypes   java.lang.Class&lt;?&gt;[]
+         * @throws                  java.lang.IllegalArgumentException  When the event already has a slot
+         */
+        DispatchTableBuilder event(final String event,
+                                   final EventSlot.Invoker invoker,
+                                   final int maxConcurrency,
+                                   final Class<?> ... argumentTypes) {
+            if (event == null || event.isBlank())
+                throw new IllegalArgumentException("An event handler must name its event");
+
+            if (this.indexes.containsKey(event))
+                throw new IllegalArgumentException("The event is already handled: " + event);
+
+            final var index = this.slots.size();
+
+            this.indexes.put(event, index);
+            this.slots.add(new EventSlot(index, event, invoker, maxConcurrency, argumentTypes));
+
+            return this;
+        }
+
+        /**
+         * Build and return the new instance.
+         *
+         * @return  net.jmp.handoff.daemon.DispatchTable
+         */
+        DispatchTable build() {
+            return new DispatchTable(this);
+        }
+    }
+}
@@ -1,10 +1,11 @@
 package net.jmp.handoff.daemon;
 
 /*
+ * (#)EchoContent.java  0.8.0   10/18/2026
  * (#)EchoContent.java  0.6.0   04/20/2024
  *
  * @author    Jonathan Parker
- * @version   0.6.0
+ * @version   0.8.0
  * @since     0.6.0
  *
  * MIT License
@@ -55,6 +56,7 @@ final class EchoContent extends Content {
      *
      * @return  java.lang.String
      */
+    @Override
     String getType() {
         return this.type;
     }
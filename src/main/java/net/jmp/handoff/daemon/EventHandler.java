@@ -0,0 +1,77 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)EventHandler.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+/**
+ * The service provider interface for handlers of
+ * additional events. Implementations are found
+ * with java.util.ServiceLoader, so a handler can
+ * ship in its own jar that lists its class in
+ * META-INF/services/net.jmp.handoff.daemon.EventHandler.
+ *
+ * <p>A handler is called on a handler thread,
+ * one request at a time per session, and may be
+ * called concurrently for different sessions.
+ * Whatever it returns is sent to the client as
+ * the message of an OK response; an exception
+ * is sent as a not-OK response.
+ */
+public interface EventHandler {
+    /**
+     * Get the name of the event that this handler
+     * handles. It must not be one of the daemon's
+     * own events.
+     *
+     * @return  java.lang.String
+     */
+    String getEvent();
+
+    /**
+     * Get the most requests that this handler may
+     * process at once; 0 means no limit beyond the
+     * daemon's own. Requests over the limit are
+     * refused. The configuration may override it.
+     *
+     * @return  int
+     */
+    default int getMaxConcurrency() {
+        return 0;
+    }
+
+    /**
+     * Handle a request.
+     *
+     * @param   context net.jmp.handoff.daemon.HandlerContext
+     * @return          java.lang.String    The message of the response
+     * @throws          java.lang.Exception When the request cannot be handled
+     */
+    String handle(HandlerContext context) throws Exception;
+}
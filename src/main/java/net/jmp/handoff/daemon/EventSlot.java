@@ -0,0 +1,266 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)EventSlot.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.corundumstudio.socketio.AckRequest;
+import com.corundumstudio.socketio.SocketIOClient;
+
+import java.util.List;
+
+import java.util.concurrent.Semaphore;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A slot in the dispatch table. It binds an
+ * event to the code that handles it and keeps
+ * the handler's metrics and concurrency limit.
+ */
+final class EventSlot {
+    /** The index of the slot in the table. */
+    private final int index;
+
+    /** The name of the event. */
+    private final String event;
+
+    /** The types of the event's arguments. */
+    private final Class<?>[] argumentTypes;
+
+    /** The code that handles the event. */
+    private final Invoker invoker;
+
+    /** The most requests handled at once; 0 for no limit. */
+    private final int maxConcurrency;
+
+    /** The permits that enforce the limit; null when there is none. */
+    private final Semaphore permits;
+
+    /** The number of requests handled. */
+    private final LongAdder handledCount = new LongAdder();
+
+    /** The number of requests whose handler failed. */
+    private final LongAdder failedCount = new LongAdder();
+
+    /** The number of requests refused at the concurrency limit. */
+    private final LongAdder rejectedCount = new LongAdder();
+
+    /** The times spent handling requests. */
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    /**
+     * The constructor.
+     *
+     * @param   index           int
+     * @param   event           java.lang.String
+     * @param   invoker         net.jmp.handoff.daemon.EventSlot.Invoker
+     * @param   maxConcurrency  int
+     * @param   argumentTypes   java.lang.Class&lt;?&gt;[]
+     */
+    EventSlot(final int index,
+              final String event,
+              final Invoker invoker,
+              final int maxConcurrency,
+              final Class<?> ... argumentTypes) {
+        super();
+
+        this.index = index;
+        this.event = event;
+        this.invoker = invoker;
+        this.maxConcurrency = Math.max(0, maxConcurrency);
+        this.permits = (this.maxConcurrency > 0) ? new Semaphore(this.maxConcurrency) : null;
+        this.argumentTypes = argumentTypes;
+    }
+
+    /**
+     * Get the index of the slot in the table.
+     *
+     * @return  int
+     */
+    int getIndex() {
+        return this.index;
+    }
+
+    /**
+     * Get the name of the event.
+     *
+     * @return  java.lang.String
+     */
+    String getEvent() {
+        return this.event;
+    }
+
+    /**
+     * Get the types of the event's arguments.
+     *
+     * @return  java.lang.Class&lt;?&gt;[]
+     */
+    Class<?>[] getArgumentTypes() {
+        return this.argumentTypes;
+    }
+
+    /**
+     * Get the most requests handled at once.
+     *
+     * @return  int
+     */
+    int getMaxConcurrency() {
+        return this.maxConcurrency;
+    }
+
+    /**
+     * Handle a request within the concurrency
+     * limit and record its metrics. A request
+     * over the limit is not handled.
+     *
+     * @param   client      com.corundumstudio.socketio.SocketIOClient
+     * @param   args        java.util.List&lt;java.lang.Object&gt;
+     * @param   ackRequest  com.corundumstudio.socketio.AckRequest
+     * @return              boolean     False if the request was over the limit
+     */
+    boolean invoke(final SocketIOClient client, final List<Object> args, final AckRequest ackRequest) {
+        if (this.permits != null && !this.permits.tryAcquire()) {
+            this.rejectedCount.increment();
+
+            return false;
+        }
+
+        final var start = System.nanoTime();
+
+        try {
+            this.invoker.invoke(client, args, ackRequest);
+        } catch (final RuntimeException re) {
+            this.failedCount.increment();
+
+            throw re;
+        } finally {
+            final var elapsed = System.nanoTime() - start;
+
+            this.handledCount.increment();
+            this.latency.record(elapsed);
+
+            if (this.permits != null)
+                this.permits.release();
+        }
+
+        return true;
+    }
+
+    /**
+     * Get the number of requests handled.
+     *
+     * @return  long
+     */
+    long getHandledCount() {
+        return this.handledCount.sum();
+    }
+
+    /**
+     * Get the number of requests whose handler failed.
+     *
+     * @return  long
+     */
+    long getFailedCount() {
+        return this.failedCount.sum();
+    }
+
+    /**
+     * Get the number of requests refused at
+     * the concurrency limit.
+     *
+     * @return  long
+     */
+    long getRejectedCount() {
+        return this.rejectedCount.sum();
+    }
+
+    /**
+     * Get the total time spent handling
+     * requests in nanoseconds.
+     *
+     * @return  long
+     */
+    long getTotalNanos() {
+        return this.latency.getTotalNanos();
+    }
+
+    /**
+     * Get the longest time spent handling
+     * a request in nanoseconds.
+     *
+     * @return  long
+     */
+    long getMaxNanos() {
+        return this.latency.getMaxNanos();
+    }
+
+    /**
+     * Get the histogram of the times
+     * spent handling requests.
+     *
+     * @return  net.jmp.handoff.daemon.LatencyHistogram
+     */
+    LatencyHistogram getLatency() {
+        return this.latency;
+    }
+
+    /**
+     * The overridden to-string method.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    public String toString() {
+        final var handled = this.getHandledCount();
+
+        return String.format("%s: %d handled, %d failed, %d rejected, mean %.1f us, max %.1f us",
+                this.event,
+                handled,
+                this.getFailedCount(),
+                this.getRejectedCount(),
+                (handled > 0) ? this.getTotalNanos() / (handled * 1000.0) : 0.0,
+                this.getMaxNanos() / 1000.0);
+    }
+
+    /**
+     * The code that handles an event.
+     */
+    @FunctionalInterface
+    interface Invoker {
+        /**
+         * Handle the event.
+         *
+         * @param   client      com.corundumstudio.socketio.SocketIOClient
+         * @param   args        java.util.List&lt;java.lang.Object&gt;
+         * @param   ackRequest  com.corundumstudio.socketio.AckRequest
+         */
+        void invoke(SocketIOClient client, List<Object> args, AckRequest ackRequest);
+    }
+}
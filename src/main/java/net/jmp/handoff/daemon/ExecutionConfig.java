@@ -0,0 +1,286 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)ExecutionConfig.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.Map;
+
+/**
+ * The handler execution configuration class.
+ * It is the 'execution' object in the
+ * configuration file. A setting that is
+ * absent keeps its default.
+ */
+public class ExecutionConfig {
+    /** True to run handlers on virtual threads instead of the Netty I/O threads. */
+    @SerializedName("virtualThreads")
+    private boolean virtualThreads = true;
+
+    /** The most handlers that may run at once across all sessions. */
+    @SerializedName("maxConcurrency")
+    private int maxConcurrency = 256;
+
+    /** The longest time to wait for in-flight requests when stopping, in milliseconds. */
+    @SerializedName("drainTimeoutMillis")
+    private long drainTimeoutMillis = 10000;
+
+    /** The most requests of one session handled at once, with responses re-sequenced; 0 to handle them one at a time. */
+    @SerializedName("pipelineDepth")
+    private int pipelineDepth = 0;
+
+    /** The most requests queued or running across all sessions; 0 for no limit. */
+    @SerializedName("maxInFlight")
+    private int maxInFlight = 8192;
+
+    /** The most requests queued or running for one session; 0 for no limit. */
+    @SerializedName("maxSessionInFlight")
+    private int maxSessionInFlight = 1024;
+
+    /** The time an overloaded client is told to wait before retrying, in milliseconds. */
+    @SerializedName("retryAfterMillis")
+    private long retryAfterMillis = 250;
+
+    /** The weight of a session whose client is not named in the client weights. */
+    @SerializedName("defaultWeight")
+    private int defaultWeight = 1;
+
+    /** The weights of sessions by the client identity given when connecting. */
+    @SerializedName("clientWeights")
+    private Map<String, Integer> clientWeights = Map.of();
+
+    /** The most requests each event's handler may process at once, by event; 0 for no limit. */
+    @SerializedName("handlerConcurrency")
+    private Map<String, Integer> handlerConcurrency = Map.of();
+
+    /**
+     * The default constructor.
+     */
+    ExecutionConfig() {
+        super();
+    }
+
+    /**
+     * Return true if handlers run on virtual threads.
+     *
+     * @return  boolean
+     */
+    boolean isVirtualThreads() {
+        return this.virtualThreads;
+    }
+
+    /**
+     * Set whether handlers run on virtual threads.
+     *
+     * @param   virtualThreads  boolean
+     */
+    void setVirtualThreads(final boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Get the most handlers that may run at once.
+     *
+     * @return  int
+     */
+    int getMaxConcurrency() {
+        return this.maxConcurrency;
+    }
+
+    /**
+     * Set the most handlers that may run at once.
+     *
+     * @param   maxConcurrency  int
+     */
+    void setMaxConcurrency(final int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Get the longest time to wait for
+     * in-flight requests when stopping.
+     *
+     * @return  long
+     */
+    long getDrainTimeoutMillis() {
+        return this.drainTimeoutMillis;
+    }
+
+    /**
+     * Set the longest time to wait for
+     * in-flight requests when stopping.
+     *
+     * @param   drainTimeoutMillis  long
+     */
+    void setDrainTimeoutMillis(final long drainTimeoutMillis) {
+        this.drainTimeoutMillis = drainTimeoutMillis;
+    }
+
+    /**
+     * Get the most requests of one session
+     * that are handled at once.
+     *
+     * @return  int
+     */
+    int getPipelineDepth() {
+        return this.pipelineDepth;
+    }
+
+    /**
+     * Set the most requests of one session
+     * that are handled at once.
+     *
+     * @param   pipelineDepth   int
+     */
+    void setPipelineDepth(final int pipelineDepth) {
+        this.pipelineDepth = pipelineDepth;
+    }
+
+    /**
+     * Get the most requests in flight
+     * across all sessions.
+     *
+     * @return  int
+     */
+    int getMaxInFlight() {
+        return this.maxInFlight;
+    }
+
+    /**
+     * Set the most requests in flight
+     * across all sessions.
+     *
+     * @param   maxInFlight int
+     */
+    void setMaxInFlight(final int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Get the most requests in flight
+     * for one session.
+     *
+     * @return  int
+     */
+    int getMaxSessionInFlight() {
+        return this.maxSessionInFlight;
+    }
+
+    /**
+     * Set the most requests in flight
+     * for one session.
+     *
+     * @param   maxSessionInFlight  int
+     */
+    void setMaxSessionInFlight(final int maxSessionInFlight) {
+        this.maxSessionInFlight = maxSessionInFlight;
+    }
+
+    /**
+     * Get the time an overloaded client is
+     * told to wait before retrying.
+     *
+     * @return  long
+     */
+    long getRetryAfterMillis() {
+        return this.retryAfterMillis;
+    }
+
+    /**
+     * Set the time an overloaded client is
+     * told to wait before retrying.
+     *
+     * @param   retryAfterMillis    long
+     */
+    void setRetryAfterMillis(final long retryAfterMillis) {
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    /**
+     * Get the weight of a session whose
+     * client has no weight of its own.
+     *
+     * @return  int
+     */
+    int getDefaultWeight() {
+        return this.defaultWeight;
+    }
+
+    /**
+     * Set the weight of a session whose
+     * client has no weight of its own.
+     *
+     * @param   defaultWeight   int
+     */
+    void setDefaultWeight(final int defaultWeight) {
+        this.defaultWeight = defaultWeight;
+    }
+
+    /**
+     * Get the weights of sessions by
+     * client identity.
+     *
+     * @return  java.util.Map&lt;java.lang.String, java.lang.Integer&gt;
+     */
+    Map<String, Integer> getClientWeights() {
+        return this.clientWeights;
+    }
+
+    /**
+     * Set the weights of sessions by
+     * client identity.
+     *
+     * @param   clientWeights   java.util.Map&lt;java.lang.String, java.lang.Integer&gt;
+     */
+    void setClientWeights(final Map<String, Integer> clientWeights) {
+        this.clientWeights = clientWeights;
+    }
+
+    /**
+     * Get the concurrency limits of the
+     * event handlers by event.
+     *
+     * @return  java.util.Map&lt;java.lang.String, java.lang.Integer&gt;
+     */
+    Map<String, Integer> getHandlerConcurrency() {
+        return this.handlerConcurrency;
+    }
+
+    /**
+     * Set the concurrency limits of the
+     * event handlers by event.
+     *
+     * @param   handlerConcurrency  java.util.Map&lt;java.lang.String, java.lang.Integer&gt;
+     */
+    void setHandlerConcurrency(final Map<String, Integer> handlerConcurrency) {
+        this.handlerConcurrency = handlerConcurrency;
+    }
+}
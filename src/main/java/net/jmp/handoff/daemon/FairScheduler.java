@@ -0,0 +1,224 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)FairScheduler.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * A deficit round-robin scheduler. Each flow
+ * has a queue of items and a weight; the flows
+ * with items take turns, and in its turn a flow
+ * may have up to its weight in items taken
+ * before the turn passes on. A flow that is not
+ * ready for its next item loses its turn, so no
+ * flow can hold up the others. Every item costs
+ * the same. The class is not thread-safe.
+ *
+ * @param   <T> The type of item
+ */
+final class FairScheduler<T> {
+    /** The flows with items, the one whose turn it is first. */
+    private final Queue<Flow<T>> activeFlows = new ArrayDeque<>();
+
+    /** The number of items in all of the flows. */
+    private int size;
+
+    /**
+     * The default constructor.
+     */
+    FairScheduler() {
+        super();
+    }
+
+    /**
+     * Add an item to the end of a flow's queue.
+     *
+     * @param   flow    net.jmp.handoff.daemon.FairScheduler.Flow&lt;T&gt;
+     * @param   item    T
+     */
+    void add(final Flow<T> flow, final T item) {
+        flow.items.add(item);
+        this.size++;
+
+        if (!flow.isActive) {
+            flow.isActive = true;
+            flow.deficit = 0;
+
+            this.activeFlows.add(flow);
+        }
+    }
+
+    /**
+     * Take the next item to run, or return null
+     * if no flow with items is ready.
+     *
+     * @return  T
+     */
+    T next() {
+        final var turns = this.activeFlows.size();
+
+        /* Every flow gets one turn, after which the first has had its credit topped up */
+
+        for (int i = 0; i <= turns; i++) {
+            final var flow = this.activeFlows.peek();
+
+            if (flow == null)
+                return null;
+
+            final var item = flow.items.peek();
+
+            if (flow.deficit >= 1 && flow.isReady(item)) {
+                flow.items.poll();
+                flow.deficit--;
+                this.size--;
+
+                if (flow.items.isEmpty()) {
+                    this.activeFlows.poll();
+
+                    flow.isActive = false;
+                    flow.deficit = 0;
+                }
+
+                return item;
+            }
+
+            this.activeFlows.add(this.activeFlows.poll());
+
+            final var nextFlow = this.activeFlows.peek();
+
+            /* With every item costing the same nothing is carried over between turns */
+
+            if (nextFlow.isReady(nextFlow.items.peek()))
+                nextFlow.deficit = nextFlow.weight;
+        }
+
+        return null;
+    }
+
+    /**
+     * Discard the items of every flow.
+     */
+    void clear() {
+        for (final var flow : this.activeFlows) {
+            flow.items.clear();
+            flow.isActive = false;
+            flow.deficit = 0;
+        }
+
+        this.activeFlows.clear();
+        this.size = 0;
+    }
+
+    /**
+     * Return the number of flows with items.
+     *
+     * @return  int
+     */
+    int getActiveFlowCount() {
+        return this.activeFlows.size();
+    }
+
+    /**
+     * Return the number of items in all of the flows.
+     *
+     * @return  int
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * A flow of items. A subclass says whether
+     * the flow is ready for its next item.
+     *
+     * @param   <T> The type of item
+     */
+    abstract static class Flow<T> {
+        /** The items. */
+        private final Queue<T> items = new ArrayDeque<>();
+
+        /** The most items taken in one turn. */
+        private int weight = 1;
+
+        /** The items that may still be taken in this turn. */
+        private int deficit;
+
+        /** True while the flow has items and so takes turns. */
+        private boolean isActive;
+
+        /**
+         * The default constructor.
+         */
+        protected Flow() {
+            super();
+        }
+
+        /**
+         * Get the weight.
+         *
+         * @return  int
+         */
+        int getWeight() {
+            return this.weight;
+        }
+
+        /**
+         * Set the weight.
+         *
+         * @param   weight  int
+         */
+        void setWeight(final int weight) {
+            if (weight < 1)
+                throw new IllegalArgumentException("The weight must be positive");
+
+            this.weight = weight;
+        }
+
+        /**
+         * Return the number of items waiting.
+         *
+         * @return  int
+         */
+        int getItemCount() {
+            return this.items.size();
+        }
+
+        /**
+         * Return true if the flow is ready
+         * for its next item to be taken.
+         *
+         * @param   item    T
+         * @return          boolean
+         */
+        abstract boolean isReady(T item);
+    }
+}
@@ -0,0 +1,174 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)FlightEvents.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The JDK Flight Recorder events of the request
+ * lifecycle. Each is timed, tagged with the
+ * event, session and request identifiers, and
+ * committed only while a recording has it
+ * enabled, so outside a recording it costs no
+ * more than a check. Stack traces are not
+ * taken as they would cost more than the work
+ * being timed.
+ */
+final class FlightEvents {
+    /** The category of the events. */
+    static final String CATEGORY = "Handoff Daemon";
+
+    /** The identifier of the request that the current thread is handling. */
+    private static final ThreadLocal<String> currentRequestId = new ThreadLocal<>();
+
+    /**
+     * The default constructor.
+     */
+    private FlightEvents() {
+        super();
+    }
+
+    /**
+     * Set the identifier of the request
+     * that the current thread is handling.
+     *
+     * @param   requestId   java.lang.String
+     */
+    static void setRequestId(final String requestId) {
+        currentRequestId.set(requestId);
+    }
+
+    /**
+     * Get the identifier of the request
+     * that the current thread is handling.
+     *
+     * @return  java.lang.String    Null if there is none
+     */
+    static String getRequestId() {
+        return currentRequestId.get();
+    }
+
+    /**
+     * Forget the identifier of the request
+     * that the current thread was handling.
+     */
+    static void clearRequestId() {
+        currentRequestId.remove();
+    }
+
+    /**
+     * The fields common to the events.
+     */
+    @Category(CATEGORY)
+    @StackTrace(false)
+    abstract static class RequestEvent extends Event {
+        /** The name of the event. */
+        @Label("Event")
+        String event;
+
+        /** The session identifier. */
+        @Label("Session ID")
+        String sessionId;
+
+        /** The request identifier. */
+        @Label("Request ID")
+        String requestId;
+
+        /**
+         * End the event, then set its identifiers
+         * and commit it if it is to be recorded.
+         *
+         * @param   event       java.lang.String
+         * @param   sessionId   java.lang.String
+         * @param   requestId   java.lang.String
+         */
+        void finish(final String event, final String sessionId, final String requestId) {
+            this.end();
+
+            if (this.shouldCommit()) {
+                this.event = event;
+                this.sessionId = sessionId;
+                this.requestId = requestId;
+                this.commit();
+            }
+        }
+    }
+
+    /**
+     * A client connected.
+     */
+    @Name("net.jmp.handoff.Connect")
+    @Label("Connect")
+    @Description("A client connected and was sent the connect response")
+    static final class Connect extends RequestEvent {
+    }
+
+    /**
+     * A request was decoded.
+     */
+    @Name("net.jmp.handoff.Decode")
+    @Label("Decode")
+    @Description("A request was decoded from JSON")
+    static final class Decode extends RequestEvent {
+    }
+
+    /**
+     * A request was handled.
+     */
+    @Name("net.jmp.handoff.Handle")
+    @Label("Handle")
+    @Description("A request was handled, from its dispatch to its handler's return")
+    static final class Handle extends RequestEvent {
+    }
+
+    /**
+     * A response was encoded.
+     */
+    @Name("net.jmp.handoff.Encode")
+    @Label("Encode")
+    @Description("A response was encoded to JSON")
+    static final class Encode extends RequestEvent {
+    }
+
+    /**
+     * A response was sent.
+     */
+    @Name("net.jmp.handoff.Send")
+    @Label("Send")
+    @Description("A response was handed to the transport")
+    static final class Send extends RequestEvent {
+    }
+}
@@ -0,0 +1,188 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)FlightRecorderConfig.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * The flight recorder configuration class. It
+ * is the 'flightRecorder' object in the
+ * configuration file. A setting that is
+ * absent keeps its default.
+ */
+public class FlightRecorderConfig {
+    /** True to start a recording when the server starts. */
+    @SerializedName("startOnLaunch")
+    private boolean startOnLaunch = false;
+
+    /** True to let clients start, stop and dump recordings with the RECORDING event. */
+    @SerializedName("controlEnabled")
+    private boolean controlEnabled = false;
+
+    /** The directory that recordings are dumped to. */
+    @SerializedName("directory")
+    private String directory = "recordings";
+
+    /** The name of the JFR settings, 'default' or 'profile'. */
+    @SerializedName("settings")
+    private String settings = "default";
+
+    /** The longest time that recorded data is kept, in milliseconds, or 0 for no limit. */
+    @SerializedName("maxAgeMillis")
+    private long maxAgeMillis = 3600000;
+
+    /** The most recorded data that is kept, in bytes, or 0 for no limit. */
+    @SerializedName("maxSizeBytes")
+    private long maxSizeBytes = 268435456;
+
+    /**
+     * The default constructor.
+     */
+    FlightRecorderConfig() {
+        super();
+    }
+
+    /**
+     * Return true if a recording is started
+     * when the server starts.
+     *
+     * @return  boolean
+     */
+    boolean isStartOnLaunch() {
+        return this.startOnLaunch;
+    }
+
+    /**
+     * Set whether a recording is started
+     * when the server starts.
+     *
+     * @param   startOnLaunch   boolean
+     */
+    void setStartOnLaunch(final boolean startOnLaunch) {
+        this.startOnLaunch = startOnLaunch;
+    }
+
+    /**
+     * Return true if clients may control
+     * recordings.
+     *
+     * @return  boolean
+     */
+    boolean isControlEnabled() {
+        return this.controlEnabled;
+    }
+
+    /**
+     * Set whether clients may control
+     * recordings.
+     *
+     * @param   controlEnabled  boolean
+     */
+    void setControlEnabled(final boolean controlEnabled) {
+        this.controlEnabled = controlEnabled;
+    }
+
+    /**
+     * Get the directory that recordings
+     * are dumped to.
+     *
+     * @return  java.lang.String
+     */
+    String getDirectory() {
+        return this.directory;
+    }
+
+    /**
+     * Set the directory that recordings
+     * are dumped to.
+     *
+     * @param   directory   java.lang.String
+     */
+    void setDirectory(final String directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Get the name of the JFR settings.
+     *
+     * @return  java.lang.String
+     */
+    String getSettings() {
+        return this.settings;
+    }
+
+    /**
+     * Set the name of the JFR settings.
+     *
+     * @param   settings    java.lang.String
+     */
+    void setSettings(final String settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Get the longest time that recorded
+     * data is kept.
+     *
+     * @return  long
+     */
+    long getMaxAgeMillis() {
+        return this.maxAgeMillis;
+    }
+
+    /**
+     * Set the longest time that recorded
+     * data is kept.
+     *
+     * @param   maxAgeMillis    long
+     */
+    void setMaxAgeMillis(final long maxAgeMillis) {
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    /**
+     * Get the most recorded data that is kept.
+     *
+     * @return  long
+     */
+    long getMaxSizeBytes() {
+        return this.maxSizeBytes;
+    }
+
+    /**
+     * Set the most recorded data that is kept.
+     *
+     * @param   maxSizeBytes    long
+     */
+    void setMaxSizeBytes(final long maxSizeBytes) {
+        this.maxSizeBytes = maxSizeBytes;
+    }
+}
@@ -0,0 +1,221 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)FlightRecorderControl.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.IOException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import java.text.ParseException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import java.time.format.DateTimeFormatter;
+
+import java.util.function.LongSupplier;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+/**
+ * The flight recorder control class. It starts,
+ * stops and dumps one recording at a time, with
+ * the configured JFR settings and the daemon's
+ * own events enabled, so that a running daemon
+ * can be profiled without a restart. Recordings
+ * are only written to the configured directory,
+ * under names the daemon chooses.
+ */
+final class FlightRecorderControl {
+    /** The format of the time in the name of a dump. */
+    private static final DateTimeFormatter FILE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss.SSS'Z'")
+            .withZone(ZoneOffset.UTC);
+
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** The flight recorder settings. */
+    private final FlightRecorderConfig flightRecorderConfig;
+
+    /** The current time in milliseconds since the epoch. */
+    private final LongSupplier currentTimeMillis;
+
+    /** The recording; null when there is none. */
+    private Recording recording;
+
+    /** The number of dumps written, which keeps their names apart. */
+    private int dumpCount;
+
+    /**
+     * The constructor.
+     *
+     * @param   flightRecorderConfig    net.jmp.handoff.daemon.FlightRecorderConfig
+     * @param   currentTimeMillis       java.util.function.LongSupplier
+     */
+    FlightRecorderControl(final FlightRecorderConfig flightRecorderConfig, final LongSupplier currentTimeMillis) {
+        super();
+
+        this.flightRecorderConfig = flightRecorderConfig;
+        this.currentTimeMillis = currentTimeMillis;
+    }
+
+    /**
+     * Start a recording if there is none running.
+     *
+     * @return  boolean     False if a recording was already running
+     * @throws  java.io.IOException When the settings cannot be read
+     */
+    synchronized boolean start() throws IOException {
+        if (this.isRecording())
+            return false;
+
+        final Configuration configuration;
+
+        try {
+            configuration = Configuration.getConfiguration(this.flightRecorderConfig.getSettings());
+        } catch (final ParseException pe) {
+            throw new IOException("The JFR settings " + this.flightRecorderConfig.getSettings() + " cannot be parsed", pe);
+        }
+
+        final var newRecording = new Recording(configuration);
+
+        newRecording.setName("handoff-daemon");
+
+        if (this.flightRecorderConfig.getMaxAgeMillis() > 0)
+            newRecording.setMaxAge(Duration.ofMillis(this.flightRecorderConfig.getMaxAgeMillis()));
+
+        if (this.flightRecorderConfig.getMaxSizeBytes() > 0)
+            newRecording.setMaxSize(this.flightRecorderConfig.getMaxSizeBytes());
+
+        for (final var eventClass : new Class<?>[] {FlightEvents.Connect.class,
+                                                    FlightEvents.Decode.class,
+                                                    FlightEvents.Handle.class,
+                                                    FlightEvents.Encode.class,
+                                                    FlightEvents.Send.class})
+            newRecording.enable(eventClass.getName()).withoutStackTrace().withThreshold(Duration.ZERO);
+
+        newRecording.start();
+
+        if (this.recording != null)
+            this.recording.close();
+
+        this.recording = newRecording;
+
+        this.logger.info("Started a flight recording with the {} settings", this.flightRecorderConfig.getSettings());
+
+        return true;
+    }
+
+    /**
+     * Dump the recording to a new file in the
+     * directory and keep recording.
+     *
+     * @return  java.nio.file.Path  The file, or null if there is no recording running
+     * @throws  java.io.IOException When the file cannot be written
+     */
+    synchronized Path dump() throws IOException {
+        if (!this.isRecording())
+            return null;
+
+        final var path = this.getDumpPath();
+
+        this.recording.dump(path);
+
+        this.logger.info("Dumped the flight recording to {}", path);
+
+        return path;
+    }
+
+    /**
+     * Stop the recording and dump it to
+     * a new file in the directory.
+     *
+     * @return  java.nio.file.Path  The file, or null if there is no recording running
+     * @throws  java.io.IOException When the file cannot be written
+     */
+    synchronized Path stop() throws IOException {
+        if (!this.isRecording())
+            return null;
+
+        final var path = this.getDumpPath();
+
+        try {
+            this.recording.setDestination(path);
+            this.recording.stop();
+        } finally {
+            this.recording.close();
+            this.recording = null;
+        }
+
+        this.logger.info("Stopped the flight recording and dumped it to {}", path);
+
+        return path;
+    }
+
+    /**
+     * Return true if a recording is running.
+     *
+     * @return  boolean
+     */
+    synchronized boolean isRecording() {
+        return this.recording != null && this.recording.getState() == RecordingState.RUNNING;
+    }
+
+    /**
+     * Get the path of a new dump in the
+     * directory, creating the directory if
+     * it does not exist.
+     *
+     * @return  java.nio.file.Path
+     * @throws  java.io.IOException When the directory cannot be created
+     */
+    private Path getDumpPath() throws IOException {
+        final var directory = Paths.get(this.flightRecorderConfig.getDirectory());
+
+        Files.createDirectories(directory);
+
+        this.dumpCount++;
+
+        return directory.resolve("handoff-" + ProcessHandle.current().pid() + '-'
+                + FILE_TIME_FORMATTER.format(Instant.ofEpochMilli(this.currentTimeMillis.getAsLong())) + '-'
+                + this.dumpCount + ".jfr")
+                .toAbsolutePath();
+    }
+}
@@ -0,0 +1,101 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)HandlerContext.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+/**
+ * The request as seen by an event handler.
+ */
+public final class HandlerContext {
+    /** The request. */
+    private final Request request;
+
+    /** The session identifier. */
+    private final String sessionId;
+
+    /**
+     * The constructor.
+     *
+     * @param   request     net.jmp.handoff.daemon.Request
+     * @param   sessionId   java.lang.String
+     */
+    HandlerContext(final Request request, final String sessionId) {
+        super();
+
+        this.request = request;
+        this.sessionId = sessionId;
+    }
+
+    /**
+     * Get the name of the event.
+     *
+     * @return  java.lang.String
+     */
+    public String getEvent() {
+        return this.request.getEvent();
+    }
+
+    /**
+     * Get the request identifier.
+     *
+     * @return  java.lang.String
+     */
+    public String getRequestId() {
+        return this.request.getId();
+    }
+
+    /**
+     * Get the identifier of the client's session.
+     *
+     * @return  java.lang.String
+     */
+    public String getSessionId() {
+        return this.sessionId;
+    }
+
+    /**
+     * Get the UTC date and time of the request
+     * in ISO-8601 format.
+     *
+     * @return  java.lang.String
+     */
+    public String getDateTime() {
+        return this.request.getDateTime();
+    }
+
+    /**
+     * Get the content of the request.
+     *
+     * @return  java.lang.String
+     */
+    public String getContent() {
+        return this.request.getContent();
+    }
+}
@@ -0,0 +1,408 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)HandlerExecutor.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+/**
+ * The handler executor class. It moves handler
+ * work off the Netty I/O threads onto virtual
+ * threads. The tasks of one session run one at
+ * a time in the order they were submitted, the
+ * tasks of different sessions run concurrently,
+ * and no more than a fixed number of tasks run
+ * at once. When virtual threads are disabled
+ * the tasks run on the calling thread.
+ * <p>
+ * With a pipeline depth, up to that many tasks
+ * of one session are started in order and run
+ * at once, and what they send is re-sequenced
+ * into the order they were submitted.
+ * <p>
+ * The sessions share the places to run by
+ * deficit round-robin, in proportion to their
+ * weights, so that a session with many tasks
+ * waiting cannot take them all.
+ */
+final class HandlerExecutor implements AutoCloseable {
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** The queues of pending tasks by session; guarded by the scheduler. */
+    private final Map<UUID, SessionQueue> queues = new HashMap<>();
+
+    /** The scheduler of the sessions' pending tasks; also the lock for the scheduling state. */
+    private final FairScheduler<Task> scheduler = new FairScheduler<>();
+
+    /** The executor service; null when tasks run on the calling thread. */
+    private final ExecutorService executorService;
+
+    /** The most tasks that may run at once. */
+    private final int maxConcurrency;
+
+    /** The most tasks of one session that may run at once when pipelining; 0 when not. */
+    private final int pipelineDepth;
+
+    /** The number of tasks running; guarded by the scheduler. */
+    private int runningCount;
+
+    /** The number of tasks submitted but not yet finished. */
+    private final AtomicInteger inFlightCount = new AtomicInteger();
+
+    /** The object with which waiting for no tasks in flight is serialized. */
+    private final Object idleSerializer = new Object();
+
+    /**
+     * The constructor.
+     *
+     * @param   executionConfig net.jmp.handoff.daemon.ExecutionConfig
+     */
+    HandlerExecutor(final ExecutionConfig executionConfig) {
+        super();
+
+        if (executionConfig.getMaxConcurrency() <= 0)
+            throw new IllegalArgumentException("The maximum concurrency must be positive");
+
+        if (executionConfig.getPipelineDepth() < 0)
+            throw new IllegalArgumentException("The pipeline depth must not be negative");
+
+        this.maxConcurrency = executionConfig.getMaxConcurrency();
+        this.pipelineDepth = executionConfig.isVirtualThreads() ? executionConfig.getPipelineDepth() : 0;
+
+        if (executionConfig.isVirtualThreads())
+            this.executorService = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("handler-", 0).factory());
+        else
+            this.executorService = null;
+    }
+
+    /**
+     * Set the weight of a session: the most of
+     * its tasks started in its turn when the
+     * sessions contend for places to run.
+     *
+     * @param   sessionId   java.util.UUID
+     * @param   weight      int
+     */
+    void setWeight(final UUID sessionId, final int weight) {
+        if (this.executorService == null)
+            return;
+
+        synchronized (this.scheduler) {
+            this.queues.computeIfAbsent(sessionId, id -> new SessionQueue()).setWeight(weight);
+        }
+    }
+
+    /**
+     * Execute a task for a session after the
+     * tasks already submitted for that session.
+     *
+     * @param   sessionId   java.util.UUID
+     * @param   task        java.lang.Runnable
+     */
+    void execute(final UUID sessionId, final Runnable task) {
+        this.submit(sessionId, task, false);
+    }
+
+    /**
+     * Execute the last task for a session and
+     * then forget the session. When pipelining
+     * it waits for the session's earlier tasks
+     * to be delivered before it starts.
+     *
+     * @param   sessionId   java.util.UUID
+     * @param   task        java.lang.Runnable
+     */
+    void executeLast(final UUID sessionId, final Runnable task) {
+        this.submit(sessionId, () -> {
+            try {
+                task.run();
+            } finally {
+                synchronized (this.scheduler) {
+                    this.queues.remove(sessionId);
+                }
+            }
+        }, true);
+    }
+
+    /**
+     * Return the number of sessions with a queue.
+     *
+     * @return  int
+     */
+    int getSessionCount() {
+        synchronized (this.scheduler) {
+            return this.queues.size();
+        }
+    }
+
+    /**
+     * Return the number of tasks submitted
+     * but not yet finished.
+     *
+     * @return  int
+     */
+    int getInFlightCount() {
+        return this.inFlightCount.get();
+    }
+
+    /**
+     * Wait until no tasks are in flight or the
+     * timeout expires.
+     *
+     * @param   timeoutMillis   long
+     * @return                  boolean     True if no tasks are in flight
+     * @throws                  java.lang.InterruptedException
+     */
+    boolean awaitIdle(final long timeoutMillis) throws InterruptedException {
+        final var deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+
+        synchronized (this.idleSerializer) {
+            while (this.inFlightCount.get() > 0) {
+                final var remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+
+                if (remainingMillis <= 0)
+                    return false;
+
+                this.idleSerializer.wait(remainingMillis);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Stop accepting tasks and wait for those
+     * already submitted to finish.
+     */
+    @Override
+    public void close() {
+        if (this.executorService != null)
+            this.executorService.close();
+    }
+
+    /**
+     * Stop accepting tasks, interrupt those that
+     * are running and discard those not started.
+     */
+    void abandon() {
+        /* Discard first so that a finishing task finds nothing more to start */
+
+        synchronized (this.scheduler) {
+            this.scheduler.clear();
+        }
+
+        if (this.executorService != null)
+            this.executorService.shutdownNow();
+    }
+
+    /**
+     * The overridden to-string method.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    public String toString() {
+        if (this.executorService == null)
+            return "the I/O threads";
+
+        return (this.pipelineDepth > 0)
+                ? "virtual threads, at most " + this.maxConcurrency + " at once, pipelined " + this.pipelineDepth + " deep per session, weighted fair"
+                : "virtual threads, at most " + this.maxConcurrency + " at once, ordered per session, weighted fair";
+    }
+
+    /**
+     * Submit a task for a session and start
+     * whatever the scheduler allows.
+     *
+     * @param   sessionId   java.util.UUID
+     * @param   task        java.lang.Runnable
+     * @param   isLast      boolean
+     */
+    private void submit(final UUID sessionId, final Runnable task, final boolean isLast) {
+        this.inFlightCount.incrementAndGet();
+
+        if (this.executorService == null) {
+            this.runTask(task);
+
+            return;
+        }
+
+        synchronized (this.scheduler) {
+            final var queue = this.queues.computeIfAbsent(sessionId, id -> new SessionQueue());
+
+            this.scheduler.add(queue, new Task(queue, task, isLast));
+            this.startTasks();
+        }
+    }
+
+    /**
+     * Start the tasks the scheduler chooses
+     * while there are places for them to run.
+     * The caller holds the scheduler's lock.
+     */
+    private void startTasks() {
+        Task task;
+
+        while (this.runningCount < this.maxConcurrency && (task = this.scheduler.next()) != null)
+            this.start(task);
+    }
+
+    /**
+     * Start a task on its own thread, taking a
+     * ticket for it first when pipelining. The
+     * caller holds the scheduler's lock.
+     *
+     * @param   task    net.jmp.handoff.daemon.HandlerExecutor.Task
+     */
+    private void start(final Task task) {
+        final var queue = task.queue();
+        final var ticket = (queue.sequencer != null) ? queue.sequencer.next() : null;
+
+        this.runningCount++;
+        queue.runningCount++;
+
+        try {
+            this.executorService.execute(() -> {
+                try {
+                    this.runTask((ticket != null) ? () -> ticket.run(task.runnable()) : task.runnable());
+                } finally {
+                    synchronized (this.scheduler) {
+                        this.runningCount--;
+                        queue.runningCount--;
+                        this.startTasks();
+                    }
+                }
+            });
+        } catch (final RejectedExecutionException ree) {
+            this.runningCount--;
+            queue.runningCount--;
+
+            if (ticket != null)
+                ticket.cancel();
+
+            this.finishTask();
+
+            this.logger.warn("A task was rejected because the executor is closed");
+        }
+    }
+
+    /**
+     * Run a task. A failing task is logged so
+     * that it neither kills the thread nor stops
+     * the session's later tasks.
+     *
+     * @param   task    java.lang.Runnable
+     */
+    private void runTask(final Runnable task) {
+        try {
+            task.run();
+        } catch (final RuntimeException re) {
+            this.logger.catching(re);
+        } finally {
+            this.finishTask();
+        }
+    }
+
+    /**
+     * Count a task as no longer in flight and
+     * wake any thread waiting for none to be.
+     */
+    private void finishTask() {
+        if (this.inFlightCount.decrementAndGet() == 0) {
+            synchronized (this.idleSerializer) {
+                this.idleSerializer.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * A task submitted for a session.
+     *
+     * @param   queue       net.jmp.handoff.daemon.HandlerExecutor.SessionQueue
+     * @param   runnable    java.lang.Runnable
+     * @param   isLast      boolean     True for the session's last task
+     */
+    private record Task(SessionQueue queue, Runnable runnable, boolean isLast) {
+    }
+
+    /**
+     * The queue of one session's pending tasks,
+     * scheduled as one flow. Without pipelining
+     * it is ready for its next task once the one
+     * before has finished, which keeps the tasks
+     * in order. When pipelining it is ready while
+     * its reorder buffer has room, and for its
+     * last task once everything before has been
+     * delivered. Its fields are guarded by the
+     * scheduler.
+     */
+    private final class SessionQueue extends FairScheduler.Flow<Task> {
+        /** The response sequencer when pipelining; otherwise null. */
+        private final ResponseSequencer sequencer = (pipelineDepth > 0) ? new ResponseSequencer(pipelineDepth) : null;
+
+        /** The number of the session's tasks running. */
+        private int runningCount;
+
+        /**
+         * The default constructor.
+         */
+        private SessionQueue() {
+            super();
+        }
+
+        /**
+         * Return true if the next task may start.
+         *
+         * @param   task    net.jmp.handoff.daemon.HandlerExecutor.Task
+         * @return          boolean
+         */
+        @Override
+        boolean isReady(final Task task) {
+            if (this.sequencer == null)
+                return this.runningCount == 0;
+
+            return task.isLast() ? this.sequencer.getPendingCount() == 0 : this.sequencer.hasFreeSlot();
+        }
+    }
+}
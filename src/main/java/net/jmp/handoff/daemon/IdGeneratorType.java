@@ -0,0 +1,133 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)IdGeneratorType.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+/**
+ * The kinds of identifier generator
+ * that may be configured.
+ */
+enum IdGeneratorType {
+    TIME_ORDERED    (Constants.TIME_ORDERED,    "Time-ordered UUID version 7"),
+    RANDOM          (Constants.RANDOM,          "Random UUID version 4"),
+    COUNTER         (Constants.COUNTER,         "Counter-based UUID version 8");
+
+    /** The identifier of the enumerated value. */
+    private final String value;
+
+    /** A description of the enumerated value. */
+    private final String descriptor;
+
+    /**
+     * Constructor that takes the descriptor.
+     *
+     * @param   value       java.lang.String
+     * @param   descriptor  java.lang.String
+     */
+    private IdGeneratorType(final String value, final String descriptor) {
+        this.value = value;
+        this.descriptor = descriptor;
+    }
+
+    /**
+     * Get the enumeration value.
+     *
+     * @return  java.lang.String
+     */
+    String getValue() {
+        return this.value;
+    }
+
+    /**
+     * Get the enumeration descriptor.
+     *
+     * @return  java.lang.String
+     */
+    String getDescriptor() {
+        return this.descriptor;
+    }
+
+    /**
+     * Create a new generator of this type.
+     *
+     * @param   timeSource  net.jmp.handoff.daemon.TimeSource
+     * @return              net.jmp.handoff.daemon.IdGenerator
+     */
+    IdGenerator create(final TimeSource timeSource) {
+        return switch (this) {
+            case TIME_ORDERED -> new TimeOrderedIdGenerator(timeSource);
+            case RANDOM -> new RandomIdGenerator();
+            case COUNTER -> new CounterIdGenerator(timeSource);
+        };
+    }
+
+    /**
+     * Return the type with the given value.
+     * The random type is the default.
+     *
+     * @param   value   java.lang.String
+     * @return          net.jmp.handoff.daemon.IdGeneratorType
+     * @throws          java.lang.IllegalArgumentException  When the value is not recognized
+     */
+    static IdGeneratorType fromValue(final String value) {
+        if (value == null || value.isBlank())
+            return RANDOM;
+
+        for (final var type : values()) {
+            if (type.value.equalsIgnoreCase(value))
+                return type;
+        }
+
+        throw new IllegalArgumentException("Unrecognized identifier generator: " + value);
+    }
+
+    /**
+     * The overridden to-string method.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    public String toString() {
+        return this.descriptor;
+    }
+
+    /**
+     * A static inner class of constants.
+     */
+    static class Constants {
+        static final String TIME_ORDERED    = "uuid-v7";
+        static final String RANDOM          = "uuid-v4";
+        static final String COUNTER         = "counter";
+
+        private Constants() {
+            super();
+        }
+    }
+}
@@ -0,0 +1,482 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)IdempotencyCache.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import java.util.function.LongSupplier;
+
+/**
+ * The idempotency cache class. It remembers the
+ * serialized response to each request by the
+ * client that sent it, the request ID and the
+ * event, so that a client that retries a request
+ * gets the response that was sent before and the
+ * handler is not run again. A request ID that
+ * another client happens to use is not answered
+ * with this client's response.
+ *
+ * A request that misses is marked as in progress
+ * until its response is put or it is abandoned,
+ * so a copy of it that arrives meanwhile, on the
+ * same session or another, waits for that
+ * response rather than running the handler too.
+ *
+ * The entries are in a concurrent map, so a
+ * lookup takes no lock and does not scan. The
+ * cache is bounded by a number of entries and an
+ * estimate of the memory they take, and an entry
+ * is evicted when its time to live has passed.
+ * Remembered responses are queued in the order
+ * they were put, which is also the order in which
+ * they expire, so the oldest is the one evicted
+ * when a response is put.
+ */
+final class IdempotencyCache {
+    /** The estimated bytes taken by an entry besides its strings. */
+    private static final long ENTRY_OVERHEAD_BYTES = 96;
+
+    /** The entries by client, request ID and event. */
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    /** The remembered entries in the order they were put; some may have been replaced. */
+    private final ConcurrentLinkedQueue<Entry> order = new ConcurrentLinkedQueue<>();
+
+    /** The time to live of an entry in nanoseconds. */
+    private final long ttlNanos;
+
+    /** The most entries. */
+    private final int maxEntries;
+
+    /** The most estimated bytes. */
+    private final long maxBytes;
+
+    /** The source of the time in nanoseconds. */
+    private final LongSupplier nanoTime;
+
+    /** The number of remembered entries. */
+    private final AtomicInteger entryCount = new AtomicInteger();
+
+    /** The estimated bytes taken by the remembered entries. */
+    private final AtomicLong byteCount = new AtomicLong();
+
+    /** The number of requests answered from the cache. */
+    private final LongAdder hitCount = new LongAdder();
+
+    /** The number of requests not found in the cache. */
+    private final LongAdder missCount = new LongAdder();
+
+    /** The number of entries evicted. */
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * The constructor.
+     *
+     * @param   idempotencyConfig   net.jmp.handoff.daemon.IdempotencyConfig
+     */
+    IdempotencyCache(final IdempotencyConfig idempotencyConfig) {
+        this(idempotencyConfig, System::nanoTime);
+    }
+
+    /**
+     * A constructor that takes the source of
+     * the time.
+     *
+     * @param   idempotencyConfig   net.jmp.handoff.daemon.IdempotencyConfig
+     * @param   nanoTime            java.util.function.LongSupplier
+     */
+    IdempotencyCache(final IdempotencyConfig idempotencyConfig, final LongSupplier nanoTime) {
+        super();
+
+        if (idempotencyConfig.getTtlMillis() <= 0 || idempotencyConfig.getMaxEntries() <= 0 || idempotencyConfig.getMaxBytes() <= 0)
+            throw new IllegalArgumentException("The time to live and limits of the idempotency cache must be positive");
+
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(idempotencyConfig.getTtlMillis());
+        this.maxEntries = idempotencyConfig.getMaxEntries();
+        this.maxBytes = idempotencyConfig.getMaxBytes();
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Begin a client's request of an event. The
+     * response remembered for it is returned; if
+     * the request is in progress, its response is
+     * waited for. Otherwise the request is marked
+     * as in progress and null is returned, and the
+     * caller must then put its response or abandon
+     * it. A request without an ID is not marked.
+     *
+     * @param   client      java.lang.String
+     * @param   requestId   java.lang.String
+     * @param   event       java.lang.String
+     * @return              java.lang.String
+     */
+    String begin(final String client, final String requestId, final String event) {
+        if (requestId == null)
+            return null;
+
+        final var key = new Key(client, requestId, event);
+
+        while (true) {
+            final var now = this.nanoTime.getAsLong();
+            var entry = this.entries.get(key);
+
+            if (entry == null || entry.expiresAtNanos - now <= 0) {
+                final var pending = new Entry(key, now + this.ttlNanos);
+
+                entry = this.entries.compute(key, (k, existing) -> {
+                    if (existing != null && existing.expiresAtNanos - now > 0)
+                        return existing;
+
+                    if (existing != null)
+                        this.expire(existing);
+
+                    return pending;
+                });
+
+                if (entry == pending) {
+                    this.missCount.increment();
+
+                    return null;
+                }
+            }
+
+            final var response = this.await(entry, now);
+
+            if (response != null) {
+                this.hitCount.increment();
+
+                return response;
+            }
+        }
+    }
+
+    /**
+     * Remember the response to a client's request
+     * of an event, and hand it to any copy of the
+     * request that is waiting for it. The oldest
+     * entries are evicted to keep within the
+     * limits; a response too large for the cache
+     * on its own is not remembered.
+     *
+     * @param   client      java.lang.String
+     * @param   requestId   java.lang.String
+     * @param   event       java.lang.String
+     * @param   response    java.lang.String
+     */
+    void put(final String client, final String requestId, final String event, final String response) {
+        if (requestId == null)
+            return;
+
+        final var key = new Key(client, requestId, event);
+        final var bytes = estimateBytes(key, response);
+        final var now = this.nanoTime.getAsLong();
+
+        this.entries.compute(key, (k, existing) -> {
+            final var isPending = existing != null && !existing.isRemembered;
+
+            if (bytes > this.maxBytes) {
+                if (!isPending)
+                    return existing;
+
+                existing.response.complete(response);
+
+                return null;
+            }
+
+            if (existing != null && existing.isRemembered)
+                this.unlink(existing);
+
+            final var entry = isPending ? existing : new Entry(key, 0);
+
+            entry.expiresAtNanos = now + this.ttlNanos;
+            entry.bytes = bytes;
+            entry.isRemembered = true;
+
+            this.entryCount.incrementAndGet();
+            this.byteCount.addAndGet(bytes);
+            this.order.add(entry);
+
+            entry.response.complete(response);
+
+            return entry;
+        });
+
+        this.evict(now);
+    }
+
+    /**
+     * Abandon a client's request of an event that
+     * is in progress, so that a retry of it, or a
+     * copy that is waiting, runs the handler again.
+     * A request whose response was put is kept.
+     *
+     * @param   client      java.lang.String
+     * @param   requestId   java.lang.String
+     * @param   event       java.lang.String
+     */
+    void abandon(final String client, final String requestId, final String event) {
+        if (requestId == null)
+            return;
+
+        this.entries.computeIfPresent(new Key(client, requestId, event), (k, existing) -> {
+            if (existing.isRemembered)
+                return existing;
+
+            existing.response.complete(null);
+
+            return null;
+        });
+    }
+
+    /**
+     * Return the number of remembered entries.
+     *
+     * @return  int
+     */
+    int size() {
+        return this.entryCount.get();
+    }
+
+    /**
+     * Return the estimated bytes taken
+     * by the remembered entries.
+     *
+     * @return  long
+     */
+    long getByteCount() {
+        return this.byteCount.get();
+    }
+
+    /**
+     * Return the number of requests
+     * answered from the cache.
+     *
+     * @return  long
+     */
+    long getHitCount() {
+        return this.hitCount.sum();
+    }
+
+    /**
+     * Return the number of requests
+     * not found in the cache.
+     *
+     * @return  long
+     */
+    long getMissCount() {
+        return this.missCount.sum();
+    }
+
+    /**
+     * Return the number of entries evicted.
+     *
+     * @return  long
+     */
+    long getEvictionCount() {
+        return this.evictionCount.sum();
+    }
+
+    /**
+     * Wait for the response to a request in
+     * progress until the entry expires.
+     *
+     * @param   entry   net.jmp.handoff.daemon.IdempotencyCache.Entry
+     * @param   now     long
+     * @return          java.lang.String    Null if the request was abandoned or did not finish in time
+     */
+    private String await(final Entry entry, final long now) {
+        final var response = entry.response.getNow(null);
+
+        if (response != null || entry.response.isDone())
+            return response;
+
+        try {
+            return entry.response.get(entry.expiresAtNanos - now, TimeUnit.NANOSECONDS);
+        } catch (final TimeoutException te) {
+            return null;
+        } catch (final ExecutionException ee) {
+            throw new IllegalStateException(ee.getCause());
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+
+            throw new IllegalStateException("Interrupted waiting for request " + entry.key.requestId, ie);
+        }
+    }
+
+    /**
+     * Evict the remembered entries whose time to
+     * live has passed, and then the oldest until
+     * the cache is within its limits. An entry
+     * that was replaced or already expired is
+     * only dropped from the queue.
+     *
+     * @param   now long
+     */
+    private void evict(final long now) {
+        while (true) {
+            final var head = this.order.peek();
+
+            if (head == null)
+                break;
+
+            final var isOver = this.entryCount.get() > this.maxEntries || this.byteCount.get() > this.maxBytes;
+
+            if (!isOver && head.expiresAtNanos - now > 0 && this.entries.get(head.key) == head)
+                break;
+
+            if (this.order.remove(head))
+                this.entries.computeIfPresent(head.key, (k, existing) -> {
+                    if (existing != head)
+                        return existing;
+
+                    this.expire(existing);
+
+                    return null;
+                });
+        }
+    }
+
+    /**
+     * Take an entry that is being evicted out of
+     * the counts, or release the copies waiting
+     * on a request in progress that did not
+     * finish before it expired. The caller holds
+     * the map's lock on the entry's key.
+     *
+     * @param   entry   net.jmp.handoff.daemon.IdempotencyCache.Entry
+     */
+    private void expire(final Entry entry) {
+        if (entry.isRemembered) {
+            this.unlink(entry);
+            this.evictionCount.increment();
+        } else {
+            entry.response.complete(null);
+        }
+    }
+
+    /**
+     * Take a remembered entry that is being
+     * removed or replaced out of the counts.
+     * The caller holds the map's lock on the
+     * entry's key.
+     *
+     * @param   entry   net.jmp.handoff.daemon.IdempotencyCache.Entry
+     */
+    private void unlink(final Entry entry) {
+        this.entryCount.decrementAndGet();
+        this.byteCount.addAndGet(-entry.bytes);
+    }
+
+    /**
+     * Estimate the bytes an entry takes, counting
+     * two bytes a character so as not to depend
+     * on whether the strings are compacted. The
+     * event names are shared constants.
+     *
+     * @param   key         net.jmp.handoff.daemon.IdempotencyCache.Key
+     * @param   response    java.lang.String
+     * @return              long
+     */
+    private static long estimateBytes(final Key key, final String response) {
+        return ENTRY_OVERHEAD_BYTES + 2L * (key.client.length() + key.requestId.length() + response.length());
+    }
+
+    /**
+     * The overridden to-string method.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    public String toString() {
+        return String.format("%d hits, %d misses, %d evictions, %d entries, %d bytes",
+                this.getHitCount(),
+                this.getMissCount(),
+                this.getEvictionCount(),
+                this.size(),
+                this.getByteCount());
+    }
+
+    /**
+     * The key of an entry.
+     *
+     * @param   client      java.lang.String
+     * @param   requestId   java.lang.String
+     * @param   event       java.lang.String
+     */
+    private record Key(String client, String requestId, String event) {
+    }
+
+    /**
+     * An entry: a request in progress until its
+     * response is complete, then a remembered
+     * response. Its fields are set before the
+     * response is completed.
+     */
+    private static final class Entry {
+        /** The key. */
+        private final Key key;
+
+        /** The response; null when the request was abandoned. */
+        private final CompletableFuture<String> response = new CompletableFuture<>();
+
+        /** The time the entry expires in nanoseconds; read without the lock. */
+        private volatile long expiresAtNanos;
+
+        /** The estimated bytes the entry takes; guarded by the map's lock on the key. */
+        private long bytes;
+
+        /** True once the response is remembered and counted; guarded by the map's lock on the key. */
+        private boolean isRemembered;
+
+        /**
+         * The constructor.
+         *
+         * @param   key             net.jmp.handoff.daemon.IdempotencyCache.Key
+         * @param   expiresAtNanos  long
+         */
+        private Entry(final Key key, final long expiresAtNanos) {
+            super();
+
+            this.key = key;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)IdempotencyConfig.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * The idempotency configuration class. It is
+ * the 'idempotency' object in the configuration
+ * file. A setting that is absent keeps its
+ * default.
+ */
+public class IdempotencyConfig {
+    /** True to answer a repeated request ID with the response already sent. */
+    @SerializedName("enabled")
+    private boolean enabled = true;
+
+    /** How long a response is remembered, in milliseconds. */
+    @SerializedName("ttlMillis")
+    private long ttlMillis = 300000;
+
+    /** The most responses remembered. */
+    @SerializedName("maxEntries")
+    private int maxEntries = 100000;
+
+    /** The most memory the remembered responses may take, in bytes. */
+    @SerializedName("maxBytes")
+    private long maxBytes = 67108864;
+
+    /**
+     * The default constructor.
+     */
+    IdempotencyConfig() {
+        super();
+    }
+
+    /**
+     * Return true if repeated requests are
+     * answered from the cache.
+     *
+     * @return  boolean
+     */
+    boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Set whether repeated requests are
+     * answered from the cache.
+     *
+     * @param   enabled boolean
+     */
+    void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get how long a response is remembered.
+     *
+     * @return  long
+     */
+    long getTtlMillis() {
+        return this.ttlMillis;
+    }
+
+    /**
+     * Set how long a response is remembered.
+     *
+     * @param   ttlMillis   long
+     */
+    void setTtlMillis(final long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Get the most responses remembered.
+     *
+     * @return  int
+     */
+    int getMaxEntries() {
+        return this.maxEntries;
+    }
+
+    /**
+     * Set the most responses remembered.
+     *
+     * @param   maxEntries  int
+     */
+    void setMaxEntries(final int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Get the most memory the remembered
+     * responses may take.
+     *
+     * @return  long
+     */
+    long getMaxBytes() {
+        return this.maxBytes;
+    }
+
+    /**
+     * Set the most memory the remembered
+     * responses may take.
+     *
+     * @param   maxBytes    long
+     */
+    void setMaxBytes(final long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+}
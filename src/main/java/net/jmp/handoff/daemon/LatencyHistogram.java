@@ -0,0 +1,185 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)LatencyHistogram.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of latencies. The
+ * buckets are powers of two nanoseconds from
+ * about a microsecond to about eight seconds,
+ * so recording is a bit count and an atomic
+ * add, and a quantile is read to within a
+ * factor of two.
+ */
+final class LatencyHistogram {
+    /** The power of two of the first bucket's upper bound, 1024 ns. */
+    private static final int FIRST_SHIFT = 10;
+
+    /** The number of bounded buckets; the last bound is 2^33 ns. */
+    static final int BUCKET_COUNT = 24;
+
+    /** The counts of the buckets; the last counts what is over every bound. */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT + 1);
+
+    /** The total of the latencies recorded in nanoseconds. */
+    private final LongAdder totalNanos = new LongAdder();
+
+    /** The longest latency recorded in nanoseconds. */
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * The default constructor.
+     */
+    LatencyHistogram() {
+        super();
+    }
+
+    /**
+     * Record a latency.
+     *
+     * @param   nanos   long
+     */
+    void record(final long nanos) {
+        final var value = Math.max(0, nanos);
+
+        this.counts.incrementAndGet(getBucket(value));
+        this.totalNanos.add(value);
+
+        if (value > this.maxNanos.get())
+            this.maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Get the bucket of a latency: the first
+     * whose upper bound is not below it.
+     *
+     * @param   nanos   long
+     * @return          int
+     */
+    static int getBucket(final long nanos) {
+        final var shift = 64 - Long.numberOfLeadingZeros(Math.max(0, nanos - 1));
+
+        return Math.min(BUCKET_COUNT, Math.max(0, shift - FIRST_SHIFT));
+    }
+
+    /**
+     * Get the upper bound of a bucket in
+     * nanoseconds. The last bucket has none.
+     *
+     * @param   bucket  int
+     * @return          long    Long.MAX_VALUE for the last bucket
+     */
+    static long getUpperBoundNanos(final int bucket) {
+        return (bucket < BUCKET_COUNT) ? 1L << (bucket + FIRST_SHIFT) : Long.MAX_VALUE;
+    }
+
+    /**
+     * Get the number of latencies in a bucket.
+     *
+     * @param   bucket  int
+     * @return          long
+     */
+    long getBucketCount(final int bucket) {
+        return this.counts.get(bucket);
+    }
+
+    /**
+     * Get the number of latencies recorded.
+     *
+     * @return  long
+     */
+    long getCount() {
+        long count = 0;
+
+        for (int i = 0; i <= BUCKET_COUNT; i++)
+            count += this.counts.get(i);
+
+        return count;
+    }
+
+    /**
+     * Get the total of the latencies
+     * recorded in nanoseconds.
+     *
+     * @return  long
+     */
+    long getTotalNanos() {
+        return this.totalNanos.sum();
+    }
+
+    /**
+     * Get the longest latency
+     * recorded in nanoseconds.
+     *
+     * @return  long
+     */
+    long getMaxNanos() {
+        return this.maxNanos.get();
+    }
+
+    /**
+     * Get a quantile of the latencies as the
+     * upper bound of the bucket it falls in,
+     * but no more than the longest latency.
+     *
+     * @param   quantile    double  Between 0 and 1
+     * @return              long    0 if nothing was recorded
+     */
+    long getQuantileNanos(final double quantile) {
+        final var snapshot = new long[BUCKET_COUNT + 1];
+
+        long count = 0;
+
+        for (int i = 0; i <= BUCKET_COUNT; i++) {
+            snapshot[i] = this.counts.get(i);
+            count += snapshot[i];
+        }
+
+        if (count == 0)
+            return 0;
+
+        final var rank = Math.max(1, (long) Math.ceil(quantile * count));
+
+        long cumulative = 0;
+
+        for (int i = 0; i <= BUCKET_COUNT; i++) {
+            cumulative += snapshot[i];
+
+            if (cumulative >= rank)
+                return Math.min(getUpperBoundNanos(i), this.getMaxNanos());
+        }
+
+        return this.getMaxNanos();
+    }
+}
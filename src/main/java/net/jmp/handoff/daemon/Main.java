@@ -1,6 +1,7 @@
 package net.jmp.handoff.daemon;
 
 /*
+ * (#)Main.java 0.8.0   10/18/2026
  * (#)Main.java 0.7.0   05/07/2024
  * (#)Main.java 0.4.0   04/12/2024
  * (#)Main.java 0.3.0   04/12/2024
@@ -8,7 +9,7 @@ package net.jmp.handoff.daemon;
  * (#)Main.java 0.1.0   04/05/2024
  *
  * @author    Jonathan Parker
- * @version   0.7.0
+ * @version   0.8.0
  * @since     0.1.0
  *
  * MIT License
@@ -75,17 +76,30 @@ public final class Main {
      * @param   args    java.lang.String[]
      */
     private void run(final String[] args) {
-        this.logger.entry((Object) args);
+        if (Tracing.ENABLED)
+            this.logger.entry((Object) args);
 
         final var port = this.getPortFromArgument(args);
 
         this.getAppConfig().ifPresent(appConfig -> {
-            final var server = new Server(appConfig.getHostName(), (port != 0) ? port : appConfig.getPort());
+            final var server = Server.getBuilder()
+                    .hostName(appConfig.getHostName())
+                    .port((port != 0) ? port : appConfig.getPort())
+                    .idGeneratorType(IdGeneratorType.fromValue(appConfig.getIdGenerator()))
+                    .transportConfig(appConfig.getTransport())
+                    .executionConfig(appConfig.getExecution())
+                    .idempotencyConfig(appConfig.getIdempotency())
+                    .metricsConfig(appConfig.getMetrics())
+                    .flightRecorderConfig(appConfig.getFlightRecorder())
+                    .requestLogConfig(appConfig.getRequestLog())
+                    .stallDetectorConfig(appConfig.getStallDetector())
+                    .build();
 
             server.setupAndRunServer();
         });
 
-        this.logger.exit();
+        if (Tracing.ENABLED)
+            this.logger.exit();
     }
 
     /**
@@ -95,7 +109,8 @@ public final class Main {
      * @return          int
      */
     private int getPortFromArgument(final String[] args) {
-        this.logger.entry((Object) args);
+        if (Tracing.ENABLED)
+            this.logger.entry((Object) args);
 
         int port = 0;
 
@@ -118,7 +133,8 @@ public final class Main {
             }
         }
 
-        this.logger.exit(port);
+        if (Tracing.ENABLED)
+            this.logger.exit(port);
 
         return port;
     }
@@ -129,7 +145,8 @@ public final class Main {
      * @return  java.lang.Optional&lt;net.jmp.handoff.daemon.Config&gt;
      */
     private Optional<Config> getAppConfig() {
-        this.logger.entry();
+        if (Tracing.ENABLED)
+            this.logger.entry();
 
         Config appConfig = null;
 
@@ -139,7 +156,8 @@ public final class Main {
             this.logger.catching(ioe);
         }
 
-        this.logger.exit(appConfig);
+        if (Tracing.ENABLED)
+            this.logger.exit(appConfig);
 
         return Optional.ofNullable(appConfig);
     }
@@ -0,0 +1,139 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)MetricsConfig.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * The metrics configuration class. It is the
+ * 'metrics' object in the configuration file.
+ * A setting that is absent keeps its default.
+ */
+public class MetricsConfig {
+    /** True to serve the metrics over HTTP for scraping. */
+    @SerializedName("httpEnabled")
+    private boolean httpEnabled = false;
+
+    /** The host name the HTTP endpoint binds to. */
+    @SerializedName("httpHostname")
+    private String httpHostName = "localhost";
+
+    /** The port of the HTTP endpoint. */
+    @SerializedName("httpPort")
+    private int httpPort = 9464;
+
+    /** The path of the HTTP endpoint. */
+    @SerializedName("httpPath")
+    private String httpPath = "/metrics";
+
+    /**
+     * The default constructor.
+     */
+    MetricsConfig() {
+        super();
+    }
+
+    /**
+     * Return true if the metrics are
+     * served over HTTP.
+     *
+     * @return  boolean
+     */
+    boolean isHttpEnabled() {
+        return this.httpEnabled;
+    }
+
+    /**
+     * Set whether the metrics are
+     * served over HTTP.
+     *
+     * @param   httpEnabled boolean
+     */
+    void setHttpEnabled(final boolean httpEnabled) {
+        this.httpEnabled = httpEnabled;
+    }
+
+    /**
+     * Get the host name the HTTP
+     * endpoint binds to.
+     *
+     * @return  java.lang.String
+     */
+    String getHttpHostName() {
+        return this.httpHostName;
+    }
+
+    /**
+     * Set the host name the HTTP
+     * endpoint binds to.
+     *
+     * @param   httpHostName    java.lang.String
+     */
+    void setHttpHostName(final String httpHostName) {
+        this.httpHostName = httpHostName;
+    }
+
+    /**
+     * Get the port of the HTTP endpoint.
+     *
+     * @return  int
+     */
+    int getHttpPort() {
+        return this.httpPort;
+    }
+
+    /**
+     * Set the port of the HTTP endpoint.
+     *
+     * @param   httpPort    int
+     */
+    void setHttpPort(final int httpPort) {
+        this.httpPort = httpPort;
+    }
+
+    /**
+     * Get the path of the HTTP endpoint.
+     *
+     * @return  java.lang.String
+     */
+    String getHttpPath() {
+        return this.httpPath;
+    }
+
+    /**
+     * Set the path of the HTTP endpoint.
+     *
+     * @param   httpPath    java.lang.String
+     */
+    void setHttpPath(final String httpPath) {
+        this.httpPath = httpPath;
+    }
+}
@@ -0,0 +1,134 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)MetricsHttpServer.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+
+import java.net.InetSocketAddress;
+
+import java.nio.charset.StandardCharsets;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+/**
+ * The metrics HTTP server class. It serves the
+ * metrics registry in the Prometheus text format
+ * on one path, from the JDK's own HTTP server
+ * on a thread of its own, so a scrape never
+ * waits on the socket IO threads.
+ */
+final class MetricsHttpServer {
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** The metrics registry. */
+    private final MetricsRegistry metricsRegistry;
+
+    /** The HTTP server. */
+    private final HttpServer httpServer;
+
+    /**
+     * The constructor. The server is bound
+     * but not started.
+     *
+     * @param   metricsConfig   net.jmp.handoff.daemon.MetricsConfig
+     * @param   metricsRegistry net.jmp.handoff.daemon.MetricsRegistry
+     * @throws  java.io.IOException When the address cannot be bound
+     */
+    MetricsHttpServer(final MetricsConfig metricsConfig, final MetricsRegistry metricsRegistry) throws IOException {
+        super();
+
+        this.metricsRegistry = metricsRegistry;
+        this.httpServer = HttpServer.create(new InetSocketAddress(metricsConfig.getHttpHostName(), metricsConfig.getHttpPort()), 0);
+        this.httpServer.createContext(metricsConfig.getHttpPath(), this::handle);
+    }
+
+    /**
+     * Start serving.
+     */
+    void start() {
+        this.httpServer.start();
+
+        this.logger.info("Serving metrics on http://{}:{}", this.httpServer.getAddress().getHostString(), this.getPort());
+    }
+
+    /**
+     * Stop serving.
+     */
+    void stop() {
+        this.httpServer.stop(0);
+    }
+
+    /**
+     * Get the port the server is bound to.
+     *
+     * @return  int
+     */
+    int getPort() {
+        return this.httpServer.getAddress().getPort();
+    }
+
+    /**
+     * Handle a request. Only GET and HEAD
+     * are allowed.
+     *
+     * @param   exchange    com.sun.net.httpserver.HttpExchange
+     * @throws  java.io.IOException
+     */
+    private void handle(final HttpExchange exchange) throws IOException {
+        try (exchange) {
+            final var method = exchange.getRequestMethod();
+
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+
+                return;
+            }
+
+            final var body = this.metricsRegistry.toPrometheusText().getBytes(StandardCharsets.UTF_8);
+
+            exchange.getResponseHeaders().set("Content-Type", MetricsRegistry.PROMETHEUS_CONTENT_TYPE);
+
+            if ("HEAD".equals(method)) {
+                exchange.sendResponseHeaders(200, -1);
+            } else {
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            }
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)MetricsRegistry.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import java.util.function.LongSupplier;
+
+/**
+ * The metrics registry class. A metric is a
+ * counter, gauge or latency histogram in a
+ * family of the same name told apart by its
+ * labels. The registry does not hold the
+ * values: each metric reads them from the
+ * counters that already keep them, so that
+ * recording costs no more than it did and
+ * reading takes no lock. Metrics are read
+ * as Prometheus text or as a flat map.
+ */
+final class MetricsRegistry {
+    /** The content type of the Prometheus text format. */
+    static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    /** The families in the order they were registered. */
+    private final CopyOnWriteArrayList<Family> families = new CopyOnWriteArrayList<>();
+
+    /**
+     * The default constructor.
+     */
+    MetricsRegistry() {
+        super();
+    }
+
+    /**
+     * Register a counter.
+     *
+     * @param   name    java.lang.String
+     * @param   labels  java.lang.String    The labels, such as event="ECHO", or an empty string
+     * @param   help    java.lang.String
+     * @param   value   java.util.function.LongSupplier
+     */
+    void counter(final String name, final String labels, final String help, final LongSupplier value) {
+        this.getFamily(name, Type.COUNTER, help).series.add(new Series(labels, value, null));
+    }
+
+    /**
+     * Register a gauge.
+     *
+     * @param   name    java.lang.String
+     * @param   labels  java.lang.String    The labels, such as event="ECHO", or an empty string
+     * @param   help    java.lang.String
+     * @param   value   java.util.function.LongSupplier
+     */
+    void gauge(final String name, final String labels, final String help, final LongSupplier value) {
+        this.getFamily(name, Type.GAUGE, help).series.add(new Series(labels, value, null));
+    }
+
+    /**
+     * Register a latency histogram. Its
+     * name should end with '_seconds'.
+     *
+     * @param   name        java.lang.String
+     * @param   labels      java.lang.String    The labels, such as event="ECHO", or an empty string
+     * @param   help        java.lang.String
+     * @param   histogram   net.jmp.handoff.daemon.LatencyHistogram
+     */
+    void histogram(final String name, final String labels, final String help, final LatencyHistogram histogram) {
+        this.getFamily(name, Type.HISTOGRAM, help).series.add(new Series(labels, null, histogram));
+    }
+
+    /**
+     * Get the family of a name, adding it if
+     * there is none. A name cannot be used for
+     * two types of metric.
+     *
+     * @param   name    java.lang.String
+     * @param   type    net.jmp.handoff.daemon.MetricsRegistry.Type
+     * @param   help    java.lang.String
+     * @return          net.jmp.handoff.daemon.MetricsRegistry.Family
+     */
+    private synchronized Family getFamily(final String name, final Type type, final String help) {
+        for (final var family : this.families) {
+            if (family.name.equals(name)) {
+                if (family.type != type)
+                    throw new IllegalArgumentException("The metric " + name + " is already a " + family.type.getValue());
+
+                return family;
+            }
+        }
+
+        final var family = new Family(name, type, help, new CopyOnWriteArrayList<>());
+
+        this.families.add(family);
+
+        return family;
+    }
+
+    /**
+     * Get the number of metric families.
+     *
+     * @return  int
+     */
+    int getFamilyCount() {
+        return this.families.size();
+    }
+
+    /**
+     * Write the metrics in the Prometheus
+     * text exposition format.
+     *
+     * @return  java.lang.String
+     */
+    String toPrometheusText() {
+        final var text = new StringBuilder(4096);
+
+        for (final var family : this.families) {
+            text.append("# HELP ").append(family.name).append(' ').append(family.help).append('\n');
+            text.append("# TYPE ").append(family.name).append(' ').append(family.type.getValue()).append('\n');
+
+            for (final var series : family.series) {
+                if (family.type == Type.HISTOGRAM)
+                    appendHistogram(text, family.name, series.labels, series.histogram);
+                else
+                    appendSample(text, family.name, series.labels, null, Long.toString(series.value.getAsLong()));
+            }
+        }
+
+        return text.toString();
+    }
+
+    /**
+     * Write the samples of a histogram: the
+     * cumulative count of each bucket, then
+     * the sum and the count.
+     *
+     * @param   text        java.lang.StringBuilder
+     * @param   name        java.lang.String
+     * @param   labels      java.lang.String
+     * @param   histogram   net.jmp.handoff.daemon.LatencyHistogram
+     */
+    private static void appendHistogram(final StringBuilder text,
+                                        final String name,
+                                        final String labels,
+                                        final LatencyHistogram histogram) {
+        long cumulative = 0;
+
+        for (int i = 0; i <= LatencyHistogram.BUCKET_COUNT; i++) {
+            cumulative += histogram.getBucketCount(i);
+
+            final var bound = (i < LatencyHistogram.BUCKET_COUNT)
+                    ? toSeconds(LatencyHistogram.getUpperBoundNanos(i))
+                    : "+Inf";
+
+            appendSample(text, name + "_bucket", labels, "le=\"" + bound + '"', Long.toString(cumulative));
+        }
+
+        appendSample(text, name + "_sum", labels, null, toSeconds(histogram.getTotalNanos()));
+        appendSample(text, name + "_count", labels, null, Long.toString(cumulative));
+    }
+
+    /**
+     * Write one sample.
+     *
+     * @param   text        java.lang.StringBuilder
+     * @param   name        java.lang.String
+     * @param   labels      java.lang.String
+     * @param   extraLabel  java.lang.String    A label after the others, or null
+     * @param   value       java.lang.String
+     */
+    private static void appendSample(final StringBuilder text,
+                                     final String name,
+                                     final String labels,
+                                     final String extraLabel,
+                                     final String value) {
+        text.append(name);
+
+        if (!labels.isEmpty() || extraLabel != null) {
+            text.append('{').append(labels);
+
+            if (extraLabel != null)
+                text.append(labels.isEmpty() ? "" : ",").append(extraLabel);
+
+            text.append('}');
+        }
+
+        text.append(' ').append(value).append('\n');
+    }
+
+    /**
+     * Read the metrics into a map from the name
+     * and labels of each sample to its value.
+     * A histogram is read as its count and its
+     * sum, median, 99th percentile and maximum
+     * in seconds.
+     *
+     * @return  java.util.Map&lt;java.lang.String, java.lang.Number&gt;
+     */
+    Map<String, Number> snapshot() {
+        final var snapshot = new LinkedHashMap<String, Number>();
+
+        for (final var family : this.families) {
+            for (final var series : family.series) {
+                final var suffix = series.labels.isEmpty() ? "" : '{' + series.labels + '}';
+
+                if (family.type == Type.HISTOGRAM) {
+                    final var histogram = series.histogram;
+
+                    snapshot.put(family.name + "_count" + suffix, histogram.getCount());
+                    snapshot.put(family.name + "_sum" + suffix, histogram.getTotalNanos() / 1e9);
+                    snapshot.put(family.name + "_p50" + suffix, histogram.getQuantileNanos(0.5) / 1e9);
+                    snapshot.put(family.name + "_p99" + suffix, histogram.getQuantileNanos(0.99) / 1e9);
+                    snapshot.put(family.name + "_max" + suffix, histogram.getMaxNanos() / 1e9);
+                } else {
+                    snapshot.put(family.name + suffix, series.value.getAsLong());
+                }
+            }
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Format nanoseconds as seconds.
+     *
+     * @param   nanos   long
+     * @return          java.lang.String
+     */
+    private static String toSeconds(final long nanos) {
+        return Double.toString(nanos / 1e9);
+    }
+
+    /**
+     * Quote a label value for the Prometheus
+     * text format.
+     *
+     * @param   value   java.lang.String
+     * @return          java.lang.String
+     */
+    static String quote(final String value) {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + '"';
+    }
+
+    /**
+     * The types of metric.
+     */
+    enum Type {
+        COUNTER     ("counter"),
+        GAUGE       ("gauge"),
+        HISTOGRAM   ("histogram");
+
+        /** The name of the type in the text format. */
+        private final String value;
+
+        /**
+         * The constructor.
+         *
+         * @param   value   java.lang.String
+         */
+        Type(final String value) {
+            this.value = value;
+        }
+
+        /**
+         * Get the name of the type in the text format.
+         *
+         * @return  java.lang.String
+         */
+        String getValue() {
+            return this.value;
+        }
+    }
+
+    /**
+     * A family of metrics of one name.
+     *
+     * @param   name    java.lang.String
+     * @param   type    net.jmp.handoff.daemon.MetricsRegistry.Type
+     * @param   help    java.lang.String
+     * @param   series  java.util.concurrent.CopyOnWriteArrayList&lt;net.jmp.handoff.daemon.MetricsRegistry.Series&gt;
+     */
+    private record Family(String name, Type type, String help, CopyOnWriteArrayList<Series> series) {
+    }
+
+    /**
+     * One metric of a family, told apart by its
+     * labels. It has a value or a histogram.
+     *
+     * @param   labels      java.lang.String
+     * @param   value       java.util.function.LongSupplier
+     * @param   histogram   net.jmp.handoff.daemon.LatencyHistogram
+     */
+    private record Series(String labels, LongSupplier value, LatencyHistogram histogram) {
+    }
+}
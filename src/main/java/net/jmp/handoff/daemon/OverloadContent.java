@@ -0,0 +1,122 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)OverloadContent.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * The content of a response to a request
+ * that was refused because the daemon is
+ * overloaded. It says how long the client
+ * should wait before it retries.
+ */
+final class OverloadContent extends Content {
+    /** The type. It is typically 'Overload'. */
+    @SerializedName("type")
+    private final String type;
+
+    /** The message. */
+    @SerializedName("message")
+    private String message;
+
+    /** The time to wait before retrying in milliseconds. */
+    @SerializedName("retryAfterMillis")
+    private long retryAfterMillis;
+
+    /**
+     * The default constructor.
+     */
+    OverloadContent() {
+        super();
+
+        this.type = "Overload";
+    }
+
+    /**
+     * A constructor that takes the message
+     * and the time to wait before retrying.
+     *
+     * @param   message             java.lang.String
+     * @param   retryAfterMillis    long
+     */
+    OverloadContent(final String message, final long retryAfterMillis) {
+        this();
+
+        this.message = message;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    /**
+     * Get the type.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    String getType() {
+        return this.type;
+    }
+
+    /**
+     * Get the message.
+     *
+     * @return  java.lang.String
+     */
+    String getMessage() {
+        return this.message;
+    }
+
+    /**
+     * Set the message.
+     *
+     * @param   message java.lang.String
+     */
+    void setMessage(final String message) {
+        this.message = message;
+    }
+
+    /**
+     * Get the time to wait before retrying.
+     *
+     * @return  long
+     */
+    long getRetryAfterMillis() {
+        return this.retryAfterMillis;
+    }
+
+    /**
+     * Set the time to wait before retrying.
+     *
+     * @param   retryAfterMillis    long
+     */
+    void setRetryAfterMillis(final long retryAfterMillis) {
+        this.retryAfterMillis = retryAfterMillis;
+    }
+}
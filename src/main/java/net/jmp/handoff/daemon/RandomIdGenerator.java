@@ -0,0 +1,68 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)RandomIdGenerator.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.UUID;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A generator of random version 4 UUIDs. They
+ * are drawn from ThreadLocalRandom instead of
+ * from the shared secure random used by UUID.
+ * Its state is kept in fields of the thread
+ * itself, so a virtual thread created for each
+ * task seeds it without a lock, a pinned
+ * carrier or a thread-local map entry.
+ */
+final class RandomIdGenerator implements IdGenerator {
+    /**
+     * The constructor.
+     */
+    RandomIdGenerator() {
+        super();
+    }
+
+    /**
+     * Return the next identifier.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    public String nextId() {
+        final var random = ThreadLocalRandom.current();
+
+        final var mostSigBits = (random.nextLong() & 0xFFFF_FFFF_FFFF_0FFFL) | 0x4000L;
+        final var leastSigBits = (random.nextLong() & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L;
+
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+}
@@ -0,0 +1,124 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)RecordingContent.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * The content of a response to a recording
+ * request. It says whether a flight recording
+ * is running and where one was dumped.
+ */
+final class RecordingContent extends Content {
+    /** The type. It is typically 'Recording'. */
+    @SerializedName("type")
+    private final String type;
+
+    /** True if a recording is running. */
+    @SerializedName("recording")
+    private boolean recording;
+
+    /** The path of the file the recording was dumped to, if any. */
+    @SerializedName("path")
+    private String path;
+
+    /**
+     * The default constructor.
+     */
+    RecordingContent() {
+        super();
+
+        this.type = "Recording";
+    }
+
+    /**
+     * A constructor that takes whether a
+     * recording is running and the path of
+     * the file it was dumped to.
+     *
+     * @param   recording   boolean
+     * @param   path        java.lang.String
+     */
+    RecordingContent(final boolean recording, final String path) {
+        this();
+
+        this.recording = recording;
+        this.path = path;
+    }
+
+    /**
+     * Get the type.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    String getType() {
+        return this.type;
+    }
+
+    /**
+     * Return true if a recording is running.
+     *
+     * @return  boolean
+     */
+    boolean isRecording() {
+        return this.recording;
+    }
+
+    /**
+     * Set whether a recording is running.
+     *
+     * @param   recording   boolean
+     */
+    void setRecording(final boolean recording) {
+        this.recording = recording;
+    }
+
+    /**
+     * Get the path of the file the
+     * recording was dumped to.
+     *
+     * @return  java.lang.String
+     */
+    String getPath() {
+        return this.path;
+    }
+
+    /**
+     * Set the path of the file the
+     * recording was dumped to.
+     *
+     * @param   path    java.lang.String
+     */
+    void setPath(final String path) {
+        this.path = path;
+    }
+}
@@ -1,10 +1,11 @@
 package net.jmp.handoff.daemon;
 
 /*
+ * (#)Request.java  0.8.0   10/18/2026
  * (#)Request.java  0.4.0   04/17/2024
  *
  * @author    Jonathan Parker
- * @version   0.4.0
+ * @version   0.8.0
  * @since     0.4.0
  *
  * MIT License
@@ -56,6 +57,16 @@ final class Request {
     @SerializedName("content")
     private String content;
 
+    /** The name of the room, if any. */
+    @SerializedName("room")
+    private String room;
+
+    /** The date and time in milliseconds since the epoch, once parsed. */
+    private transient long dateTimeMillis;
+
+    /** True when the date and time has been parsed. */
+    private transient boolean isDateTimeParsed;
+
     /**
      * The constructor.
      */
@@ -76,6 +87,7 @@ final class Request {
         this.dateTime = builder.dateTime;
         this.event = builder.event;
         this.content = builder.content;
+        this.room = builder.room;
     }
 
     /**
@@ -123,6 +135,15 @@ final class Request {
         this.event = socketEvent.getValue();
     }
 
+    /**
+     * Set the name of the event.
+     *
+     * @param   event   java.lang.String
+     */
+    void setEvent(final String event) {
+        this.event = event;
+    }
+
     /**
      * Set the type.
      *
@@ -157,6 +178,22 @@ final class Request {
      */
     void setDateTime(final String dateTime) {
         this.dateTime = dateTime;
+        this.isDateTimeParsed = false;
+    }
+
+    /**
+     * Get the date and time in milliseconds since the
+     * epoch. It is parsed on first use and then cached.
+     *
+     * @return  long, or net.jmp.handoff.daemon.DateTimes.INVALID if it cannot be parsed
+     */
+    long getDateTimeMillis() {
+        if (!this.isDateTimeParsed) {
+            this.dateTimeMillis = DateTimes.parseUTC(this.dateTime);
+            this.isDateTimeParsed = true;
+        }
+
+        return this.dateTimeMillis;
     }
 
     /**
@@ -177,6 +214,24 @@ final class Request {
         this.content = content;
     }
 
+    /**
+     * Get the name of the room, if any.
+     *
+     * @return  java.lang.String
+     */
+    String getRoom() {
+        return this.room;
+    }
+
+    /**
+     * Set the name of the room.
+     *
+     * @param   room    java.lang.String
+     */
+    void setRoom(final String room) {
+        this.room = room;
+    }
+
     /**
      * A class that uses the builder pattern
      * to construct new instances of the
@@ -195,6 +250,9 @@ final class Request {
         /** The content, if any. */
         private String content;
 
+        /** The name of the room, if any. */
+        private String room;
+
         /**
          * The default constructor.
          */
@@ -246,6 +304,17 @@ final class Request {
             return this;
         }
 
+        /**
+         * Set the name of the room.
+         *
+         * @param   room    java.lang.String
+         */
+        RequestBuilder room(final String room) {
+            this.room = room;
+
+            return this;
+        }
+
         /**
          * Build and return the new instance.
          *
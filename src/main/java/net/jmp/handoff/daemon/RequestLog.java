@@ -0,0 +1,228 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)RequestLog.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+/**
+ * The request log class. It writes one
+ * structured record, a line of JSON, for
+ * each request it keeps. A request that
+ * failed, was refused or was slow is always
+ * kept, at the warn level; the rest are kept
+ * at the info level with the sample rate.
+ * Nothing is built for a request that is not
+ * kept. The records are meant for an async,
+ * bounded appender so that writing them never
+ * holds up the thread handling the request.
+ */
+final class RequestLog {
+    /** The code of the response sent by the thread handling the current request. */
+    private static final ThreadLocal<ResponseCode> currentCode = new ThreadLocal<>();
+
+    /** The length of a record without its strings. */
+    private static final int RECORD_OVERHEAD = 112;
+
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** True to write records. */
+    private final boolean isEnabled;
+
+    /** The fraction of successful, fast requests that are kept. */
+    private final double sampleRate;
+
+    /** The time after which a request is slow, in nanoseconds. */
+    private final long slowNanos;
+
+    /** The number of records written. */
+    private final LongAdder writtenCount = new LongAdder();
+
+    /** The number of requests not kept by the sampling. */
+    private final LongAdder skippedCount = new LongAdder();
+
+    /**
+     * The constructor.
+     *
+     * @param   requestLogConfig    net.jmp.handoff.daemon.RequestLogConfig
+     */
+    RequestLog(final RequestLogConfig requestLogConfig) {
+        super();
+
+        this.isEnabled = requestLogConfig.isEnabled();
+        this.sampleRate = requestLogConfig.getSampleRate();
+        this.slowNanos = requestLogConfig.getSlowMillis() * 1_000_000L;
+    }
+
+    /**
+     * Set the code of the response sent by
+     * the thread handling the current request.
+     *
+     * @param   code    net.jmp.handoff.daemon.ResponseCode
+     */
+    static void setCode(final ResponseCode code) {
+        currentCode.set(code);
+    }
+
+    /**
+     * Get and forget the code of the response
+     * sent by the thread handling the current
+     * request.
+     *
+     * @return  net.jmp.handoff.daemon.ResponseCode    Null if no response was sent
+     */
+    static ResponseCode takeCode() {
+        final var code = currentCode.get();
+
+        currentCode.remove();
+
+        return code;
+    }
+
+    /**
+     * Log a request if it is kept.
+     *
+     * @param   event           java.lang.String
+     * @param   sessionId       java.lang.String
+     * @param   requestId       java.lang.String
+     * @param   code            net.jmp.handoff.daemon.ResponseCode   Null if no response was sent
+     * @param   elapsedNanos    long
+     */
+    void log(final String event,
+             final String sessionId,
+             final String requestId,
+             final ResponseCode code,
+             final long elapsedNanos) {
+        if (!this.isEnabled)
+            return;
+
+        final String reason;
+
+        if (code != ResponseCode.OK)
+            reason = "error";
+        else if (elapsedNanos >= this.slowNanos)
+            reason = "slow";
+        else if (this.sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < this.sampleRate)
+            reason = "sampled";
+        else
+            reason = null;
+
+        if (reason == null) {
+            this.skippedCount.increment();
+        } else if (reason.equals("sampled")) {
+            if (this.logger.isInfoEnabled()) {
+                this.logger.info(toRecord(event, sessionId, requestId, code, elapsedNanos, reason));
+                this.writtenCount.increment();
+            }
+        } else {
+            if (this.logger.isWarnEnabled()) {
+                this.logger.warn(toRecord(event, sessionId, requestId, code, elapsedNanos, reason));
+                this.writtenCount.increment();
+            }
+        }
+    }
+
+    /**
+     * Get the number of records written.
+     *
+     * @return  long
+     */
+    long getWrittenCount() {
+        return this.writtenCount.sum();
+    }
+
+    /**
+     * Get the number of requests not
+     * kept by the sampling.
+     *
+     * @return  long
+     */
+    long getSkippedCount() {
+        return this.skippedCount.sum();
+    }
+
+    /**
+     * Build the record of a request. The
+     * builder is sized for the record up
+     * front, as the handlers run on a new
+     * virtual thread for each request and a
+     * builder kept per thread would not be
+     * reused.
+     *
+     * @param   event           java.lang.String
+     * @param   sessionId       java.lang.String
+     * @param   requestId       java.lang.String
+     * @param   code            net.jmp.handoff.daemon.ResponseCode
+     * @param   elapsedNanos    long
+     * @param   reason          java.lang.String
+     * @return                  java.lang.String
+     */
+    static String toRecord(final String event,
+                           final String sessionId,
+                           final String requestId,
+                           final ResponseCode code,
+                           final long elapsedNanos,
+                           final String reason) {
+        final var builder = new StringBuilder(RECORD_OVERHEAD + length(event) + length(sessionId) + length(requestId));
+
+        builder.append("{\"event\":");
+        Codec.appendString(builder, event);
+        builder.append(",\"sessionId\":");
+        Codec.appendString(builder, sessionId);
+        builder.append(",\"requestId\":");
+        Codec.appendString(builder, requestId);
+        builder.append(",\"code\":");
+        Codec.appendString(builder, (code != null) ? code.getValue() : null);
+        builder.append(",\"micros\":").append(elapsedNanos / 1_000L);
+        builder.append(",\"reason\":");
+        Codec.appendString(builder, reason);
+        builder.append('}');
+
+        return builder.toString();
+    }
+
+    /**
+     * Get the length of a string, or 0
+     * if it is null.
+     *
+     * @param   value   java.lang.String
+     * @return          int
+     */
+    private static int length(final String value) {
+        return (value != null) ? value.length() : 0;
+    }
+}
@@ -0,0 +1,144 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)RequestLogConfig.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * The request log configuration class. It is
+ * the 'requestLog' object in the configuration
+ * file. A setting that is absent keeps its
+ * default.
+ */
+public class RequestLogConfig {
+    /** True to write a record for each request. */
+    @SerializedName("enabled")
+    private boolean enabled = true;
+
+    /** The fraction of successful, fast requests that are logged, from 0 to 1. */
+    @SerializedName("sampleRate")
+    private double sampleRate = 0.01;
+
+    /** The time after which a request is slow and always logged, in milliseconds. */
+    @SerializedName("slowMillis")
+    private long slowMillis = 250;
+
+    /** True to also log each event and request in the human-readable form. */
+    @SerializedName("verbose")
+    private boolean verbose = false;
+
+    /**
+     * The default constructor.
+     */
+    RequestLogConfig() {
+        super();
+    }
+
+    /**
+     * Return true if a record is
+     * written for each request.
+     *
+     * @return  boolean
+     */
+    boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Set whether a record is written
+     * for each request.
+     *
+     * @param   enabled boolean
+     */
+    void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get the fraction of successful,
+     * fast requests that are logged.
+     *
+     * @return  double
+     */
+    double getSampleRate() {
+        return this.sampleRate;
+    }
+
+    /**
+     * Set the fraction of successful,
+     * fast requests that are logged.
+     *
+     * @param   sampleRate  double
+     */
+    void setSampleRate(final double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Get the time after which a request
+     * is slow, in milliseconds.
+     *
+     * @return  long
+     */
+    long getSlowMillis() {
+        return this.slowMillis;
+    }
+
+    /**
+     * Set the time after which a request
+     * is slow, in milliseconds.
+     *
+     * @param   slowMillis  long
+     */
+    void setSlowMillis(final long slowMillis) {
+        this.slowMillis = slowMillis;
+    }
+
+    /**
+     * Return true if each event and request
+     * is also logged in the human-readable form.
+     *
+     * @return  boolean
+     */
+    boolean isVerbose() {
+        return this.verbose;
+    }
+
+    /**
+     * Set whether each event and request is
+     * also logged in the human-readable form.
+     *
+     * @param   verbose boolean
+     */
+    void setVerbose(final boolean verbose) {
+        this.verbose = verbose;
+    }
+}
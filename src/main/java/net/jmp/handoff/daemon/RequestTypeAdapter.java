@@ -0,0 +1,122 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)RequestTypeAdapter.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.TypeAdapter;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * A streaming type adapter for the request
+ * class. Fields are read and written by name
+ * without reflection.
+ */
+final class RequestTypeAdapter extends TypeAdapter<Request> {
+    /**
+     * The default constructor.
+     */
+    RequestTypeAdapter() {
+        super();
+    }
+
+    /**
+     * Write the request.
+     *
+     * @param   out         com.google.gson.stream.JsonWriter
+     * @param   request     net.jmp.handoff.daemon.Request
+     * @throws  java.io.IOException
+     */
+    @Override
+    public void write(final JsonWriter out, final Request request) throws IOException {
+        if (request == null) {
+            out.nullValue();
+
+            return;
+        }
+
+        out.beginObject();
+        out.name("type").value(request.getType());
+        out.name("id").value(request.getId());
+        out.name("dateTime").value(request.getDateTime());
+        out.name("event").value(request.getEvent());
+        out.name("content").value(request.getContent());
+        out.name("room").value(request.getRoom());
+        out.endObject();
+    }
+
+    /**
+     * Read the request.
+     *
+     * @param   in  com.google.gson.stream.JsonReader
+     * @return      net.jmp.handoff.daemon.Request
+     * @throws      java.io.IOException
+     */
+    @Override
+    public Request read(final JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+
+            return null;
+        }
+
+        final var request = new Request();
+
+        in.beginObject();
+
+        while (in.hasNext()) {
+            final var name = in.nextName();
+
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+
+                continue;
+            }
+
+            switch (name) {
+                case "type" -> request.setType(in.nextString());
+                case "id" -> request.setId(in.nextString());
+                case "dateTime" -> request.setDateTime(in.nextString());
+                case "event" -> request.setEvent(in.nextString());
+                case "content" -> request.setContent(in.nextString());
+                case "room" -> request.setRoom(in.nextString());
+                default -> in.skipValue();
+            }
+        }
+
+        in.endObject();
+
+        return request;
+    }
+}
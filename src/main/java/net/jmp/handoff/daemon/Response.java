@@ -1,11 +1,12 @@
 package net.jmp.handoff.daemon;
 
 /*
+ * (#)Response.java 0.8.0   10/18/2026
  * (#)Response.java 0.6.0   04/20/2024
  * (#)Response.java 0.4.0   04/13/2024
  *
  * @author    Jonathan Parker
- * @version   0.6.0
+ * @version   0.8.0
  * @since     0.4.0
  *
  * MIT License
@@ -92,7 +93,7 @@ final class Response {
         this.requestId = builder.requestId;
         this.sessionId = builder.sessionId;
         this.dateTime = builder.dateTime;
-        this.event = builder.event.getValue();
+        this.event = builder.event;
         this.content = builder.content;
         this.code = builder.code.getValue();
     }
@@ -160,6 +161,15 @@ final class Response {
         this.event = socketEvent.getValue();
     }
 
+    /**
+     * Set the name of the event.
+     *
+     * @param   event   java.lang.String
+     */
+    void setEvent(final String event) {
+        this.event = event;
+    }
+
     /**
      * Get the type, typically 'Response'.
      *
@@ -241,6 +251,15 @@ final class Response {
         this.code = responseCode.getValue();
     }
 
+    /**
+     * Set the response code value.
+     *
+     * @param   code    java.lang.String
+     */
+    void setCode(final String code) {
+        this.code = code;
+    }
+
     /**
      * A class that uses the builder pattern
      * to construct new instances of the
@@ -260,7 +279,7 @@ final class Response {
         private String dateTime;
 
         /** The name of the event. */
-        private SocketEvents event;
+        private String event;
 
         /** The content, if any. */
         private Content content;
@@ -325,6 +344,19 @@ final class Response {
          * @param   event   net.jmp.handoff.daemon.SocketEvents
          */
         ResponseBuilder event(final SocketEvents event) {
+            this.event = event.getValue();
+
+            return this;
+        }
+
+        /**
+         * Set the name of the event. Used for
+         * events that are not socket events, such
+         * as those of pluggable event handlers.
+         *
+         * @param   event   java.lang.String
+         */
+        ResponseBuilder event(final String event) {
             this.event = event;
 
             return this;
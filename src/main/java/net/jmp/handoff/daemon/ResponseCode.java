@@ -1,10 +1,11 @@
 package net.jmp.handoff.daemon;
 
 /*
+ * (#)ResponseCode.java 0.8.0   10/18/2026
  * (#)ResponseCode.java 0.4.0   04/13/2024
  *
  * @author    Jonathan Parker
- * @version   0.4.0
+ * @version   0.8.0
  * @since     0.4.0
  *
  * MIT License
@@ -31,8 +32,9 @@ package net.jmp.handoff.daemon;
  */
 
 enum ResponseCode {
-    OK      (Constants.OK,      Constants.OK),
-    NOT_OK  (Constants.NOT_OK,  Constants.NOT_OK);
+    OK          (Constants.OK,          Constants.OK),
+    NOT_OK      (Constants.NOT_OK,      Constants.NOT_OK),
+    OVERLOADED  (Constants.OVERLOADED,  Constants.OVERLOADED);
 
     /** The identifier of the enumerated value. */
     private final String value;
@@ -83,8 +85,9 @@ enum ResponseCode {
      * A static inner class of constants.
      */
     static class Constants {
-        static final String OK     = "OK";
-        static final String NOT_OK = "Not OK";
+        static final String OK         = "OK";
+        static final String NOT_OK     = "Not OK";
+        static final String OVERLOADED = "Overloaded";
 
         private Constants() {
             super();
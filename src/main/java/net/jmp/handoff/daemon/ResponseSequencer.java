@@ -0,0 +1,254 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)ResponseSequencer.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+import java.util.concurrent.Semaphore;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+/**
+ * The response sequencer class. It puts the
+ * responses of one pipelined session back into
+ * the order of its requests. Each request takes
+ * a ticket with the next sequence number before
+ * it runs; what it sends is held on the ticket
+ * and only goes out once every earlier ticket
+ * has gone out. The reorder buffer is bounded,
+ * so taking a ticket waits while the buffer is
+ * full.
+ */
+final class ResponseSequencer {
+    /** The ticket of the request that the current thread is handling. */
+    private static final ThreadLocal<Ticket> currentTicket = new ThreadLocal<>();
+
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** The reorder buffer of tickets indexed by sequence number modulo its length. */
+    private final Ticket[] buffer;
+
+    /** The free places in the reorder buffer. */
+    private final Semaphore freeSlots;
+
+    /** The sequence number of the next ticket; only used while the session's tasks are being started. */
+    private long nextSequence;
+
+    /** The sequence number of the next ticket to deliver; guarded by this. */
+    private long nextToDeliver;
+
+    /**
+     * The constructor.
+     *
+     * @param   depth   int     The length of the reorder buffer
+     */
+    ResponseSequencer(final int depth) {
+        super();
+
+        if (depth <= 0)
+            throw new IllegalArgumentException("The pipeline depth must be positive");
+
+        this.buffer = new Ticket[depth];
+        this.freeSlots = new Semaphore(depth);
+    }
+
+    /**
+     * Take the ticket for the next request,
+     * waiting while the reorder buffer is full.
+     *
+     * @return  net.jmp.handoff.daemon.ResponseSequencer.Ticket
+     */
+    Ticket next() {
+        this.freeSlots.acquireUninterruptibly();
+
+        final var ticket = new Ticket(this.nextSequence++);
+
+        synchronized (this) {
+            this.buffer[this.indexOf(ticket.sequence)] = ticket;
+        }
+
+        return ticket;
+    }
+
+    /**
+     * Return true if a ticket can be
+     * taken without waiting.
+     *
+     * @return  boolean
+     */
+    boolean hasFreeSlot() {
+        return this.freeSlots.availablePermits() > 0;
+    }
+
+    /**
+     * Return the length of the reorder buffer.
+     *
+     * @return  int
+     */
+    int getDepth() {
+        return this.buffer.length;
+    }
+
+    /**
+     * Return the number of tickets taken
+     * but not yet delivered.
+     *
+     * @return  int
+     */
+    int getPendingCount() {
+        return this.buffer.length - this.freeSlots.availablePermits();
+    }
+
+    /**
+     * Deliver a send. When the current thread is
+     * handling a pipelined request the send waits
+     * on its ticket; otherwise it is run now.
+     *
+     * @param   send    java.lang.Runnable
+     */
+    static void deliver(final Runnable send) {
+        final var ticket = currentTicket.get();
+
+        if (ticket != null)
+            ticket.sends.add(send);
+        else
+            send.run();
+    }
+
+    /**
+     * Return the index in the reorder
+     * buffer of a sequence number.
+     *
+     * @param   sequence    long
+     * @return              int
+     */
+    private int indexOf(final long sequence) {
+        return (int) (sequence % this.buffer.length);
+    }
+
+    /**
+     * Mark a ticket complete and deliver the
+     * sends of every complete ticket at the
+     * front of the buffer, in order. A send
+     * that fails is logged so that it does
+     * not hold up those after it.
+     *
+     * @param   ticket  net.jmp.handoff.daemon.ResponseSequencer.Ticket
+     */
+    private synchronized void complete(final Ticket ticket) {
+        ticket.isComplete = true;
+
+        Ticket head;
+
+        while ((head = this.buffer[this.indexOf(this.nextToDeliver)]) != null
+                && head.sequence == this.nextToDeliver
+                && head.isComplete) {
+            this.buffer[this.indexOf(this.nextToDeliver)] = null;
+            this.nextToDeliver++;
+
+            for (final var send : head.sends) {
+                try {
+                    send.run();
+                } catch (final RuntimeException re) {
+                    this.logger.catching(re);
+                }
+            }
+
+            this.freeSlots.release();
+        }
+    }
+
+    /**
+     * A place in the delivery order.
+     */
+    final class Ticket {
+        /** The sequence number. */
+        private final long sequence;
+
+        /** The sends held until delivery; only added to by the handling thread. */
+        private final List<Runnable> sends = new ArrayList<>(1);
+
+        /** True once the request has been handled; guarded by the sequencer. */
+        private boolean isComplete;
+
+        /**
+         * The constructor.
+         *
+         * @param   sequence    long
+         */
+        private Ticket(final long sequence) {
+            super();
+
+            this.sequence = sequence;
+        }
+
+        /**
+         * Get the sequence number.
+         *
+         * @return  long
+         */
+        long getSequence() {
+            return this.sequence;
+        }
+
+        /**
+         * Run a task with this as the current
+         * thread's ticket and complete the
+         * ticket when the task finishes, whether
+         * or not it sent anything.
+         *
+         * @param   task    java.lang.Runnable
+         */
+        void run(final Runnable task) {
+            currentTicket.set(this);
+
+            try {
+                task.run();
+            } finally {
+                currentTicket.remove();
+                complete(this);
+            }
+        }
+
+        /**
+         * Complete the ticket without running
+         * anything, as when its task could
+         * not be started.
+         */
+        void cancel() {
+            complete(this);
+        }
+    }
+}
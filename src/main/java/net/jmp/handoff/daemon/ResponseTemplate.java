@@ -0,0 +1,109 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)ResponseTemplate.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+/**
+ * A pre-serialized response. The invariant parts
+ * of the response (type, event, content and code)
+ * are serialized once; only the identifiers and
+ * the date and time are spliced in when rendered.
+ */
+final class ResponseTemplate {
+    /** The serialized type that begins every response. */
+    private static final String PREFIX = "{\"type\":\"Response\"";
+
+    /** The serialized event, content and code. */
+    private final String suffix;
+
+    /**
+     * The constructor.
+     *
+     * @param   event   net.jmp.handoff.daemon.SocketEvents
+     * @param   code    net.jmp.handoff.daemon.ResponseCode
+     * @param   content net.jmp.handoff.daemon.Content
+     */
+    ResponseTemplate(final SocketEvents event, final ResponseCode code, final Content content) {
+        super();
+
+        final var response = Response.getBuilder()
+                .event(event)
+                .content(content)
+                .code(code)
+                .build();
+
+        response.setRequestId(null);
+
+        final var json = Codec.getInstance().encodeResponse(response);
+
+        if (!json.startsWith(PREFIX))
+            throw new IllegalStateException("Unexpected response encoding: " + json);
+
+        this.suffix = json.substring(PREFIX.length());
+    }
+
+    /**
+     * Render the response. A null request
+     * identifier is omitted.
+     *
+     * @param   id          java.lang.String
+     * @param   requestId   java.lang.String
+     * @param   sessionId   java.lang.String
+     * @param   dateTime    java.lang.String
+     * @return              java.lang.String
+     */
+    String render(final String id, final String requestId, final String sessionId, final String dateTime) {
+        final var builder = new StringBuilder(PREFIX.length() + this.suffix.length() + 192);
+
+        builder.append(PREFIX);
+
+        this.appendField(builder, "id", id);
+        this.appendField(builder, "requestId", requestId);
+        this.appendField(builder, "sessionId", sessionId);
+        this.appendField(builder, "dateTime", dateTime);
+
+        return builder.append(this.suffix).toString();
+    }
+
+    /**
+     * Append a string field unless its value is null.
+     *
+     * @param   builder java.lang.StringBuilder
+     * @param   name    java.lang.String
+     * @param   value   java.lang.String
+     */
+    private void appendField(final StringBuilder builder, final String name, final String value) {
+        if (value != null) {
+            builder.append(",\"").append(name).append("\":");
+
+            Codec.appendString(builder, value);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)ResponseTypeAdapter.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.TypeAdapter;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * A streaming type adapter for the response
+ * class. The content is delegated to the
+ * content type adapter.
+ */
+final class ResponseTypeAdapter extends TypeAdapter<Response> {
+    /** The content type adapter. */
+    private final TypeAdapter<Content> contentAdapter;
+
+    /**
+     * The constructor.
+     *
+     * @param   contentAdapter  com.google.gson.TypeAdapter&lt;net.jmp.handoff.daemon.Content&gt;
+     */
+    ResponseTypeAdapter(final TypeAdapter<Content> contentAdapter) {
+        super();
+
+        this.contentAdapter = contentAdapter;
+    }
+
+    /**
+     * Write the response.
+     *
+     * @param   out         com.google.gson.stream.JsonWriter
+     * @param   response    net.jmp.handoff.daemon.Response
+     * @throws  java.io.IOException
+     */
+    @Override
+    public void write(final JsonWriter out, final Response response) throws IOException {
+        if (response == null) {
+            out.nullValue();
+
+            return;
+        }
+
+        out.beginObject();
+        out.name("type").value(response.getType());
+        out.name("id").value(response.getId());
+        out.name("requestId").value(response.getRequestId());
+        out.name("sessionId").value(response.getSessionId());
+        out.name("dateTime").value(response.getDateTime());
+        out.name("event").value(response.getEvent());
+
+        if (response.getContent() != null) {
+            out.name("content");
+
+            this.contentAdapter.write(out, response.getContent());
+        }
+
+        out.name("code").value(response.getCode());
+        out.endObject();
+    }
+
+    /**
+     * Read the response.
+     *
+     * @param   in  com.google.gson.stream.JsonReader
+     * @return      net.jmp.handoff.daemon.Response
+     * @throws      java.io.IOException
+     */
+    @Override
+    public Response read(final JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+
+            return null;
+        }
+
+        final var response = new Response();
+
+        in.beginObject();
+
+        while (in.hasNext()) {
+            final var name = in.nextName();
+
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+
+                continue;
+            }
+
+            switch (name) {
+                case "id" -> response.setId(in.nextString());
+                case "requestId" -> response.setRequestId(in.nextString());
+                case "sessionId" -> response.setSessionId(in.nextString());
+                case "dateTime" -> response.setDateTime(in.nextString());
+                case "event" -> response.setEvent(in.nextString());
+                case "content" -> response.setContent(this.contentAdapter.read(in));
+                case "code" -> response.setCode(in.nextString());
+                default -> in.skipValue();
+            }
+        }
+
+        in.endObject();
+
+        return response;
+    }
+}
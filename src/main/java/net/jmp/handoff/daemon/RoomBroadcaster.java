@@ -0,0 +1,213 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)RoomBroadcaster.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.corundumstudio.socketio.SocketIOClient;
+
+import com.corundumstudio.socketio.protocol.EngineIOVersion;
+import com.corundumstudio.socketio.protocol.Packet;
+import com.corundumstudio.socketio.protocol.PacketType;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The room broadcaster class. It sends one
+ * message to every member of a room. The
+ * message is serialized once by the caller
+ * and the members of an Engine.IO version
+ * share one packet, so the handler builds
+ * neither per member. The transport still
+ * encodes the packet for each member's
+ * channel, which escapes and copies the
+ * message again. It keeps the metrics of
+ * the fan-out size and of the time to
+ * write it.
+ */
+final class RoomBroadcaster {
+    /** The number of messages broadcast. */
+    private final LongAdder broadcastCount = new LongAdder();
+
+    /** The number of messages sent to members. */
+    private final LongAdder deliveredCount = new LongAdder();
+
+    /** The largest number of members a message was sent to. */
+    private final AtomicLong maxFanOut = new AtomicLong();
+
+    /** The times spent writing a message to its members. */
+    private final LatencyHistogram writeLatency = new LatencyHistogram();
+
+    /**
+     * The default constructor.
+     */
+    RoomBroadcaster() {
+        super();
+    }
+
+    /**
+     * Broadcast an encoded message as an event
+     * to the members of a room.
+     *
+     * @param   members     java.util.Collection&lt;com.corundumstudio.socketio.SocketIOClient&gt;
+     * @param   event       java.lang.String
+     * @param   message     java.lang.String
+     * @return              int     The number of members the message was sent to
+     */
+    int broadcast(final Collection<SocketIOClient> members, final String event, final String message) {
+        final var data = List.<Object>of(message);
+
+        /*
+         * The encoder frames a packet by its version,
+         * such as the separator between the packets
+         * of a polling payload, so members share the
+         * packet built for their own version
+         */
+
+        final var packets = new EnumMap<EngineIOVersion, Packet>(EngineIOVersion.class);
+
+        final var start = System.nanoTime();
+
+        int fanOut = 0;
+
+        for (final var member : members) {
+            member.send(packets.computeIfAbsent(member.getEngineIOVersion(), version -> newPacket(version, event, data)));
+            fanOut++;
+        }
+
+        final var elapsed = System.nanoTime() - start;
+
+        this.broadcastCount.increment();
+        this.deliveredCount.add(fanOut);
+        this.maxFanOut.accumulateAndGet(fanOut, Math::max);
+        this.writeLatency.record(elapsed);
+
+        return fanOut;
+    }
+
+    /**
+     * Create the event packet of a message
+     * for an Engine.IO version.
+     *
+     * @param   version     com.corundumstudio.socketio.protocol.EngineIOVersion
+     * @param   event       java.lang.String
+     * @param   data        java.util.List&lt;java.lang.Object&gt;
+     * @return              com.corundumstudio.socketio.protocol.Packet
+     */
+    private static Packet newPacket(final EngineIOVersion version, final String event, final List<Object> data) {
+        final var packet = new Packet(PacketType.MESSAGE, version);
+
+        packet.setSubType(PacketType.EVENT);
+        packet.setName(event);
+        packet.setData(data);
+
+        return packet;
+    }
+
+    /**
+     * Get the number of messages broadcast.
+     *
+     * @return  long
+     */
+    long getBroadcastCount() {
+        return this.broadcastCount.sum();
+    }
+
+    /**
+     * Get the number of messages sent to members.
+     *
+     * @return  long
+     */
+    long getDeliveredCount() {
+        return this.deliveredCount.sum();
+    }
+
+    /**
+     * Get the largest number of members
+     * a message was sent to.
+     *
+     * @return  long
+     */
+    long getMaxFanOut() {
+        return this.maxFanOut.get();
+    }
+
+    /**
+     * Get the total time spent writing
+     * to members in nanoseconds.
+     *
+     * @return  long
+     */
+    long getTotalWriteNanos() {
+        return this.writeLatency.getTotalNanos();
+    }
+
+    /**
+     * Get the longest time spent writing one
+     * message to its members in nanoseconds.
+     *
+     * @return  long
+     */
+    long getMaxWriteNanos() {
+        return this.writeLatency.getMaxNanos();
+    }
+
+    /**
+     * Get the histogram of the times spent
+     * writing a message to its members.
+     *
+     * @return  net.jmp.handoff.daemon.LatencyHistogram
+     */
+    LatencyHistogram getWriteLatency() {
+        return this.writeLatency;
+    }
+
+    /**
+     * The overridden to-string method.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    public String toString() {
+        final var broadcasts = this.getBroadcastCount();
+
+        return String.format("%d broadcast, %d delivered, mean fan-out %.1f, max fan-out %d, mean write %.1f us, max write %.1f us",
+                broadcasts,
+                this.getDeliveredCount(),
+                (broadcasts > 0) ? (double) this.getDeliveredCount() / broadcasts : 0.0,
+                this.getMaxFanOut(),
+                (broadcasts > 0) ? this.getTotalWriteNanos() / (broadcasts * 1000.0) : 0.0,
+                this.getMaxWriteNanos() / 1000.0);
+    }
+}
@@ -0,0 +1,146 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)RoomContent.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * The content of a response to a subscribe,
+ * unsubscribe or publish request, and of a
+ * message broadcast to a room.
+ */
+final class RoomContent extends Content {
+    /** The type. It is typically 'Room'. */
+    @SerializedName("type")
+    private final String type;
+
+    /** The name of the room. */
+    @SerializedName("room")
+    private String room;
+
+    /** The message, if any. */
+    @SerializedName("message")
+    private String message;
+
+    /** The number of members of the room. */
+    @SerializedName("members")
+    private int members;
+
+    /**
+     * The default constructor.
+     */
+    RoomContent() {
+        super();
+
+        this.type = "Room";
+    }
+
+    /**
+     * A constructor that takes the name of
+     * the room, the message and the number
+     * of members.
+     *
+     * @param   room    java.lang.String
+     * @param   message java.lang.String
+     * @param   members int
+     */
+    RoomContent(final String room, final String message, final int members) {
+        this();
+
+        this.room = room;
+        this.message = message;
+        this.members = members;
+    }
+
+    /**
+     * Get the type.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    String getType() {
+        return this.type;
+    }
+
+    /**
+     * Get the name of the room.
+     *
+     * @return  java.lang.String
+     */
+    String getRoom() {
+        return this.room;
+    }
+
+    /**
+     * Set the name of the room.
+     *
+     * @param   room    java.lang.String
+     */
+    void setRoom(final String room) {
+        this.room = room;
+    }
+
+    /**
+     * Get the message.
+     *
+     * @return  java.lang.String
+     */
+    String getMessage() {
+        return this.message;
+    }
+
+    /**
+     * Set the message.
+     *
+     * @param   message java.lang.String
+     */
+    void setMessage(final String message) {
+        this.message = message;
+    }
+
+    /**
+     * Get the number of members of the room.
+     *
+     * @return  int
+     */
+    int getMembers() {
+        return this.members;
+    }
+
+    /**
+     * Set the number of members of the room.
+     *
+     * @param   members int
+     */
+    void setMembers(final int members) {
+        this.members = members;
+    }
+}
@@ -1,12 +1,13 @@
 package net.jmp.handoff.daemon;
 
 /*
+ * (#)Server.java   0.8.0   10/18/2026
  * (#)Server.java   0.6.0   04/19/2024
  * (#)Server.java   0.5.0   04/17/2024
  * (#)Server.java   0.4.0   04/13/2024
  *
  * @author    Jonathan Parker
- * @version   0.6.0
+ * @version   0.8.0
  * @since     0.4.0
  *
  * MIT License
@@ -32,26 +33,40 @@ package net.jmp.handoff.daemon;
  * SOFTWARE.
  */
 
+import com.corundumstudio.socketio.AckMode;
+import com.corundumstudio.socketio.AckRequest;
 import com.corundumstudio.socketio.Configuration;
 import com.corundumstudio.socketio.SocketConfig;
 import com.corundumstudio.socketio.SocketIOClient;
 import com.corundumstudio.socketio.SocketIOServer;
+import com.corundumstudio.socketio.Transport;
 
-import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.io.IOException;
 
-import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
+import java.nio.file.Path;
+
+import java.time.Instant;
+import java.time.ZoneId;
 
 import java.time.format.DateTimeFormatter;
 
-import java.util.Date;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
 import java.util.TimeZone;
-import java.util.UUID;
+
+import java.util.concurrent.TimeUnit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.slf4j.LoggerFactory;
 
@@ -61,11 +76,23 @@ import org.slf4j.ext.XLogger;
  * The server class.
  */
 final class Server {
+    /** The format of a local date and time. */
+    private static final DateTimeFormatter LOCAL_DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
     /** The logger. */
     private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
 
-    /** The object with which the stop is serialized. */
-    private final Object stopSerializer = new Object();
+    /** The codec. */
+    private final Codec codec = Codec.getInstance();
+
+    /** The object with which changes of state are serialized. */
+    private final Object stateSerializer = new Object();
+
+    /** The lifecycle state. */
+    private final AtomicReference<ServerState> state = new AtomicReference<>(ServerState.STARTING);
+
+    /** The number of requests refused because the server was not running. */
+    private final AtomicLong refusedCount = new AtomicLong();
 
     /** The host name. */
     private final String hostName;
@@ -73,11 +100,101 @@ final class Server {
     /** The port. */
     private final int port;
 
+    /** The time source. */
+    private final TimeSource timeSource;
+
+    /** The response identifier generator. */
+    private final IdGenerator idGenerator;
+
+    /** The transport settings. */
+    private final TransportConfig transportConfig;
+
+    /** The executor of the event handlers. */
+    private final HandlerExecutor handlerExecutor;
+
+    /** The dispatch table. */
+    private final DispatchTable dispatchTable;
+
+    /** The admission controller. */
+    private final AdmissionController admissionController;
+
+    /** The registry of connected sessions. */
+    private final SessionRegistry sessionRegistry = new SessionRegistry();
+
+    /** The idempotency cache; null when disabled. */
+    private final IdempotencyCache idempotencyCache;
+
+    /** The broadcaster of the messages published to rooms. */
+    private final RoomBroadcaster roomBroadcaster = new RoomBroadcaster();
+
+    /** The metrics registry. */
+    private final MetricsRegistry metricsRegistry = new MetricsRegistry();
+
+    /** The metrics settings. */
+    private final MetricsConfig metricsConfig;
+
+    /** The server of the metrics over HTTP; null when it is not running. */
+    private MetricsHttpServer metricsHttpServer;
+
+    /** The number of clients connected. */
+    private final LongAdder connectCount = new LongAdder();
+
+    /** The number of clients disconnected. */
+    private final LongAdder disconnectCount = new LongAdder();
+
+    /** The number of responses sent, indexed by the ordinal of their code. */
+    private final LongAdder[] responseCounts = new LongAdder[ResponseCode.values().length];
+
+    /** The times spent decoding requests. */
+    private final LatencyHistogram decodeLatency = new LatencyHistogram();
+
+    /** The times spent sending responses. */
+    private final LatencyHistogram sendLatency = new LatencyHistogram();
+
+    /** The flight recorder settings. */
+    private final FlightRecorderConfig flightRecorderConfig;
+
+    /** The control of flight recordings. */
+    private final FlightRecorderControl flightRecorderControl;
+
+    /** The request log settings. */
+    private final RequestLogConfig requestLogConfig;
+
+    /** The request log. */
+    private final RequestLog requestLog;
+
+    /** The watchdog of the I/O threads. */
+    private final StallDetector stallDetector;
+
+    /** The pre-serialized connect response. */
+    private final ResponseTemplate connectTemplate;
+
+    /** The content of the version response. */
+    private final VersionContent versionContent;
+
+    /** The pre-serialized version response. */
+    private final ResponseTemplate versionTemplate;
+
+    /** The local time zone. */
+    private final ZoneId localZoneId;
+
+    /** The display name of the local time zone in standard time. */
+    private final String standardZoneName;
+
+    /** The display name of the local time zone in daylight time. */
+    private final String daylightZoneName;
+
     /** The socket IO server object. */
     private SocketIOServer socketIOServer;
 
-    /** True whe a stop event is received. */
-    private boolean isStopEventReceived;
+    /** The longest time to wait for in-flight requests when stopping, in milliseconds. */
+    private final long drainTimeoutMillis;
+
+    /** The weight of a session whose client has no weight of its own. */
+    private final int defaultWeight;
+
+    /** The weights of sessions by client identity. */
+    private final Map<String, Integer> clientWeights;
 
     /**
      * The constructor.
@@ -85,256 +202,1739 @@ final class Server {
      * @param   hostName    java.lang.String
      * @param   port        int
      */
-    Server(final String hostName, final int port) {
-        super();
+    Server(final String hostName, final int port) {
+        this(Server.getBuilder().hostName(hostName).port(port));
+    }
+
+    /**
+     * A constructor that takes a builder.
+     *
+     * @param   builder net.jmp.handoff.daemon.Server.ServerBuilder
+     */
+    Server(final ServerBuilder builder) {
+        super();
+
+        final var timeZone = TimeZone.getDefault();
+
+        this.hostName = builder.hostName;
+        this.port = builder.port;
+        this.timeSource = (builder.timeSource != null) ? builder.timeSource : new CachedTimeSource();
+        this.idGenerator = ((builder.idGeneratorType != null) ? builder.idGeneratorType : IdGeneratorType.RANDOM)
+                .create(this.timeSource);
+        this.transportConfig = (builder.transportConfig != null) ? builder.transportConfig : new TransportConfig();
+
+        final var executionConfig = (builder.executionConfig != null) ? builder.executionConfig : new ExecutionConfig();
+
+        this.handlerExecutor = new HandlerExecutor(executionConfig);
+        this.drainTimeoutMillis = executionConfig.getDrainTimeoutMillis();
+        this.defaultWeight = executionConfig.getDefaultWeight();
+        this.clientWeights = executionConfig.getClientWeights();
+        this.admissionController = new AdmissionController(executionConfig);
+
+        final var idempotencyConfig = (builder.idempotencyConfig != null) ? builder.idempotencyConfig : new IdempotencyConfig();
+
+        this.idempotencyCache = idempotencyConfig.isEnabled() ? new IdempotencyCache(idempotencyConfig) : null;
+        this.dispatchTable = this.buildDispatchTable(executionConfig.getHandlerConcurrency());
+        this.connectTemplate = new ResponseTemplate(SocketEvents.CONNECT, ResponseCode.OK, null);
+        this.versionContent = this.getVersionContent();
+        this.versionTemplate = new ResponseTemplate(SocketEvents.VERSION, ResponseCode.OK, this.versionContent);
+        this.localZoneId = timeZone.toZoneId();
+        this.standardZoneName = timeZone.getDisplayName();
+        this.daylightZoneName = this.standardZoneName.replace("Standard", "Daylight");
+        this.metricsConfig = (builder.metricsConfig != null) ? builder.metricsConfig : new MetricsConfig();
+        this.flightRecorderConfig = (builder.flightRecorderConfig != null) ? builder.flightRecorderConfig : new FlightRecorderConfig();
+        this.flightRecorderControl = new FlightRecorderControl(this.flightRecorderConfig, this.timeSource::currentTimeMillis);
+        this.requestLogConfig = (builder.requestLogConfig != null) ? builder.requestLogConfig : new RequestLogConfig();
+        this.requestLog = new RequestLog(this.requestLogConfig);
+        this.stallDetector = new StallDetector((builder.stallDetectorConfig != null) ? builder.stallDetectorConfig : new StallDetectorConfig());
+
+        for (int i = 0; i < this.responseCounts.length; i++)
+            this.responseCounts[i] = new LongAdder();
+
+        this.registerMetrics();
+    }
+
+    /**
+     * Register the metrics of the server and
+     * of the parts that keep their own.
+     */
+    private void registerMetrics() {
+        final var metrics = this.metricsRegistry;
+
+        for (final var slot : this.dispatchTable.getSlots()) {
+            final var labels = "event=" + MetricsRegistry.quote(slot.getEvent());
+
+            metrics.counter("handoff_requests_handled_total", labels, "Requests handled", slot::getHandledCount);
+            metrics.counter("handoff_requests_failed_total", labels, "Requests whose handler failed", slot::getFailedCount);
+            metrics.counter("handoff_requests_rejected_total", labels, "Requests refused at the handler's concurrency limit", slot::getRejectedCount);
+            metrics.histogram("handoff_handle_seconds", labels, "Time spent handling requests", slot.getLatency());
+        }
+
+        for (final var code : ResponseCode.values())
+            metrics.counter("handoff_responses_total", "code=" + MetricsRegistry.quote(code.getValue()), "Responses sent",
+                    this.responseCounts[code.ordinal()]::sum);
+
+        metrics.histogram("handoff_decode_seconds", "", "Time spent decoding requests", this.decodeLatency);
+        metrics.histogram("handoff_send_seconds", "", "Time spent handing responses to the transport", this.sendLatency);
+        metrics.counter("handoff_connects_total", "", "Clients connected", this.connectCount::sum);
+        metrics.counter("handoff_disconnects_total", "", "Clients disconnected", this.disconnectCount::sum);
+        metrics.gauge("handoff_sessions_active", "", "Sessions connected", this.sessionRegistry::size);
+        metrics.gauge("handoff_requests_in_flight", "", "Requests admitted and not yet finished", this.admissionController::getInFlightCount);
+        metrics.counter("handoff_requests_admitted_total", "", "Requests admitted", this.admissionController::getAdmittedCount);
+        metrics.counter("handoff_requests_overloaded_total", "limit=\"session\"", "Requests refused as overloaded",
+                this.admissionController::getSessionRefusedCount);
+        metrics.counter("handoff_requests_overloaded_total", "limit=\"server\"", "Requests refused as overloaded",
+                this.admissionController::getServerRefusedCount);
+        metrics.counter("handoff_requests_refused_total", "", "Requests refused while the server was not running", this.refusedCount::get);
+
+        if (this.idempotencyCache != null) {
+            metrics.counter("handoff_idempotency_hits_total", "", "Requests answered from the idempotency cache", this.idempotencyCache::getHitCount);
+            metrics.counter("handoff_idempotency_misses_total", "", "Requests not in the idempotency cache", this.idempotencyCache::getMissCount);
+            metrics.counter("handoff_idempotency_evictions_total", "", "Responses evicted from the idempotency cache", this.idempotencyCache::getEvictionCount);
+            metrics.gauge("handoff_idempotency_entries", "", "Responses in the idempotency cache", this.idempotencyCache::size);
+        }
+
+        metrics.counter("handoff_broadcasts_total", "", "Messages broadcast to rooms", this.roomBroadcaster::getBroadcastCount);
+        metrics.counter("handoff_broadcast_deliveries_total", "", "Broadcast messages sent to room members", this.roomBroadcaster::getDeliveredCount);
+        metrics.gauge("handoff_broadcast_max_fan_out", "", "Most members a message was broadcast to", this.roomBroadcaster::getMaxFanOut);
+        metrics.histogram("handoff_broadcast_write_seconds", "", "Time spent writing a broadcast to its members", this.roomBroadcaster.getWriteLatency());
+        metrics.counter("handoff_request_log_records_total", "", "Request log records written", this.requestLog::getWrittenCount);
+        metrics.counter("handoff_request_log_skipped_total", "", "Requests not logged by the sampling", this.requestLog::getSkippedCount);
+        metrics.counter("handoff_event_loop_stalls_total", "", "Times an I/O thread stalled in a handler", this.stallDetector::getStallCount);
+        metrics.histogram("handoff_event_loop_stall_seconds", "", "Time I/O threads spent stalled in a handler", this.stallDetector.getStallDurations());
+    }
+
+    /**
+     * Get the builder.
+     *
+     * @return  net.jmp.handoff.daemon.Server.ServerBuilder
+     */
+    static ServerBuilder getBuilder() {
+        return new ServerBuilder();
+    }
+
+    /**
+     * Set up and start the socket IO server.
+     */
+    void setupAndRunServer() {
+        if (Tracing.ENABLED)
+            this.logger.entry();
+
+        this.startServer();
+        this.waitAndStopServer();
+
+        if (Tracing.ENABLED)
+            this.logger.exit();
+    }
+
+    /**
+     * Start the socket IO server.
+     */
+    private void startServer() {
+        if (Tracing.ENABLED)
+            this.logger.entry();
+
+        final var socketIoConfig = this.createConfiguration();
+
+        this.logTransportSettings(socketIoConfig);
+
+        this.logger.info("Handlers run on {}", this.handlerExecutor);
+
+        this.socketIOServer = new SocketIOServer(socketIoConfig);
+
+        /*
+         * The handlers run on the handler executor so that
+         * the I/O threads only frame and write messages; the
+         * stall detector watches the I/O threads while they
+         * are in a listener
+         */
+
+        this.socketIOServer.addConnectListener(client -> {
+            this.stallDetector.enter(SocketEvents.CONNECT.getValue(), client.getSessionId());
+
+            try {
+                this.connectCount.increment();
+                this.sessionRegistry.register(client.getSessionId(), this.timeSource.currentTimeMillis());
+                this.handlerExecutor.setWeight(client.getSessionId(), this.getWeight(client));
+                this.handlerExecutor.execute(client.getSessionId(), () -> this.connectEventHandler(client));
+            } finally {
+                this.stallDetector.exit();
+            }
+        });
+
+        this.logger.debug("Added connect listener");
+
+        this.socketIOServer.addDisconnectListener(client -> {
+            this.stallDetector.enter(SocketEvents.DISCONNECT.getValue(), client.getSessionId());
+
+            try {
+                this.handlerExecutor.executeLast(client.getSessionId(), () -> {
+                    this.disconnectCount.increment();
+
+                    try {
+                        this.disconnectEventHandler(client);
+                    } finally {
+                        this.sessionRegistry.remove(client.getSessionId());
+                    }
+                });
+            } finally {
+                this.stallDetector.exit();
+            }
+        });
+
+        this.logger.debug("Added disconnect listener");
+
+        for (final var slot : this.dispatchTable.getSlots()) {
+            this.socketIOServer.addMultiTypeEventListener(slot.getEvent(),
+                    (client, args, ackRequest) -> {
+                        this.stallDetector.enter(slot.getEvent(), client.getSessionId());
+
+                        try {
+                            this.dispatch(client, slot, args.getArgs(), ackRequest);
+                        } finally {
+                            this.stallDetector.exit();
+                        }
+                    },
+                    slot.getArgumentTypes());
+
+            this.logger.debug("Added {} listener", slot.getEvent());
+        }
+
+        this.socketIOServer.start();
+        this.startMetricsHttpServer();
+        this.stallDetector.start();
+
+        if (this.flightRecorderConfig.isStartOnLaunch()) {
+            try {
+                this.flightRecorderControl.start();
+            } catch (final IOException ioe) {
+                this.logger.catching(ioe);
+            }
+        }
+
+        this.state.set(ServerState.RUNNING);
+
+        if (this.logger.isInfoEnabled())
+            this.logger.info("SocketIO server started on PID: {}", ProcessHandle.current().pid());
+
+        if (Tracing.ENABLED)
+            this.logger.exit();
+    }
+
+    /**
+     * Start serving the metrics over HTTP if
+     * it is enabled. A failure to bind is
+     * logged and the daemon runs without it.
+     */
+    private void startMetricsHttpServer() {
+        if (this.metricsConfig.isHttpEnabled()) {
+            try {
+                this.metricsHttpServer = new MetricsHttpServer(this.metricsConfig, this.metricsRegistry);
+                this.metricsHttpServer.start();
+            } catch (final IOException ioe) {
+                this.logger.catching(ioe);
+                this.logger.warn("Metrics are not served over HTTP: {}", ioe.getMessage());
+
+                this.metricsHttpServer = null;
+            }
+        }
+    }
+
+    /**
+     * Create the socket IO configuration from
+     * the host name, port and transport settings.
+     * The native epoll transport is only used if
+     * it can be loaded on this host.
+     *
+     * @return  com.corundumstudio.socketio.Configuration
+     */
+    Configuration createConfiguration() {
+        if (Tracing.ENABLED)
+            this.logger.entry();
+
+        final var socketIoConfig = new Configuration();
+        final var socketConfig = new SocketConfig();
+
+        socketConfig.setReuseAddress(true);
+        socketConfig.setTcpNoDelay(this.transportConfig.isTcpNoDelay());
+        socketConfig.setTcpKeepAlive(this.transportConfig.isTcpKeepAlive());
+        socketConfig.setAcceptBackLog(this.transportConfig.getAcceptBacklog());
+        socketConfig.setTcpReceiveBufferSize(this.transportConfig.getReceiveBufferSize());
+        socketConfig.setTcpSendBufferSize(this.transportConfig.getSendBufferSize());
+
+        socketIoConfig.setPort(this.port);
+        socketIoConfig.setHostname(this.hostName);
+        socketIoConfig.setSocketConfig(socketConfig);
+        socketIoConfig.setBossThreads(this.transportConfig.getBossThreads());
+        socketIoConfig.setWorkerThreads(this.transportConfig.getWorkerThreads());
+        socketIoConfig.setMaxFramePayloadLength(this.transportConfig.getMaxFramePayloadLength());
+        socketIoConfig.setMaxHttpContentLength(this.transportConfig.getMaxHttpContentLength());
+        socketIoConfig.setPingInterval(this.transportConfig.getPingInterval());
+        socketIoConfig.setPingTimeout(this.transportConfig.getPingTimeout());
+        /*
+         * The handlers send their own acknowledgements after the
+         * listener has returned, so none may be sent automatically
+         */
+
+        socketIoConfig.setAckMode(AckMode.MANUAL);
+        socketIoConfig.setTransports(this.transportConfig.getTransports().stream()
+                .map(transport -> Transport.valueOf(transport.toUpperCase(Locale.ROOT)))
+                .toArray(Transport[]::new));
+
+        if (this.transportConfig.isUseLinuxNativeEpoll()) {
+            if (isEpollAvailable())
+                socketIoConfig.setUseLinuxNativeEpoll(true);
+            else
+                this.logger.warn("The native epoll transport is not available; using NIO");
+        }
+
+        if (Tracing.ENABLED)
+            this.logger.exit(socketIoConfig);
+
+        return socketIoConfig;
+    }
+
+    /**
+     * Return true if the native epoll transport
+     * can be used. It is looked up reflectively
+     * as its classes are only on the runtime
+     * class path.
+     *
+     * @return  boolean
+     */
+    private static boolean isEpollAvailable() {
+        try {
+            final var epoll = Class.forName("io.netty.channel.epoll.Epoll");
+
+            return (Boolean) epoll.getMethod("isAvailable").invoke(null);
+        } catch (final ReflectiveOperationException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Log the effective transport settings.
+     *
+     * @param   socketIoConfig  com.corundumstudio.socketio.Configuration
+     */
+    private void logTransportSettings(final Configuration socketIoConfig) {
+        if (this.logger.isInfoEnabled()) {
+            final var socketConfig = socketIoConfig.getSocketConfig();
+
+            this.logger.info("Transport: {} with {} boss and {} worker threads (0 is Netty's default)",
+                    socketIoConfig.isUseLinuxNativeEpoll() ? "epoll" : "NIO",
+                    socketIoConfig.getBossThreads(),
+                    socketIoConfig.getWorkerThreads());
+            this.logger.info("Transport: TCP_NODELAY {}, SO_KEEPALIVE {}, SO_BACKLOG {}, SO_RCVBUF {}, SO_SNDBUF {} (-1 is the OS default)",
+                    socketConfig.isTcpNoDelay(),
+                    socketConfig.isTcpKeepAlive(),
+                    socketConfig.getAcceptBackLog(),
+                    socketConfig.getTcpReceiveBufferSize(),
+                    socketConfig.getTcpSendBufferSize());
+            this.logger.info("Transport: max frame payload {}, max HTTP content {}, ping interval {} ms, ping timeout {} ms, transports {}",
+                    socketIoConfig.getMaxFramePayloadLength(),
+                    socketIoConfig.getMaxHttpContentLength(),
+                    socketIoConfig.getPingInterval(),
+                    socketIoConfig.getPingTimeout(),
+                    socketIoConfig.getTransports());
+        }
+    }
+
+    /**
+     * Get the lifecycle state.
+     *
+     * @return  net.jmp.handoff.daemon.ServerState
+     */
+    ServerState getState() {
+        return this.state.get();
+    }
+
+    /**
+     * Mark the server as running without starting
+     * its transport, so that requests can be
+     * dispatched to it in process. This is a hook
+     * for the tests only; the daemon is marked
+     * running by start.
+     */
+    void markRunning() {
+        this.state.set(ServerState.RUNNING);
+    }
+
+    /**
+     * Build the dispatch table from the daemon's
+     * own events and those of the event handler
+     * services on the class path. A service whose
+     * event is already handled is skipped.
+     *
+     * @param   handlerConcurrency  java.util.Map&lt;java.lang.String, java.lang.Integer&gt;
+     * @return                      net.jmp.handoff.daemon.DispatchTable
+     */
+    private DispatchTable buildDispatchTable(final Map<String, Integer> handlerConcurrency) {
+        final var builder = DispatchTable.getBuilder()
+                .event(SocketEvents.ECHO,
+                        (client, args, ackRequest) -> this.echoEventHandler(client, (String) args.get(0), ackRequest),
+                        handlerConcurrency.getOrDefault(SocketEvents.ECHO.getValue(), 0),
+                        String.class)
+                .event(SocketEvents.STOP,
+                        (client, args, ackRequest) -> this.stopEventHandler(client, (String) args.get(0), ackRequest),
+                        handlerConcurrency.getOrDefault(SocketEvents.STOP.getValue(), 0),
+                        String.class)
+                .event(SocketEvents.VERSION,
+                        (client, args, ackRequest) -> this.versionEventHandler(client, (String) args.get(0), ackRequest),
+                        handlerConcurrency.getOrDefault(SocketEvents.VERSION.getValue(), 0),
+                        String.class)
+                .event(SocketEvents.BINARY_ECHO,
+                        (client, args, ackRequest) -> this.binaryEchoEventHandler(client, (String) args.get(0), (byte[]) args.get(1), ackRequest),
+                        handlerConcurrency.getOrDefault(SocketEvents.BINARY_ECHO.getValue(), 0),
+                        String.class, byte[].class)
+                .event(SocketEvents.BATCH,
+                        (client, args, ackRequest) -> this.batchEventHandler(client, (String) args.get(0), ackRequest),
+                        handlerConcurrency.getOrDefault(SocketEvents.BATCH.getValue(), 0),
+                        String.class)
+                .event(SocketEvents.SUBSCRIBE,
+                        (client, args, ackRequest) -> this.subscribeEventHandler(client, (String) args.get(0), ackRequest),
+                        handlerConcurrency.getOrDefault(SocketEvents.SUBSCRIBE.getValue(), 0),
+                        String.class)
+                .event(SocketEvents.UNSUBSCRIBE,
+                        (client, args, ackRequest) -> this.unsubscribeEventHandler(client, (String) args.get(0), ackRequest),
+                        handlerConcurrency.getOrDefault(SocketEvents.UNSUBSCRIBE.getValue(), 0),
+                        String.class)
+                .event(SocketEvents.PUBLISH,
+                        (client, args, ackRequest) -> this.publishEventHandler(client, (String) args.get(0), ackRequest),
+                        handlerConcurrency.getOrDefault(SocketEvents.PUBLISH.getValue(), 0),
+                        String.class)
+                .event(SocketEvents.STATS,
+                        (client, args, ackRequest) -> this.statsEventHandler(client, (String) args.get(0), ackRequest),
+                        handlerConcurrency.getOrDefault(SocketEvents.STATS.getValue(), 0),
+                        String.class)
+                .event(SocketEvents.RECORDING,
+                        (client, args, ackRequest) -> this.recordingEventHandler(client, (String) args.get(0), ackRequest),
+                        handlerConcurrency.getOrDefault(SocketEvents.RECORDING.getValue(), 0),
+                        String.class);
+
+        final var loader = ServiceLoader.load(EventHandler.class);
+        final var iterator = loader.iterator();
+
+        while (true) {
+            final EventHandler handler;
+
+            try {
+                if (!iterator.hasNext())
+                    break;
+
+                handler = iterator.next();
+            } catch (final ServiceConfigurationError sce) {
+                this.logger.catching(sce);
+
+                continue;
+            }
+
+            final var event = handler.getEvent();
+
+            try {
+                builder.event(event,
+                        (client, args, ackRequest) -> this.serviceEventHandler(handler, client, (String) args.get(0), ackRequest),
+                        handlerConcurrency.getOrDefault(event, handler.getMaxConcurrency()),
+                        String.class);
+
+                this.logger.info("Loaded the {} event handler: {}", event, handler.getClass().getName());
+            } catch (final IllegalArgumentException iae) {
+                this.logger.warn("Skipped the event handler {}: {}", handler.getClass().getName(), iae.getMessage());
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Get the dispatch table.
+     *
+     * @return  net.jmp.handoff.daemon.DispatchTable
+     */
+    DispatchTable getDispatchTable() {
+        return this.dispatchTable;
+    }
+
+    /**
+     * Get the admission controller.
+     *
+     * @return  net.jmp.handoff.daemon.AdmissionController
+     */
+    AdmissionController getAdmissionController() {
+        return this.admissionController;
+    }
+
+    /**
+     * Get the session registry.
+     *
+     * @return  net.jmp.handoff.daemon.SessionRegistry
+     */
+    SessionRegistry getSessionRegistry() {
+        return this.sessionRegistry;
+    }
+
+    /**
+     * Get a client's session from the registry.
+     * A client that has not been seen to connect
+     * is registered now.
+     *
+     * @param   client  com.corundumstudio.socketio.SocketIOClient
+     * @return          net.jmp.handoff.daemon.Session
+     */
+    private Session getSession(final SocketIOClient client) {
+        return this.sessionRegistry.register(client.getSessionId(), this.timeSource.currentTimeMillis());
+    }
+
+    /**
+     * Get the idempotency cache.
+     *
+     * @return  net.jmp.handoff.daemon.IdempotencyCache
+     */
+    IdempotencyCache getIdempotencyCache() {
+        return this.idempotencyCache;
+    }
+
+    /**
+     * Get the watchdog of the I/O threads.
+     *
+     * @return  net.jmp.handoff.daemon.StallDetector
+     */
+    StallDetector getStallDetector() {
+        return this.stallDetector;
+    }
+
+    /**
+     * Get the request log.
+     *
+     * @return  net.jmp.handoff.daemon.RequestLog
+     */
+    RequestLog getRequestLog() {
+        return this.requestLog;
+    }
+
+    /**
+     * Get the control of flight recordings.
+     *
+     * @return  net.jmp.handoff.daemon.FlightRecorderControl
+     */
+    FlightRecorderControl getFlightRecorderControl() {
+        return this.flightRecorderControl;
+    }
+
+    /**
+     * Get the metrics registry.
+     *
+     * @return  net.jmp.handoff.daemon.MetricsRegistry
+     */
+    MetricsRegistry getMetricsRegistry() {
+        return this.metricsRegistry;
+    }
+
+    /**
+     * Get the room broadcaster.
+     *
+     * @return  net.jmp.handoff.daemon.RoomBroadcaster
+     */
+    RoomBroadcaster getRoomBroadcaster() {
+        return this.roomBroadcaster;
+    }
+
+    /**
+     * Get the weight of a client's session from
+     * the identity it gave in the 'client' query
+     * parameter when it connected.
+     *
+     * @param   client  com.corundumstudio.socketio.SocketIOClient
+     * @return          int
+     */
+    int getWeight(final SocketIOClient client) {
+        final var identity = this.getClientIdentity(client);
+        final var weight = (identity != null) ? this.clientWeights.getOrDefault(identity, this.defaultWeight) : this.defaultWeight;
+
+        this.logger.debug("Session {} is client {} with weight {}", client.getSessionId(), identity, weight);
+
+        return Math.max(1, weight);
+    }
+
+    /**
+     * Get the identity a client gave in the
+     * 'client' query parameter when it
+     * connected.
+     *
+     * @param   client  com.corundumstudio.socketio.SocketIOClient
+     * @return          java.lang.String    Null if it gave none
+     */
+    private String getClientIdentity(final SocketIOClient client) {
+        final var handshakeData = client.getHandshakeData();
+
+        return (handshakeData != null && handshakeData.getUrlParams() != null)
+                ? handshakeData.getSingleUrlParam("client")
+                : null;
+    }
+
+    /**
+     * Dispatch an event to its slot on the handler
+     * executor if the server is running, otherwise
+     * refuse it. A request over the in-flight
+     * limits of the session or server, or over the
+     * handler's concurrency limit, is answered at
+     * once as overloaded.
+     *
+     * @param   client      com.corundumstudio.socketio.SocketIOClient
+     * @param   slot        net.jmp.handoff.daemon.EventSlot
+     * @param   args        java.util.List&lt;java.lang.Object&gt;
+     * @param   ackRequest  com.corundumstudio.socketio.AckRequest
+     */
+    void dispatch(final SocketIOClient client,
+                  final EventSlot slot,
+                  final List<Object> args,
+                  final AckRequest ackRequest) {
+        final var received = System.nanoTime();
+
+        if (!this.state.get().isAcceptingRequests()) {
+            this.refusedCount.incrementAndGet();
+            this.refuse(client, slot.getEvent(), args, ackRequest, ResponseCode.NOT_OK,
+                    new ErrorContent("The server is " + this.state.get().getDescriptor().toLowerCase(Locale.ROOT)));
+            this.requestLog.log(slot.getEvent(), client.getSessionId().toString(), FlightEvents.getRequestId(), RequestLog.takeCode(),
+                    System.nanoTime() - received);
+
+            FlightEvents.clearRequestId();
+
+            return;
+        }
+
+        final var session = this.getSession(client);
+
+        session.recordRequest(this.timeSource.currentTimeMillis());
+
+        final var reason = this.admissionController.tryAdmit(session);
+
+        if (reason != null) {
+            this.refuse(client, slot.getEvent(), args, ackRequest, ResponseCode.OVERLOADED,
+                    new OverloadContent(reason, this.admissionController.getRetryAfterMillis()));
+            this.requestLog.log(slot.getEvent(), session.getIdString(), FlightEvents.getRequestId(), RequestLog.takeCode(),
+                    System.nanoTime() - received);
+
+            FlightEvents.clearRequestId();
+
+            return;
+        }
+
+        this.handlerExecutor.execute(client.getSessionId(), () -> {
+            final var flightEvent = new FlightEvents.Handle();
+
+            flightEvent.begin();
+
+            try {
+                if (!slot.invoke(client, args, ackRequest))
+                    this.refuse(client, slot.getEvent(), args, ackRequest, ResponseCode.OVERLOADED,
+                            new OverloadContent("The " + slot.getEvent() + " handler is at its concurrency limit of " + slot.getMaxConcurrency(),
+                                    this.admissionController.getRetryAfterMillis()));
+            } finally {
+                this.admissionController.release(session);
+
+                flightEvent.finish(slot.getEvent(), session.getIdString(), FlightEvents.getRequestId());
+
+                this.requestLog.log(slot.getEvent(), session.getIdString(), FlightEvents.getRequestId(), RequestLog.takeCode(),
+                        System.nanoTime() - received);
+
+                FlightEvents.clearRequestId();
+            }
+        });
+    }
+
+    /**
+     * Refuse a request without handling it. The
+     * request is only decoded to echo its
+     * identifier back.
+     *
+     * @param   client      com.corundumstudio.socketio.SocketIOClient
+     * @param   event       java.lang.String
+     * @param   args        java.util.List&lt;java.lang.Object&gt;
+     * @param   ackRequest  com.corundumstudio.socketio.AckRequest
+     * @param   code        net.jmp.handoff.daemon.ResponseCode
+     * @param   content     net.jmp.handoff.daemon.Content
+     */
+    private void refuse(final SocketIOClient client,
+                        final String event,
+                        final List<Object> args,
+                        final AckRequest ackRequest,
+                        final ResponseCode code,
+                        final Content content) {
+        String requestId = null;
+
+        if (!SocketEvents.BATCH.getValue().equals(event) && !args.isEmpty() && args.get(0) instanceof String message) {
+            try {
+                final var request = this.decodeRequest(message);
+
+                if (request != null)
+                    requestId = request.getId();
+            } catch (final JsonParseException jpe) {
+                this.logger.catching(jpe);
+            }
+        }
+
+        final var response = this.getRefusalResponse(requestId, this.getSession(client).getIdString(), event, code, content);
+
+        this.respond(client, ackRequest, event, code, this.encodeResponse(response));
+    }
+
+    /**
+     * The connect event handler.
+     *
+     * @param   client  com.corundumstudio.socketio.SocketIOClient
+     */
+    void connectEventHandler(final SocketIOClient client) {
+        if (Tracing.ENABLED)
+            this.logger.entry(client);
+
+        final var flightEvent = new FlightEvents.Connect();
+
+        flightEvent.begin();
+
+        final var sessionId = this.getSession(client).getIdString();
+
+        this.logEvent(SocketEvents.CONNECT.getValue(), sessionId);
+
+        final var response = this.connectTemplate.render(
+                this.idGenerator.nextId(),
+                null,
+                sessionId,
+                this.getUTCDateTime());
+
+        this.respond(client, null, SocketEvents.CONNECT.getValue(), ResponseCode.OK, response);
+
+        /* A connect is not in the request log, so its code is not left for a later request */
+
+        RequestLog.takeCode();
+
+        flightEvent.finish(SocketEvents.CONNECT.getValue(), sessionId, null);
+
+        if (Tracing.ENABLED)
+            this.logger.exit();
+    }
+
+    /**
+     * The disconnect event handler.
+     *
+     * @param   client  com.corundumstudio.socketio.SocketIOClient
+     */
+    void disconnectEventHandler(final SocketIOClient client) {
+        if (Tracing.ENABLED)
+            this.logger.entry(client);
+
+        final var session = this.getSession(client);
+
+        this.logEvent(SocketEvents.DISCONNECT.getValue(), session.getIdString());
+
+        if (this.logger.isDebugEnabled())
+            this.logger.debug("Session {} was connected for {} ms and sent {} requests",
+                    session.getIdString(),
+                    this.timeSource.currentTimeMillis() - session.getConnectedAtMillis(),
+                    session.getRequestCount());
+
+        if (Tracing.ENABLED)
+            this.logger.exit();
+    }
+
+    /**
+     * The version event handler.
+     *
+     * @param   client      com.corundumstudio.socketio.SocketIOClient
+     * @param   message     java.lang.String
+     * @param   ackRequest  com.corundumstudio.socketio.AckRequest
+     */
+    void versionEventHandler(final SocketIOClient client, final String message, final AckRequest ackRequest) {
+        if (Tracing.ENABLED)
+            this.logger.entry(client, message, ackRequest);
+
+        final var session = this.getSession(client);
+        final var sessionId = session.getIdString();
+        final var request = this.decodeRequest(message);
+
+        this.logEvent(SocketEvents.VERSION.getValue(), sessionId, message);
+        this.logRequest(request);
+
+        if (!this.respondFromCache(session, client, ackRequest, SocketEvents.VERSION.getValue(), request.getId())) {
+            try {
+                final var response = this.versionTemplate.render(
+                        this.idGenerator.nextId(),
+                        request.getId(),
+                        sessionId,
+                        this.getUTCDateTime());
+
+                this.remember(session, request.getId(), SocketEvents.VERSION.getValue(), response);
+                this.respond(client, ackRequest, SocketEvents.VERSION.getValue(), ResponseCode.OK, response);
+            } finally {
+                this.abandon(session, request.getId(), SocketEvents.VERSION.getValue());
+            }
+        }
+
+        if (Tracing.ENABLED)
+            this.logger.exit();
+    }
+
+    /**
+     * Get the content of the version response.
+     *
+     * @return  net.jmp.handoff.daemon.VersionContent
+     */
+    private VersionContent getVersionContent() {
+        final var content = new VersionContent();
+
+        content.setAppName("Handoff Daemon");
+        content.setAppVersion(Version.VERSION);
+
+        return content;
+    }
+
+    /**
+     * The stop event handler.
+     *
+     * @param   client      com.corundumstudio.socketio.SocketIOClient
+     * @param   message     java.lang.String
+     * @param   ackRequest  com.corundumstudio.socketio.AckRequest
+     */
+    void stopEventHandler(final SocketIOClient client, final String message, final AckRequest ackRequest) {
+        if (Tracing.ENABLED)
+            this.logger.entry(client, message, ackRequest);
+
+        final var sessionId = this.getSession(client).getIdString();
+        final var request = this.decodeRequest(message);
+        final var content = new StopContent();
+
+        content.setMessage("Handoff daemon stopping");
+        content.setPid(ProcessHandle.current().pid());
+
+        this.logEvent(SocketEvents.STOP.getValue(), sessionId, message);
+        this.logRequest(request);
+
+        final var response = Response.getBuilder()
+                .id(this.idGenerator.nextId())
+                .requestId(request.getId())
+                .sessionId(sessionId)
+                .dateTime(this.getUTCDateTime())
+                .event(SocketEvents.STOP)
+                .content(content)
+                .code(ResponseCode.OK)
+                .build();
+
+        synchronized (this.stateSerializer) {
+            this.state.compareAndSet(ServerState.RUNNING, ServerState.DRAINING);
+            this.stateSerializer.notifyAll();
+        }
+
+        this.respond(client, ackRequest, SocketEvents.STOP.getValue(), ResponseCode.OK, this.encodeResponse(response));
+
+        if (Tracing.ENABLED)
+            this.logger.exit();
+    }
+
+    /**
+     * The echo event handler.
+     *
+     * @param   client      com.corundumstudio.socketio.SocketIOClient
+     * @param   message     java.lang.String
+     * @param   ackRequest  com.corundumstudio.socketio.AckRequest
+     */
+    void echoEventHandler(final SocketIOClient client, final String message, final AckRequest ackRequest) {
+        if (Tracing.ENABLED)
+            this.logger.entry(client, message, ackRequest);
+
+        final var session = this.getSession(client);
+        final var sessionId = session.getIdString();
+        final var request = this.decodeRequest(message);
+
+        this.logEvent(SocketEvents.ECHO.getValue(), sessionId, message);
+        this.logRequest(request);
+
+        if (!this.respondFromCache(session, client, ackRequest, SocketEvents.ECHO.getValue(), request.getId())) {
+            try {
+                final var response = this.encodeResponse(this.getEchoResponse(request, sessionId));
+
+                this.remember(session, request.getId(), SocketEvents.ECHO.getValue(), response);
+                this.respond(client, ackRequest, SocketEvents.ECHO.getValue(), ResponseCode.OK, response);
+            } finally {
+                this.abandon(session, request.getId(), SocketEvents.ECHO.getValue());
+            }
+        }
+
+        if (Tracing.ENABLED)
+            this.logger.exit();
+    }
+
+    /**
+     * Get the response to an echo request.
+     *
+     * @param   request     net.jmp.handoff.daemon.Request
+     * @param   sessionId   java.lang.String
+     * @return              net.jmp.handoff.daemon.Response
+     */
+    private Response getEchoResponse(final Request request, final String sessionId) {
+        final var content = new EchoContent();
+
+        content.setMessage("Echo: " + request.getContent());
+
+        return Response.getBuilder()
+                .id(this.idGenerator.nextId())
+                .requestId(request.getId())
+                .sessionId(sessionId)
+                .dateTime(this.getUTCDateTime())
+                .event(SocketEvents.ECHO)
+                .content(content)
+                .code(ResponseCode.OK)
+                .build();
+    }
+
+    /**
+     * The batch event handler. The message is an
+     * array of requests and the response is an
+     * array of responses in the same order, sent
+     * in a single event. Each item carries its
+     * own response code, so a request that cannot
+     * be handled does not fail the others.
+     *
+     * @param   client      com.corundumstudio.socketio.SocketIOClient
+     * @param   message     java.lang.String
+     * @param   ackRequest  com.corundumstudio.socketio.AckRequest
+     */
+    void batchEventHandler(final SocketIOClient client, final String message, final AckRequest ackRequest) {
+        if (Tracing.ENABLED)
+            this.logger.entry(client, message, ackRequest);
+
+        final var sessionId = this.getSession(client).getIdString();
+
+        this.logEvent(SocketEvents.BATCH.getValue(), sessionId, message);
+
+        List<Request> requests;
+
+        try {
+            requests = this.decodeRequests(message);
+        } catch (final JsonParseException jpe) {
+            this.logger.catching(jpe);
+
+            requests = null;
+        }
+
+        final List<Response> responses;
+
+        if (requests != null) {
+            responses = new ArrayList<>(requests.size());
+
+            for (final var request : requests)
+                responses.add(this.getBatchItemResponse(request, sessionId));
+        } else {
+            responses = List.of(this.getErrorResponse(null, sessionId, SocketEvents.BATCH.getValue(),
+                    "The batch is not an array of requests"));
+        }
+
+        this.respond(client, ackRequest, SocketEvents.BATCH.getValue(), ResponseCode.OK, this.encodeResponses(sessionId, responses));
+
+        if (Tracing.ENABLED)
+            this.logger.exit();
+    }
+
+    /**
+     * Get the response to one request in a batch.
+     * Only the echo and version events can be
+     * batched.
+     *
+     * @param   request     net.jmp.handoff.daemon.Request
+     * @param   sessionId   java.lang.String
+     * @return              net.jmp.handoff.daemon.Response
+     */
+    private Response getBatchItemResponse(final Request request, final String sessionId) {
+        if (request == null)
+            return this.getErrorResponse(null, sessionId, SocketEvents.BATCH.getValue(), "The request is malformed");
+
+        this.logRequest(request);
+
+        final var event = request.getEvent();
+
+        if (event == null)
+            return this.getErrorResponse(request.getId(), sessionId, SocketEvents.BATCH.getValue(), "The request has no event");
+
+        return switch (event) {
+            case SocketEvents.Constants.ECHO -> this.getEchoResponse(request, sessionId);
+            case SocketEvents.Constants.VERSION -> Response.getBuilder()
+                    .id(this.idGenerator.nextId())
+                    .requestId(request.getId())
+                    .sessionId(sessionId)
+                    .dateTime(this.getUTCDateTime())
+                    .event(SocketEvents.VERSION)
+                    .content(this.versionContent)
+                    .code(ResponseCode.OK)
+                    .build();
+            default -> this.getErrorResponse(request.getId(), sessionId, event, "Event cannot be batched: " + event);
+        };
+    }
+
+    /**
+     * Get a response that reports an error.
+     *
+     * @param   requestId   java.lang.String
+     * @param   sessionId   java.lang.String
+     * @param   event       java.lang.String
+     * @param   message     java.lang.String
+     * @return              net.jmp.handoff.daemon.Response
+     */
+    private Response getErrorResponse(final String requestId,
+                                      final String sessionId,
+                                      final String event,
+                                      final String message) {
+        return this.getRefusalResponse(requestId, sessionId, event, ResponseCode.NOT_OK, new ErrorContent(message));
+    }
+
+    /**
+     * Create a response to a request that
+     * was not handled.
+     *
+     * @param   requestId   java.lang.String
+     * @param   sessionId   java.lang.String
+     * @param   event       java.lang.String
+     * @param   code        net.jmp.handoff.daemon.ResponseCode
+     * @param   content     net.jmp.handoff.daemon.Content
+     * @return              net.jmp.handoff.daemon.Response
+     */
+    private Response getRefusalResponse(final String requestId,
+                                        final String sessionId,
+                                        final String event,
+                                        final ResponseCode code,
+                                        final Content content) {
+        return Response.getBuilder()
+                .id(this.idGenerator.nextId())
+                .requestId(requestId)
+                .sessionId(sessionId)
+                .dateTime(this.getUTCDateTime())
+                .event(event)
+                .content(content)
+                .code(code)
+                .build();
+    }
+
+    /**
+     * The handler of an event handler service's
+     * event. What the service returns is sent as
+     * the message of an OK response. When it fails
+     * a not-OK response is sent and the failure is
+     * rethrown to be counted and logged.
+     *
+     * @param   handler     net.jmp.handoff.daemon.EventHandler
+     * @param   client      com.corundumstudio.socketio.SocketIOClient
+     * @param   message     java.lang.String
+     * @param   ackRequest  com.corundumstudio.socketio.AckRequest
+     */
+    void serviceEventHandler(final EventHandler handler,
+                             final SocketIOClient client,
+                             final String message,
+                             final AckRequest ackRequest) {
+        if (Tracing.ENABLED)
+            this.logger.entry(handler, client, message, ackRequest);
+
+        final var event = handler.getEvent();
+        final var session = this.getSession(client);
+        final var sessionId = session.getIdString();
+        final var request = this.decodeRequest(message);
+
+        this.logEvent(event, sessionId, message);
+        this.logRequest(request);
+
+        if (this.respondFromCache(session, client, ackRequest, event, request.getId())) {
+            if (Tracing.ENABLED)
+                this.logger.exit();
+
+            return;
+        }
+
+        RuntimeException failure = null;
+
+        try {
+            Response response;
+
+            try {
+                response = Response.getBuilder()
+                        .id(this.idGenerator.nextId())
+                        .requestId(request.getId())
+                        .sessionId(sessionId)
+                        .dateTime(this.getUTCDateTime())
+                        .event(event)
+                        .content(new MessageContent(handler.handle(new HandlerContext(request, sessionId))))
+                        .code(ResponseCode.OK)
+                        .build();
+            } catch (final Exception e) {
+                failure = new IllegalStateException("The " + event + " handler failed", e);
+                response = this.getErrorResponse(request.getId(), sessionId, event, String.valueOf(e.getMessage()));
+            }
+
+            final var encodedResponse = this.encodeResponse(response);
+
+            if (failure == null)
+                this.remember(session, request.getId(), event, encodedResponse);
+
+            this.respond(client, ackRequest, event, (failure == null) ? ResponseCode.OK : ResponseCode.NOT_OK, encodedResponse);
+        } finally {
+            /* A failure is not remembered so that a retry, or a copy waiting on it, runs the handler again */
+
+            this.abandon(session, request.getId(), event);
+        }
+
+        if (failure != null)
+            throw failure;
+
+        if (Tracing.ENABLED)
+            this.logger.exit();
+    }
+
+    /**
+     * The stats event handler. The response
+     * holds the value of every metric as it is
+     * now. It is not remembered, so a retry
+     * reads the metrics again.
+     *
+     * @param   client      com.corundumstudio.socketio.SocketIOClient
+     * @param   message     java.lang.String
+     * @param   ackRequest  com.corundumstudio.socketio.AckRequest
+     */
+    void statsEventHandler(final SocketIOClient client, final String message, final AckRequest ackRequest) {
+        if (Tracing.ENABLED)
+            this.logger.entry(client, message, ackRequest);
+
+        final var sessionId = this.getSession(client).getIdString();
+        final var request = this.decodeRequest(message);
+
+        this.logEvent(SocketEvents.STATS.getValue(), sessionId, message);
+        this.logRequest(request);
+
+        final var response = Response.getBuilder()
+                .id(this.idGenerator.nextId())
+                .requestId(request.getId())
+                .sessionId(sessionId)
+                .dateTime(this.getUTCDateTime())
+                .event(SocketEvents.STATS)
+                .content(new StatsContent(this.metricsRegistry.snapshot()))
+                .code(ResponseCode.OK)
+                .build();
+
+        this.respond(client, ackRequest, SocketEvents.STATS.getValue(), ResponseCode.OK, this.encodeResponse(response));
+
+        if (Tracing.ENABLED)
+            this.logger.exit();
+    }
+
+    /**
+     * The recording event handler. The content
+     * of the request is the action: 'start' to
+     * start a flight recording, 'dump' to dump
+     * it to a new file and keep recording, 'stop'
+     * to stop it and dump it, or 'status'. It is
+     * refused unless recording control is enabled.
+     *
+     * @param   client      com.corundumstudio.socketio.SocketIOClient
+     * @param   message     java.lang.String
+     * @param   ackRequest  com.corundumstudio.socketio.AckRequest
+     */
+    void recordingEventHandler(final SocketIOClient client, final String message, final AckRequest ackRequest) {
+        if (Tracing.ENABLED)
+            this.logger.entry(client, message, ackRequest);
+
+        final var sessionId = this.getSession(client).getIdString();
+        final var request = this.decodeRequest(message);
+        final var event = SocketEvents.RECORDING.getValue();
+
+        this.logEvent(event, sessionId, message);
+        this.logRequest(request);
+
+        String error = null;
+        Path path = null;
+
+        if (!this.flightRecorderConfig.isControlEnabled()) {
+            error = "Recording control is disabled";
+        } else {
+            try {
+                switch (String.valueOf(request.getContent())) {
+                    case "start" -> {
+                        if (!this.flightRecorderControl.start())
+                            error = "A recording is already running";
+                    }
+                    case "dump" -> {
+                        path = this.flightRecorderControl.dump();
+
+                        if (path == null)
+                            error = "No recording is running";
+                    }
+                    case "stop" -> {
+                        path = this.flightRecorderControl.stop();
+
+                        if (path == null)
+                            error = "No recording is running";
+                    }
+                    case "status" -> {
+                        // Only the status is returned
+                    }
+                    default -> error = "Unknown recording action: " + request.getContent();
+                }
+            } catch (final IOException ioe) {
+                this.logger.catching(ioe);
+
+                error = "The recording failed: " + ioe.getMessage();
+            }
+        }
+
+        final Response response;
+
+        if (error != null) {
+            response = this.getErrorResponse(request.getId(), sessionId, event, error);
+        } else {
+            response = Response.getBuilder()
+                    .id(this.idGenerator.nextId())
+                    .requestId(request.getId())
+                    .sessionId(sessionId)
+                    .dateTime(this.getUTCDateTime())
+                    .event(SocketEvents.RECORDING)
+                    .content(new RecordingContent(this.flightRecorderControl.isRecording(), (path != null) ? path.toString() : null))
+                    .code(ResponseCode.OK)
+                    .build();
+        }
+
+        this.respond(client, ackRequest, event, (error != null) ? ResponseCode.NOT_OK : ResponseCode.OK, this.encodeResponse(response));
+
+        if (Tracing.ENABLED)
+            this.logger.exit();
+    }
+
+    /**
+     * The subscribe event handler. The client
+     * joins the room named in the request.
+     *
+     * @param   client      com.corundumstudio.socketio.SocketIOClient
+     * @param   message     java.lang.String
+     * @param   ackRequest  com.corundumstudio.socketio.AckRequest
+     */
+    void subscribeEventHandler(final SocketIOClient client, final String message, final AckRequest ackRequest) {
+        if (Tracing.ENABLED)
+            this.logger.entry(client, message, ackRequest);
+
+        this.membershipEventHandler(SocketEvents.SUBSCRIBE, client, message, ackRequest);
 
-        this.hostName = hostName;
-        this.port = port;
+        if (Tracing.ENABLED)
+            this.logger.exit();
     }
 
     /**
-     * Set up and start the socket IO server.
+     * The unsubscribe event handler. The client
+     * leaves the room named in the request.
+     *
+     * @param   client      com.corundumstudio.socketio.SocketIOClient
+     * @param   message     java.lang.String
+     * @param   ackRequest  com.corundumstudio.socketio.AckRequest
      */
-    void setupAndRunServer() {
-        this.logger.entry();
+    void unsubscribeEventHandler(final SocketIOClient client, final String message, final AckRequest ackRequest) {
+        if (Tracing.ENABLED)
+            this.logger.entry(client, message, ackRequest);
 
-        this.startServer();
-        this.waitAndStopServer();
+        this.membershipEventHandler(SocketEvents.UNSUBSCRIBE, client, message, ackRequest);
 
-        this.logger.exit();
+        if (Tracing.ENABLED)
+            this.logger.exit();
     }
 
     /**
-     * Start the socket IO server.
+     * Join or leave the room named in a request
+     * and respond with the number of members
+     * the room then has. Joining a room twice,
+     * or leaving one that was not joined, does
+     * nothing.
+     *
+     * @param   socketEvent net.jmp.handoff.daemon.SocketEvents
+     * @param   client      com.corundumstudio.socketio.SocketIOClient
+     * @param   message     java.lang.String
+     * @param   ackRequest  com.corundumstudio.socketio.AckRequest
      */
-    private void startServer() {
-        this.logger.entry();
+    private void membershipEventHandler(final SocketEvents socketEvent,
+                                        final SocketIOClient client,
+                                        final String message,
+                                        final AckRequest ackRequest) {
+        final var sessionId = this.getSession(client).getIdString();
+        final var request = this.decodeRequest(message);
+        final var room = request.getRoom();
+
+        this.logEvent(socketEvent.getValue(), sessionId, message);
+        this.logRequest(request);
 
-        final var socketIoConfig = new Configuration();
-        final var socketConfig = new SocketConfig();
+        final Response response;
+        final ResponseCode code;
 
-        socketConfig.setReuseAddress(true);
+        if (room == null || room.isBlank()) {
+            response = this.getErrorResponse(request.getId(), sessionId, socketEvent.getValue(), "The request has no room");
+            code = ResponseCode.NOT_OK;
+        } else {
+            if (socketEvent == SocketEvents.SUBSCRIBE)
+                client.joinRoom(room);
+            else
+                client.leaveRoom(room);
+
+            response = Response.getBuilder()
+                    .id(this.idGenerator.nextId())
+                    .requestId(request.getId())
+                    .sessionId(sessionId)
+                    .dateTime(this.getUTCDateTime())
+                    .event(socketEvent)
+                    .content(new RoomContent(room, null, client.getCurrentRoomSize(room)))
+                    .code(ResponseCode.OK)
+                    .build();
+            code = ResponseCode.OK;
+        }
 
-        socketIoConfig.setPort(this.port);
-        socketIoConfig.setHostname(this.hostName);
-        socketIoConfig.setSocketConfig(socketConfig);
+        this.respond(client, ackRequest, socketEvent.getValue(), code, this.encodeResponse(response));
+    }
 
-        this.socketIOServer = new SocketIOServer(socketIoConfig);
+    /**
+     * The publish event handler. The content of
+     * the request is broadcast to every member
+     * of the room named in it, the publisher too
+     * if it has subscribed. The broadcast is
+     * serialized once whatever the number of
+     * members. The publisher's response holds the
+     * number of members it was sent to, and is
+     * remembered so that a retry of the request
+     * does not broadcast it again.
+     *
+     * @param   client      com.corundumstudio.socketio.SocketIOClient
+     * @param   message     java.lang.String
+     * @param   ackRequest  com.corundumstudio.socketio.AckRequest
+     */
+    void publishEventHandler(final SocketIOClient client, final String message, final AckRequest ackRequest) {
+        if (Tracing.ENABLED)
+            this.logger.entry(client, message, ackRequest);
 
-        this.socketIOServer.addConnectListener(
-                this::connectEventHandler);     // client -> this.connectEventHandler(client));
+        final var session = this.getSession(client);
+        final var sessionId = session.getIdString();
+        final var request = this.decodeRequest(message);
+        final var room = request.getRoom();
 
-        this.logger.debug("Added connect listener");
+        this.logEvent(SocketEvents.PUBLISH.getValue(), sessionId, message);
+        this.logRequest(request);
 
-        this.socketIOServer.addDisconnectListener(
-                this::disconnectEventHandler);  // client -> this.disconnectEventHandler(client))
+        if (this.respondFromCache(session, client, ackRequest, SocketEvents.PUBLISH.getValue(), request.getId())) {
+            if (Tracing.ENABLED)
+                this.logger.exit();
 
-        this.logger.debug("Added disconnect listener");
+            return;
+        }
+
+        try {
+            this.publish(session, client, ackRequest, request, room);
+        } finally {
+            this.abandon(session, request.getId(), SocketEvents.PUBLISH.getValue());
+        }
 
-        this.socketIOServer.addEventListener(SocketEvents.ECHO.getValue(), String.class,
-                (client, message, ackRequest) -> this.echoEventHandler(client, message));
+        if (Tracing.ENABLED)
+            this.logger.exit();
+    }
 
-        this.logger.debug("Added {} listener", SocketEvents.ECHO.getValue());
+    /**
+     * Publish a request's content to its room
+     * and respond with the number of members it
+     * was sent to.
+     *
+     * @param   session     net.jmp.handoff.daemon.Session
+     * @param   client      com.corundumstudio.socketio.SocketIOClient
+     * @param   ackRequest  com.corundumstudio.socketio.AckRequest
+     * @param   request     net.jmp.handoff.daemon.Request
+     * @param   room        java.lang.String
+     */
+    private void publish(final Session session,
+                         final SocketIOClient client,
+                         final AckRequest ackRequest,
+                         final Request request,
+                         final String room) {
+        final var sessionId = session.getIdString();
+
+        if (room == null || room.isBlank()) {
+            this.respond(client, ackRequest, SocketEvents.PUBLISH.getValue(), ResponseCode.NOT_OK,
+                    this.encodeResponse(this.getErrorResponse(request.getId(), sessionId, SocketEvents.PUBLISH.getValue(),
+                            "The request has no room")));
+
+            return;
+        }
 
-        this.socketIOServer.addEventListener(SocketEvents.STOP.getValue(), String.class,
-                (client, message, ackRequest) -> this.stopEventHandler(client, message));
+        final var members = this.getRoomMembers(room);
 
-        this.logger.debug("Added {} listener", SocketEvents.STOP.getValue());
+        final var broadcast = Response.getBuilder()
+                .id(this.idGenerator.nextId())
+                .requestId(request.getId())
+                .sessionId(sessionId)
+                .dateTime(this.getUTCDateTime())
+                .event(SocketEvents.BROADCAST)
+                .content(new RoomContent(room, request.getContent(), members.size()))
+                .code(ResponseCode.OK)
+                .build();
 
-        this.socketIOServer.addEventListener(SocketEvents.VERSION.getValue(), String.class,
-                (client, message, ackRequest) -> this.versionEventHandler(client, message));
+        final var fanOut = this.roomBroadcaster.broadcast(members, SocketEvents.BROADCAST.getValue(), this.encodeResponse(broadcast));
 
-        this.logger.debug("Added {} listener", SocketEvents.VERSION.getValue());
+        final var response = this.encodeResponse(Response.getBuilder()
+                .id(this.idGenerator.nextId())
+                .requestId(request.getId())
+                .sessionId(sessionId)
+                .dateTime(this.getUTCDateTime())
+                .event(SocketEvents.PUBLISH)
+                .content(new RoomContent(room, null, fanOut))
+                .code(ResponseCode.OK)
+                .build());
 
-        this.socketIOServer.start();
+        this.remember(session, request.getId(), SocketEvents.PUBLISH.getValue(), response);
+        this.respond(client, ackRequest, SocketEvents.PUBLISH.getValue(), ResponseCode.OK, response);
+    }
 
-        if (this.logger.isInfoEnabled())
-            this.logger.info("SocketIO server started on PID: {}", ProcessHandle.current().pid());
+    /**
+     * Get the members of a room. A server that
+     * has not started has no rooms.
+     *
+     * @param   room    java.lang.String
+     * @return          java.util.Collection&lt;com.corundumstudio.socketio.SocketIOClient&gt;
+     */
+    private Collection<SocketIOClient> getRoomMembers(final String room) {
+        if (this.socketIOServer == null)
+            return List.of();
 
-        this.logger.exit();
+        return this.socketIOServer.getRoomOperations(room).getClients();
     }
 
     /**
-     * The connect event handler.
+     * The binary echo event handler. The payload
+     * arrives as a binary attachment and is sent
+     * back as one, so it is never base64-encoded,
+     * escaped or copied through a string.
      *
-     * @param   client  com.corundumstudio.socketio.SocketIOClient
+     * @param   client      com.corundumstudio.socketio.SocketIOClient
+     * @param   message     java.lang.String
+     * @param   payload     byte[]
+     * @param   ackRequest  com.corundumstudio.socketio.AckRequest
      */
-    private void connectEventHandler(final SocketIOClient client) {
-        this.logger.entry(client);
+    void binaryEchoEventHandler(final SocketIOClient client,
+                                final String message,
+                                final byte[] payload,
+                                final AckRequest ackRequest) {
+        if (Tracing.ENABLED)
+            this.logger.entry(client, message, ackRequest);
 
-        final var sessionId = client.getSessionId().toString();
+        final var sessionId = this.getSession(client).getIdString();
+        final var request = this.decodeRequest(message);
+        final var content = new BinaryContent();
 
-        this.logEvent(SocketEvents.CONNECT.getValue(), sessionId);
+        content.setLength((payload != null) ? payload.length : 0);
+
+        this.logEvent(SocketEvents.BINARY_ECHO.getValue(), sessionId, message);
+        this.logRequest(request);
 
         final var response = Response.getBuilder()
-                .id(UUID.randomUUID().toString())
+                .id(this.idGenerator.nextId())
+                .requestId(request.getId())
                 .sessionId(sessionId)
                 .dateTime(this.getUTCDateTime())
-                .event(SocketEvents.CONNECT)
+                .event(SocketEvents.BINARY_ECHO)
+                .content(content)
                 .code(ResponseCode.OK)
                 .build();
 
-        client.sendEvent(SocketEvents.CONNECT.getValue(), new Gson().toJson(response));
+        this.respond(client, ackRequest, SocketEvents.BINARY_ECHO.getValue(), ResponseCode.OK,
+                this.encodeResponse(response),
+                (payload != null) ? payload : new byte[0]);
 
-        this.logger.exit();
+        if (Tracing.ENABLED)
+            this.logger.exit();
     }
 
     /**
-     * The disconnect event handler.
+     * Send the response remembered for a request
+     * that was already handled, if there is one.
+     * A copy of a request that is still being
+     * handled waits for its response. Otherwise
+     * the request is marked as in progress, and
+     * the caller must remember its response or
+     * abandon it.
      *
-     * @param   client  com.corundumstudio.socketio.SocketIOClient
+     * @param   session     net.jmp.handoff.daemon.Session
+     * @param   client      com.corundumstudio.socketio.SocketIOClient
+     * @param   ackRequest  com.corundumstudio.socketio.AckRequest
+     * @param   event       java.lang.String
+     * @param   requestId   java.lang.String
+     * @return              boolean     True if the remembered response was sent
      */
-    private void disconnectEventHandler(final SocketIOClient client) {
-        this.logger.entry(client);
+    private boolean respondFromCache(final Session session,
+                                     final SocketIOClient client,
+                                     final AckRequest ackRequest,
+                                     final String event,
+                                     final String requestId) {
+        if (this.idempotencyCache == null)
+            return false;
+
+        final var response = this.idempotencyCache.begin(this.getIdempotencyKey(session, client), requestId, event);
 
-        this.logEvent(SocketEvents.DISCONNECT.getValue(), client.getSessionId().toString());
+        if (response == null)
+            return false;
 
-        this.logger.exit();
+        this.logger.debug("Answered the repeated {} request {} from the idempotency cache", event, requestId);
+        this.respond(client, ackRequest, event, ResponseCode.OK, response);
+
+        return true;
     }
 
     /**
-     * The version event handler.
+     * Remember the response to a request so that
+     * a retry of it is not handled again.
+     *
+     * @param   session     net.jmp.handoff.daemon.Session
+     * @param   requestId   java.lang.String
+     * @param   event       java.lang.String
+     * @param   response    java.lang.String
+     */
+    private void remember(final Session session, final String requestId, final String event, final String response) {
+        if (this.idempotencyCache != null)
+            this.idempotencyCache.put(session.getIdempotencyKey(), requestId, event, response);
+    }
+
+    /**
+     * Abandon a request whose response was not
+     * remembered, so that a retry of it is
+     * handled again.
+     *
+     * @param   session     net.jmp.handoff.daemon.Session
+     * @param   requestId   java.lang.String
+     * @param   event       java.lang.String
+     */
+    private void abandon(final Session session, final String requestId, final String event) {
+        if (this.idempotencyCache != null)
+            this.idempotencyCache.abandon(session.getIdempotencyKey(), requestId, event);
+    }
+
+    /**
+     * Get who a session's responses are remembered
+     * for: the identity its client gave when it
+     * connected, so that its retries are answered
+     * after it reconnects, or else the session, so
+     * that they are only answered on the same
+     * session. It is worked out once per session.
      *
+     * @param   session net.jmp.handoff.daemon.Session
      * @param   client  com.corundumstudio.socketio.SocketIOClient
-     * @param   message java.lang.String
+     * @return          java.lang.String
      */
-    private void versionEventHandler(final SocketIOClient client, final String message) {
-        this.logger.entry(client, message);
+    private String getIdempotencyKey(final Session session, final SocketIOClient client) {
+        var key = session.getIdempotencyKey();
 
-        final var sessionId = client.getSessionId().toString();
-        final var request = new Gson().fromJson(message, Request.class);
-        final var content = new VersionContent();
+        if (key == null) {
+            final var identity = this.getClientIdentity(client);
 
-        content.setAppName("Handoff Daemon");
-        content.setAppVersion(Version.VERSION);
+            /* A session ID has no colon, so it cannot be mistaken for an identity */
 
-        this.logEvent(SocketEvents.VERSION.getValue(), sessionId, message);
-        this.logRequest(request);
+            key = (identity != null) ? "client:" + identity : session.getIdString();
 
-        final var response = Response.getBuilder()
-                .id(UUID.randomUUID().toString())
-                .requestId(request.getId())
-                .sessionId(sessionId)
-                .dateTime(this.getUTCDateTime())
-                .event(SocketEvents.VERSION)
-                .content(content)
-                .code(ResponseCode.OK)
-                .build();
+            session.setIdempotencyKey(key);
+        }
+
+        return key;
+    }
+
+    /**
+     * Send a response. A client that asked for an
+     * acknowledgement gets the response as the
+     * acknowledgement's data, which its callback
+     * receives without correlating request IDs.
+     * Any other client gets it as an event.
+     * On a pipelined session the response waits
+     * for those of the session's earlier requests.
+     *
+     * The response is counted by its code and
+     * the time to hand it to the transport is
+     * recorded.
+     *
+     * @param   client      com.corundumstudio.socketio.SocketIOClient
+     * @param   ackRequest  com.corundumstudio.socketio.AckRequest
+     * @param   event       java.lang.String
+     * @param   code        net.jmp.handoff.daemon.ResponseCode
+     * @param   data        java.lang.Object[]
+     */
+    private void respond(final SocketIOClient client,
+                         final AckRequest ackRequest,
+                         final String event,
+                         final ResponseCode code,
+                         final Object ... data) {
+        this.responseCounts[code.ordinal()].increment();
+
+        RequestLog.setCode(code);
+
+        final var isAck = ackRequest != null && ackRequest.isAckRequested();
+        final var requestId = FlightEvents.getRequestId();
+
+        ResponseSequencer.deliver(() -> {
+            final var flightEvent = new FlightEvents.Send();
+
+            flightEvent.begin();
+
+            final var start = System.nanoTime();
+
+            if (isAck)
+                ackRequest.sendAckData(data);
+            else
+                client.sendEvent(event, data);
 
-        client.sendEvent(SocketEvents.VERSION.getValue(), new Gson().toJson(response));
+            this.sendLatency.record(System.nanoTime() - start);
 
-        this.logger.exit();
+            if (flightEvent.isEnabled())
+                flightEvent.finish(event, client.getSessionId().toString(), requestId);
+        });
     }
 
     /**
-     * The stop event handler.
+     * Decode a request, recording the time
+     * it takes.
      *
-     * @param   client  com.corundumstudio.socketio.SocketIOClient
      * @param   message java.lang.String
+     * @return          net.jmp.handoff.daemon.Request
      */
-    private void stopEventHandler(final SocketIOClient client, final String message) {
-        this.logger.entry(client, message);
+    private Request decodeRequest(final String message) {
+        final var flightEvent = new FlightEvents.Decode();
 
-        final var sessionId = client.getSessionId().toString();
-        final var request = new Gson().fromJson(message, Request.class);
-        final var content = new StopContent();
+        flightEvent.begin();
 
-        content.setMessage("Handoff daemon stopping");
-        content.setPid(ProcessHandle.current().pid());
+        final var start = System.nanoTime();
 
-        this.logEvent(SocketEvents.STOP.getValue(), sessionId, message);
-        this.logRequest(request);
+        Request request = null;
 
-        final var response = Response.getBuilder()
-                .id(UUID.randomUUID().toString())
-                .requestId(request.getId())
-                .sessionId(sessionId)
-                .dateTime(this.getUTCDateTime())
-                .event(SocketEvents.STOP)
-                .content(content)
-                .code(ResponseCode.OK)
-                .build();
+        try {
+            request = this.codec.decodeRequest(message);
 
-        client.sendEvent(SocketEvents.STOP.getValue(), new Gson().toJson(response));
+            return request;
+        } finally {
+            this.decodeLatency.record(System.nanoTime() - start);
 
-        this.isStopEventReceived = true;
+            final var requestId = (request != null) ? request.getId() : null;
 
-        synchronized (this.stopSerializer) {
-            this.stopSerializer.notifyAll();
-        }
+            /* The stall detector only keeps it on an I/O thread in a listener, not on a handler's virtual thread */
 
-        this.logger.exit();
+            FlightEvents.setRequestId(requestId);
+            this.stallDetector.setRequestId(requestId);
+
+            flightEvent.finish((request != null) ? request.getEvent() : null, null, requestId);
+        }
     }
 
     /**
-     * The echo event handler.
+     * Decode an array of requests, recording
+     * the time it takes.
      *
-     * @param   client  com.corundumstudio.socketio.SocketIOClient
      * @param   message java.lang.String
+     * @return          java.util.List&lt;net.jmp.handoff.daemon.Request&gt;
      */
-    private void echoEventHandler(final SocketIOClient client, final String message) {
-        this.logger.entry(client, message);
+    private List<Request> decodeRequests(final String message) {
+        final var flightEvent = new FlightEvents.Decode();
 
-        final var sessionId = client.getSessionId().toString();
-        final var request = new Gson().fromJson(message, Request.class);
-        final var content = new EchoContent();
+        flightEvent.begin();
 
-        content.setMessage("Echo: " + request.getContent());
+        final var start = System.nanoTime();
 
-        this.logEvent(SocketEvents.ECHO.getValue(), sessionId, message);
-        this.logRequest(request);
+        try {
+            return this.codec.decodeRequests(message);
+        } finally {
+            this.decodeLatency.record(System.nanoTime() - start);
 
-        final var response = Response.getBuilder()
-                .id(UUID.randomUUID().toString())
-                .requestId(request.getId())
-                .sessionId(sessionId)
-                .dateTime(this.getUTCDateTime())
-                .event(SocketEvents.ECHO)
-                .content(content)
-                .code(ResponseCode.OK)
-                .build();
+            flightEvent.finish(SocketEvents.BATCH.getValue(), null, null);
+        }
+    }
+
+    /**
+     * Encode a response, recording the time
+     * it takes as a flight recorder event.
+     *
+     * @param   response    net.jmp.handoff.daemon.Response
+     * @return              java.lang.String
+     */
+    private String encodeResponse(final Response response) {
+        final var flightEvent = new FlightEvents.Encode();
+
+        flightEvent.begin();
+
+        try {
+            return this.codec.encodeResponse(response);
+        } finally {
+            flightEvent.finish(response.getEvent(), response.getSessionId(), response.getRequestId());
+        }
+    }
+
+    /**
+     * Encode the responses to a batch, recording
+     * the time it takes as a flight recorder event.
+     *
+     * @param   sessionId   java.lang.String
+     * @param   responses   java.util.List&lt;net.jmp.handoff.daemon.Response&gt;
+     * @return              java.lang.String
+     */
+    private String encodeResponses(final String sessionId, final List<Response> responses) {
+        final var flightEvent = new FlightEvents.Encode();
+
+        flightEvent.begin();
 
-        client.sendEvent(SocketEvents.ECHO.getValue(), new Gson().toJson(response));
+        try {
+            return this.codec.encodeResponses(responses);
+        } finally {
+            flightEvent.finish(SocketEvents.BATCH.getValue(), sessionId, null);
+        }
+    }
 
-        this.logger.exit();
+    /**
+     * Method to log a received event in the
+     * human-readable form when the request
+     * log is verbose.
+     *
+     * @param   eventName   java.lang.String
+     * @param   sessionId   java.lang.String
+     */
+    void logEvent(final String eventName, final String sessionId) {
+        this.logEvent(eventName, sessionId, null);
     }
 
     /**
-     * Method to log a received event.
+     * Method to log a received event and its
+     * message in the human-readable form when
+     * the request log is verbose. It takes the
+     * one message rather than varargs so that
+     * a call builds no array.
      *
      * @param   eventName   java.lang.String
      * @param   sessionId   java.lang.String
-     * @param   args        java.lang.String[]
+     * @param   message     java.lang.String    Null if the event has none
      */
-    private void logEvent(final String eventName, final String sessionId, final String ... args) {
-        this.logger.entry(eventName, sessionId, args);
+    void logEvent(final String eventName, final String sessionId, final String message) {
+        if (Tracing.ENABLED)
+            this.logger.entry(eventName, sessionId, message);
 
-        this.logger.info("Client sent {} event: Session ID: {}", eventName, sessionId);
+        if (this.requestLogConfig.isVerbose() && this.logger.isInfoEnabled()) {
+            this.logger.info("Client sent {} event: Session ID: {}", eventName, sessionId);
 
-        if (args.length > 0) {
-            if (this.logger.isInfoEnabled()) {
-                for (final var arg : args) {
-                    this.logger.info("Client arg: {}", arg);
-                }
-            }
+            if (message != null)
+                this.logger.info("Client arg: {}", message);
         }
 
-        this.logger.exit();
+        if (Tracing.ENABLED)
+            this.logger.exit();
     }
 
     /**
-     * Log the request object.
+     * Log the request object in the human-readable
+     * form when the request log is verbose.
      *
      * @param   request net.jmp.handoff.daemon.Request
      */
-    private void logRequest(final Request request) {
-        this.logger.entry(request);
+    void logRequest(final Request request) {
+        if (Tracing.ENABLED)
+            this.logger.entry(request);
 
-        if (this.logger.isDebugEnabled()) {
+        if (this.requestLogConfig.isVerbose() && this.logger.isDebugEnabled()) {
             this.logger.debug("Type     : {}", request.getType());
             this.logger.debug("ID       : {}", request.getId());
 
-            final var localDateTime = this.getLocalDateTime(request.getDateTime());
+            final var localDateTime = this.getLocalDateTime(request.getDateTimeMillis());
 
             if (localDateTime.isPresent())
                 this.logger.debug("Date-Time: {} ({})", request.getDateTime(), localDateTime.get());
@@ -347,7 +1947,8 @@ final class Server {
                 this.logger.debug("Content  : {}", request.getContent());
         }
 
-        this.logger.exit();
+        if (Tracing.ENABLED)
+            this.logger.exit();
     }
 
     /**
@@ -356,77 +1957,129 @@ final class Server {
      * @param   utcDateTime java.lang.String
      * @return              java.util.Optional&lt;java.lang.String&gt;
      */
-    private Optional<String> getLocalDateTime(final String utcDateTime) {
-        this.logger.entry(utcDateTime);
-
-        final var utcFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
-
-        utcFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+    Optional<String> getLocalDateTime(final String utcDateTime) {
+        if (Tracing.ENABLED)
+            this.logger.entry(utcDateTime);
 
-        Date localDate = null;
+        final var localDateTimeFormatted = this.getLocalDateTime(DateTimes.parseUTC(utcDateTime));
 
-        try {
-            localDate = utcFormat.parse(utcDateTime);
-        } catch (final ParseException pe) {
-            this.logger.catching(pe);
-        }
-
-        String localDateTimeFormatted = null;
-
-        if (localDate != null) {
-            final var localFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
+        if (Tracing.ENABLED)
+            this.logger.exit(localDateTimeFormatted);
 
-            localDateTimeFormatted = localFormat.format(localDate);
-
-            final var timeZone = TimeZone.getDefault();
+        return localDateTimeFormatted;
+    }
 
-            if (timeZone.inDaylightTime(localDate))
-                localDateTimeFormatted = localDateTimeFormatted + " (" + timeZone.getDisplayName().replace("Standard", "Daylight") + ')';
-            else
-                localDateTimeFormatted = localDateTimeFormatted + " (" + timeZone.getDisplayName() + ')';
-        }
+    /**
+     * Return milliseconds since the epoch formatted
+     * in local date and time.
+     *
+     * @param   millis  long
+     * @return          java.util.Optional&lt;java.lang.String&gt;
+     */
+    private Optional<String> getLocalDateTime(final long millis) {
+        if (millis == DateTimes.INVALID)
+            return Optional.empty();
 
-        this.logger.exit(localDateTimeFormatted);
+        final var instant = Instant.ofEpochMilli(millis);
+        final var zoneName = this.localZoneId.getRules().isDaylightSavings(instant)
+                ? this.daylightZoneName
+                : this.standardZoneName;
 
-        return Optional.ofNullable(localDateTimeFormatted);
+        return Optional.of(LOCAL_DATE_TIME_FORMATTER.format(instant.atZone(this.localZoneId)) + " (" + zoneName + ')');
     }
 
     /**
-     * Wait for and stop the socket IO server.
+     * Wait for a stop event, then drain and stop
+     * the socket IO server. While draining, new
+     * requests are refused and the in-flight ones
+     * are given until the drain timeout to finish.
      */
     private void waitAndStopServer() {
-        this.logger.entry();
+        if (Tracing.ENABLED)
+            this.logger.entry();
 
-        while (!this.isStopEventReceived) {
-            synchronized (this.stopSerializer) {
+        synchronized (this.stateSerializer) {
+            while (this.state.get() == ServerState.RUNNING) {
                 try {
-                    this.stopSerializer.wait();
+                    this.stateSerializer.wait();
                 } catch (final InterruptedException ie) {
                     this.logger.catching(ie);
 
                     Thread.currentThread().interrupt();
+
+                    this.state.compareAndSet(ServerState.RUNNING, ServerState.DRAINING);
                 }
             }
         }
 
-        // Remove the listeners
+        // Drain the in-flight requests
 
-        final var events = List.of(
-                SocketEvents.ECHO.getValue(),
-                SocketEvents.STOP.getValue(),
-                SocketEvents.VERSION.getValue()
-        );
+        final var drainStart = System.nanoTime();
 
-        events.forEach(event -> {
-            this.socketIOServer.removeAllListeners(event);
-            this.logger.debug("Removed {} listener", event);
-        });
+        boolean isDrained;
+
+        try {
+            isDrained = this.handlerExecutor.awaitIdle(this.drainTimeoutMillis);
+        } catch (final InterruptedException ie) {
+            this.logger.catching(ie);
+
+            Thread.currentThread().interrupt();
+
+            isDrained = false;
+        }
+
+        final var drainMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - drainStart);
+        final var abandonedCount = this.handlerExecutor.getInFlightCount();
+
+        // Remove the listeners
+
+        for (final var slot : this.dispatchTable.getSlots()) {
+            this.socketIOServer.removeAllListeners(slot.getEvent());
+            this.logger.debug("Removed {} listener", slot.getEvent());
+        }
 
         // Stop the server
 
         this.socketIOServer.stop();
 
-        this.logger.exit();
+        if (this.metricsHttpServer != null)
+            this.metricsHttpServer.stop();
+
+        this.stallDetector.stop();
+
+        try {
+            this.flightRecorderControl.stop();
+        } catch (final IOException ioe) {
+            this.logger.catching(ioe);
+        }
+
+        if (isDrained)
+            this.handlerExecutor.close();
+        else
+            this.handlerExecutor.abandon();
+
+        this.state.set(ServerState.STOPPED);
+
+        if (isDrained)
+            this.logger.info("Drained in {} ms; {} requests refused while draining", drainMillis, this.refusedCount.get());
+        else
+            this.logger.warn("Drain timed out after {} ms; {} requests abandoned, {} requests refused while draining",
+                    drainMillis, abandonedCount, this.refusedCount.get());
+
+        this.logger.info("Admission: {}", this.admissionController);
+
+        if (this.idempotencyCache != null)
+            this.logger.info("Idempotency cache: {}", this.idempotencyCache);
+
+        this.logger.info("Rooms: {}", this.roomBroadcaster);
+
+        if (this.logger.isInfoEnabled()) {
+            for (final var slot : this.dispatchTable.getSlots())
+                this.logger.info("Handler {}", slot);
+        }
+
+        if (Tracing.ENABLED)
+            this.logger.exit();
     }
 
     /**
@@ -434,15 +2087,192 @@ final class Server {
      *
      * @return  java.lang.String
      */
-    private String getUTCDateTime() {
-        this.logger.entry();
+    String getUTCDateTime() {
+        if (Tracing.ENABLED)
+            this.logger.entry();
 
-        final var formattedDate = ZonedDateTime
-                .now(ZoneOffset.UTC)
-                .format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSX"));
+        final var formattedDate = this.timeSource.getUTCDateTime();
 
-        this.logger.exit(formattedDate);
+        if (Tracing.ENABLED)
+            this.logger.exit(formattedDate);
 
         return formattedDate;
     }
+
+    /**
+     * A class that uses the builder pattern
+     * to construct new instances of the
+     * server object.
+     */
+    static class ServerBuilder {
+        /** The host name. */
+        private String hostName;
+
+        /** The port. */
+        private int port;
+
+        /** The time source. */
+        private TimeSource timeSource;
+
+        /** The type of response identifier generator. */
+        private IdGeneratorType idGeneratorType;
+
+        /** The transport settings. */
+        private TransportConfig transportConfig;
+
+        /** The handler execution settings. */
+        private ExecutionConfig executionConfig;
+
+        /** The idempotency settings. */
+        private IdempotencyConfig idempotencyConfig;
+
+        /** The metrics settings. */
+        private MetricsConfig metricsConfig;
+
+        /** The flight recorder settings. */
+        private FlightRecorderConfig flightRecorderConfig;
+
+        /** The request log settings. */
+        private RequestLogConfig requestLogConfig;
+
+        /** The stall detector settings. */
+        private StallDetectorConfig stallDetectorConfig;
+
+        /**
+         * The default constructor.
+         */
+        private ServerBuilder() {
+            super();
+        }
+
+        /**
+         * Set the host name.
+         *
+         * @param   hostName    java.lang.String
+         */
+        ServerBuilder hostName(final String hostName) {
+            this.hostName = hostName;
+
+            return this;
+        }
+
+        /**
+         * Set the port.
+         *
+         * @param   port    int
+         */
+        ServerBuilder port(final int port) {
+            this.port = port;
+
+            return this;
+        }
+
+        /**
+         * Set the time source.
+         *
+         * @param   timeSource  net.jmp.handoff.daemon.TimeSource
+         */
+        ServerBuilder timeSource(final TimeSource timeSource) {
+            this.timeSource = timeSource;
+
+            return this;
+        }
+
+        /**
+         * Set the type of response identifier generator.
+         *
+         * @param   idGeneratorType net.jmp.handoff.daemon.IdGeneratorType
+         */
+        ServerBuilder idGeneratorType(final IdGeneratorType idGeneratorType) {
+            this.idGeneratorType = idGeneratorType;
+
+            return this;
+        }
+
+        /**
+         * Set the transport settings.
+         *
+         * @param   transportConfig net.jmp.handoff.daemon.TransportConfig
+         */
+        ServerBuilder transportConfig(final TransportConfig transportConfig) {
+            this.transportConfig = transportConfig;
+
+            return this;
+        }
+
+        /**
+         * Set the handler execution settings.
+         *
+         * @param   executionConfig net.jmp.handoff.daemon.ExecutionConfig
+         */
+        ServerBuilder executionConfig(final ExecutionConfig executionConfig) {
+            this.executionConfig = executionConfig;
+
+            return this;
+        }
+
+        /**
+         * Set the idempotency settings.
+         *
+         * @param   idempotencyConfig   net.jmp.handoff.daemon.IdempotencyConfig
+         */
+        ServerBuilder idempotencyConfig(final IdempotencyConfig idempotencyConfig) {
+            this.idempotencyConfig = idempotencyConfig;
+
+            return this;
+        }
+
+        /**
+         * Set the metrics settings.
+         *
+         * @param   metricsConfig   net.jmp.handoff.daemon.MetricsConfig
+         */
+        ServerBuilder metricsConfig(final MetricsConfig metricsConfig) {
+            this.metricsConfig = metricsConfig;
+
+            return this;
+        }
+
+        /**
+         * Set the flight recorder settings.
+         *
+         * @param   flightRecorderConfig    net.jmp.handoff.daemon.FlightRecorderConfig
+         */
+        ServerBuilder flightRecorderConfig(final FlightRecorderConfig flightRecorderConfig) {
+            this.flightRecorderConfig = flightRecorderConfig;
+
+            return this;
+        }
+
+        /**
+         * Set the request log settings.
+         *
+         * @param   requestLogConfig    net.jmp.handoff.daemon.RequestLogConfig
+         */
+        ServerBuilder requestLogConfig(final RequestLogConfig requestLogConfig) {
+            this.requestLogConfig = requestLogConfig;
+
+            return this;
+        }
+
+        /**
+         * Set the stall detector settings.
+         *
+         * @param   stallDetectorConfig net.jmp.handoff.daemon.StallDetectorConfig
+         */
+        ServerBuilder stallDetectorConfig(final StallDetectorConfig stallDetectorConfig) {
+            this.stallDetectorConfig = stallDetectorConfig;
+
+            return this;
+        }
+
+        /**
+         * Build and return the new instance.
+         *
+         * @return  net.jmp.handoff.daemon.Server
+         */
+        Server build() {
+            return new Server(this);
+        }
+    }
 }
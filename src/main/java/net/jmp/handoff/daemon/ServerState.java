@@ -0,0 +1,112 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)ServerState.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+/**
+ * The states of the server's lifecycle. The
+ * server moves through them in order and
+ * only handles new requests while running.
+ */
+enum ServerState {
+    STARTING    (Constants.STARTING,    "Starting"),
+    RUNNING     (Constants.RUNNING,     "Running"),
+    DRAINING    (Constants.DRAINING,    "Draining in-flight requests"),
+    STOPPED     (Constants.STOPPED,     "Stopped");
+
+    /** The identifier of the enumerated value. */
+    private final String value;
+
+    /** A description of the enumerated value. */
+    private final String descriptor;
+
+    /**
+     * Constructor that takes the descriptor.
+     *
+     * @param   value       java.lang.String
+     * @param   descriptor  java.lang.String
+     */
+    private ServerState(final String value, final String descriptor) {
+        this.value = value;
+        this.descriptor = descriptor;
+    }
+
+    /**
+     * Get the enumeration value.
+     *
+     * @return  java.lang.String
+     */
+    String getValue() {
+        return this.value;
+    }
+
+    /**
+     * Get the enumeration descriptor.
+     *
+     * @return  java.lang.String
+     */
+    String getDescriptor() {
+        return this.descriptor;
+    }
+
+    /**
+     * Return true if new requests are accepted
+     * in this state.
+     *
+     * @return  boolean
+     */
+    boolean isAcceptingRequests() {
+        return this == RUNNING;
+    }
+
+    /**
+     * The overridden to-string method.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    public String toString() {
+        return this.descriptor;
+    }
+
+    /**
+     * A static inner class of constants.
+     */
+    static class Constants {
+        static final String STARTING    = "STARTING";
+        static final String RUNNING     = "RUNNING";
+        static final String DRAINING    = "DRAINING";
+        static final String STOPPED     = "STOPPED";
+
+        private Constants() {
+            super();
+        }
+    }
+}
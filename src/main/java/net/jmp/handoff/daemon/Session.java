@@ -0,0 +1,232 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)Session.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.UUID;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A connected client's session as the server
+ * sees it. The string and byte forms of the
+ * session identifier are made once when the
+ * client connects rather than on every event.
+ */
+final class Session {
+    /** The most significant bits of the session identifier. */
+    private final long mostSignificantBits;
+
+    /** The least significant bits of the session identifier. */
+    private final long leastSignificantBits;
+
+    /** The session identifier in string form. */
+    private final String idString;
+
+    /** The session identifier in UTF-8 bytes. */
+    private final byte[] idBytes;
+
+    /** The time the client connected in milliseconds since the epoch. */
+    private final long connectedAtMillis;
+
+    /** The time of the latest request in milliseconds since the epoch. */
+    private volatile long lastActivityMillis;
+
+    /** Who the session's responses are remembered for, once it is known. */
+    private volatile String idempotencyKey;
+
+    /** The number of requests received. */
+    private final AtomicLong requestCount = new AtomicLong();
+
+    /** The number of requests admitted but not yet finished. */
+    private final AtomicInteger inFlightCount = new AtomicInteger();
+
+    /**
+     * The constructor.
+     *
+     * @param   sessionId           java.util.UUID
+     * @param   connectedAtMillis   long
+     */
+    Session(final UUID sessionId, final long connectedAtMillis) {
+        super();
+
+        this.mostSignificantBits = sessionId.getMostSignificantBits();
+        this.leastSignificantBits = sessionId.getLeastSignificantBits();
+        this.idString = sessionId.toString();
+        this.idBytes = this.idString.getBytes(StandardCharsets.UTF_8);
+        this.connectedAtMillis = connectedAtMillis;
+        this.lastActivityMillis = connectedAtMillis;
+    }
+
+    /**
+     * Get the session identifier.
+     *
+     * @return  java.util.UUID
+     */
+    UUID getId() {
+        return new UUID(this.mostSignificantBits, this.leastSignificantBits);
+    }
+
+    /**
+     * Get the most significant bits of
+     * the session identifier.
+     *
+     * @return  long
+     */
+    long getMostSignificantBits() {
+        return this.mostSignificantBits;
+    }
+
+    /**
+     * Get the least significant bits of
+     * the session identifier.
+     *
+     * @return  long
+     */
+    long getLeastSignificantBits() {
+        return this.leastSignificantBits;
+    }
+
+    /**
+     * Get the session identifier in string form.
+     *
+     * @return  java.lang.String
+     */
+    String getIdString() {
+        return this.idString;
+    }
+
+    /**
+     * Get the session identifier in UTF-8 bytes.
+     * The array is shared and must not be changed.
+     *
+     * @return  byte[]
+     */
+    byte[] getIdBytes() {
+        return this.idBytes;
+    }
+
+    /**
+     * Get who the session's responses are
+     * remembered for.
+     *
+     * @return  java.lang.String    Null if it is not yet known
+     */
+    String getIdempotencyKey() {
+        return this.idempotencyKey;
+    }
+
+    /**
+     * Set who the session's responses are
+     * remembered for.
+     *
+     * @param   idempotencyKey  java.lang.String
+     */
+    void setIdempotencyKey(final String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    /**
+     * Get the time the client connected.
+     *
+     * @return  long
+     */
+    long getConnectedAtMillis() {
+        return this.connectedAtMillis;
+    }
+
+    /**
+     * Get the time of the latest request.
+     *
+     * @return  long
+     */
+    long getLastActivityMillis() {
+        return this.lastActivityMillis;
+    }
+
+    /**
+     * Get the number of requests received.
+     *
+     * @return  long
+     */
+    long getRequestCount() {
+        return this.requestCount.get();
+    }
+
+    /**
+     * Record a request.
+     *
+     * @param   nowMillis   long
+     */
+    void recordRequest(final long nowMillis) {
+        this.requestCount.incrementAndGet();
+        this.lastActivityMillis = nowMillis;
+    }
+
+    /**
+     * Get the number of requests in flight.
+     *
+     * @return  int
+     */
+    int getInFlightCount() {
+        return this.inFlightCount.get();
+    }
+
+    /**
+     * Count a request as in flight.
+     *
+     * @return  int     The number in flight including it
+     */
+    int incrementInFlight() {
+        return this.inFlightCount.incrementAndGet();
+    }
+
+    /**
+     * Count a request as no longer in flight.
+     *
+     * @return  int     The number still in flight
+     */
+    int decrementInFlight() {
+        return this.inFlightCount.decrementAndGet();
+    }
+
+    /**
+     * The overridden to-string method.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    public String toString() {
+        return this.idString;
+    }
+}
@@ -0,0 +1,388 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)SessionRegistry.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.UUID;
+
+import java.util.concurrent.locks.StampedLock;
+
+import java.util.function.Consumer;
+
+/**
+ * The registry of connected sessions. It is an
+ * open-addressing hash table with linear probing
+ * keyed on the two longs of the session UUID, so
+ * that a lookup neither allocates nor compares
+ * strings. Lookups are optimistic reads that
+ * only take the read lock if a write got in the
+ * way; registering and removing take the write
+ * lock. Removal shifts the entries after it back
+ * rather than leaving tombstones.
+ */
+final class SessionRegistry {
+    /** The initial number of places in the table. */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** The lock. */
+    private final StampedLock lock = new StampedLock();
+
+    /** The table; replaced when it grows. */
+    private volatile Table table = new Table(INITIAL_CAPACITY);
+
+    /** The number of sessions; guarded by the write lock. */
+    private int size;
+
+    /**
+     * The default constructor.
+     */
+    SessionRegistry() {
+        super();
+    }
+
+    /**
+     * Register a session unless it already is,
+     * and return the registered session.
+     *
+     * @param   sessionId   java.util.UUID
+     * @param   nowMillis   long
+     * @return              net.jmp.handoff.daemon.Session
+     */
+    Session register(final UUID sessionId, final long nowMillis) {
+        final var existing = this.get(sessionId);
+
+        if (existing != null)
+            return existing;
+
+        final var stamp = this.lock.writeLock();
+
+        try {
+            final var msb = sessionId.getMostSignificantBits();
+            final var lsb = sessionId.getLeastSignificantBits();
+            var current = this.table;
+            final var index = current.find(msb, lsb);
+
+            if (index >= 0)
+                return current.sessions[index];
+
+            if ((this.size + 1) * 4 > current.sessions.length * 3) {
+                current = current.grow();
+                this.table = current;
+            }
+
+            final var session = new Session(sessionId, nowMillis);
+
+            current.insert(session);
+            this.size++;
+
+            return session;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Get a session, or null if it is
+     * not registered.
+     *
+     * @param   sessionId   java.util.UUID
+     * @return              net.jmp.handoff.daemon.Session
+     */
+    Session get(final UUID sessionId) {
+        return this.get(sessionId.getMostSignificantBits(), sessionId.getLeastSignificantBits());
+    }
+
+    /**
+     * Get a session by the two halves of its
+     * identifier, or null if it is not
+     * registered.
+     *
+     * @param   msb long
+     * @param   lsb long
+     * @return      net.jmp.handoff.daemon.Session
+     */
+    Session get(final long msb, final long lsb) {
+        final var stamp = this.lock.tryOptimisticRead();
+
+        if (stamp != 0) {
+            final var session = this.table.lookup(msb, lsb);
+
+            if (this.lock.validate(stamp))
+                return session;
+        }
+
+        final var readStamp = this.lock.readLock();
+
+        try {
+            return this.table.lookup(msb, lsb);
+        } finally {
+            this.lock.unlockRead(readStamp);
+        }
+    }
+
+    /**
+     * Remove a session.
+     *
+     * @param   sessionId   java.util.UUID
+     * @return              net.jmp.handoff.daemon.Session  The removed session or null
+     */
+    Session remove(final UUID sessionId) {
+        final var stamp = this.lock.writeLock();
+
+        try {
+            final var removed = this.table.delete(sessionId.getMostSignificantBits(), sessionId.getLeastSignificantBits());
+
+            if (removed != null)
+                this.size--;
+
+            return removed;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Return the number of sessions.
+     *
+     * @return  int
+     */
+    int size() {
+        final var stamp = this.lock.readLock();
+
+        try {
+            return this.size;
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Apply an action to each session. It
+     * must not register or remove sessions.
+     *
+     * @param   action  java.util.function.Consumer&lt;net.jmp.handoff.daemon.Session&gt;
+     */
+    void forEach(final Consumer<Session> action) {
+        final var stamp = this.lock.readLock();
+
+        try {
+            for (final var session : this.table.sessions) {
+                if (session != null)
+                    action.accept(session);
+            }
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Return the number of places in the table.
+     *
+     * @return  int
+     */
+    int getCapacity() {
+        return this.table.sessions.length;
+    }
+
+    /**
+     * Spread the bits of a session identifier
+     * into a hash. Socket.IO session identifiers
+     * are random, but the mix keeps sequential
+     * ones from clustering.
+     *
+     * @param   msb long
+     * @param   lsb long
+     * @return      int
+     */
+    private static int hash(final long msb, final long lsb) {
+        var h = msb * 0x9E3779B97F4A7C15L ^ lsb;
+
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+
+        return (int) h;
+    }
+
+    /**
+     * The table. The halves of the keys are held
+     * in primitive arrays beside the sessions, so
+     * probing reads no objects. The capacity is a
+     * power of two.
+     */
+    private static final class Table {
+        /** The most significant bits of the keys. */
+        private final long[] msbs;
+
+        /** The least significant bits of the keys. */
+        private final long[] lsbs;
+
+        /** The sessions; null where a place is free. */
+        private final Session[] sessions;
+
+        /** The capacity less one. */
+        private final int mask;
+
+        /**
+         * The constructor.
+         *
+         * @param   capacity    int     A power of two
+         */
+        private Table(final int capacity) {
+            super();
+
+            this.msbs = new long[capacity];
+            this.lsbs = new long[capacity];
+            this.sessions = new Session[capacity];
+            this.mask = capacity - 1;
+        }
+
+        /**
+         * Return the index of a key, or -1 if
+         * it is not in the table.
+         *
+         * @param   msb long
+         * @param   lsb long
+         * @return      int
+         */
+        private int find(final long msb, final long lsb) {
+            var index = hash(msb, lsb) & this.mask;
+
+            /* Bounded so that an optimistic read of a table being changed cannot loop */
+
+            for (int probes = 0; probes <= this.mask; probes++) {
+                if (this.sessions[index] == null)
+                    return -1;
+
+                if (this.msbs[index] == msb && this.lsbs[index] == lsb)
+                    return index;
+
+                index = (index + 1) & this.mask;
+            }
+
+            return -1;
+        }
+
+        /**
+         * Return the session of a key, or null
+         * if it is not in the table.
+         *
+         * @param   msb long
+         * @param   lsb long
+         * @return      net.jmp.handoff.daemon.Session
+         */
+        private Session lookup(final long msb, final long lsb) {
+            final var index = this.find(msb, lsb);
+
+            return (index >= 0) ? this.sessions[index] : null;
+        }
+
+        /**
+         * Insert a session known not to be in
+         * the table, which has a free place.
+         *
+         * @param   session net.jmp.handoff.daemon.Session
+         */
+        private void insert(final Session session) {
+            final var msb = session.getMostSignificantBits();
+            final var lsb = session.getLeastSignificantBits();
+            var index = hash(msb, lsb) & this.mask;
+
+            while (this.sessions[index] != null)
+                index = (index + 1) & this.mask;
+
+            this.msbs[index] = msb;
+            this.lsbs[index] = lsb;
+            this.sessions[index] = session;
+        }
+
+        /**
+         * Delete a key and shift back the entries
+         * of the run after it that would otherwise
+         * no longer be found.
+         *
+         * @param   msb long
+         * @param   lsb long
+         * @return      net.jmp.handoff.daemon.Session  The deleted session or null
+         */
+        private Session delete(final long msb, final long lsb) {
+            var hole = this.find(msb, lsb);
+
+            if (hole < 0)
+                return null;
+
+            final var removed = this.sessions[hole];
+            var index = hole;
+
+            while (true) {
+                index = (index + 1) & this.mask;
+
+                final var session = this.sessions[index];
+
+                if (session == null)
+                    break;
+
+                final var home = hash(this.msbs[index], this.lsbs[index]) & this.mask;
+
+                /* Move the entry into the hole unless its home lies cyclically after the hole */
+
+                if (((index - home) & this.mask) >= ((index - hole) & this.mask)) {
+                    this.msbs[hole] = this.msbs[index];
+                    this.lsbs[hole] = this.lsbs[index];
+                    this.sessions[hole] = session;
+                    hole = index;
+                }
+            }
+
+            this.sessions[hole] = null;
+            this.msbs[hole] = 0;
+            this.lsbs[hole] = 0;
+
+            return removed;
+        }
+
+        /**
+         * Return a table of twice the capacity
+         * holding the same sessions.
+         *
+         * @return  net.jmp.handoff.daemon.SessionRegistry.Table
+         */
+        private Table grow() {
+            final var grown = new Table(this.sessions.length * 2);
+
+            for (final var session : this.sessions) {
+                if (session != null)
+                    grown.insert(session);
+            }
+
+            return grown;
+        }
+    }
+}
@@ -1,12 +1,13 @@
 package net.jmp.handoff.daemon;
 
 /*
+ * (#)SocketEvents.java 0.8.0   10/18/2026
  * (#)SocketEvents.java 0.5.0   04/18/2024
  * (#)SocketEvents.java 0.4.0   04/13/2024
  * (#)SocketEvents.java 0.2.0   04/12/2024
  *
  * @author    Jonathan Parker
- * @version   0.5.0
+ * @version   0.8.0
  * @since     0.2.0
  *
  * MIT License
@@ -37,7 +38,15 @@ enum SocketEvents {
     DISCONNECT  (Constants.DISCONNECT,  Constants.DISCONNECT),
     ECHO        (Constants.ECHO,        Constants.ECHO),
     STOP        (Constants.STOP,        Constants.STOP),
-    VERSION     (Constants.VERSION,     Constants.VERSION);
+    VERSION     (Constants.VERSION,     Constants.VERSION),
+    BINARY_ECHO (Constants.BINARY_ECHO, Constants.BINARY_ECHO),
+    BATCH       (Constants.BATCH,       Constants.BATCH),
+    SUBSCRIBE   (Constants.SUBSCRIBE,   Constants.SUBSCRIBE),
+    UNSUBSCRIBE (Constants.UNSUBSCRIBE, Constants.UNSUBSCRIBE),
+    PUBLISH     (Constants.PUBLISH,     Constants.PUBLISH),
+    BROADCAST   (Constants.BROADCAST,   Constants.BROADCAST),
+    STATS       (Constants.STATS,       Constants.STATS),
+    RECORDING   (Constants.RECORDING,   Constants.RECORDING);
 
     /** The identifier of the enumerated value. */
     private final String value;
@@ -93,6 +102,14 @@ enum SocketEvents {
         static final String ECHO        = "ECHO";
         static final String STOP        = "STOP";
         static final String VERSION     = "VERSION";
+        static final String BINARY_ECHO = "BINARY_ECHO";
+        static final String BATCH       = "BATCH";
+        static final String SUBSCRIBE   = "SUBSCRIBE";
+        static final String UNSUBSCRIBE = "UNSUBSCRIBE";
+        static final String PUBLISH     = "PUBLISH";
+        static final String BROADCAST   = "BROADCAST";
+        static final String STATS       = "STATS";
+        static final String RECORDING   = "RECORDING";
 
         private Constants() {
             super();
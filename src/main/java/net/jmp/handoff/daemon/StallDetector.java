@@ -0,0 +1,360 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)StallDetector.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.List;
+import java.util.UUID;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+/**
+ * The stall detector class. Each I/O thread
+ * marks when it enters and leaves a server
+ * handler, and a watchdog thread checks the
+ * marks at an interval. A thread that has been
+ * in one handler for longer than the threshold
+ * has stalled every session on its event loop,
+ * so its stack and the event, session and,
+ * if it has decoded it, request it is serving
+ * are logged, once per stall, to this class's
+ * logger. Marking is a few plain and volatile
+ * writes to the thread's own watch; the
+ * threads are registered once.
+ */
+final class StallDetector {
+    /** The logger. */
+    private final XLogger logger = new XLogger(LoggerFactory.getLogger(this.getClass().getName()));
+
+    /** True to watch the threads. */
+    private final boolean isEnabled;
+
+    /** The time a thread may spend in a handler before it has stalled, in nanoseconds. */
+    private final long thresholdNanos;
+
+    /** The time between checks, in milliseconds. */
+    private final long checkIntervalMillis;
+
+    /** The watch of each thread that has entered a handler. */
+    private final ThreadLocal<Watch> watches = new ThreadLocal<>();
+
+    /** The watches of all the threads. */
+    private final List<Watch> registered = new CopyOnWriteArrayList<>();
+
+    /** The number of stalls. */
+    private final LongAdder stallCount = new LongAdder();
+
+    /** The durations of the stalls that have ended. */
+    private final LatencyHistogram stallDurations = new LatencyHistogram();
+
+    /** The watchdog thread. */
+    private Thread watchdog;
+
+    /**
+     * The constructor.
+     *
+     * @param   stallDetectorConfig net.jmp.handoff.daemon.StallDetectorConfig
+     */
+    StallDetector(final StallDetectorConfig stallDetectorConfig) {
+        super();
+
+        this.isEnabled = stallDetectorConfig.isEnabled();
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(stallDetectorConfig.getThresholdMillis());
+        this.checkIntervalMillis = Math.max(1, stallDetectorConfig.getCheckIntervalMillis());
+    }
+
+    /**
+     * Start the watchdog thread.
+     */
+    synchronized void start() {
+        if (!this.isEnabled || this.watchdog != null)
+            return;
+
+        this.watchdog = Thread.ofPlatform()
+                .name("handoff-stall-detector")
+                .daemon()
+                .start(this::watch);
+
+        this.logger.info("Watching the I/O threads for stalls over {} ms", TimeUnit.NANOSECONDS.toMillis(this.thresholdNanos));
+    }
+
+    /**
+     * Stop the watchdog thread.
+     */
+    synchronized void stop() {
+        if (this.watchdog == null)
+            return;
+
+        this.watchdog.interrupt();
+
+        try {
+            this.watchdog.join();
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+
+        this.watchdog = null;
+    }
+
+    /**
+     * Mark the current thread as having
+     * entered the handler of an event.
+     *
+     * @param   event       java.lang.String
+     * @param   sessionId   java.util.UUID
+     */
+    void enter(final String event, final UUID sessionId) {
+        if (!this.isEnabled)
+            return;
+
+        var watch = this.watches.get();
+
+        if (watch == null) {
+            watch = new Watch(Thread.currentThread());
+
+            this.watches.set(watch);
+            this.registered.add(watch);
+        }
+
+        watch.event = event;
+        watch.sessionId = sessionId;
+        watch.requestId = null;
+        watch.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Set the identifier of the request that
+     * the current thread is serving, if it
+     * is in a handler. The request is only
+     * decoded on the I/O thread when the
+     * handlers run there or it is refused;
+     * when they run on virtual threads the
+     * watch has no request identifier.
+     *
+     * @param   requestId   java.lang.String
+     */
+    void setRequestId(final String requestId) {
+        if (!this.isEnabled)
+            return;
+
+        final var watch = this.watches.get();
+
+        if (watch != null && watch.startNanos != 0)
+            watch.requestId = requestId;
+    }
+
+    /**
+     * Mark the current thread as having left
+     * its handler. If it had stalled, the
+     * duration of the stall is recorded.
+     */
+    void exit() {
+        if (!this.isEnabled)
+            return;
+
+        final var watch = this.watches.get();
+
+        if (watch == null)
+            return;
+
+        final var start = watch.startNanos;
+
+        watch.startNanos = 0;
+
+        if (start != 0 && watch.reportedStartNanos == start) {
+            final var elapsed = System.nanoTime() - start;
+
+            this.stallDurations.record(elapsed);
+
+            this.logger.warn("Thread {} recovered after stalling for {} ms in the {} event",
+                    watch.thread.getName(), TimeUnit.NANOSECONDS.toMillis(elapsed), watch.event);
+        }
+    }
+
+    /**
+     * Check the threads once, reporting those
+     * that have newly stalled.
+     *
+     * @param   nowNanos    long
+     * @return              int     The number of stalls reported
+     */
+    int check(final long nowNanos) {
+        var reported = 0;
+
+        for (final var watch : this.registered) {
+            if (!watch.thread.isAlive()) {
+                this.registered.remove(watch);
+
+                continue;
+            }
+
+            final var start = watch.startNanos;
+
+            if (start == 0 || watch.reportedStartNanos == start || nowNanos - start < this.thresholdNanos)
+                continue;
+
+            final var event = watch.event;
+            final var sessionId = watch.sessionId;
+            final var requestId = watch.requestId;
+            final var stack = watch.thread.getStackTrace();
+
+            /* Only report it if the thread is still in the same handler */
+
+            if (watch.startNanos != start)
+                continue;
+
+            watch.reportedStartNanos = start;
+
+            this.stallCount.increment();
+            reported++;
+
+            if (this.logger.isWarnEnabled())
+                this.logger.warn(toReport(watch.thread, TimeUnit.NANOSECONDS.toMillis(nowNanos - start), event, sessionId, requestId, stack));
+        }
+
+        return reported;
+    }
+
+    /**
+     * Get the number of stalls.
+     *
+     * @return  long
+     */
+    long getStallCount() {
+        return this.stallCount.sum();
+    }
+
+    /**
+     * Get the durations of the
+     * stalls that have ended.
+     *
+     * @return  net.jmp.handoff.daemon.LatencyHistogram
+     */
+    LatencyHistogram getStallDurations() {
+        return this.stallDurations;
+    }
+
+    /**
+     * Check the threads at the interval
+     * until the thread is interrupted.
+     */
+    private void watch() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Thread.sleep(this.checkIntervalMillis);
+            } catch (final InterruptedException ie) {
+                Thread.currentThread().interrupt();
+
+                break;
+            }
+
+            try {
+                this.check(System.nanoTime());
+            } catch (final RuntimeException re) {
+                this.logger.catching(re);
+            }
+        }
+    }
+
+    /**
+     * Build the report of a stall.
+     *
+     * @param   thread      java.lang.Thread
+     * @param   millis      long
+     * @param   event       java.lang.String
+     * @param   sessionId   java.util.UUID
+     * @param   requestId   java.lang.String
+     * @param   stack       java.lang.StackTraceElement[]
+     * @return              java.lang.String
+     */
+    static String toReport(final Thread thread,
+                           final long millis,
+                           final String event,
+                           final UUID sessionId,
+                           final String requestId,
+                           final StackTraceElement[] stack) {
+        final var builder = new StringBuilder(256 + stack.length * 80);
+
+        builder.append("Thread ").append(thread.getName())
+                .append(" has stalled for ").append(millis).append(" ms in the ").append(event)
+                .append(" event: Session ID: ").append(sessionId)
+                .append(", Request ID: ").append(requestId);
+
+        for (final var frame : stack)
+            builder.append(System.lineSeparator()).append("\tat ").append(frame);
+
+        return builder.toString();
+    }
+
+    /**
+     * The watch of one thread. It is written by
+     * its thread and read by the watchdog; the
+     * start is written last on entry, so a
+     * watchdog that reads a start sees the
+     * event and session written before it.
+     */
+    private static final class Watch {
+        /** The thread. */
+        private final Thread thread;
+
+        /** The event being handled. */
+        private String event;
+
+        /** The session being served. */
+        private UUID sessionId;
+
+        /** The request being served, once it is decoded. */
+        private volatile String requestId;
+
+        /** When the thread entered the handler, or 0 when it is not in one. */
+        private volatile long startNanos;
+
+        /** The start of the last stall reported. */
+        private volatile long reportedStartNanos;
+
+        /**
+         * The constructor.
+         *
+         * @param   thread  java.lang.Thread
+         */
+        private Watch(final Thread thread) {
+            super();
+
+            this.thread = thread;
+        }
+    }
+}
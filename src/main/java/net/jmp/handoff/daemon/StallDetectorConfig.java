@@ -0,0 +1,120 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)StallDetectorConfig.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * The stall detector configuration class. It
+ * is the 'stallDetector' object in the
+ * configuration file. A setting that is
+ * absent keeps its default.
+ */
+public class StallDetectorConfig {
+    /** True to watch the I/O threads for stalls. */
+    @SerializedName("enabled")
+    private boolean enabled = true;
+
+    /** The time an I/O thread may spend in a handler before it has stalled, in milliseconds. */
+    @SerializedName("thresholdMillis")
+    private long thresholdMillis = 200;
+
+    /** The time between checks of the I/O threads, in milliseconds. */
+    @SerializedName("checkIntervalMillis")
+    private long checkIntervalMillis = 50;
+
+    /**
+     * The default constructor.
+     */
+    StallDetectorConfig() {
+        super();
+    }
+
+    /**
+     * Return true if the I/O threads
+     * are watched for stalls.
+     *
+     * @return  boolean
+     */
+    boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Set whether the I/O threads are
+     * watched for stalls.
+     *
+     * @param   enabled boolean
+     */
+    void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Get the time an I/O thread may spend in
+     * a handler before it has stalled.
+     *
+     * @return  long
+     */
+    long getThresholdMillis() {
+        return this.thresholdMillis;
+    }
+
+    /**
+     * Set the time an I/O thread may spend in
+     * a handler before it has stalled.
+     *
+     * @param   thresholdMillis long
+     */
+    void setThresholdMillis(final long thresholdMillis) {
+        this.thresholdMillis = thresholdMillis;
+    }
+
+    /**
+     * Get the time between checks
+     * of the I/O threads.
+     *
+     * @return  long
+     */
+    long getCheckIntervalMillis() {
+        return this.checkIntervalMillis;
+    }
+
+    /**
+     * Set the time between checks
+     * of the I/O threads.
+     *
+     * @param   checkIntervalMillis long
+     */
+    void setCheckIntervalMillis(final long checkIntervalMillis) {
+        this.checkIntervalMillis = checkIntervalMillis;
+    }
+}
@@ -0,0 +1,100 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)StatsContent.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The content of a response to a stats
+ * request. It maps the name and labels of
+ * each metric to its value.
+ */
+final class StatsContent extends Content {
+    /** The type. It is typically 'Stats'. */
+    @SerializedName("type")
+    private final String type;
+
+    /** The metrics. */
+    @SerializedName("metrics")
+    private Map<String, Number> metrics;
+
+    /**
+     * The default constructor.
+     */
+    StatsContent() {
+        super();
+
+        this.type = "Stats";
+        this.metrics = new LinkedHashMap<>();
+    }
+
+    /**
+     * A constructor that takes the metrics.
+     *
+     * @param   metrics java.util.Map&lt;java.lang.String, java.lang.Number&gt;
+     */
+    StatsContent(final Map<String, Number> metrics) {
+        this();
+
+        this.metrics = metrics;
+    }
+
+    /**
+     * Get the type.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    String getType() {
+        return this.type;
+    }
+
+    /**
+     * Get the metrics.
+     *
+     * @return  java.util.Map&lt;java.lang.String, java.lang.Number&gt;
+     */
+    Map<String, Number> getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Set the metrics.
+     *
+     * @param   metrics java.util.Map&lt;java.lang.String, java.lang.Number&gt;
+     */
+    void setMetrics(final Map<String, Number> metrics) {
+        this.metrics = metrics;
+    }
+}
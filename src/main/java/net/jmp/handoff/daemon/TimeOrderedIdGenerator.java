@@ -0,0 +1,104 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TimeOrderedIdGenerator.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.UUID;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A generator of time-ordered version 7 UUIDs.
+ * The leading 48 bits are the milliseconds since
+ * the epoch and the 12 bits after the version
+ * are a counter within the millisecond, as in
+ * method 1 of RFC 9562, so identifiers sort in
+ * the order they were created, even within a
+ * millisecond. A counter that overflows carries
+ * into the millisecond, and a clock that stands
+ * still or steps back, as a cached one can, does
+ * not take the identifiers back with it. The
+ * remaining random bits come from the calling
+ * thread's own generator.
+ */
+final class TimeOrderedIdGenerator implements IdGenerator {
+    /** The number of bits of the counter. */
+    private static final int COUNTER_BITS = 12;
+
+    /** The time source. */
+    private final TimeSource timeSource;
+
+    /** The last milliseconds and counter issued, as one value. */
+    private final AtomicLong lastTimestamp = new AtomicLong();
+
+    /**
+     * The constructor.
+     *
+     * @param   timeSource  net.jmp.handoff.daemon.TimeSource
+     */
+    TimeOrderedIdGenerator(final TimeSource timeSource) {
+        super();
+
+        this.timeSource = timeSource;
+    }
+
+    /**
+     * Return the next identifier.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    public String nextId() {
+        final var timestamp = this.nextTimestamp((this.timeSource.currentTimeMillis() & 0xFFFF_FFFF_FFFFL) << COUNTER_BITS);
+
+        final var mostSigBits = ((timestamp >>> COUNTER_BITS) << 16)
+                | 0x7000L
+                | (timestamp & 0x0FFFL);
+        final var leastSigBits = (ThreadLocalRandom.current().nextLong() & 0x3FFF_FFFF_FFFF_FFFFL)
+                | 0x8000_0000_0000_0000L;
+
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+
+    /**
+     * Return the milliseconds and counter of the
+     * next identifier: the start of the current
+     * millisecond, or one past the last issued
+     * if that is not before it.
+     *
+     * @param   now long    The current milliseconds shifted past the counter
+     * @return      long
+     */
+    private long nextTimestamp(final long now) {
+        return this.lastTimestamp.updateAndGet(last -> (now > last) ? now : last + 1);
+    }
+}
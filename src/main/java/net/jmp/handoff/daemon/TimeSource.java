@@ -0,0 +1,63 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TimeSource.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+/**
+ * A source of the current time and of
+ * the current UTC timestamp expressed
+ * in ISO-8601.
+ */
+interface TimeSource {
+    /**
+     * Get the current time in milliseconds
+     * since the epoch.
+     *
+     * @return  long
+     */
+    long currentTimeMillis();
+
+    /**
+     * Get the current UTC date time expressed
+     * in ISO-8601, i.e. 2024-04-22T20:02:09.952Z.
+     *
+     * @return  java.lang.String
+     */
+    String getUTCDateTime();
+
+    /**
+     * Get the UTF-8 bytes of the current UTC date
+     * time expressed in ISO-8601. The array is
+     * shared and must not be modified.
+     *
+     * @return  byte[]
+     */
+    byte[] getUTCDateTimeBytes();
+}
@@ -0,0 +1,58 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)Tracing.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+/**
+ * The switch for entry and exit tracing. Each
+ * XLogger entry and exit call is guarded by
+ * ENABLED, which is a static final read once
+ * from the 'handoff.trace' system property. As
+ * a constant the JIT folds the guard away, so
+ * while tracing is off a traced method builds
+ * no varargs array and boxes no argument. With
+ * -Dhandoff.trace=true and the logger at the
+ * trace level the entry and exit detail is
+ * logged as before.
+ */
+final class Tracing {
+    /** The name of the system property that turns tracing on. */
+    static final String PROPERTY = "handoff.trace";
+
+    /** True when entry and exit tracing is on. */
+    static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+
+    /**
+     * The default constructor.
+     */
+    private Tracing() {
+        super();
+    }
+}
@@ -0,0 +1,336 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TransportConfig.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.List;
+
+/**
+ * The transport configuration class. It is the
+ * 'transport' object in the configuration file.
+ * A setting that is absent keeps its default,
+ * which is that of netty-socketio unless noted.
+ */
+public class TransportConfig {
+    /** The number of acceptor threads; 0 lets Netty choose. */
+    @SerializedName("bossThreads")
+    private int bossThreads;
+
+    /** The number of I/O worker threads; 0 lets Netty choose (twice the processors). */
+    @SerializedName("workerThreads")
+    private int workerThreads;
+
+    /** True to use the native epoll transport on Linux when it is available. */
+    @SerializedName("useLinuxNativeEpoll")
+    private boolean useLinuxNativeEpoll;
+
+    /** True to disable Nagle's algorithm (TCP_NODELAY). */
+    @SerializedName("tcpNoDelay")
+    private boolean tcpNoDelay = true;
+
+    /** True to enable TCP keep-alive probes (SO_KEEPALIVE). */
+    @SerializedName("tcpKeepAlive")
+    private boolean tcpKeepAlive;
+
+    /** The length of the queue of pending connections (SO_BACKLOG). */
+    @SerializedName("acceptBacklog")
+    private int acceptBacklog = 1024;
+
+    /** The socket receive buffer size in bytes (SO_RCVBUF); -1 keeps the OS default. */
+    @SerializedName("receiveBufferSize")
+    private int receiveBufferSize = -1;
+
+    /** The socket send buffer size in bytes (SO_SNDBUF); -1 keeps the OS default. */
+    @SerializedName("sendBufferSize")
+    private int sendBufferSize = -1;
+
+    /** The largest websocket frame payload in bytes. */
+    @SerializedName("maxFramePayloadLength")
+    private int maxFramePayloadLength = 65536;
+
+    /** The largest HTTP request content in bytes. */
+    @SerializedName("maxHttpContentLength")
+    private int maxHttpContentLength = 65536;
+
+    /** The interval between pings in milliseconds. */
+    @SerializedName("pingInterval")
+    private int pingInterval = 25000;
+
+    /** The time to wait for a pong in milliseconds before the client is disconnected. */
+    @SerializedName("pingTimeout")
+    private int pingTimeout = 60000;
+
+    /** The allowed transports, 'websocket' and/or 'polling'. */
+    @SerializedName("transports")
+    private List<String> transports = List.of("websocket", "polling");
+
+    /**
+     * The default constructor.
+     */
+    TransportConfig() {
+        super();
+    }
+
+    /**
+     * Get the number of acceptor threads.
+     *
+     * @return  int
+     */
+    int getBossThreads() {
+        return this.bossThreads;
+    }
+
+    /**
+     * Set the number of acceptor threads.
+     *
+     * @param   bossThreads int
+     */
+    void setBossThreads(final int bossThreads) {
+        this.bossThreads = bossThreads;
+    }
+
+    /**
+     * Get the number of I/O worker threads.
+     *
+     * @return  int
+     */
+    int getWorkerThreads() {
+        return this.workerThreads;
+    }
+
+    /**
+     * Set the number of I/O worker threads.
+     *
+     * @param   workerThreads   int
+     */
+    void setWorkerThreads(final int workerThreads) {
+        this.workerThreads = workerThreads;
+    }
+
+    /**
+     * Return true if the native epoll transport is wanted.
+     *
+     * @return  boolean
+     */
+    boolean isUseLinuxNativeEpoll() {
+        return this.useLinuxNativeEpoll;
+    }
+
+    /**
+     * Set whether the native epoll transport is wanted.
+     *
+     * @param   useLinuxNativeEpoll boolean
+     */
+    void setUseLinuxNativeEpoll(final boolean useLinuxNativeEpoll) {
+        this.useLinuxNativeEpoll = useLinuxNativeEpoll;
+    }
+
+    /**
+     * Return true if TCP_NODELAY is set.
+     *
+     * @return  boolean
+     */
+    boolean isTcpNoDelay() {
+        return this.tcpNoDelay;
+    }
+
+    /**
+     * Set whether TCP_NODELAY is set.
+     *
+     * @param   tcpNoDelay  boolean
+     */
+    void setTcpNoDelay(final boolean tcpNoDelay) {
+        this.tcpNoDelay = tcpNoDelay;
+    }
+
+    /**
+     * Return true if SO_KEEPALIVE is set.
+     *
+     * @return  boolean
+     */
+    boolean isTcpKeepAlive() {
+        return this.tcpKeepAlive;
+    }
+
+    /**
+     * Set whether SO_KEEPALIVE is set.
+     *
+     * @param   tcpKeepAlive    boolean
+     */
+    void setTcpKeepAlive(final boolean tcpKeepAlive) {
+        this.tcpKeepAlive = tcpKeepAlive;
+    }
+
+    /**
+     * Get the accept backlog.
+     *
+     * @return  int
+     */
+    int getAcceptBacklog() {
+        return this.acceptBacklog;
+    }
+
+    /**
+     * Set the accept backlog.
+     *
+     * @param   acceptBacklog   int
+     */
+    void setAcceptBacklog(final int acceptBacklog) {
+        this.acceptBacklog = acceptBacklog;
+    }
+
+    /**
+     * Get the socket receive buffer size.
+     *
+     * @return  int
+     */
+    int getReceiveBufferSize() {
+        return this.receiveBufferSize;
+    }
+
+    /**
+     * Set the socket receive buffer size.
+     *
+     * @param   receiveBufferSize   int
+     */
+    void setReceiveBufferSize(final int receiveBufferSize) {
+        this.receiveBufferSize = receiveBufferSize;
+    }
+
+    /**
+     * Get the socket send buffer size.
+     *
+     * @return  int
+     */
+    int getSendBufferSize() {
+        return this.sendBufferSize;
+    }
+
+    /**
+     * Set the socket send buffer size.
+     *
+     * @param   sendBufferSize  int
+     */
+    void setSendBufferSize(final int sendBufferSize) {
+        this.sendBufferSize = sendBufferSize;
+    }
+
+    /**
+     * Get the largest websocket frame payload.
+     *
+     * @return  int
+     */
+    int getMaxFramePayloadLength() {
+        return this.maxFramePayloadLength;
+    }
+
+    /**
+     * Set the largest websocket frame payload.
+     *
+     * @param   maxFramePayloadLength   int
+     */
+    void setMaxFramePayloadLength(final int maxFramePayloadLength) {
+        this.maxFramePayloadLength = maxFramePayloadLength;
+    }
+
+    /**
+     * Get the largest HTTP request content.
+     *
+     * @return  int
+     */
+    int getMaxHttpContentLength() {
+        return this.maxHttpContentLength;
+    }
+
+    /**
+     * Set the largest HTTP request content.
+     *
+     * @param   maxHttpContentLength    int
+     */
+    void setMaxHttpContentLength(final int maxHttpContentLength) {
+        this.maxHttpContentLength = maxHttpContentLength;
+    }
+
+    /**
+     * Get the ping interval.
+     *
+     * @return  int
+     */
+    int getPingInterval() {
+        return this.pingInterval;
+    }
+
+    /**
+     * Set the ping interval.
+     *
+     * @param   pingInterval    int
+     */
+    void setPingInterval(final int pingInterval) {
+        this.pingInterval = pingInterval;
+    }
+
+    /**
+     * Get the ping timeout.
+     *
+     * @return  int
+     */
+    int getPingTimeout() {
+        return this.pingTimeout;
+    }
+
+    /**
+     * Set the ping timeout.
+     *
+     * @param   pingTimeout int
+     */
+    void setPingTimeout(final int pingTimeout) {
+        this.pingTimeout = pingTimeout;
+    }
+
+    /**
+     * Get the allowed transports.
+     *
+     * @return  java.util.List&lt;java.lang.String&gt;
+     */
+    List<String> getTransports() {
+        return this.transports;
+    }
+
+    /**
+     * Set the allowed transports.
+     *
+     * @param   transports  java.util.List&lt;java.lang.String&gt;
+     */
+    void setTransports(final List<String> transports) {
+        this.transports = transports;
+    }
+}
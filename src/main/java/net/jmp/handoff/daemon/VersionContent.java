@@ -1,10 +1,11 @@
 package net.jmp.handoff.daemon;
 
 /*
+ * (#)VersionContent.java   0.8.0   10/18/2026
  * (#)VersionContent.java   0.6.0   04/20/2024
  *
  * @author    Jonathan Parker
- * @version   0.6.0
+ * @version   0.8.0
  * @since     0.6.0
  *
  * MIT License
@@ -59,6 +60,7 @@ final class VersionContent extends Content {
      *
      * @return  java.lang.String
      */
+    @Override
     String getType() {
         return this.type;
     }
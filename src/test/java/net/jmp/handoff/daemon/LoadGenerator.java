@@ -0,0 +1,393 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)LoadGenerator.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import ch.qos.logback.classic.Level;
+
+import io.socket.client.Ack;
+import io.socket.client.IO;
+import io.socket.client.Socket;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.net.ServerSocket;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.LoggerFactory;
+
+import org.slf4j.ext.XLogger;
+
+/**
+ * An open-loop load generator for the daemon's
+ * Socket.IO endpoint. Requests are sent on a fixed
+ * schedule regardless of how quickly responses
+ * arrive, and each latency is measured from the
+ * time the request was scheduled to be sent rather
+ * than from when it actually was. A stalled server
+ * therefore shows up in the percentiles instead of
+ * silently lowering the send rate (coordinated
+ * omission).
+ *
+ * <p>Options, each of the form --name=value:
+ * <ul>
+ *   <li>rate         requests per second across all connections (1000)</li>
+ *   <li>connections  number of connections (4)</li>
+ *   <li>duration     measured seconds (30)</li>
+ *   <li>warmup       unmeasured seconds before the measurement (5)</li>
+ *   <li>event        ECHO, VERSION or MIXED (ECHO)</li>
+ *   <li>ack          true to receive responses as acknowledgements
+ *                    instead of events (false)</li>
+ *   <li>pipeline     the in-process server's pipeline depth (0)</li>
+ *   <li>port         the port of a running daemon; when absent
+ *                    a server is started in-process on a free port</li>
+ *   <li>log          the in-process server's log level (WARN)</li>
+ * </ul>
+ */
+public final class LoadGenerator {
+    private static final XLogger LOGGER = new XLogger(LoggerFactory.getLogger(LoadGenerator.class.getName()));
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9, 99.99};
+
+    private final int rate;
+    private final int connections;
+    private final int durationSeconds;
+    private final int warmupSeconds;
+    private final String eventOption;
+    private final boolean ack;
+    private final int pipelineDepth;
+    private final int externalPort;
+    private final String serverLogLevel;
+
+    private final Codec codec = Codec.getInstance();
+    private final TimeSource timeSource = new CachedTimeSource();
+    private final Map<String, Long> pending = new ConcurrentHashMap<>();
+    private final AtomicLong errors = new AtomicLong();
+
+    private long measureStartNanos;
+    private long measureEndNanos;
+    private long[] latencies;
+    private int latencyCount;
+
+    private LoadGenerator(final Map<String, String> options) {
+        super();
+
+        this.rate = Integer.parseInt(options.getOrDefault("rate", "1000"));
+        this.connections = Integer.parseInt(options.getOrDefault("connections", "4"));
+        this.durationSeconds = Integer.parseInt(options.getOrDefault("duration", "30"));
+        this.warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        this.eventOption = options.getOrDefault("event", "ECHO").toUpperCase(Locale.ROOT);
+        this.ack = Boolean.parseBoolean(options.getOrDefault("ack", "false"));
+        this.pipelineDepth = Integer.parseInt(options.getOrDefault("pipeline", "0"));
+        this.externalPort = Integer.parseInt(options.getOrDefault("port", "0"));
+        this.serverLogLevel = options.getOrDefault("log", "WARN");
+
+        if (this.rate <= 0 || this.connections <= 0 || this.durationSeconds <= 0 || this.warmupSeconds < 0)
+            throw new IllegalArgumentException("The rate, connections and duration must be positive");
+
+        if (!List.of("ECHO", "VERSION", "MIXED").contains(this.eventOption))
+            throw new IllegalArgumentException("The event must be ECHO, VERSION or MIXED");
+
+        this.latencies = new long[(int) Math.min(Integer.MAX_VALUE - 8, (long) this.rate * this.durationSeconds + 1024)];
+    }
+
+    /**
+     * Run the load and print the report.
+     *
+     * @throws  java.lang.InterruptedException
+     */
+    private void run() throws InterruptedException {
+        Thread serverThread = null;
+
+        int port = this.externalPort;
+
+        if (port == 0) {
+            port = findFreePort();
+            serverThread = this.startServer(port);
+        }
+
+        final var url = "http://localhost:" + port;
+        final var sockets = this.connect(url);
+
+        this.drive(sockets);
+
+        this.awaitResponses();
+        this.report();
+
+        sockets.forEach(socket -> {
+            socket.disconnect();
+            socket.close();
+        });
+
+        if (serverThread != null)
+            this.stopServer(url, serverThread);
+    }
+
+    private Thread startServer(final int port) {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Server.class.getName()))
+                .setLevel(Level.toLevel(this.serverLogLevel));
+
+        final var executionConfig = new ExecutionConfig();
+
+        executionConfig.setPipelineDepth(this.pipelineDepth);
+
+        final var serverThread = new Thread(() -> Server.getBuilder()
+                .hostName("localhost")
+                .port(port)
+                .executionConfig(executionConfig)
+                .build()
+                .setupAndRunServer(), "handoff-server");
+
+        serverThread.start();
+
+        LOGGER.info("Started an in-process server on port {}", port);
+
+        return serverThread;
+    }
+
+    private List<Socket> connect(final String url) throws InterruptedException {
+        final var connected = new CountDownLatch(this.connections);
+        final var sockets = new ArrayList<Socket>(this.connections);
+
+        for (int i = 0; i < this.connections; i++) {
+            final var socket = IO.socket(java.net.URI.create(url), getSocketOptions());
+
+            socket.once(SocketEvents.CONNECT.getValue(), args -> connected.countDown());
+            socket.on(SocketEvents.ECHO.getValue(), this::onResponse);
+            socket.on(SocketEvents.VERSION.getValue(), this::onResponse);
+            socket.connect();
+
+            sockets.add(socket);
+        }
+
+        if (!connected.await(30, TimeUnit.SECONDS))
+            throw new IllegalStateException("Timed out connecting to " + url);
+
+        LOGGER.info("Connected {} clients to {}", this.connections, url);
+
+        return sockets;
+    }
+
+    /**
+     * Send the requests on the fixed schedule. When the
+     * sender falls behind it sends immediately without
+     * skipping, and the lateness counts towards latency.
+     *
+     * @param   sockets java.util.List&lt;io.socket.client.Socket&gt;
+     */
+    private void drive(final List<Socket> sockets) {
+        final var intervalNanos = TimeUnit.SECONDS.toNanos(1) / (double) this.rate;
+        final var total = (long) this.rate * (this.warmupSeconds + this.durationSeconds);
+        final var startNanos = System.nanoTime();
+
+        this.measureStartNanos = startNanos + TimeUnit.SECONDS.toNanos(this.warmupSeconds);
+        this.measureEndNanos = this.measureStartNanos + TimeUnit.SECONDS.toNanos(this.durationSeconds);
+
+        for (long i = 0; i < total; i++) {
+            final var intendedNanos = startNanos + (long) (i * intervalNanos);
+
+            long now;
+
+            while ((now = System.nanoTime()) < intendedNanos)
+                LockSupport.parkNanos(intendedNanos - now);
+
+            final var event = this.nextEvent(i);
+            final var requestId = UUID.randomUUID().toString();
+            final var request = Request.getBuilder()
+                    .id(requestId)
+                    .dateTime(this.timeSource.getUTCDateTime())
+                    .event(event)
+                    .content(event == SocketEvents.ECHO ? "load " + i : null)
+                    .build();
+
+            this.pending.put(requestId, intendedNanos);
+
+            final var socket = sockets.get((int) (i % sockets.size()));
+
+            if (this.ack)
+                socket.emit(event.getValue(), new Object[] {this.codec.encodeRequest(request)}, (Ack) this::onResponse);
+            else
+                socket.emit(event.getValue(), this.codec.encodeRequest(request));
+        }
+    }
+
+    private SocketEvents nextEvent(final long sequence) {
+        return switch (this.eventOption) {
+            case "VERSION" -> SocketEvents.VERSION;
+            case "MIXED" -> (sequence % 2 == 0) ? SocketEvents.ECHO : SocketEvents.VERSION;
+            default -> SocketEvents.ECHO;
+        };
+    }
+
+    private void onResponse(final Object... args) {
+        final var receivedNanos = System.nanoTime();
+
+        try {
+            final var response = this.codec.decodeResponse(args[0].toString());
+            final var intendedNanos = this.pending.remove(response.getRequestId());
+
+            if (intendedNanos == null || !ResponseCode.OK.getValue().equals(response.getCode())) {
+                this.errors.incrementAndGet();
+            } else if (intendedNanos >= this.measureStartNanos && intendedNanos < this.measureEndNanos) {
+                this.record(receivedNanos - intendedNanos);
+            }
+        } catch (final RuntimeException re) {
+            this.errors.incrementAndGet();
+
+            LOGGER.catching(re);
+        }
+    }
+
+    private synchronized void record(final long latencyNanos) {
+        if (this.latencyCount == this.latencies.length)
+            this.latencies = Arrays.copyOf(this.latencies, this.latencies.length * 2);
+
+        this.latencies[this.latencyCount++] = latencyNanos;
+    }
+
+    private void awaitResponses() throws InterruptedException {
+        final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+        while (!this.pending.isEmpty() && System.nanoTime() < deadline)
+            Thread.sleep(10);
+    }
+
+    private synchronized void report() {
+        final var sorted = Arrays.copyOf(this.latencies, this.latencyCount);
+
+        Arrays.sort(sorted);
+
+        final var out = new StringBuilder();
+
+        out.append(String.format(Locale.ROOT, "%nTarget rate      : %,d requests/s over %d connections (%s%s)%n",
+                this.rate, this.connections, this.eventOption, this.ack ? ", ack" : ""));
+        out.append(String.format(Locale.ROOT, "Achieved rate    : %,.1f responses/s%n",
+                sorted.length / (double) this.durationSeconds));
+        out.append(String.format(Locale.ROOT, "Measured         : %,d responses in %d s%n", sorted.length, this.durationSeconds));
+        out.append(String.format(Locale.ROOT, "Errors           : %,d%n", this.errors.get()));
+        out.append(String.format(Locale.ROOT, "Unanswered       : %,d%n", this.pending.size()));
+
+        if (sorted.length > 0) {
+            out.append("Latency (corrected for coordinated omission):\n");
+
+            for (final var percentile : PERCENTILES) {
+                final var index = Math.max(0, (int) Math.ceil(percentile / 100.0 * sorted.length) - 1);
+
+                out.append(String.format(Locale.ROOT, "  p%-7s      : %,10.3f ms%n",
+                        percentile, sorted[index] / 1_000_000.0));
+            }
+
+            out.append(String.format(Locale.ROOT, "  max           : %,10.3f ms%n", sorted[sorted.length - 1] / 1_000_000.0));
+        }
+
+        System.out.println(out);
+    }
+
+    private void stopServer(final String url, final Thread serverThread) throws InterruptedException {
+        final var socket = IO.socket(java.net.URI.create(url), getSocketOptions());
+
+        socket.once(SocketEvents.CONNECT.getValue(), args -> {
+            final var request = Request.getBuilder()
+                    .id(UUID.randomUUID().toString())
+                    .dateTime(this.timeSource.getUTCDateTime())
+                    .event(SocketEvents.STOP)
+                    .build();
+
+            socket.emit(SocketEvents.STOP.getValue(), this.codec.encodeRequest(request));
+        });
+
+        socket.connect();
+        serverThread.join(TimeUnit.SECONDS.toMillis(30));
+        socket.disconnect();
+        socket.close();
+    }
+
+    private static IO.Options getSocketOptions() {
+        final var options = new IO.Options();
+
+        options.forceNew = true;
+        options.reconnection = true;
+        options.timeout = 5000;
+        options.transports = new String[] {"websocket"};
+
+        return options;
+    }
+
+    private static int findFreePort() {
+        try (final var serverSocket = new ServerSocket(0)) {
+            serverSocket.setReuseAddress(true);
+
+            return serverSocket.getLocalPort();
+        } catch (final IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+    }
+
+    private static Map<String, String> parseOptions(final String[] args) {
+        final var options = new ConcurrentHashMap<String, String>();
+
+        for (final var arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("="))
+                throw new IllegalArgumentException("Options are of the form --name=value: " + arg);
+
+            final var separator = arg.indexOf('=');
+
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        return options;
+    }
+
+    /**
+     * The main method.
+     *
+     * @param   args    java.lang.String[]
+     * @throws          java.lang.InterruptedException
+     */
+    public static void main(final String[] args) throws InterruptedException {
+        new LoadGenerator(parseOptions(args)).run();
+
+        System.exit(0);
+    }
+}
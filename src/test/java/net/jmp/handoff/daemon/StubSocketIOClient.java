@@ -0,0 +1,213 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)StubSocketIOClient.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.corundumstudio.socketio.AckCallback;
+import com.corundumstudio.socketio.HandshakeData;
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.SocketIONamespace;
+import com.corundumstudio.socketio.Transport;
+
+import com.corundumstudio.socketio.protocol.EngineIOVersion;
+import com.corundumstudio.socketio.protocol.Packet;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A socket IO client that records the last
+ * event sent to it instead of writing to a
+ * channel. It lets the server's handlers be
+ * driven in-process by tests and benchmarks.
+ */
+public class StubSocketIOClient implements SocketIOClient {
+    private final UUID sessionId;
+    private final HandshakeData handshakeData = new HandshakeData();
+    private final Map<String, Object> store = new HashMap<>();
+    private final Set<String> rooms = new HashSet<>();
+
+    private String lastEventName;
+    private Object[] lastEventData;
+    private Packet lastPacket;
+    private long eventCount;
+
+    public StubSocketIOClient() {
+        this(UUID.randomUUID());
+    }
+
+    public StubSocketIOClient(final UUID sessionId) {
+        super();
+
+        this.sessionId = sessionId;
+    }
+
+    public String getLastEventName() {
+        return this.lastEventName;
+    }
+
+    public Object[] getLastEventData() {
+        return this.lastEventData;
+    }
+
+    public Packet getLastPacket() {
+        return this.lastPacket;
+    }
+
+    public long getEventCount() {
+        return this.eventCount;
+    }
+
+    @Override
+    public HandshakeData getHandshakeData() {
+        return this.handshakeData;
+    }
+
+    @Override
+    public Transport getTransport() {
+        return Transport.WEBSOCKET;
+    }
+
+    @Override
+    public EngineIOVersion getEngineIOVersion() {
+        return EngineIOVersion.V4;
+    }
+
+    @Override
+    public boolean isWritable() {
+        return true;
+    }
+
+    @Override
+    public void sendEvent(final String name, final AckCallback<?> ackCallback, final Object... data) {
+        this.sendEvent(name, data);
+    }
+
+    @Override
+    public void send(final Packet packet, final AckCallback<?> ackCallback) {
+        this.send(packet);
+    }
+
+    @Override
+    public SocketIONamespace getNamespace() {
+        return null;
+    }
+
+    @Override
+    public UUID getSessionId() {
+        return this.sessionId;
+    }
+
+    @Override
+    public SocketAddress getRemoteAddress() {
+        return InetSocketAddress.createUnresolved("localhost", 0);
+    }
+
+    @Override
+    public boolean isChannelOpen() {
+        return true;
+    }
+
+    @Override
+    public void joinRoom(final String room) {
+        this.rooms.add(room);
+    }
+
+    @Override
+    public void joinRooms(final Set<String> rooms) {
+        this.rooms.addAll(rooms);
+    }
+
+    @Override
+    public void leaveRoom(final String room) {
+        this.rooms.remove(room);
+    }
+
+    @Override
+    public void leaveRooms(final Set<String> rooms) {
+        this.rooms.removeAll(rooms);
+    }
+
+    @Override
+    public Set<String> getAllRooms() {
+        return Collections.unmodifiableSet(this.rooms);
+    }
+
+    @Override
+    public int getCurrentRoomSize(final String room) {
+        return this.rooms.contains(room) ? 1 : 0;
+    }
+
+    @Override
+    public void send(final Packet packet) {
+        this.lastPacket = packet;
+        this.eventCount++;
+    }
+
+    @Override
+    public void disconnect() {
+        this.rooms.clear();
+    }
+
+    @Override
+    public void sendEvent(final String name, final Object... data) {
+        this.lastEventName = name;
+        this.lastEventData = data;
+        this.eventCount++;
+    }
+
+    @Override
+    public void set(final String key, final Object value) {
+        this.store.put(key, value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(final String key) {
+        return (T) this.store.get(key);
+    }
+
+    @Override
+    public boolean has(final String key) {
+        return this.store.containsKey(key);
+    }
+
+    @Override
+    public void del(final String key) {
+        this.store.remove(key);
+    }
+}
@@ -0,0 +1,124 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestAdmissionController.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.UUID;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The admission controller test class.
+ */
+public class TestAdmissionController {
+    private static AdmissionController admissionController(final int maxInFlight, final int maxSessionInFlight) {
+        final var executionConfig = new ExecutionConfig();
+
+        executionConfig.setMaxInFlight(maxInFlight);
+        executionConfig.setMaxSessionInFlight(maxSessionInFlight);
+        executionConfig.setRetryAfterMillis(100);
+
+        return new AdmissionController(executionConfig);
+    }
+
+    @Test
+    public void testSessionLimit() {
+        final var controller = admissionController(10, 2);
+        final var session = new Session(UUID.randomUUID(), 0);
+
+        assertNull(controller.tryAdmit(session));
+        assertNull(controller.tryAdmit(session));
+        assertNotNull(controller.tryAdmit(session));
+
+        /* Another session is not affected */
+
+        assertNull(controller.tryAdmit(new Session(UUID.randomUUID(), 0)));
+
+        assertEquals(2, session.getInFlightCount());
+        assertEquals(3, controller.getInFlightCount());
+        assertEquals(3, controller.getAdmittedCount());
+        assertEquals(1, controller.getSessionRefusedCount());
+        assertEquals(0, controller.getServerRefusedCount());
+
+        controller.release(session);
+
+        assertNull(controller.tryAdmit(session));
+    }
+
+    @Test
+    public void testServerLimit() {
+        final var controller = admissionController(2, 2);
+
+        assertNull(controller.tryAdmit(new Session(UUID.randomUUID(), 0)));
+        assertNull(controller.tryAdmit(new Session(UUID.randomUUID(), 0)));
+        assertNotNull(controller.tryAdmit(new Session(UUID.randomUUID(), 0)));
+
+        assertEquals(2, controller.getInFlightCount());
+        assertEquals(1, controller.getServerRefusedCount());
+        assertEquals(0, controller.getSessionRefusedCount());
+    }
+
+    @Test
+    public void testNoLimits() {
+        final var controller = admissionController(0, 0);
+        final var session = new Session(UUID.randomUUID(), 0);
+
+        for (int i = 0; i < 10000; i++)
+            assertNull(controller.tryAdmit(session));
+
+        assertEquals(10000, controller.getInFlightCount());
+    }
+
+    @Test
+    public void testRelease() {
+        final var controller = admissionController(10, 1);
+        final var session = new Session(UUID.randomUUID(), 0);
+
+        assertNull(controller.tryAdmit(session));
+
+        controller.release(session);
+
+        assertEquals(0, session.getInFlightCount());
+        assertEquals(0, controller.getInFlightCount());
+        assertNull(controller.tryAdmit(session));
+    }
+
+    @Test
+    public void testGetRetryAfterMillis() {
+        assertEquals(100, admissionController(1, 1).getRetryAfterMillis());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeLimit() {
+        admissionController(-1, 1);
+    }
+}
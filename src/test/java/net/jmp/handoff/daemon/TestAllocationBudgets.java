@@ -0,0 +1,250 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestAllocationBudgets.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.sun.management.ThreadMXBean;
+
+import java.io.IOException;
+
+import java.lang.management.ManagementFactory;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import java.util.function.LongSupplier;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * The allocation budget test class. Each handler
+ * is driven in-process against a stub client and
+ * the bytes its thread allocates per request are
+ * held to the budget for its event in
+ * allocation-budgets.properties. Most are held
+ * with handlers inline and the idempotency cache
+ * off, so that each request takes the same path;
+ * the default configuration is held too, with a
+ * new request ID each time so that every request
+ * is remembered. A budget should only be raised
+ * when the growth is intended.
+ */
+public class TestAllocationBudgets {
+    private static final String BUDGETS = "/allocation-budgets.properties";
+
+    /* Enough calls to compile the path before it is measured */
+
+    private static final int WARM_UP_REQUESTS = 20_000;
+    private static final int MEASURED_REQUESTS = 10_000;
+
+    private static final Properties budgets = new Properties();
+
+    private static ThreadMXBean threadMXBean;
+    private static Server server;
+    private static Server defaultServer;
+    private static StubSocketIOClient client;
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        try (final var input = TestAllocationBudgets.class.getResourceAsStream(BUDGETS)) {
+            if (input == null)
+                throw new IOException(BUDGETS + " is missing");
+
+            budgets.load(input);
+        }
+
+        /* Handle on this thread, without the idempotency cache, so that each request takes the same path */
+
+        final var executionConfig = new ExecutionConfig();
+
+        executionConfig.setVirtualThreads(false);
+
+        final var idempotencyConfig = new IdempotencyConfig();
+
+        idempotencyConfig.setEnabled(false);
+
+        server = Server.getBuilder()
+                .hostName("localhost")
+                .port(0)
+                .executionConfig(executionConfig)
+                .idempotencyConfig(idempotencyConfig)
+                .build();
+        client = new StubSocketIOClient();
+
+        server.markRunning();
+
+        /* The default configuration: the idempotency cache on and handlers on virtual threads */
+
+        defaultServer = Server.getBuilder()
+                .hostName("localhost")
+                .port(0)
+                .build();
+
+        defaultServer.markRunning();
+    }
+
+    private static String encode(final SocketEvents event, final String content, final String room) {
+        return Codec.getInstance().encodeRequest(Request.getBuilder()
+                .id(UUID.randomUUID().toString())
+                .dateTime("2024-04-22T20:02:09.952Z")
+                .event(event)
+                .content(content)
+                .room(room)
+                .build());
+    }
+
+    /* Messages that each have their own request ID, so that none is answered from the idempotency cache */
+
+    private static List<Object>[] encodeEach(final SocketEvents event, final String content) {
+        @SuppressWarnings("unchecked")
+        final List<Object>[] messages = new List[WARM_UP_REQUESTS + MEASURED_REQUESTS];
+
+        for (int i = 0; i < messages.length; i++)
+            messages[i] = List.of(encode(event, content, null));
+
+        return messages;
+    }
+
+    private static void assertWithinBudget(final String name, final Runnable request) {
+        assertWithinBudget(name, request, threadMXBean::getCurrentThreadAllocatedBytes);
+    }
+
+    private static void assertWithinBudget(final String name, final Runnable request, final LongSupplier allocatedBytes) {
+        final var budget = Long.parseLong(budgets.getProperty(name, "-1"));
+
+        assertTrue("There is no budget for " + name, budget >= 0);
+
+        for (int i = 0; i < WARM_UP_REQUESTS; i++)
+            request.run();
+
+        final var before = allocatedBytes.getAsLong();
+
+        for (int i = 0; i < MEASURED_REQUESTS; i++)
+            request.run();
+
+        final var perRequest = (allocatedBytes.getAsLong() - before) / MEASURED_REQUESTS;
+
+        assertTrue(name + " allocated " + perRequest + " bytes per request, over its budget of " + budget,
+                perRequest <= budget);
+    }
+
+    @Test
+    public void testConnect() {
+        assertWithinBudget("connect", () -> server.connectEventHandler(client));
+    }
+
+    @Test
+    public void testEcho() {
+        final var message = encode(SocketEvents.ECHO, "git status --porcelain --branch", null);
+
+        assertWithinBudget("echo", () -> server.echoEventHandler(client, message, null));
+    }
+
+    @Test
+    public void testVersion() {
+        final var message = encode(SocketEvents.VERSION, null, null);
+
+        assertWithinBudget("version", () -> server.versionEventHandler(client, message, null));
+    }
+
+    @Test
+    public void testBatch() {
+        final var message = "[" + encode(SocketEvents.ECHO, "git status", null) + ","
+                + encode(SocketEvents.ECHO, "git log -1", null) + ","
+                + encode(SocketEvents.VERSION, null, null) + "]";
+
+        assertWithinBudget("batch", () -> server.batchEventHandler(client, message, null));
+    }
+
+    @Test
+    public void testPublish() {
+        final var message = encode(SocketEvents.PUBLISH, "Handoff ready", "editors");
+
+        assertWithinBudget("publish", () -> server.publishEventHandler(client, message, null));
+    }
+
+    @Test
+    public void testDispatchedEcho() {
+        final var slot = server.getDispatchTable().get(SocketEvents.ECHO);
+        final var args = List.<Object>of(encode(SocketEvents.ECHO, "git status --porcelain --branch", null));
+
+        assertWithinBudget("dispatch.echo", () -> server.dispatch(client, slot, args, null));
+    }
+
+    @Test
+    public void testCachedEcho() {
+        final var messages = encodeEach(SocketEvents.ECHO, "git status --porcelain --branch");
+        final var next = new AtomicInteger();
+        final var misses = defaultServer.getIdempotencyCache().getMissCount();
+
+        assertWithinBudget("echo.cached", () -> defaultServer.echoEventHandler(client, (String) messages[next.getAndIncrement()].get(0), null));
+        assertEquals(misses + WARM_UP_REQUESTS + MEASURED_REQUESTS, defaultServer.getIdempotencyCache().getMissCount());
+    }
+
+    @Test
+    public void testDefaultDispatchedEcho() {
+        final var slot = defaultServer.getDispatchTable().get(SocketEvents.ECHO);
+        final var admissionController = defaultServer.getAdmissionController();
+        final var messages = encodeEach(SocketEvents.ECHO, "git status --porcelain --branch");
+        final var next = new AtomicInteger();
+
+        /*
+         * The handler runs on a virtual thread, whose allocations are
+         * counted against its carrier, so all threads are measured; each
+         * request is finished before the next so that none is refused
+         */
+
+        assertWithinBudget("dispatch.echo.default", () -> {
+            defaultServer.dispatch(client, slot, messages[next.getAndIncrement()], null);
+
+            while (admissionController.getInFlightCount() > 0)
+                Thread.onSpinWait();
+        }, threadMXBean::getTotalThreadAllocatedBytes);
+    }
+
+    @Test
+    public void testEveryBudgetIsMeasured() {
+        assertEquals(List.of("batch", "connect", "dispatch.echo", "dispatch.echo.default", "echo", "echo.cached", "publish", "version"),
+                budgets.stringPropertyNames().stream().sorted().toList());
+    }
+}
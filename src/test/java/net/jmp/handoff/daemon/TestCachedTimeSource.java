@@ -0,0 +1,112 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestCachedTimeSource.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.nio.charset.StandardCharsets;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The cached time source test class.
+ */
+public class TestCachedTimeSource {
+    @Test
+    public void testFixedClock() {
+        final var timeSource = new CachedTimeSource(Clock.fixed(Instant.parse("2024-04-22T20:02:09.952Z"), ZoneOffset.UTC));
+
+        assertEquals(1713816129952L, timeSource.currentTimeMillis());
+        assertEquals("2024-04-22T20:02:09.952Z", timeSource.getUTCDateTime());
+        assertArrayEquals("2024-04-22T20:02:09.952Z".getBytes(StandardCharsets.UTF_8), timeSource.getUTCDateTimeBytes());
+    }
+
+    @Test
+    public void testCachedWithinMillisecond() {
+        final var timeSource = new CachedTimeSource(Clock.fixed(Instant.EPOCH, ZoneOffset.UTC));
+
+        assertSame(timeSource.getUTCDateTime(), timeSource.getUTCDateTime());
+        assertSame(timeSource.getUTCDateTimeBytes(), timeSource.getUTCDateTimeBytes());
+    }
+
+    @Test
+    public void testRefreshedWhenClockMoves() {
+        final var millis = new AtomicLong(1713816129952L);
+        final var timeSource = new CachedTimeSource(new SteppingClock(millis));
+
+        assertEquals("2024-04-22T20:02:09.952Z", timeSource.getUTCDateTime());
+
+        millis.incrementAndGet();
+
+        assertEquals("2024-04-22T20:02:09.953Z", timeSource.getUTCDateTime());
+        assertEquals("2024-04-22T20:02:09.953Z", new String(timeSource.getUTCDateTimeBytes(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * A clock whose time is set by the test.
+     */
+    static final class SteppingClock extends Clock {
+        private final AtomicLong millis;
+
+        SteppingClock(final AtomicLong millis) {
+            super();
+
+            this.millis = millis;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public long millis() {
+            return this.millis.get();
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(this.millis.get());
+        }
+    }
+}
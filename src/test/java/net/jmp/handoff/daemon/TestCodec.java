@@ -0,0 +1,400 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestCodec.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The codec test class.
+ */
+public class TestCodec {
+    private static final Codec codec = Codec.getInstance();
+    private static final String id = UUID.randomUUID().toString();
+    private static final String sessionId = UUID.randomUUID().toString();
+    private static final String requestId = UUID.randomUUID().toString();
+    private static final String dateTime = "2024-04-22T20:02:09.952Z";
+
+    private static Response buildResponse(final SocketEvents event, final Content content) {
+        return Response.getBuilder()
+                .id(id)
+                .requestId(requestId)
+                .sessionId(sessionId)
+                .dateTime(dateTime)
+                .event(event)
+                .content(content)
+                .code(ResponseCode.OK)
+                .build();
+    }
+
+    @Test
+    public void testGetInstance() {
+        assertSame(codec, Codec.getInstance());
+    }
+
+    @Test
+    public void testEncodeRequest() {
+        final var request = Request.getBuilder()
+                .id(requestId)
+                .dateTime(dateTime)
+                .event(SocketEvents.ECHO)
+                .content("Quotes \" and <html> & unicode é")
+                .build();
+
+        assertEquals(new Gson().toJson(request), codec.encodeRequest(request));
+    }
+
+    @Test
+    public void testDecodeRequest() {
+        final var json = "{\"content\":\"abc\",\"event\":\"ECHO\",\"unknown\":[1,{\"a\":2}],\"id\":\"" + requestId
+                + "\",\"dateTime\":\"" + dateTime + "\",\"type\":\"Request\"}";
+        final var request = codec.decodeRequest(json);
+        final var expected = new Gson().fromJson(json, Request.class);
+
+        assertEquals(expected.getType(), request.getType());
+        assertEquals(expected.getId(), request.getId());
+        assertEquals(expected.getDateTime(), request.getDateTime());
+        assertEquals(expected.getEvent(), request.getEvent());
+        assertEquals(expected.getContent(), request.getContent());
+    }
+
+    @Test
+    public void testDecodeRequestWithNulls() {
+        final var request = codec.decodeRequest("{\"type\":\"Request\",\"id\":null,\"event\":\"VERSION\"}");
+
+        assertEquals("Request", request.getType());
+        assertNull(request.getId());
+        assertNull(request.getContent());
+        assertEquals(SocketEvents.VERSION.getValue(), request.getEvent());
+    }
+
+    @Test
+    public void testDecodeEmpty() {
+        assertNull(codec.decodeRequest(""));
+        assertNull(codec.decodeRequest("null"));
+    }
+
+    @Test(expected = com.google.gson.JsonSyntaxException.class)
+    public void testDecodeMalformed() {
+        codec.decodeRequest("{\"type\":");
+    }
+
+    @Test(expected = JsonSyntaxException.class)
+    public void testDecodeUnsupportedContentType() {
+        final var json = codec.encodeResponse(buildResponse(SocketEvents.ECHO, new MessageContent("Hello")));
+
+        codec.decodeResponse(json.replace("\"Message\"", "\"Unknown\""));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEncodeUnsupportedContentType() {
+        codec.encodeResponse(buildResponse(SocketEvents.ECHO, new Content() {
+            @Override
+            String getType() {
+                return "Unknown";
+            }
+        }));
+    }
+
+    @Test
+    public void testRequestRoomRoundTrip() {
+        final var request = Request.getBuilder()
+                .id(requestId)
+                .dateTime(dateTime)
+                .event(SocketEvents.PUBLISH)
+                .room("editors")
+                .content("Handoff ready")
+                .build();
+        final var json = codec.encodeRequest(request);
+
+        assertEquals(new Gson().toJson(request), json);
+        assertEquals("editors", codec.decodeRequest(json).getRoom());
+    }
+
+    @Test
+    public void testRoomRoundTrip() {
+        final var response = buildResponse(SocketEvents.BROADCAST, new RoomContent("editors", "Handoff ready", 3));
+        final var json = codec.encodeResponse(response);
+
+        assertEquals(new Gson().toJson(response), json);
+
+        final var decoded = (RoomContent) codec.decodeResponse(json).getContent();
+
+        assertEquals("editors", decoded.getRoom());
+        assertEquals("Handoff ready", decoded.getMessage());
+        assertEquals(3, decoded.getMembers());
+    }
+
+    @Test
+    public void testStatsRoundTrip() {
+        final var metrics = new LinkedHashMap<String, Number>();
+
+        metrics.put("handoff_connects_total", 5L);
+        metrics.put("handoff_send_seconds_max", 1.024E-6);
+
+        final var response = buildResponse(SocketEvents.STATS, new StatsContent(metrics));
+        final var json = codec.encodeResponse(response);
+
+        assertEquals(new Gson().toJson(response), json);
+        assertEquals(metrics, ((StatsContent) codec.decodeResponse(json).getContent()).getMetrics());
+    }
+
+    @Test
+    public void testRecordingRoundTrip() {
+        final var response = buildResponse(SocketEvents.RECORDING, new RecordingContent(false, "/tmp/handoff.jfr"));
+        final var json = codec.encodeResponse(response);
+
+        assertEquals(new Gson().toJson(response), json);
+
+        final var decoded = (RecordingContent) codec.decodeResponse(json).getContent();
+
+        assertFalse(decoded.isRecording());
+        assertEquals("/tmp/handoff.jfr", decoded.getPath());
+    }
+
+    @Test
+    public void testEchoRoundTrip() {
+        final var content = new EchoContent();
+
+        content.setMessage("Echo: a message with \"quotes\" and = signs");
+
+        final var response = buildResponse(SocketEvents.ECHO, content);
+        final var json = codec.encodeResponse(response);
+
+        assertEquals(new Gson().toJson(response), json);
+
+        final var decoded = codec.decodeResponse(json);
+
+        assertEquals(json, codec.encodeResponse(decoded));
+        assertEquals("Echo", decoded.getContent().getType());
+        assertEquals(content.getMessage(), ((EchoContent) decoded.getContent()).getMessage());
+    }
+
+    @Test
+    public void testStopRoundTrip() {
+        final var content = new StopContent();
+
+        content.setMessage("Handoff daemon stopping");
+        content.setPid(12345L);
+
+        final var response = buildResponse(SocketEvents.STOP, content);
+        final var json = codec.encodeResponse(response);
+
+        assertEquals(new Gson().toJson(response), json);
+
+        final var decoded = codec.decodeResponse(json);
+        final var decodedContent = (StopContent) decoded.getContent();
+
+        assertEquals(json, codec.encodeResponse(decoded));
+        assertEquals(12345L, decodedContent.getPid());
+        assertEquals("Handoff daemon stopping", decodedContent.getMessage());
+    }
+
+    @Test
+    public void testVersionRoundTrip() {
+        final var content = new VersionContent();
+
+        content.setAppName("Handoff Daemon");
+        content.setAppVersion(Version.VERSION);
+
+        final var response = buildResponse(SocketEvents.VERSION, content);
+        final var json = codec.encodeResponse(response);
+
+        assertEquals(new Gson().toJson(response), json);
+
+        final var decoded = codec.decodeResponse(json);
+        final var decodedContent = (VersionContent) decoded.getContent();
+
+        assertEquals(json, codec.encodeResponse(decoded));
+        assertEquals("Handoff Daemon", decodedContent.getAppName());
+        assertEquals(Version.VERSION, decodedContent.getAppVersion());
+    }
+
+    @Test
+    public void testConnectRoundTrip() {
+        final var response = Response.getBuilder()
+                .id(id)
+                .sessionId(sessionId)
+                .dateTime(dateTime)
+                .event(SocketEvents.CONNECT)
+                .code(ResponseCode.OK)
+                .build();
+        final var json = codec.encodeResponse(response);
+
+        assertEquals(new Gson().toJson(response), json);
+        assertFalse(json.contains("requestId"));
+        assertFalse(json.contains("content"));
+
+        final var decoded = codec.decodeResponse(json);
+
+        assertEquals(id, decoded.getId());
+        assertEquals(sessionId, decoded.getSessionId());
+        assertEquals(SocketEvents.CONNECT.getValue(), decoded.getEvent());
+        assertEquals(ResponseCode.OK.getValue(), decoded.getCode());
+        assertNull(decoded.getContent());
+    }
+
+    @Test
+    public void testEncodeContent() {
+        final var content = new VersionContent();
+
+        content.setAppName("Handoff Daemon");
+        content.setAppVersion(Version.VERSION);
+
+        assertEquals(new Gson().toJson(content), codec.encodeContent(content));
+    }
+
+    @Test
+    public void testBinaryRoundTrip() {
+        final var content = new BinaryContent();
+
+        content.setLength(65536L);
+
+        final var response = buildResponse(SocketEvents.BINARY_ECHO, content);
+        final var json = codec.encodeResponse(response);
+
+        assertEquals(new Gson().toJson(response), json);
+
+        final var decoded = codec.decodeResponse(json);
+
+        assertEquals(json, codec.encodeResponse(decoded));
+        assertEquals(65536L, ((BinaryContent) decoded.getContent()).getLength());
+    }
+
+    @Test
+    public void testErrorRoundTrip() {
+        final var response = buildResponse(SocketEvents.BATCH, new ErrorContent("The request is malformed"));
+        final var json = codec.encodeResponse(response);
+
+        assertEquals(new Gson().toJson(response), json);
+
+        final var decoded = codec.decodeResponse(json);
+
+        assertEquals(json, codec.encodeResponse(decoded));
+        assertEquals("The request is malformed", ((ErrorContent) decoded.getContent()).getMessage());
+    }
+
+    @Test
+    public void testMessageRoundTrip() {
+        final var response = buildResponse(SocketEvents.ECHO, new MessageContent("HELLO"));
+        final var json = codec.encodeResponse(response);
+
+        assertEquals(new Gson().toJson(response), json);
+
+        final var decoded = codec.decodeResponse(json);
+
+        assertEquals(json, codec.encodeResponse(decoded));
+        assertEquals("HELLO", ((MessageContent) decoded.getContent()).getMessage());
+    }
+
+    @Test
+    public void testOverloadRoundTrip() {
+        final var response = buildResponse(SocketEvents.ECHO, new OverloadContent("The server has 8 requests in flight", 250));
+        final var json = codec.encodeResponse(response);
+
+        assertEquals(new Gson().toJson(response), json);
+
+        final var decoded = codec.decodeResponse(json);
+        final var content = (OverloadContent) decoded.getContent();
+
+        assertEquals(json, codec.encodeResponse(decoded));
+        assertEquals("The server has 8 requests in flight", content.getMessage());
+        assertEquals(250, content.getRetryAfterMillis());
+    }
+
+    @Test
+    public void testDecodeRequests() {
+        final var request = Request.getBuilder()
+                .id(requestId)
+                .dateTime(dateTime)
+                .event(SocketEvents.ECHO)
+                .content("Hello")
+                .build();
+        final var json = "[" + codec.encodeRequest(request) + ", 42, {\"id\": {}}, null, " +
+                codec.encodeRequest(request) + "]";
+        final var requests = codec.decodeRequests(json);
+
+        assertEquals(5, requests.size());
+        assertEquals(requestId, requests.get(0).getId());
+        assertEquals("Hello", requests.get(0).getContent());
+        assertNull(requests.get(1));
+        assertNull(requests.get(2));
+        assertNull(requests.get(3));
+        assertEquals(requestId, requests.get(4).getId());
+    }
+
+    @Test
+    public void testDecodeRequestsEmpty() {
+        assertNull(codec.decodeRequests(""));
+        assertTrue(codec.decodeRequests("[]").isEmpty());
+    }
+
+    @Test(expected = JsonSyntaxException.class)
+    public void testDecodeRequestsNotAnArray() {
+        codec.decodeRequests("{\"id\": \"1\"}");
+    }
+
+    @Test
+    public void testEncodeResponses() {
+        final var echoContent = new EchoContent();
+
+        echoContent.setMessage("Echo: Hello");
+
+        final var responses = List.of(
+                buildResponse(SocketEvents.ECHO, echoContent),
+                buildResponse(SocketEvents.BATCH, new ErrorContent("The request is malformed"))
+        );
+
+        assertEquals(new Gson().toJson(responses), codec.encodeResponses(responses));
+        assertEquals("[]", codec.encodeResponses(List.of()));
+    }
+
+    @Test
+    public void testAppendString() {
+        final var builder = new StringBuilder();
+
+        Codec.appendString(builder, "plain");
+        builder.append(',');
+        Codec.appendString(builder, "a\"b\\c\nd\u0001<");
+        builder.append(',');
+        Codec.appendString(builder, null);
+
+        assertEquals("\"plain\"," + new Gson().toJson("a\"b\\c\nd\u0001<") + ",null", builder.toString());
+    }
+}
@@ -1,10 +1,11 @@
 package net.jmp.handoff.daemon;
 
 /*
+ * (#)TestConfig.java   0.8.0   10/18/2026
  * (#)TestConfig.java   0.6.0   04/23/2024
  *
  * @author    Jonathan Parker
- * @version   0.6.0
+ * @version   0.8.0
  * @since     0.6.0
  *
  * MIT License
@@ -34,6 +35,9 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * The configuration test class.
@@ -45,7 +49,9 @@ public class TestConfig {
     public static void beforeClass() {
         config.setHostName("my-host-name");
         config.setPort(1234);
+        config.setIdGenerator("uuid-v7");
     }
+
     @Test
     public void testGetHostName() {
         assertEquals("my-host-name", config.getHostName());
@@ -55,4 +61,114 @@ public class TestConfig {
     public void testGetPort() {
         assertEquals(1234, config.getPort());
     }
+
+    @Test
+    public void testGetIdGenerator() {
+        assertEquals("uuid-v7", config.getIdGenerator());
+    }
+
+    @Test
+    public void testGetTransport() {
+        final var emptyConfig = new Config();
+
+        assertNotNull(emptyConfig.getTransport());
+        assertEquals(1024, emptyConfig.getTransport().getAcceptBacklog());
+
+        final var transportConfig = new TransportConfig();
+
+        transportConfig.setAcceptBacklog(4096);
+        emptyConfig.setTransport(transportConfig);
+
+        assertEquals(4096, emptyConfig.getTransport().getAcceptBacklog());
+    }
+
+    @Test
+    public void testGetExecution() {
+        final var emptyConfig = new Config();
+
+        assertNotNull(emptyConfig.getExecution());
+        assertEquals(256, emptyConfig.getExecution().getMaxConcurrency());
+
+        final var executionConfig = new ExecutionConfig();
+
+        executionConfig.setMaxConcurrency(16);
+        emptyConfig.setExecution(executionConfig);
+
+        assertEquals(16, emptyConfig.getExecution().getMaxConcurrency());
+    }
+
+    @Test
+    public void testGetIdempotency() {
+        final var emptyConfig = new Config();
+
+        assertNotNull(emptyConfig.getIdempotency());
+        assertTrue(emptyConfig.getIdempotency().isEnabled());
+
+        final var idempotencyConfig = new IdempotencyConfig();
+
+        idempotencyConfig.setEnabled(false);
+        emptyConfig.setIdempotency(idempotencyConfig);
+
+        assertFalse(emptyConfig.getIdempotency().isEnabled());
+    }
+
+    @Test
+    public void testGetMetrics() {
+        final var emptyConfig = new Config();
+
+        assertNotNull(emptyConfig.getMetrics());
+        assertFalse(emptyConfig.getMetrics().isHttpEnabled());
+
+        final var metricsConfig = new MetricsConfig();
+
+        metricsConfig.setHttpEnabled(true);
+        emptyConfig.setMetrics(metricsConfig);
+
+        assertTrue(emptyConfig.getMetrics().isHttpEnabled());
+    }
+
+    @Test
+    public void testGetFlightRecorder() {
+        final var emptyConfig = new Config();
+
+        assertNotNull(emptyConfig.getFlightRecorder());
+        assertFalse(emptyConfig.getFlightRecorder().isControlEnabled());
+
+        final var flightRecorderConfig = new FlightRecorderConfig();
+
+        flightRecorderConfig.setControlEnabled(true);
+        emptyConfig.setFlightRecorder(flightRecorderConfig);
+
+        assertTrue(emptyConfig.getFlightRecorder().isControlEnabled());
+    }
+
+    @Test
+    public void testGetRequestLog() {
+        final var emptyConfig = new Config();
+
+        assertNotNull(emptyConfig.getRequestLog());
+        assertFalse(emptyConfig.getRequestLog().isVerbose());
+
+        final var requestLogConfig = new RequestLogConfig();
+
+        requestLogConfig.setVerbose(true);
+        emptyConfig.setRequestLog(requestLogConfig);
+
+        assertTrue(emptyConfig.getRequestLog().isVerbose());
+    }
+
+    @Test
+    public void testGetStallDetector() {
+        final var emptyConfig = new Config();
+
+        assertNotNull(emptyConfig.getStallDetector());
+        assertTrue(emptyConfig.getStallDetector().isEnabled());
+
+        final var stallDetectorConfig = new StallDetectorConfig();
+
+        stallDetectorConfig.setEnabled(false);
+        emptyConfig.setStallDetector(stallDetectorConfig);
+
+        assertFalse(emptyConfig.getStallDetector().isEnabled());
+    }
 }
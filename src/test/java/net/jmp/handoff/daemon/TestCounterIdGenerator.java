@@ -0,0 +1,65 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestCounterIdGenerator.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.UUID;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The counter identifier generator test class.
+ */
+public class TestCounterIdGenerator {
+    @Test
+    public void testVersion() {
+        final var uuid = UUID.fromString(new CounterIdGenerator(new CachedTimeSource()).nextId());
+
+        assertEquals(8, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    public void testMonotonic() {
+        final var generator = new CounterIdGenerator(new CachedTimeSource());
+
+        String previous = generator.nextId();
+
+        for (int i = 0; i < 10_000; i++) {
+            final var next = generator.nextId();
+
+            assertTrue(next.compareTo(previous) > 0);
+
+            previous = next;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestDateTimes.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import java.time.format.DateTimeFormatter;
+
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * The date times test class.
+ */
+public class TestDateTimes {
+    private static final DateTimeFormatter formatter = DateTimeFormatter
+            .ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSX")
+            .withZone(ZoneOffset.UTC);
+
+    @Test
+    public void testFormatUTC() {
+        assertEquals("2024-04-22T20:02:09.952Z", DateTimes.formatUTC(1713816129952L));
+        assertEquals("1970-01-01T00:00:00.000Z", DateTimes.formatUTC(0L));
+        assertEquals("1969-12-31T23:59:59.999Z", DateTimes.formatUTC(-1L));
+        assertEquals("2024-02-29T00:00:00.000Z", DateTimes.formatUTC(1709164800000L));
+    }
+
+    @Test
+    public void testFormatUTCMatchesFormatter() {
+        final var random = new SplittableRandom(42);
+
+        for (int i = 0; i < 10_000; i++) {
+            final var millis = random.nextLong(-62_135_596_800_000L, 253_402_300_799_999L);
+
+            assertEquals(formatter.format(Instant.ofEpochMilli(millis)), DateTimes.formatUTC(millis));
+        }
+    }
+
+    @Test
+    public void testParseUTC() {
+        assertEquals(1713816129952L, DateTimes.parseUTC("2024-04-22T20:02:09.952Z"));
+        assertEquals(0L, DateTimes.parseUTC("1970-01-01T00:00:00.000Z"));
+        assertEquals(1713816129000L, DateTimes.parseUTC("2024-04-22T20:02:09Z"));
+        assertEquals(1713816129952L, DateTimes.parseUTC("2024-04-22T16:02:09.952-04:00"));
+    }
+
+    @Test
+    public void testParseUTCRoundTrip() {
+        final var random = new SplittableRandom(7);
+
+        for (int i = 0; i < 10_000; i++) {
+            final var millis = random.nextLong(0L, 253_402_300_799_999L);
+
+            assertEquals(millis, DateTimes.parseUTC(DateTimes.formatUTC(millis)));
+        }
+    }
+
+    @Test
+    public void testParseUTCInvalid() {
+        assertEquals(DateTimes.INVALID, DateTimes.parseUTC(null));
+        assertEquals(DateTimes.INVALID, DateTimes.parseUTC(""));
+        assertEquals(DateTimes.INVALID, DateTimes.parseUTC("not a date"));
+        assertEquals(DateTimes.INVALID, DateTimes.parseUTC("2023-02-29T00:00:00.000Z"));
+        assertEquals(DateTimes.INVALID, DateTimes.parseUTC("2024-04-22T24:02:09.952Z"));
+    }
+}
@@ -0,0 +1,80 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestDispatchTable.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The dispatch table test class.
+ */
+public class TestDispatchTable {
+    private static final EventSlot.Invoker NOTHING = (client, args, ackRequest) -> {};
+
+    @Test
+    public void testBuild() {
+        final var table = DispatchTable.getBuilder()
+                .event(SocketEvents.VERSION, NOTHING, 0, String.class)
+                .event(SocketEvents.ECHO, NOTHING, 0, String.class)
+                .event("uppercase", NOTHING, 2, String.class)
+                .build();
+
+        assertEquals(3, table.getSlots().size());
+        assertEquals(SocketEvents.ECHO.getValue(), table.getSlots().get(0).getEvent());
+        assertEquals("uppercase", table.getSlots().get(2).getEvent());
+
+        assertSame(table.get(SocketEvents.ECHO), table.get(SocketEvents.ECHO.getValue()));
+        assertEquals(SocketEvents.ECHO.ordinal(), table.get(SocketEvents.ECHO).getIndex());
+        assertEquals(SocketEvents.values().length, table.get("uppercase").getIndex());
+        assertEquals(2, table.get("uppercase").getMaxConcurrency());
+
+        assertNull(table.get(SocketEvents.STOP));
+        assertNull(table.get("lowercase"));
+    }
+
+    @Test
+    public void testDuplicateEvent() {
+        final var builder = DispatchTable.getBuilder()
+                .event("uppercase", NOTHING, 0, String.class);
+
+        assertThrows(IllegalArgumentException.class, () -> builder.event("uppercase", NOTHING, 0, String.class));
+        assertThrows(IllegalArgumentException.class, () -> builder.event(SocketEvents.ECHO.getValue(), NOTHING, 0, String.class));
+    }
+
+    @Test
+    public void testBlankEvent() {
+        final var builder = DispatchTable.getBuilder();
+
+        assertThrows(IllegalArgumentException.class, () -> builder.event((String) null, NOTHING, 0, String.class));
+        assertThrows(IllegalArgumentException.class, () -> builder.event(" ", NOTHING, 0, String.class));
+    }
+}
@@ -0,0 +1,116 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestEventSlot.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.List;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The event slot test class.
+ */
+public class TestEventSlot {
+    @Test
+    public void testInvoke() {
+        final var args = new Object[1];
+        final var slot = new EventSlot(3, "echo", (client, list, ackRequest) -> args[0] = list.get(0), 0, String.class);
+
+        assertEquals(3, slot.getIndex());
+        assertEquals("echo", slot.getEvent());
+        assertArrayEquals(new Class<?>[] {String.class}, slot.getArgumentTypes());
+        assertEquals(0, slot.getMaxConcurrency());
+
+        assertTrue(slot.invoke(new StubSocketIOClient(), List.of("Hello"), null));
+        assertEquals("Hello", args[0]);
+        assertEquals(1, slot.getHandledCount());
+        assertEquals(0, slot.getFailedCount());
+        assertEquals(0, slot.getRejectedCount());
+        assertTrue(slot.getMaxNanos() >= 0);
+        assertTrue(slot.getTotalNanos() >= slot.getMaxNanos());
+    }
+
+    @Test
+    public void testInvokeFails() {
+        final var slot = new EventSlot(0, "echo", (client, list, ackRequest) -> {
+            throw new IllegalStateException("Failed");
+        }, 1, String.class);
+
+        assertThrows(IllegalStateException.class, () -> slot.invoke(new StubSocketIOClient(), List.of("Hello"), null));
+        assertEquals(1, slot.getHandledCount());
+        assertEquals(1, slot.getFailedCount());
+
+        /* The permit is released on failure */
+
+        assertThrows(IllegalStateException.class, () -> slot.invoke(new StubSocketIOClient(), List.of("Hello"), null));
+        assertEquals(0, slot.getRejectedCount());
+    }
+
+    @Test
+    public void testInvokeOverLimit() throws InterruptedException {
+        final var entered = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final var slot = new EventSlot(0, "echo", (client, list, ackRequest) -> {
+            entered.countDown();
+
+            try {
+                release.await();
+            } catch (final InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        }, 1, String.class);
+        final var isHandled = new AtomicBoolean(false);
+        final var thread = Thread.ofVirtual().start(() -> isHandled.set(slot.invoke(new StubSocketIOClient(), List.of("A"), null)));
+
+        entered.await();
+
+        assertFalse(slot.invoke(new StubSocketIOClient(), List.of("B"), null));
+        assertEquals(1, slot.getRejectedCount());
+
+        release.countDown();
+        thread.join();
+
+        assertTrue(isHandled.get());
+        assertTrue(slot.invoke(new StubSocketIOClient(), List.of("C"), null));
+        assertEquals(2, slot.getHandledCount());
+    }
+
+    @Test
+    public void testToString() {
+        final var slot = new EventSlot(0, "echo", (client, list, ackRequest) -> {}, 0, String.class);
+
+        assertTrue(slot.toString().startsWith("echo"));
+    }
+}
@@ -0,0 +1,82 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestExecutionConfig.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.Gson;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The handler execution configuration test class.
+ */
+public class TestExecutionConfig {
+    @Test
+    public void testDefaults() {
+        final var executionConfig = new ExecutionConfig();
+
+        assertTrue(executionConfig.isVirtualThreads());
+        assertEquals(256, executionConfig.getMaxConcurrency());
+        assertEquals(10000, executionConfig.getDrainTimeoutMillis());
+        assertEquals(0, executionConfig.getPipelineDepth());
+        assertEquals(8192, executionConfig.getMaxInFlight());
+        assertEquals(1024, executionConfig.getMaxSessionInFlight());
+        assertEquals(250, executionConfig.getRetryAfterMillis());
+        assertEquals(1, executionConfig.getDefaultWeight());
+        assertTrue(executionConfig.getClientWeights().isEmpty());
+        assertTrue(executionConfig.getHandlerConcurrency().isEmpty());
+    }
+
+    @Test
+    public void testPartialJsonKeepsDefaults() {
+        final var executionConfig = new Gson().fromJson("{\"maxConcurrency\": 64}", ExecutionConfig.class);
+
+        assertTrue(executionConfig.isVirtualThreads());
+        assertEquals(64, executionConfig.getMaxConcurrency());
+    }
+
+    @Test
+    public void testHandlerConcurrency() {
+        final var executionConfig = new Gson().fromJson("{\"handlerConcurrency\": {\"batch\": 8}}", ExecutionConfig.class);
+
+        assertEquals(Integer.valueOf(8), executionConfig.getHandlerConcurrency().get("batch"));
+        assertEquals(256, executionConfig.getMaxConcurrency());
+    }
+
+    @Test
+    public void testClientWeights() {
+        final var executionConfig = new Gson().fromJson("{\"clientWeights\": {\"cli\": 4}, \"defaultWeight\": 2}", ExecutionConfig.class);
+
+        assertEquals(Integer.valueOf(4), executionConfig.getClientWeights().get("cli"));
+        assertEquals(2, executionConfig.getDefaultWeight());
+    }
+}
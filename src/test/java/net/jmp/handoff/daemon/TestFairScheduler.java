@@ -0,0 +1,159 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestFairScheduler.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.ArrayList;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The fair scheduler test class.
+ */
+public class TestFairScheduler {
+    private static final class TestFlow extends FairScheduler.Flow<String> {
+        private boolean isReady = true;
+
+        private TestFlow(final int weight) {
+            super();
+
+            this.setWeight(weight);
+        }
+
+        @Override
+        boolean isReady(final String item) {
+            return this.isReady;
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        final var scheduler = new FairScheduler<String>();
+
+        assertNull(scheduler.next());
+        assertEquals(0, scheduler.size());
+        assertEquals(0, scheduler.getActiveFlowCount());
+    }
+
+    @Test
+    public void testOrderWithinFlow() {
+        final var scheduler = new FairScheduler<String>();
+        final var flow = new TestFlow(1);
+
+        scheduler.add(flow, "a");
+        scheduler.add(flow, "b");
+        scheduler.add(flow, "c");
+
+        assertEquals(3, flow.getItemCount());
+        assertEquals("a", scheduler.next());
+        assertEquals("b", scheduler.next());
+        assertEquals("c", scheduler.next());
+        assertNull(scheduler.next());
+        assertEquals(0, scheduler.getActiveFlowCount());
+    }
+
+    @Test
+    public void testWeightedShares() {
+        final var scheduler = new FairScheduler<String>();
+        final var heavy = new TestFlow(3);
+        final var light = new TestFlow(1);
+
+        for (int i = 0; i < 100; i++) {
+            scheduler.add(heavy, "heavy");
+            scheduler.add(light, "light");
+        }
+
+        final var taken = new ArrayList<String>();
+
+        for (int i = 0; i < 40; i++)
+            taken.add(scheduler.next());
+
+        assertEquals(30, taken.stream().filter("heavy"::equals).count());
+        assertEquals(10, taken.stream().filter("light"::equals).count());
+        assertEquals(160, scheduler.size());
+    }
+
+    @Test
+    public void testBusyFlowCannotMonopolise() {
+        final var scheduler = new FairScheduler<String>();
+        final var busy = new TestFlow(1);
+        final var quiet = new TestFlow(1);
+
+        for (int i = 0; i < 1000; i++)
+            scheduler.add(busy, "busy");
+
+        scheduler.next();
+        scheduler.add(quiet, "quiet");
+
+        assertTrue(scheduler.next().equals("quiet") || scheduler.next().equals("quiet"));
+    }
+
+    @Test
+    public void testFlowNotReadyLosesTurn() {
+        final var scheduler = new FairScheduler<String>();
+        final var blocked = new TestFlow(1);
+        final var open = new TestFlow(1);
+
+        blocked.isReady = false;
+
+        scheduler.add(blocked, "blocked");
+        scheduler.add(open, "open");
+
+        assertEquals("open", scheduler.next());
+        assertNull(scheduler.next());
+
+        blocked.isReady = true;
+
+        assertEquals("blocked", scheduler.next());
+    }
+
+    @Test
+    public void testClear() {
+        final var scheduler = new FairScheduler<String>();
+        final var flow = new TestFlow(2);
+
+        scheduler.add(flow, "a");
+        scheduler.clear();
+
+        assertNull(scheduler.next());
+        assertEquals(0, flow.getItemCount());
+
+        scheduler.add(flow, "b");
+
+        assertEquals("b", scheduler.next());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidWeight() {
+        new TestFlow(0);
+    }
+}
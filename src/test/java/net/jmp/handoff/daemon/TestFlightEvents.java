@@ -0,0 +1,104 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestFlightEvents.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.nio.file.Files;
+
+import java.time.Duration;
+
+import jdk.jfr.Recording;
+
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The flight recorder events test class.
+ */
+public class TestFlightEvents {
+    @Test
+    public void testRequestId() {
+        assertNull(FlightEvents.getRequestId());
+
+        FlightEvents.setRequestId("request-1");
+
+        assertEquals("request-1", FlightEvents.getRequestId());
+
+        FlightEvents.clearRequestId();
+
+        assertNull(FlightEvents.getRequestId());
+    }
+
+    @Test
+    public void testNotEnabledOutsideARecording() {
+        final var event = new FlightEvents.Decode();
+
+        assertFalse(event.isEnabled());
+
+        event.begin();
+        event.finish("ECHO", "session-1", "request-1");
+
+        assertNull(event.event);
+    }
+
+    @Test
+    public void testRecorded() throws Exception {
+        final var file = Files.createTempFile("handoff-events", ".jfr");
+
+        try (final var recording = new Recording()) {
+            recording.enable(FlightEvents.Handle.class.getName()).withoutStackTrace().withThreshold(Duration.ZERO);
+            recording.start();
+
+            final var event = new FlightEvents.Handle();
+
+            event.begin();
+            event.finish("ECHO", "session-1", "request-1");
+
+            recording.stop();
+            recording.dump(file);
+
+            final var recorded = RecordingFile.readAllEvents(file).stream()
+                    .filter(e -> e.getEventType().getName().equals("net.jmp.handoff.Handle"))
+                    .toList();
+
+            assertEquals(1, recorded.size());
+            assertEquals("ECHO", recorded.get(0).getString("event"));
+            assertEquals("session-1", recorded.get(0).getString("sessionId"));
+            assertEquals("request-1", recorded.get(0).getString("requestId"));
+            assertTrue(recorded.get(0).getEventType().getCategoryNames().contains(FlightEvents.CATEGORY));
+            assertNull(recorded.get(0).getStackTrace());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestFlightRecorderControl.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.io.IOException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.util.Comparator;
+
+import java.util.stream.Stream;
+
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The flight recorder control test class.
+ */
+public class TestFlightRecorderControl {
+    private Path directory;
+    private FlightRecorderConfig flightRecorderConfig;
+
+    @Before
+    public void before() throws IOException {
+        this.directory = Files.createTempDirectory("handoff-recordings");
+        this.flightRecorderConfig = new FlightRecorderConfig();
+        this.flightRecorderConfig.setDirectory(this.directory.resolve("jfr").toString());
+    }
+
+    @After
+    public void after() throws IOException {
+        try (final Stream<Path> paths = Files.walk(this.directory)) {
+            for (final var path : paths.sorted(Comparator.reverseOrder()).toList())
+                Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testStartDumpStop() throws IOException {
+        final var control = new FlightRecorderControl(this.flightRecorderConfig, () -> 0L);
+
+        assertFalse(control.isRecording());
+        assertTrue(control.start());
+        assertTrue(control.isRecording());
+        assertFalse(control.start());
+
+        final var event = new FlightEvents.Send();
+
+        event.begin();
+        event.finish("ECHO", "session-1", "request-1");
+
+        final var dumped = control.dump();
+
+        assertTrue(control.isRecording());
+        assertTrue(Files.exists(dumped));
+        assertTrue(dumped.isAbsolute());
+        assertTrue(dumped.getFileName().toString().matches("handoff-\\d+-19700101T000000\\.000Z-1\\.jfr"));
+
+        final var stopped = control.stop();
+
+        assertFalse(control.isRecording());
+        assertTrue(Files.exists(stopped));
+        assertNotEquals(dumped, stopped);
+        assertTrue(RecordingFile.readAllEvents(stopped).stream()
+                .anyMatch(e -> e.getEventType().getName().equals("net.jmp.handoff.Send")
+                        && "request-1".equals(e.getString("requestId"))));
+    }
+
+    @Test
+    public void testNotRecording() throws IOException {
+        final var control = new FlightRecorderControl(this.flightRecorderConfig, () -> 0L);
+
+        assertNull(control.dump());
+        assertNull(control.stop());
+        assertFalse(Files.exists(this.directory.resolve("jfr")));
+    }
+
+    @Test(expected = IOException.class)
+    public void testUnknownSettings() throws IOException {
+        this.flightRecorderConfig.setSettings("no-such-settings");
+
+        new FlightRecorderControl(this.flightRecorderConfig, () -> 0L).start();
+    }
+}
@@ -0,0 +1,60 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestHandlerContext.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * The handler context test class.
+ */
+public class TestHandlerContext {
+    @Test
+    public void testGetters() {
+        final var request = Request.getBuilder()
+                .id("request-1")
+                .dateTime("2026-10-18T12:00:00.000Z")
+                .event(SocketEvents.ECHO)
+                .content("Hello")
+                .build();
+
+        request.setEvent("uppercase");
+
+        final var context = new HandlerContext(request, "session-1");
+
+        assertEquals("uppercase", context.getEvent());
+        assertEquals("request-1", context.getRequestId());
+        assertEquals("session-1", context.getSessionId());
+        assertEquals("2026-10-18T12:00:00.000Z", context.getDateTime());
+        assertEquals("Hello", context.getContent());
+    }
+}
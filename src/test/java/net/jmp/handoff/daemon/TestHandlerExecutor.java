@@ -0,0 +1,408 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestHandlerExecutor.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The handler executor test class.
+ */
+public class TestHandlerExecutor {
+    private static ExecutionConfig executionConfig(final boolean virtualThreads, final int maxConcurrency) {
+        final var executionConfig = new ExecutionConfig();
+
+        executionConfig.setVirtualThreads(virtualThreads);
+        executionConfig.setMaxConcurrency(maxConcurrency);
+
+        return executionConfig;
+    }
+
+    private static ExecutionConfig pipelinedConfig(final int maxConcurrency, final int pipelineDepth) {
+        final var executionConfig = executionConfig(true, maxConcurrency);
+
+        executionConfig.setPipelineDepth(pipelineDepth);
+
+        return executionConfig;
+    }
+
+    @Test
+    public void testOrderedPerSession() throws InterruptedException {
+        final var sessions = 8;
+        final var tasksPerSession = 500;
+        final var results = new ArrayList<List<Integer>>();
+        final var done = new CountDownLatch(sessions * tasksPerSession);
+
+        try (final var executor = new HandlerExecutor(executionConfig(true, 4))) {
+            final var sessionIds = new ArrayList<UUID>();
+
+            for (int s = 0; s < sessions; s++) {
+                sessionIds.add(UUID.randomUUID());
+                results.add(Collections.synchronizedList(new ArrayList<>()));
+            }
+
+            for (int i = 0; i < tasksPerSession; i++) {
+                for (int s = 0; s < sessions; s++) {
+                    final var session = s;
+                    final var sequence = i;
+
+                    executor.execute(sessionIds.get(s), () -> {
+                        results.get(session).add(sequence);
+                        done.countDown();
+                    });
+                }
+            }
+
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        }
+
+        for (final var result : results) {
+            assertEquals(tasksPerSession, result.size());
+
+            for (int i = 0; i < tasksPerSession; i++)
+                assertEquals(Integer.valueOf(i), result.get(i));
+        }
+    }
+
+    @Test
+    public void testConcurrencyBound() throws InterruptedException {
+        final var maxConcurrency = 3;
+        final var running = new AtomicInteger();
+        final var maxRunning = new AtomicInteger();
+        final var done = new CountDownLatch(40);
+
+        try (final var executor = new HandlerExecutor(executionConfig(true, maxConcurrency))) {
+            for (int i = 0; i < 40; i++) {
+                executor.execute(UUID.randomUUID(), () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+
+                    try {
+                        Thread.sleep(5);
+                    } catch (final InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                    }
+
+                    running.decrementAndGet();
+                    done.countDown();
+                });
+            }
+
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        }
+
+        assertTrue(maxRunning.get() <= maxConcurrency);
+        assertTrue(maxRunning.get() > 1);
+    }
+
+    @Test
+    public void testRunsOnVirtualThreads() throws InterruptedException {
+        final var isVirtual = new AtomicBoolean();
+        final var done = new CountDownLatch(1);
+
+        try (final var executor = new HandlerExecutor(executionConfig(true, 1))) {
+            executor.execute(UUID.randomUUID(), () -> {
+                isVirtual.set(Thread.currentThread().isVirtual());
+                done.countDown();
+            });
+
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        }
+
+        assertTrue(isVirtual.get());
+    }
+
+    @Test
+    public void testRunsOnCallerWhenDisabled() {
+        final var thread = new ArrayList<Thread>();
+
+        try (final var executor = new HandlerExecutor(executionConfig(false, 1))) {
+            executor.execute(UUID.randomUUID(), () -> thread.add(Thread.currentThread()));
+        }
+
+        assertEquals(List.of(Thread.currentThread()), thread);
+    }
+
+    @Test
+    public void testFailingTaskDoesNotStopSession() throws InterruptedException {
+        final var sessionId = UUID.randomUUID();
+        final var done = new CountDownLatch(1);
+
+        try (final var executor = new HandlerExecutor(executionConfig(true, 2))) {
+            executor.execute(sessionId, () -> {
+                throw new IllegalStateException("Expected by the test");
+            });
+            executor.execute(sessionId, done::countDown);
+
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testExecuteLastForgetsSession() throws InterruptedException {
+        final var sessionId = UUID.randomUUID();
+        final var done = new CountDownLatch(1);
+
+        try (final var executor = new HandlerExecutor(executionConfig(true, 2))) {
+            executor.execute(sessionId, () -> { });
+            executor.executeLast(sessionId, done::countDown);
+
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+
+            final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+            while (executor.getSessionCount() != 0 && System.nanoTime() < deadline)
+                Thread.sleep(1);
+
+            assertEquals(0, executor.getSessionCount());
+        }
+    }
+
+    @Test
+    public void testAwaitIdle() throws InterruptedException {
+        final var release = new CountDownLatch(1);
+
+        try (final var executor = new HandlerExecutor(executionConfig(true, 2))) {
+            assertTrue(executor.awaitIdle(0));
+
+            executor.execute(UUID.randomUUID(), () -> {
+                try {
+                    release.await();
+                } catch (final InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            assertEquals(1, executor.getInFlightCount());
+            assertFalse(executor.awaitIdle(50));
+
+            release.countDown();
+
+            assertTrue(executor.awaitIdle(10_000));
+            assertEquals(0, executor.getInFlightCount());
+        }
+    }
+
+    @Test
+    public void testAbandon() throws InterruptedException {
+        final var sessionId = UUID.randomUUID();
+        final var started = new CountDownLatch(1);
+        final var isInterrupted = new AtomicBoolean();
+        final var isSecondRun = new AtomicBoolean();
+        final var executor = new HandlerExecutor(executionConfig(true, 1));
+
+        executor.execute(sessionId, () -> {
+            started.countDown();
+
+            try {
+                Thread.sleep(10_000);
+            } catch (final InterruptedException ie) {
+                isInterrupted.set(true);
+            }
+        });
+        executor.execute(sessionId, () -> isSecondRun.set(true));
+
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        executor.abandon();
+        executor.close();
+
+        assertTrue(isInterrupted.get());
+        assertFalse(isSecondRun.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidConcurrency() {
+        new HandlerExecutor(executionConfig(true, 0));
+    }
+
+    @Test
+    public void testPipelinedDeliversInOrder() throws InterruptedException {
+        final var sessionId = UUID.randomUUID();
+        final var tasks = 200;
+        final var delivered = Collections.synchronizedList(new ArrayList<Integer>());
+        final var running = new AtomicInteger();
+        final var maxRunning = new AtomicInteger();
+
+        try (final var executor = new HandlerExecutor(pipelinedConfig(64, 16))) {
+            for (int i = 0; i < tasks; i++) {
+                final var sequence = i;
+
+                executor.execute(sessionId, () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+
+                    try {
+                        Thread.sleep((sequence * 7) % 5);
+                    } catch (final InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                    }
+
+                    running.decrementAndGet();
+
+                    ResponseSequencer.deliver(() -> delivered.add(sequence));
+                });
+            }
+
+            assertTrue(executor.awaitIdle(10000));
+        }
+
+        assertEquals(tasks, delivered.size());
+
+        for (int i = 0; i < tasks; i++)
+            assertEquals(Integer.valueOf(i), delivered.get(i));
+
+        assertTrue(maxRunning.get() > 1);
+        assertTrue(maxRunning.get() <= 16);
+    }
+
+    @Test
+    public void testPipelinedLastTaskWaits() throws InterruptedException {
+        final var sessionId = UUID.randomUUID();
+        final var release = new CountDownLatch(1);
+        final var order = Collections.synchronizedList(new ArrayList<String>());
+
+        try (final var executor = new HandlerExecutor(pipelinedConfig(8, 4))) {
+            executor.execute(sessionId, () -> {
+                try {
+                    release.await();
+                } catch (final InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+
+                order.add("first");
+            });
+            executor.executeLast(sessionId, () -> order.add("last"));
+
+            Thread.sleep(50);
+
+            assertTrue(order.isEmpty());
+
+            release.countDown();
+
+            assertTrue(executor.awaitIdle(10000));
+        }
+
+        assertEquals(List.of("first", "last"), order);
+    }
+
+    @Test
+    public void testDeliverWithoutPipelining() {
+        final var delivered = new ArrayList<String>();
+
+        try (final var executor = new HandlerExecutor(executionConfig(false, 1))) {
+            executor.execute(UUID.randomUUID(), () -> ResponseSequencer.deliver(() -> delivered.add("now")));
+
+            assertEquals(List.of("now"), delivered);
+        }
+    }
+
+    @Test
+    public void testNegativePipelineDepth() {
+        assertThrows(IllegalArgumentException.class, () -> new HandlerExecutor(pipelinedConfig(1, -1)));
+    }
+
+    @Test
+    public void testWeightedFairShares() throws InterruptedException {
+        final var heavyId = UUID.randomUUID();
+        final var lightId = UUID.randomUUID();
+        final var release = new CountDownLatch(1);
+        final var order = Collections.synchronizedList(new ArrayList<String>());
+
+        try (final var executor = new HandlerExecutor(pipelinedConfig(1, 64))) {
+            executor.setWeight(heavyId, 3);
+            executor.setWeight(lightId, 1);
+
+            /* Hold the one place to run so that everything else queues */
+
+            executor.execute(UUID.randomUUID(), () -> {
+                try {
+                    release.await();
+                } catch (final InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            for (int i = 0; i < 40; i++) {
+                executor.execute(heavyId, () -> order.add("heavy"));
+                executor.execute(lightId, () -> order.add("light"));
+            }
+
+            release.countDown();
+
+            assertTrue(executor.awaitIdle(10000));
+        }
+
+        final var first = order.subList(0, 40);
+
+        assertEquals(30, first.stream().filter("heavy"::equals).count());
+        assertEquals(10, first.stream().filter("light"::equals).count());
+    }
+
+    @Test
+    public void testBusySessionCannotMonopolise() throws InterruptedException {
+        final var busyId = UUID.randomUUID();
+        final var release = new CountDownLatch(1);
+        final var order = Collections.synchronizedList(new ArrayList<String>());
+
+        try (final var executor = new HandlerExecutor(executionConfig(true, 1))) {
+            executor.execute(busyId, () -> {
+                try {
+                    release.await();
+                } catch (final InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            for (int i = 0; i < 100; i++)
+                executor.execute(busyId, () -> order.add("busy"));
+
+            executor.execute(UUID.randomUUID(), () -> order.add("quiet"));
+
+            release.countDown();
+
+            assertTrue(executor.awaitIdle(10000));
+        }
+
+        assertEquals(101, order.size());
+        assertTrue(order.indexOf("quiet") <= 1);
+    }
+}
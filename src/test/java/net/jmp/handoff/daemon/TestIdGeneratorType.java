@@ -0,0 +1,62 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestIdGeneratorType.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The identifier generator type test class.
+ */
+public class TestIdGeneratorType {
+    @Test
+    public void testFromValue() {
+        assertEquals(IdGeneratorType.TIME_ORDERED, IdGeneratorType.fromValue("uuid-v7"));
+        assertEquals(IdGeneratorType.RANDOM, IdGeneratorType.fromValue("UUID-V4"));
+        assertEquals(IdGeneratorType.COUNTER, IdGeneratorType.fromValue("counter"));
+        assertEquals(IdGeneratorType.RANDOM, IdGeneratorType.fromValue(null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFromValueUnrecognized() {
+        IdGeneratorType.fromValue("uuid-v1");
+    }
+
+    @Test
+    public void testCreate() {
+        final var timeSource = new CachedTimeSource();
+
+        assertTrue(IdGeneratorType.TIME_ORDERED.create(timeSource) instanceof TimeOrderedIdGenerator);
+        assertTrue(IdGeneratorType.RANDOM.create(timeSource) instanceof RandomIdGenerator);
+        assertTrue(IdGeneratorType.COUNTER.create(timeSource) instanceof CounterIdGenerator);
+    }
+}
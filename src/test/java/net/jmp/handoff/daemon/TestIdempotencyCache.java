@@ -0,0 +1,245 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestIdempotencyCache.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The idempotency cache test class.
+ */
+public class TestIdempotencyCache {
+    private static IdempotencyConfig idempotencyConfig(final long ttlMillis, final int maxEntries, final long maxBytes) {
+        final var idempotencyConfig = new IdempotencyConfig();
+
+        idempotencyConfig.setTtlMillis(ttlMillis);
+        idempotencyConfig.setMaxEntries(maxEntries);
+        idempotencyConfig.setMaxBytes(maxBytes);
+
+        return idempotencyConfig;
+    }
+
+    @Test
+    public void testHitAndMiss() {
+        final var cache = new IdempotencyCache(idempotencyConfig(60000, 10, 1 << 20));
+
+        assertNull(cache.begin("client-1", "request-1", "echo"));
+
+        cache.put("client-1", "request-1", "echo", "{\"id\":\"response-1\"}");
+
+        assertEquals("{\"id\":\"response-1\"}", cache.begin("client-1", "request-1", "echo"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.size());
+        assertTrue(cache.getByteCount() > 0);
+    }
+
+    @Test
+    public void testOtherEventMisses() {
+        final var cache = new IdempotencyCache(idempotencyConfig(60000, 10, 1 << 20));
+
+        cache.put("client-1", "request-1", "echo", "{}");
+
+        assertNull(cache.begin("client-1", "request-1", "version"));
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testOtherClientMisses() {
+        final var cache = new IdempotencyCache(idempotencyConfig(60000, 10, 1 << 20));
+
+        cache.put("client-1", "request-1", "echo", "{}");
+
+        assertNull(cache.begin("client-2", "request-1", "echo"));
+        assertEquals("{}", cache.begin("client-1", "request-1", "echo"));
+    }
+
+    @Test
+    public void testNullRequestId() {
+        final var cache = new IdempotencyCache(idempotencyConfig(60000, 10, 1 << 20));
+
+        cache.put("client-1", null, "echo", "{}");
+
+        assertNull(cache.begin("client-1", null, "echo"));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    public void testExpiry() {
+        final var now = new AtomicLong();
+        final var cache = new IdempotencyCache(idempotencyConfig(1000, 10, 1 << 20), now::get);
+
+        cache.put("client-1", "request-1", "echo", "{}");
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        cache.put("client-1", "request-2", "echo", "{}");
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(600));
+
+        assertNull(cache.begin("client-1", "request-1", "echo"));
+        assertEquals("{}", cache.begin("client-1", "request-2", "echo"));
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testMaxEntries() {
+        final var cache = new IdempotencyCache(idempotencyConfig(60000, 2, 1 << 20));
+
+        cache.put("client-1", "request-1", "echo", "{}");
+        cache.put("client-1", "request-2", "echo", "{}");
+        cache.put("client-1", "request-3", "echo", "{}");
+
+        assertNull(cache.begin("client-1", "request-1", "echo"));
+        assertNotNull(cache.begin("client-1", "request-3", "echo"));
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testMaxBytes() {
+        final var response = "x".repeat(1000);
+        final var cache = new IdempotencyCache(idempotencyConfig(60000, 100, 5000));
+
+        for (int i = 0; i < 5; i++)
+            cache.put("client-1", "request-" + i, "echo", response);
+
+        assertTrue(cache.getByteCount() <= 5000);
+        assertEquals(2, cache.size());
+        assertNotNull(cache.begin("client-1", "request-4", "echo"));
+        assertNull(cache.begin("client-1", "request-0", "echo"));
+
+        /* A response too large on its own is not remembered */
+
+        cache.put("client-1", "request-big", "echo", "x".repeat(10000));
+
+        assertNull(cache.begin("client-1", "request-big", "echo"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testReplace() {
+        final var cache = new IdempotencyCache(idempotencyConfig(60000, 10, 1 << 20));
+
+        cache.put("client-1", "request-1", "echo", "{\"a\":1}");
+
+        final var bytes = cache.getByteCount();
+
+        cache.put("client-1", "request-1", "echo", "{\"a\":2}");
+
+        assertEquals("{\"a\":2}", cache.begin("client-1", "request-1", "echo"));
+        assertEquals(bytes, cache.getByteCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testCopyWaitsForResponse() throws Exception {
+        final var cache = new IdempotencyCache(idempotencyConfig(60000, 10, 1 << 20));
+
+        assertNull(cache.begin("client-1", "request-1", "echo"));
+
+        final var copy = CompletableFuture.supplyAsync(() -> cache.begin("client-1", "request-1", "echo"));
+
+        Thread.sleep(100);
+
+        assertFalse(copy.isDone());
+
+        cache.put("client-1", "request-1", "echo", "{}");
+
+        assertEquals("{}", copy.get(5, TimeUnit.SECONDS));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testAbandonReleasesCopy() throws Exception {
+        final var cache = new IdempotencyCache(idempotencyConfig(60000, 10, 1 << 20));
+
+        assertNull(cache.begin("client-1", "request-1", "echo"));
+
+        final var copy = CompletableFuture.supplyAsync(() -> cache.begin("client-1", "request-1", "echo"));
+
+        Thread.sleep(100);
+
+        cache.abandon("client-1", "request-1", "echo");
+
+        /* The copy now runs the handler itself */
+
+        assertNull(copy.get(5, TimeUnit.SECONDS));
+        assertEquals(2, cache.getMissCount());
+        assertEquals(0, cache.size());
+
+        cache.put("client-1", "request-1", "echo", "{}");
+        cache.abandon("client-1", "request-1", "echo");
+
+        assertEquals("{}", cache.begin("client-1", "request-1", "echo"));
+    }
+
+    @Test
+    public void testInProgressExpires() {
+        final var now = new AtomicLong();
+        final var cache = new IdempotencyCache(idempotencyConfig(1000, 10, 1 << 20), now::get);
+
+        assertNull(cache.begin("client-1", "request-1", "echo"));
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1001));
+
+        assertNull(cache.begin("client-1", "request-1", "echo"));
+        assertEquals(2, cache.getMissCount());
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testTooLargeHandedToCopy() throws Exception {
+        final var cache = new IdempotencyCache(idempotencyConfig(60000, 10, 1000));
+
+        assertNull(cache.begin("client-1", "request-1", "echo"));
+
+        final var copy = CompletableFuture.supplyAsync(() -> cache.begin("client-1", "request-1", "echo"));
+
+        Thread.sleep(100);
+
+        cache.put("client-1", "request-1", "echo", "x".repeat(1000));
+
+        assertEquals("x".repeat(1000), copy.get(5, TimeUnit.SECONDS));
+        assertEquals(0, cache.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidConfig() {
+        new IdempotencyCache(idempotencyConfig(0, 10, 1));
+    }
+}
@@ -0,0 +1,61 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestIdempotencyConfig.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.Gson;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The idempotency configuration test class.
+ */
+public class TestIdempotencyConfig {
+    @Test
+    public void testDefaults() {
+        final var idempotencyConfig = new IdempotencyConfig();
+
+        assertTrue(idempotencyConfig.isEnabled());
+        assertEquals(300000, idempotencyConfig.getTtlMillis());
+        assertEquals(100000, idempotencyConfig.getMaxEntries());
+        assertEquals(67108864, idempotencyConfig.getMaxBytes());
+    }
+
+    @Test
+    public void testPartialJsonKeepsDefaults() {
+        final var idempotencyConfig = new Gson().fromJson("{\"ttlMillis\": 1000}", IdempotencyConfig.class);
+
+        assertTrue(idempotencyConfig.isEnabled());
+        assertEquals(1000, idempotencyConfig.getTtlMillis());
+        assertEquals(100000, idempotencyConfig.getMaxEntries());
+    }
+}
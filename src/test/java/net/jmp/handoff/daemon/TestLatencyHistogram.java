@@ -0,0 +1,90 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestLatencyHistogram.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The latency histogram test class.
+ */
+public class TestLatencyHistogram {
+    @Test
+    public void testGetBucket() {
+        assertEquals(0, LatencyHistogram.getBucket(0));
+        assertEquals(0, LatencyHistogram.getBucket(1024));
+        assertEquals(1, LatencyHistogram.getBucket(1025));
+        assertEquals(1, LatencyHistogram.getBucket(2048));
+        assertEquals(10, LatencyHistogram.getBucket(1_000_000));
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.getBucket(1L << 33));
+        assertEquals(LatencyHistogram.BUCKET_COUNT, LatencyHistogram.getBucket((1L << 33) + 1));
+        assertEquals(LatencyHistogram.BUCKET_COUNT, LatencyHistogram.getBucket(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testGetUpperBoundNanos() {
+        assertEquals(1024, LatencyHistogram.getUpperBoundNanos(0));
+        assertEquals(1L << 33, LatencyHistogram.getUpperBoundNanos(LatencyHistogram.BUCKET_COUNT - 1));
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.getUpperBoundNanos(LatencyHistogram.BUCKET_COUNT));
+    }
+
+    @Test
+    public void testRecord() {
+        final var histogram = new LatencyHistogram();
+
+        histogram.record(500);
+        histogram.record(1500);
+        histogram.record(-1);
+
+        assertEquals(3, histogram.getCount());
+        assertEquals(2000, histogram.getTotalNanos());
+        assertEquals(1500, histogram.getMaxNanos());
+        assertEquals(2, histogram.getBucketCount(0));
+        assertEquals(1, histogram.getBucketCount(1));
+    }
+
+    @Test
+    public void testGetQuantileNanos() {
+        final var histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getQuantileNanos(0.5));
+
+        for (int i = 0; i < 99; i++)
+            histogram.record(1000);
+
+        histogram.record(100_000);
+
+        assertEquals(1024, histogram.getQuantileNanos(0.5));
+        assertEquals(1024, histogram.getQuantileNanos(0.99));
+        assertEquals(100_000, histogram.getQuantileNanos(1.0));
+    }
+}
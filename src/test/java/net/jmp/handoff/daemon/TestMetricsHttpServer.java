@@ -0,0 +1,75 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestMetricsHttpServer.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.net.URI;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The metrics HTTP server test class.
+ */
+public class TestMetricsHttpServer {
+    @Test
+    public void testScrape() throws Exception {
+        final var metricsConfig = new MetricsConfig();
+        final var registry = new MetricsRegistry();
+
+        metricsConfig.setHttpPort(0);
+        registry.gauge("handoff_sessions_active", "", "Sessions connected", () -> 7);
+
+        final var metricsHttpServer = new MetricsHttpServer(metricsConfig, registry);
+
+        metricsHttpServer.start();
+
+        try (final var httpClient = HttpClient.newHttpClient()) {
+            final var uri = URI.create("http://localhost:" + metricsHttpServer.getPort() + "/metrics");
+            final var response = httpClient.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(200, response.statusCode());
+            assertEquals(MetricsRegistry.PROMETHEUS_CONTENT_TYPE, response.headers().firstValue("Content-Type").orElse(null));
+            assertTrue(response.body().contains("handoff_sessions_active 7\n"));
+
+            final var post = httpClient.send(HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.noBody()).build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(405, post.statusCode());
+        } finally {
+            metricsHttpServer.stop();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestMetricsRegistry.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The metrics registry test class.
+ */
+public class TestMetricsRegistry {
+    @Test
+    public void testPrometheusText() {
+        final var registry = new MetricsRegistry();
+        final var echoCount = new AtomicLong(3);
+
+        registry.counter("handoff_requests_handled_total", "event=\"ECHO\"", "Requests handled", echoCount::get);
+        registry.counter("handoff_requests_handled_total", "event=\"STOP\"", "Requests handled", () -> 1);
+        registry.gauge("handoff_sessions_active", "", "Sessions connected", () -> 2);
+
+        echoCount.incrementAndGet();
+
+        final var text = registry.toPrometheusText();
+
+        assertEquals(2, registry.getFamilyCount());
+        assertEquals(1, text.split("# TYPE handoff_requests_handled_total counter", -1).length - 1);
+        assertTrue(text.contains("# HELP handoff_requests_handled_total Requests handled\n"));
+        assertTrue(text.contains("handoff_requests_handled_total{event=\"ECHO\"} 4\n"));
+        assertTrue(text.contains("handoff_requests_handled_total{event=\"STOP\"} 1\n"));
+        assertTrue(text.contains("# TYPE handoff_sessions_active gauge\nhandoff_sessions_active 2\n"));
+    }
+
+    @Test
+    public void testHistogramText() {
+        final var registry = new MetricsRegistry();
+        final var histogram = new LatencyHistogram();
+
+        histogram.record(1000);
+        histogram.record(3000);
+
+        registry.histogram("handoff_decode_seconds", "event=\"ECHO\"", "Time spent decoding", histogram);
+
+        final var text = registry.toPrometheusText();
+
+        assertTrue(text.contains("# TYPE handoff_decode_seconds histogram\n"));
+        assertTrue(text.contains("handoff_decode_seconds_bucket{event=\"ECHO\",le=\"1.024E-6\"} 1\n"));
+        assertTrue(text.contains("handoff_decode_seconds_bucket{event=\"ECHO\",le=\"2.048E-6\"} 1\n"));
+        assertTrue(text.contains("handoff_decode_seconds_bucket{event=\"ECHO\",le=\"4.096E-6\"} 2\n"));
+        assertTrue(text.contains("handoff_decode_seconds_bucket{event=\"ECHO\",le=\"+Inf\"} 2\n"));
+        assertTrue(text.contains("handoff_decode_seconds_sum{event=\"ECHO\"} 4.0E-6\n"));
+        assertTrue(text.contains("handoff_decode_seconds_count{event=\"ECHO\"} 2\n"));
+    }
+
+    @Test
+    public void testSnapshot() {
+        final var registry = new MetricsRegistry();
+        final var histogram = new LatencyHistogram();
+
+        histogram.record(1_000_000);
+
+        registry.counter("handoff_connects_total", "", "Clients connected", () -> 5);
+        registry.histogram("handoff_send_seconds", "", "Time spent sending", histogram);
+
+        final var snapshot = registry.snapshot();
+
+        assertEquals(5L, snapshot.get("handoff_connects_total"));
+        assertEquals(1L, snapshot.get("handoff_send_seconds_count"));
+        assertEquals(0.001, snapshot.get("handoff_send_seconds_max").doubleValue(), 1e-12);
+        assertEquals(0.001, snapshot.get("handoff_send_seconds_p99").doubleValue(), 1e-12);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTypeConflict() {
+        final var registry = new MetricsRegistry();
+
+        registry.counter("handoff_sessions", "", "Sessions", () -> 0);
+        registry.gauge("handoff_sessions", "", "Sessions", () -> 0);
+    }
+
+    @Test
+    public void testQuote() {
+        assertEquals("\"Not OK\"", MetricsRegistry.quote("Not OK"));
+        assertEquals("\"a\\\"b\\\\c\\nd\"", MetricsRegistry.quote("a\"b\\c\nd"));
+    }
+}
@@ -0,0 +1,92 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestRandomIdGenerator.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The random identifier generator test class.
+ */
+public class TestRandomIdGenerator {
+    @Test
+    public void testVersion() {
+        final var uuid = UUID.fromString(new RandomIdGenerator().nextId());
+
+        assertEquals(4, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    public void testUniqueAcrossThreads() throws Throwable {
+        final var generator = new RandomIdGenerator();
+        final Set<String> ids = ConcurrentHashMap.newKeySet();
+        final var threads = new HashSet<Thread>();
+
+        for (int t = 0; t < 4; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 10_000; i++)
+                    ids.add(generator.nextId());
+            }));
+        }
+
+        for (final var thread : threads)
+            thread.join();
+
+        assertEquals(40_000, ids.size());
+    }
+
+    @Test
+    public void testUniqueAcrossVirtualThreads() throws Throwable {
+        final var generator = new RandomIdGenerator();
+        final Set<String> ids = ConcurrentHashMap.newKeySet();
+
+        /* A virtual thread per ID, as the handler executor runs a task per request */
+
+        try (final var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 20_000; i++)
+                executor.execute(() -> ids.add(generator.nextId()));
+        }
+
+        assertEquals(20_000, ids.size());
+
+        for (final var id : ids)
+            assertEquals(4, UUID.fromString(id).version());
+    }
+}
@@ -0,0 +1,59 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestRecordingContent.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The recording content test class.
+ */
+public class TestRecordingContent {
+    private static final RecordingContent recordingContent = new RecordingContent(true, "/tmp/handoff.jfr");
+
+    @Test
+    public void testIsRecording() {
+        assertTrue(recordingContent.isRecording());
+        assertFalse(new RecordingContent().isRecording());
+    }
+
+    @Test
+    public void testGetPath() {
+        assertEquals("/tmp/handoff.jfr", recordingContent.getPath());
+        assertNull(new RecordingContent().getPath());
+    }
+
+    @Test
+    public void testGetType() {
+        assertEquals("Recording", recordingContent.getType());
+    }
+}
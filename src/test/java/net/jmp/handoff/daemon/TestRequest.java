@@ -1,10 +1,11 @@
 package net.jmp.handoff.daemon;
 
 /*
+ * (#)TestRequest.java  0.8.0   10/18/2026
  * (#)TestRequest.java  0.6.0   04/23/2024
  *
  * @author    Jonathan Parker
- * @version   0.6.0
+ * @version   0.8.0
  * @since     0.6.0
  *
  * MIT License
@@ -53,12 +54,14 @@ public class TestRequest {
         request.setId(id);
         request.setDateTime("2024-04-22T20:02:09.952Z");
         request.setType("Request");
+        request.setRoom("editors");
 
         builtRequest = Request.getBuilder()
                 .content("the free form text content")
                 .event(SocketEvents.ECHO)
                 .id(id)
                 .dateTime("2024-04-22T20:02:09.952Z")
+                .room("editors")
                 .build();
     }
 
@@ -91,4 +94,10 @@ public class TestRequest {
         assertEquals("Request", request.getType());
         assertEquals("Request", builtRequest.getType());
     }
+
+    @Test
+    public void testGetRoom() {
+        assertEquals("editors", request.getRoom());
+        assertEquals("editors", builtRequest.getRoom());
+    }
 }
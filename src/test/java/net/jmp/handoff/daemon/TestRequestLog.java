@@ -0,0 +1,173 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestRequestLog.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import ch.qos.logback.core.read.ListAppender;
+
+import com.google.gson.JsonParser;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import org.slf4j.LoggerFactory;
+
+/**
+ * The request log test class.
+ */
+public class TestRequestLog {
+    private static final long MILLIS = 1_000_000L;
+
+    private Logger logger;
+    private Level level;
+    private ListAppender<ILoggingEvent> appender;
+
+    @Before
+    public void before() {
+        this.logger = (Logger) LoggerFactory.getLogger(RequestLog.class.getName());
+        this.level = this.logger.getLevel();
+        this.appender = new ListAppender<>();
+        this.appender.start();
+        this.logger.setLevel(Level.INFO);
+        this.logger.addAppender(this.appender);
+    }
+
+    @After
+    public void after() {
+        this.logger.detachAppender(this.appender);
+        this.logger.setLevel(this.level);
+    }
+
+    private static RequestLog getRequestLog(final double sampleRate) {
+        final var requestLogConfig = new RequestLogConfig();
+
+        requestLogConfig.setSampleRate(sampleRate);
+        requestLogConfig.setSlowMillis(100);
+
+        return new RequestLog(requestLogConfig);
+    }
+
+    @Test
+    public void testErrorsAndSlowRequestsAreAlwaysLogged() {
+        final var requestLog = getRequestLog(0);
+
+        requestLog.log("ECHO", "session-1", "request-1", ResponseCode.OK, MILLIS);
+        requestLog.log("ECHO", "session-1", "request-2", ResponseCode.NOT_OK, MILLIS);
+        requestLog.log("ECHO", "session-1", "request-3", ResponseCode.OVERLOADED, MILLIS);
+        requestLog.log("ECHO", "session-1", "request-4", null, MILLIS);
+        requestLog.log("ECHO", "session-1", "request-5", ResponseCode.OK, 100 * MILLIS);
+
+        assertEquals(4, this.appender.list.size());
+        assertEquals(4, requestLog.getWrittenCount());
+        assertEquals(1, requestLog.getSkippedCount());
+
+        for (final var event : this.appender.list)
+            assertEquals(Level.WARN, event.getLevel());
+
+        final var slow = JsonParser.parseString(this.appender.list.get(3).getFormattedMessage()).getAsJsonObject();
+
+        assertEquals("request-5", slow.get("requestId").getAsString());
+        assertEquals("slow", slow.get("reason").getAsString());
+        assertEquals(100_000, slow.get("micros").getAsLong());
+
+        final var noResponse = JsonParser.parseString(this.appender.list.get(2).getFormattedMessage()).getAsJsonObject();
+
+        assertEquals("error", noResponse.get("reason").getAsString());
+        assertTrue(noResponse.get("code").isJsonNull());
+    }
+
+    @Test
+    public void testSampled() {
+        final var requestLog = getRequestLog(1);
+
+        requestLog.log("ECHO", "session-1", "request-1", ResponseCode.OK, MILLIS);
+
+        assertEquals(1, this.appender.list.size());
+        assertEquals(Level.INFO, this.appender.list.get(0).getLevel());
+        assertEquals("{\"event\":\"ECHO\",\"sessionId\":\"session-1\",\"requestId\":\"request-1\",\"code\":\"OK\",\"micros\":1000,\"reason\":\"sampled\"}",
+                this.appender.list.get(0).getFormattedMessage());
+        assertEquals(0, requestLog.getSkippedCount());
+    }
+
+    @Test
+    public void testDisabled() {
+        final var requestLogConfig = new RequestLogConfig();
+
+        requestLogConfig.setEnabled(false);
+
+        final var requestLog = new RequestLog(requestLogConfig);
+
+        requestLog.log("ECHO", "session-1", "request-1", ResponseCode.NOT_OK, MILLIS);
+
+        assertTrue(this.appender.list.isEmpty());
+        assertEquals(0, requestLog.getWrittenCount());
+    }
+
+    @Test
+    public void testNotWrittenWhenTheLevelIsOff() {
+        final var requestLog = getRequestLog(1);
+
+        this.logger.setLevel(Level.OFF);
+
+        requestLog.log("ECHO", "session-1", "request-1", ResponseCode.NOT_OK, MILLIS);
+
+        assertTrue(this.appender.list.isEmpty());
+        assertEquals(0, requestLog.getWrittenCount());
+    }
+
+    @Test
+    public void testToRecordEscapes() {
+        final var record = RequestLog.toRecord("ECHO", "session-1", "a\"b\\c\nd\u0001", ResponseCode.NOT_OK, 1500, "error");
+        final var json = JsonParser.parseString(record).getAsJsonObject();
+
+        assertEquals("a\"b\\c\nd\u0001", json.get("requestId").getAsString());
+        assertEquals("Not OK", json.get("code").getAsString());
+        assertEquals(1, json.get("micros").getAsLong());
+        assertFalse(record.contains("\n"));
+    }
+
+    @Test
+    public void testTakeCode() {
+        assertNull(RequestLog.takeCode());
+
+        RequestLog.setCode(ResponseCode.OVERLOADED);
+
+        assertEquals(ResponseCode.OVERLOADED, RequestLog.takeCode());
+        assertNull(RequestLog.takeCode());
+    }
+}
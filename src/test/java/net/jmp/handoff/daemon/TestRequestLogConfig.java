@@ -0,0 +1,62 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestRequestLogConfig.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.Gson;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The request log configuration test class.
+ */
+public class TestRequestLogConfig {
+    @Test
+    public void testDefaults() {
+        final var requestLogConfig = new RequestLogConfig();
+
+        assertTrue(requestLogConfig.isEnabled());
+        assertEquals(0.01, requestLogConfig.getSampleRate(), 0.0);
+        assertEquals(250, requestLogConfig.getSlowMillis());
+        assertFalse(requestLogConfig.isVerbose());
+    }
+
+    @Test
+    public void testPartialJsonKeepsDefaults() {
+        final var requestLogConfig = new Gson().fromJson("{\"sampleRate\": 0.5, \"verbose\": true}", RequestLogConfig.class);
+
+        assertEquals(0.5, requestLogConfig.getSampleRate(), 0.0);
+        assertTrue(requestLogConfig.isVerbose());
+        assertTrue(requestLogConfig.isEnabled());
+        assertEquals(250, requestLogConfig.getSlowMillis());
+    }
+}
@@ -91,6 +91,17 @@ public class TestResponse {
         assertEquals(SocketEvents.ECHO.getValue(), builtResponse.getEvent());
     }
 
+    @Test
+    public void testBuildWithEventName() {
+        final var named = Response.getBuilder()
+                .code(ResponseCode.OK)
+                .event("uppercase")
+                .id(id)
+                .build();
+
+        assertEquals("uppercase", named.getEvent());
+    }
+
     @Test
     public void testGetId() {
         assertEquals(id, response.getId());
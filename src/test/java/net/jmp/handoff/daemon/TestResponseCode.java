@@ -1,10 +1,11 @@
 package net.jmp.handoff.daemon;
 
 /*
+ * (#)TestResponseCode.java 0.8.0   10/18/2026
  * (#)TestResponseCode.java 0.6.0   04/23/2024
  *
  * @author    Jonathan Parker
- * @version   0.6.0
+ * @version   0.8.0
  * @since     0.6.0
  *
  * MIT License
@@ -49,4 +50,10 @@ public class TestResponseCode {
         assertEquals("Not OK", ResponseCode.NOT_OK.getDescriptor());
         assertEquals("Not OK", ResponseCode.NOT_OK.getValue());
     }
+
+    @Test
+    public void testOverloaded() {
+        assertEquals("Overloaded", ResponseCode.OVERLOADED.getDescriptor());
+        assertEquals("Overloaded", ResponseCode.OVERLOADED.getValue());
+    }
 }
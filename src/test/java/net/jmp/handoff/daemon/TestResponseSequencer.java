@@ -0,0 +1,135 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestResponseSequencer.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The response sequencer test class.
+ */
+public class TestResponseSequencer {
+    @Test
+    public void testDeliversInOrder() {
+        final var sequencer = new ResponseSequencer(4);
+        final var delivered = new ArrayList<Long>();
+        final var first = sequencer.next();
+        final var second = sequencer.next();
+        final var third = sequencer.next();
+
+        assertEquals(0, first.getSequence());
+        assertEquals(2, third.getSequence());
+        assertEquals(3, sequencer.getPendingCount());
+
+        third.run(() -> ResponseSequencer.deliver(() -> delivered.add(third.getSequence())));
+        second.run(() -> ResponseSequencer.deliver(() -> delivered.add(second.getSequence())));
+
+        assertTrue(delivered.isEmpty());
+
+        first.run(() -> ResponseSequencer.deliver(() -> delivered.add(first.getSequence())));
+
+        assertEquals(List.of(0L, 1L, 2L), delivered);
+        assertEquals(0, sequencer.getPendingCount());
+    }
+
+    @Test
+    public void testNothingSentStillReleases() {
+        final var sequencer = new ResponseSequencer(2);
+        final var delivered = new ArrayList<String>();
+        final var first = sequencer.next();
+        final var second = sequencer.next();
+
+        second.run(() -> ResponseSequencer.deliver(() -> delivered.add("second")));
+
+        assertThrows(IllegalStateException.class, () -> first.run(() -> {
+            throw new IllegalStateException("Expected by the test");
+        }));
+
+        assertEquals(List.of("second"), delivered);
+        assertEquals(0, sequencer.getPendingCount());
+    }
+
+    @Test
+    public void testCancel() {
+        final var sequencer = new ResponseSequencer(2);
+        final var delivered = new ArrayList<String>();
+        final var first = sequencer.next();
+        final var second = sequencer.next();
+
+        second.run(() -> ResponseSequencer.deliver(() -> delivered.add("second")));
+        first.cancel();
+
+        assertEquals(List.of("second"), delivered);
+    }
+
+    @Test
+    public void testBufferIsBounded() throws InterruptedException {
+        final var sequencer = new ResponseSequencer(1);
+        final var first = sequencer.next();
+        final var hasNext = new CountDownLatch(1);
+        final var thread = Thread.ofVirtual().start(() -> {
+            sequencer.next();
+            hasNext.countDown();
+        });
+
+        assertFalse(hasNext.await(50, TimeUnit.MILLISECONDS));
+
+        first.run(() -> { });
+
+        assertTrue(hasNext.await(10, TimeUnit.SECONDS));
+
+        thread.join();
+
+        assertEquals(1, sequencer.getDepth());
+        assertEquals(1, sequencer.getPendingCount());
+    }
+
+    @Test
+    public void testDeliverWithoutTicket() {
+        final var delivered = new ArrayList<String>();
+
+        ResponseSequencer.deliver(() -> delivered.add("now"));
+
+        assertEquals(List.of("now"), delivered);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroDepth() {
+        new ResponseSequencer(0);
+    }
+}
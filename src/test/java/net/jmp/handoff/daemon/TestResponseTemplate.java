@@ -0,0 +1,96 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestResponseTemplate.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.UUID;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * The response template test class.
+ */
+public class TestResponseTemplate {
+    private static final Codec codec = Codec.getInstance();
+    private static final String id = UUID.randomUUID().toString();
+    private static final String sessionId = UUID.randomUUID().toString();
+    private static final String dateTime = "2024-04-22T20:02:09.952Z";
+
+    private static VersionContent getVersionContent() {
+        final var content = new VersionContent();
+
+        content.setAppName("Handoff Daemon");
+        content.setAppVersion(Version.VERSION);
+
+        return content;
+    }
+
+    private static String encode(final String requestId, final SocketEvents event, final Content content) {
+        final var response = Response.getBuilder()
+                .id(id)
+                .requestId(requestId)
+                .sessionId(sessionId)
+                .dateTime(dateTime)
+                .event(event)
+                .content(content)
+                .code(ResponseCode.OK)
+                .build();
+
+        return codec.encodeResponse(response);
+    }
+
+    @Test
+    public void testRenderVersion() {
+        final var template = new ResponseTemplate(SocketEvents.VERSION, ResponseCode.OK, getVersionContent());
+        final var requestId = UUID.randomUUID().toString();
+
+        assertEquals(encode(requestId, SocketEvents.VERSION, getVersionContent()),
+                template.render(id, requestId, sessionId, dateTime));
+    }
+
+    @Test
+    public void testRenderConnect() {
+        final var template = new ResponseTemplate(SocketEvents.CONNECT, ResponseCode.OK, null);
+
+        assertEquals(encode(null, SocketEvents.CONNECT, null),
+                template.render(id, null, sessionId, dateTime));
+    }
+
+    @Test
+    public void testRenderEscapesRequestId() {
+        final var template = new ResponseTemplate(SocketEvents.VERSION, ResponseCode.OK, getVersionContent());
+        final var requestId = "\"quoted\" <id> & \\ \n=";
+
+        assertEquals(encode(requestId, SocketEvents.VERSION, getVersionContent()),
+                template.render(id, requestId, sessionId, dateTime));
+    }
+}
@@ -0,0 +1,105 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestRoomBroadcaster.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.corundumstudio.socketio.SocketIOClient;
+
+import com.corundumstudio.socketio.protocol.EngineIOVersion;
+import com.corundumstudio.socketio.protocol.PacketType;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The room broadcaster test class.
+ */
+public class TestRoomBroadcaster {
+    @Test
+    public void testBroadcast() {
+        final var broadcaster = new RoomBroadcaster();
+        final var members = List.<SocketIOClient>of(new StubSocketIOClient(), new StubSocketIOClient(), new StubSocketIOClient());
+
+        assertEquals(3, broadcaster.broadcast(members, SocketEvents.BROADCAST.getValue(), "{\"message\":\"Handoff ready\"}"));
+
+        final var packet = ((StubSocketIOClient) members.get(0)).getLastPacket();
+
+        assertEquals(PacketType.EVENT, packet.getSubType());
+        assertEquals(SocketEvents.BROADCAST.getValue(), packet.getName());
+        assertEquals(List.of("{\"message\":\"Handoff ready\"}"), packet.getData());
+
+        /* Every member is sent the very same packet */
+
+        for (final var member : members) {
+            assertSame(packet, ((StubSocketIOClient) member).getLastPacket());
+            assertEquals(1, ((StubSocketIOClient) member).getEventCount());
+        }
+
+        assertEquals(EngineIOVersion.V4, packet.getEngineIOVersion());
+    }
+
+    @Test
+    public void testBroadcastByVersion() {
+        final var broadcaster = new RoomBroadcaster();
+        final var v4Member = new StubSocketIOClient();
+        final var v3Member = new StubSocketIOClient() {
+            @Override
+            public EngineIOVersion getEngineIOVersion() {
+                return EngineIOVersion.V3;
+            }
+        };
+
+        assertEquals(2, broadcaster.broadcast(List.of(v4Member, v3Member), SocketEvents.BROADCAST.getValue(), "a"));
+
+        /* Each member is sent a packet framed for its own version */
+
+        assertEquals(EngineIOVersion.V4, v4Member.getLastPacket().getEngineIOVersion());
+        assertEquals(EngineIOVersion.V3, v3Member.getLastPacket().getEngineIOVersion());
+        assertSame(v4Member.getLastPacket().getData(), v3Member.getLastPacket().getData());
+    }
+
+    @Test
+    public void testMetrics() {
+        final var broadcaster = new RoomBroadcaster();
+
+        broadcaster.broadcast(List.of(new StubSocketIOClient(), new StubSocketIOClient()), SocketEvents.BROADCAST.getValue(), "a");
+        broadcaster.broadcast(List.of(new StubSocketIOClient()), SocketEvents.BROADCAST.getValue(), "b");
+
+        assertEquals(0, broadcaster.broadcast(List.of(), SocketEvents.BROADCAST.getValue(), "c"));
+        assertEquals(3, broadcaster.getBroadcastCount());
+        assertEquals(3, broadcaster.getDeliveredCount());
+        assertEquals(2, broadcaster.getMaxFanOut());
+        assertTrue(broadcaster.getTotalWriteNanos() >= broadcaster.getMaxWriteNanos());
+        assertTrue(broadcaster.toString().startsWith("3 broadcast, 3 delivered, mean fan-out 1.0, max fan-out 2"));
+    }
+}
@@ -0,0 +1,64 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestRoomContent.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * The room content test class.
+ */
+public class TestRoomContent {
+    private static final RoomContent roomContent = new RoomContent("editors", "some arbitrary message", 3);
+
+    @Test
+    public void testGetRoom() {
+        assertEquals("editors", roomContent.getRoom());
+    }
+
+    @Test
+    public void testGetMessage() {
+        assertEquals("some arbitrary message", roomContent.getMessage());
+        assertNull(new RoomContent("editors", null, 0).getMessage());
+    }
+
+    @Test
+    public void testGetMembers() {
+        assertEquals(3, roomContent.getMembers());
+    }
+
+    @Test
+    public void testGetType() {
+        assertEquals("Room", roomContent.getType());
+    }
+}
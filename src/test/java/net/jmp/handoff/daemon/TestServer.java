@@ -1,11 +1,12 @@
 package net.jmp.handoff.daemon;
 
 /*
+ * (#)TestServer.java   0.8.0   10/18/2026
  * (#)TestServer.java   0.7.0   05/07/2024
  * (#)TestServer.java   0.6.0   04/23/2024
  *
  * @author    Jonathan Parker
- * @version   0.7.0
+ * @version   0.8.0
  * @since     0.6.0
  *
  * MIT License
@@ -32,24 +33,47 @@ package net.jmp.handoff.daemon;
  */
 
 import com.google.gson.Gson;
+import com.google.gson.JsonParser;
 
+import com.corundumstudio.socketio.AckMode;
+import com.corundumstudio.socketio.AckRequest;
+import com.corundumstudio.socketio.HandshakeData;
+import com.corundumstudio.socketio.Transport;
+
+import com.corundumstudio.socketio.protocol.Packet;
+import com.corundumstudio.socketio.protocol.PacketType;
+
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+
+import io.socket.client.Ack;
 import io.socket.client.IO;
 import io.socket.client.Socket;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 
+import java.net.InetSocketAddress;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import java.time.Clock;
+import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -69,34 +93,16 @@ public class TestServer {
     private static final String SERVER_URL = "http://localhost:10131";
 
     private static Thread serverThread;
+    private static Server server;
 
     @BeforeClass
     public static void beforeClass() {
-        serverThread = new Thread(() -> {
-            final var command = List.of(
-                    "/Users/Maestro/.handoff/daemon/bin/start.sh",
-                    "10131"
-            );
+        server = Server.getBuilder()
+                .hostName("localhost")
+                .port(10131)
+                .build();
 
-            try {
-                final var process = new ProcessBuilder(command).redirectErrorStream(true).start();
-
-                try (final var processOutputReader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-                    String line;
-
-                    while ((line = processOutputReader.readLine()) != null) {
-                        LOGGER.debug(line);
-                    }
-
-                    process.waitFor();
-                } catch (final InterruptedException ie) {
-                    LOGGER.catching(ie);
-                    Thread.currentThread().interrupt();     // Restore the interrupt status
-                }
-            } catch (final IOException ioe) {
-                LOGGER.catching(ioe);
-            }
-        });
+        serverThread = new Thread(() -> server.setupAndRunServer());
 
         serverThread.start();
     }
@@ -193,6 +199,8 @@ public class TestServer {
             }
 
             serverThread = null;
+
+            assertEquals(ServerState.STOPPED, server.getState());
         }
     }
 
@@ -314,6 +322,917 @@ public class TestServer {
         connectAndWait(socket, isVersionEventHandled, versionSerializer);
     }
 
+    @Test
+    public void testBinaryEchoEvent() throws Throwable {
+        assertNotNull(serverThread);
+
+        final var binarySemaphore = new Semaphore(1);
+        final var binarySerializer = new Object();
+        final var isBinaryEventHandled = new AtomicBoolean(false);
+        final var payload = new byte[64 * 1024];
+        final var receivedArgs = new AtomicReference<Object[]>();
+
+        /* A leading zero byte is read as an Engine.IO v3 string packet */
+
+        for (int i = 0; i < payload.length; i++)
+            payload[i] = (byte) (i + 1);
+
+        final var socket = IO.socket(SERVER_URL, setAndGetSocketOptions());
+
+        socket.on(SocketEvents.CONNECT.getValue(), objects -> {
+            logEvent(SocketEvents.CONNECT.getValue(), false, objects);
+
+            if (binarySemaphore.tryAcquire()) {
+                final var request = Request.getBuilder()
+                        .id(UUID.randomUUID().toString())
+                        .dateTime(getUTCDateTime())
+                        .event(SocketEvents.BINARY_ECHO)
+                        .build();
+
+                socket.emit(SocketEvents.BINARY_ECHO.getValue(), new Gson().toJson(request), payload);
+            }
+        });
+
+        setDisconnectEventHandler(socket);
+
+        socket.on(SocketEvents.BINARY_ECHO.getValue(), args -> {
+            logEvent(SocketEvents.BINARY_ECHO.getValue(), true, args);
+
+            receivedArgs.set(args);
+            isBinaryEventHandled.compareAndSet(false, true);
+
+            synchronized (binarySerializer) {
+                binarySerializer.notifyAll();
+            }
+        });
+
+        connectAndWait(socket, isBinaryEventHandled, binarySerializer);
+
+        final var args = receivedArgs.get();
+
+        assertEquals(2, args.length);
+
+        final var response = Codec.getInstance().decodeResponse(args[0].toString());
+
+        assertEquals(SocketEvents.BINARY_ECHO.getValue(), response.getEvent());
+        assertEquals("OK", response.getCode());
+        assertEquals(payload.length, ((BinaryContent) response.getContent()).getLength());
+
+        /*
+         * The websocket transport prefixes outbound attachments
+         * with the Engine.IO v3 binary message type byte (4) that
+         * v4 clients pass through, so skip it when present.
+         */
+
+        final var attachment = (byte[]) args[1];
+        final var offset = attachment.length - payload.length;
+
+        assertTrue(offset == 0 || offset == 1);
+        assertArrayEquals(payload, Arrays.copyOfRange(attachment, offset, attachment.length));
+    }
+
+    @Test
+    public void testEchoEventWithAck() throws Throwable {
+        assertNotNull(serverThread);
+
+        final var ackSemaphore = new Semaphore(1);
+        final var ackSerializer = new Object();
+        final var isAckHandled = new AtomicBoolean(false);
+        final var isEchoEventSent = new AtomicBoolean(false);
+        final var ackArgs = new AtomicReference<Object[]>();
+        final var requestId = UUID.randomUUID().toString();
+
+        final var socket = IO.socket(SERVER_URL, setAndGetSocketOptions());
+
+        socket.on(SocketEvents.CONNECT.getValue(), objects -> {
+            logEvent(SocketEvents.CONNECT.getValue(), false, objects);
+
+            if (ackSemaphore.tryAcquire()) {
+                final var request = Request.getBuilder()
+                        .id(requestId)
+                        .dateTime(getUTCDateTime())
+                        .event(SocketEvents.ECHO)
+                        .content("My string to acknowledge")
+                        .build();
+
+                socket.emit(SocketEvents.ECHO.getValue(), new Object[] {new Gson().toJson(request)}, (Ack) args -> {
+                    ackArgs.set(args);
+                    isAckHandled.compareAndSet(false, true);
+
+                    synchronized (ackSerializer) {
+                        ackSerializer.notifyAll();
+                    }
+                });
+            }
+        });
+
+        setDisconnectEventHandler(socket);
+
+        socket.on(SocketEvents.ECHO.getValue(), args -> isEchoEventSent.set(true));
+
+        connectAndWait(socket, isAckHandled, ackSerializer);
+
+        final var args = ackArgs.get();
+
+        assertEquals(1, args.length);
+
+        final var response = Codec.getInstance().decodeResponse(args[0].toString());
+
+        assertEquals(requestId, response.getRequestId());
+        assertEquals(SocketEvents.ECHO.getValue(), response.getEvent());
+        assertEquals("Echo: My string to acknowledge", ((EchoContent) response.getContent()).getMessage());
+        assertFalse(isEchoEventSent.get());
+    }
+
+    @Test
+    public void testEchoEventHandlerWithAck() {
+        final var server = new Server("localhost", 8088);
+        final var client = new StubSocketIOClient();
+        final var request = Request.getBuilder()
+                .id(UUID.randomUUID().toString())
+                .dateTime(getUTCDateTime())
+                .event(SocketEvents.ECHO)
+                .content("Hello")
+                .build();
+        final var packet = new Packet(PacketType.MESSAGE);
+
+        packet.setSubType(PacketType.EVENT);
+        packet.setAckId(7L);
+
+        server.echoEventHandler(client, Codec.getInstance().encodeRequest(request), new AckRequest(packet, client));
+
+        assertNull(client.getLastEventName());
+        assertEquals(1, client.getEventCount());
+        assertEquals(PacketType.ACK, client.getLastPacket().getSubType());
+        assertEquals(Long.valueOf(7L), client.getLastPacket().getAckId());
+
+        final List<Object> data = client.getLastPacket().getData();
+        final var response = Codec.getInstance().decodeResponse((String) data.get(0));
+
+        assertEquals(request.getId(), response.getRequestId());
+        assertEquals("Echo: Hello", ((EchoContent) response.getContent()).getMessage());
+    }
+
+    @Test
+    public void testBatchEventHandler() {
+        final var server = new Server("localhost", 8088);
+        final var client = new StubSocketIOClient();
+        final var codec = Codec.getInstance();
+        final var echoRequest = Request.getBuilder()
+                .id(UUID.randomUUID().toString())
+                .dateTime(getUTCDateTime())
+                .event(SocketEvents.ECHO)
+                .content("Hello")
+                .build();
+        final var versionRequest = Request.getBuilder()
+                .id(UUID.randomUUID().toString())
+                .dateTime(getUTCDateTime())
+                .event(SocketEvents.VERSION)
+                .build();
+        final var stopRequest = Request.getBuilder()
+                .id(UUID.randomUUID().toString())
+                .dateTime(getUTCDateTime())
+                .event(SocketEvents.STOP)
+                .build();
+        final var message = "[" +
+                codec.encodeRequest(echoRequest) + "," +
+                "42," +
+                codec.encodeRequest(versionRequest) + "," +
+                codec.encodeRequest(stopRequest) + "]";
+
+        server.batchEventHandler(client, message, null);
+
+        assertEquals(1, client.getEventCount());
+        assertEquals(SocketEvents.BATCH.getValue(), client.getLastEventName());
+
+        final var items = JsonParser.parseString((String) client.getLastEventData()[0]).getAsJsonArray();
+
+        assertEquals(4, items.size());
+
+        final var echoResponse = codec.decodeResponse(items.get(0).toString());
+
+        assertEquals(echoRequest.getId(), echoResponse.getRequestId());
+        assertEquals(SocketEvents.ECHO.getValue(), echoResponse.getEvent());
+        assertEquals(ResponseCode.OK.getValue(), echoResponse.getCode());
+        assertEquals("Echo: Hello", ((EchoContent) echoResponse.getContent()).getMessage());
+
+        final var malformedResponse = codec.decodeResponse(items.get(1).toString());
+
+        assertEquals(ResponseCode.NOT_OK.getValue(), malformedResponse.getCode());
+        assertTrue(malformedResponse.getContent() instanceof ErrorContent);
+
+        final var versionResponse = codec.decodeResponse(items.get(2).toString());
+
+        assertEquals(versionRequest.getId(), versionResponse.getRequestId());
+        assertEquals(ResponseCode.OK.getValue(), versionResponse.getCode());
+        assertEquals(Version.VERSION, ((VersionContent) versionResponse.getContent()).getAppVersion());
+
+        final var stopResponse = codec.decodeResponse(items.get(3).toString());
+
+        assertEquals(stopRequest.getId(), stopResponse.getRequestId());
+        assertEquals(SocketEvents.STOP.getValue(), stopResponse.getEvent());
+        assertEquals(ResponseCode.NOT_OK.getValue(), stopResponse.getCode());
+    }
+
+    @Test
+    public void testBatchEventHandlerNotAnArray() {
+        final var server = new Server("localhost", 8088);
+        final var client = new StubSocketIOClient();
+
+        server.batchEventHandler(client, "{\"id\": \"1\"}", null);
+
+        final var items = JsonParser.parseString((String) client.getLastEventData()[0]).getAsJsonArray();
+
+        assertEquals(1, items.size());
+
+        final var response = Codec.getInstance().decodeResponse(items.get(0).toString());
+
+        assertEquals(SocketEvents.BATCH.getValue(), response.getEvent());
+        assertEquals(ResponseCode.NOT_OK.getValue(), response.getCode());
+    }
+
+    @Test
+    public void testServiceEvent() throws Throwable {
+        assertNotNull(serverThread);
+
+        final var serviceSemaphore = new Semaphore(1);
+        final var serviceSerializer = new Object();
+        final var isServiceEventHandled = new AtomicBoolean(false);
+        final var responseJson = new AtomicReference<String>();
+
+        final var socket = IO.socket(SERVER_URL, setAndGetSocketOptions());
+
+        socket.on(SocketEvents.CONNECT.getValue(), objects -> {
+            logEvent(SocketEvents.CONNECT.getValue(), false, objects);
+
+            if (serviceSemaphore.tryAcquire()) {
+                final var request = Request.getBuilder()
+                        .id(UUID.randomUUID().toString())
+                        .dateTime(getUTCDateTime())
+                        .event(SocketEvents.ECHO)
+                        .content("My string to upper-case")
+                        .build();
+
+                request.setEvent(UppercaseEventHandler.EVENT);
+
+                socket.emit(UppercaseEventHandler.EVENT, new Gson().toJson(request));
+            }
+        });
+
+        setDisconnectEventHandler(socket);
+
+        socket.on(UppercaseEventHandler.EVENT, args -> {
+            logEvent(UppercaseEventHandler.EVENT, true, args);
+
+            responseJson.set(args[0].toString());
+            isServiceEventHandled.compareAndSet(false, true);
+
+            synchronized (serviceSerializer) {
+                serviceSerializer.notifyAll();
+            }
+        });
+
+        connectAndWait(socket, isServiceEventHandled, serviceSerializer);
+
+        final var response = Codec.getInstance().decodeResponse(responseJson.get());
+
+        assertEquals(UppercaseEventHandler.EVENT, response.getEvent());
+        assertEquals(ResponseCode.OK.getValue(), response.getCode());
+        assertEquals("MY STRING TO UPPER-CASE", ((MessageContent) response.getContent()).getMessage());
+    }
+
+    @Test
+    public void testPublishEvent() throws Throwable {
+        assertNotNull(serverThread);
+
+        final var publishSemaphore = new Semaphore(1);
+        final var publishSerializer = new Object();
+        final var isPublishEventHandled = new AtomicBoolean(false);
+        final var broadcastJson = new AtomicReference<String>();
+        final var publishJson = new AtomicReference<String>();
+
+        final var socket = IO.socket(SERVER_URL, setAndGetSocketOptions());
+
+        socket.on(SocketEvents.CONNECT.getValue(), objects -> {
+            logEvent(SocketEvents.CONNECT.getValue(), false, objects);
+
+            if (publishSemaphore.tryAcquire()) {
+                final var subscribeRequest = Request.getBuilder()
+                        .id(UUID.randomUUID().toString())
+                        .dateTime(getUTCDateTime())
+                        .event(SocketEvents.SUBSCRIBE)
+                        .room("editors")
+                        .build();
+
+                /* Publish once the subscription is acknowledged, so that the publisher is a member */
+
+                socket.emit(SocketEvents.SUBSCRIBE.getValue(), new Object[] {new Gson().toJson(subscribeRequest)}, (Ack) args -> {
+                    final var publishRequest = Request.getBuilder()
+                            .id(UUID.randomUUID().toString())
+                            .dateTime(getUTCDateTime())
+                            .event(SocketEvents.PUBLISH)
+                            .room("editors")
+                            .content("Handoff ready")
+                            .build();
+
+                    socket.emit(SocketEvents.PUBLISH.getValue(), new Gson().toJson(publishRequest));
+                });
+            }
+        });
+
+        setDisconnectEventHandler(socket);
+
+        final Runnable notifyIfDone = () -> {
+            if (broadcastJson.get() != null && publishJson.get() != null) {
+                isPublishEventHandled.compareAndSet(false, true);
+
+                synchronized (publishSerializer) {
+                    publishSerializer.notifyAll();
+                }
+            }
+        };
+
+        socket.on(SocketEvents.BROADCAST.getValue(), args -> {
+            logEvent(SocketEvents.BROADCAST.getValue(), true, args);
+
+            broadcastJson.set(args[0].toString());
+            notifyIfDone.run();
+        });
+
+        socket.on(SocketEvents.PUBLISH.getValue(), args -> {
+            logEvent(SocketEvents.PUBLISH.getValue(), true, args);
+
+            publishJson.set(args[0].toString());
+            notifyIfDone.run();
+        });
+
+        connectAndWait(socket, isPublishEventHandled, publishSerializer);
+
+        final var broadcast = Codec.getInstance().decodeResponse(broadcastJson.get());
+        final var broadcastContent = (RoomContent) broadcast.getContent();
+
+        assertEquals(SocketEvents.BROADCAST.getValue(), broadcast.getEvent());
+        assertEquals("editors", broadcastContent.getRoom());
+        assertEquals("Handoff ready", broadcastContent.getMessage());
+        assertEquals(1, broadcastContent.getMembers());
+
+        final var response = Codec.getInstance().decodeResponse(publishJson.get());
+
+        assertEquals(broadcast.getRequestId(), response.getRequestId());
+        assertEquals(ResponseCode.OK.getValue(), response.getCode());
+        assertEquals(1, ((RoomContent) response.getContent()).getMembers());
+        assertTrue(server.getRoomBroadcaster().getDeliveredCount() >= 1);
+    }
+
+    @Test
+    public void testConnectEventHandlerCounted() {
+        final var connectedServer = new Server("localhost", 8088);
+        final var client = new StubSocketIOClient();
+        final var okCount = "handoff_responses_total{code=\"OK\"}";
+
+        assertEquals(0L, connectedServer.getMetricsRegistry().snapshot().get(okCount));
+
+        connectedServer.connectEventHandler(client);
+
+        final var metrics = connectedServer.getMetricsRegistry().snapshot();
+
+        assertEquals(SocketEvents.CONNECT.getValue(), client.getLastEventName());
+        assertEquals(1L, metrics.get(okCount));
+        assertEquals(1L, metrics.get("handoff_send_seconds_count"));
+        assertNull(RequestLog.takeCode());
+    }
+
+    @Test
+    public void testStatsEventHandler() {
+        final var client = new StubSocketIOClient();
+        final var request = Request.getBuilder()
+                .id(UUID.randomUUID().toString())
+                .dateTime(getUTCDateTime())
+                .event(SocketEvents.STATS)
+                .build();
+
+        server.statsEventHandler(client, Codec.getInstance().encodeRequest(request), null);
+
+        assertEquals(SocketEvents.STATS.getValue(), client.getLastEventName());
+
+        final var response = Codec.getInstance().decodeResponse((String) client.getLastEventData()[0]);
+        final var metrics = ((StatsContent) response.getContent()).getMetrics();
+
+        assertEquals(ResponseCode.OK.getValue(), response.getCode());
+        assertTrue(metrics.containsKey("handoff_requests_handled_total{event=\"ECHO\"}"));
+        assertTrue(metrics.containsKey("handoff_handle_seconds_p99{event=\"STATS\"}"));
+        assertTrue(metrics.containsKey("handoff_sessions_active"));
+        assertTrue(metrics.containsKey("handoff_event_loop_stalls_total"));
+        assertTrue(metrics.get("handoff_decode_seconds_count").longValue() >= 1);
+
+        final var text = server.getMetricsRegistry().toPrometheusText();
+
+        assertTrue(text.contains("# TYPE handoff_responses_total counter\n"));
+        assertTrue(text.contains("handoff_responses_total{code=\"Not OK\"} "));
+        assertTrue(text.contains("handoff_handle_seconds_bucket{event=\"ECHO\",le=\"+Inf\"} "));
+    }
+
+    @Test
+    public void testRecordingEventHandlerDisabled() {
+        final var client = new StubSocketIOClient();
+
+        server.recordingEventHandler(client, Codec.getInstance().encodeRequest(getRecordingRequest("start")), null);
+
+        final var response = Codec.getInstance().decodeResponse((String) client.getLastEventData()[0]);
+
+        assertEquals(SocketEvents.RECORDING.getValue(), client.getLastEventName());
+        assertEquals(ResponseCode.NOT_OK.getValue(), response.getCode());
+        assertEquals("Recording control is disabled", ((ErrorContent) response.getContent()).getMessage());
+        assertFalse(server.getFlightRecorderControl().isRecording());
+    }
+
+    @Test
+    public void testRecordingEventHandler() throws IOException {
+        final var directory = Files.createTempDirectory("handoff-recordings");
+        final var flightRecorderConfig = new FlightRecorderConfig();
+
+        flightRecorderConfig.setControlEnabled(true);
+        flightRecorderConfig.setDirectory(directory.toString());
+
+        final var recordingServer = Server.getBuilder()
+                .hostName("localhost")
+                .port(10132)
+                .flightRecorderConfig(flightRecorderConfig)
+                .build();
+        final var client = new StubSocketIOClient();
+
+        try {
+            final var started = this.handleRecording(recordingServer, client, "start");
+
+            assertEquals(ResponseCode.OK.getValue(), started.getCode());
+            assertTrue(((RecordingContent) started.getContent()).isRecording());
+            assertEquals(ResponseCode.NOT_OK.getValue(), this.handleRecording(recordingServer, client, "start").getCode());
+
+            final var dumped = (RecordingContent) this.handleRecording(recordingServer, client, "dump").getContent();
+
+            assertTrue(dumped.isRecording());
+            assertTrue(Files.exists(Path.of(dumped.getPath())));
+
+            final var stopped = (RecordingContent) this.handleRecording(recordingServer, client, "stop").getContent();
+
+            assertFalse(stopped.isRecording());
+            assertTrue(Files.exists(Path.of(stopped.getPath())));
+
+            final var status = this.handleRecording(recordingServer, client, "status");
+
+            assertEquals(ResponseCode.OK.getValue(), status.getCode());
+            assertFalse(((RecordingContent) status.getContent()).isRecording());
+            assertEquals(ResponseCode.NOT_OK.getValue(), this.handleRecording(recordingServer, client, "stop").getCode());
+            assertEquals(ResponseCode.NOT_OK.getValue(), this.handleRecording(recordingServer, client, "rewind").getCode());
+        } finally {
+            recordingServer.getFlightRecorderControl().stop();
+
+            try (final var paths = Files.list(directory)) {
+                for (final var path : paths.toList())
+                    Files.delete(path);
+            }
+
+            Files.delete(directory);
+        }
+    }
+
+    private static Request getRecordingRequest(final String action) {
+        return Request.getBuilder()
+                .id(UUID.randomUUID().toString())
+                .dateTime(getUTCDateTime())
+                .event(SocketEvents.RECORDING)
+                .content(action)
+                .build();
+    }
+
+    private Response handleRecording(final Server recordingServer, final StubSocketIOClient client, final String action) {
+        recordingServer.recordingEventHandler(client, Codec.getInstance().encodeRequest(getRecordingRequest(action)), null);
+
+        return Codec.getInstance().decodeResponse((String) client.getLastEventData()[0]);
+    }
+
+    @Test
+    public void testSubscribeEventHandler() {
+        final var client = new StubSocketIOClient();
+        final var request = Request.getBuilder()
+                .id(UUID.randomUUID().toString())
+                .dateTime(getUTCDateTime())
+                .event(SocketEvents.SUBSCRIBE)
+                .room("editors")
+                .build();
+
+        server.subscribeEventHandler(client, Codec.getInstance().encodeRequest(request), null);
+
+        assertTrue(client.getAllRooms().contains("editors"));
+        assertEquals(SocketEvents.SUBSCRIBE.getValue(), client.getLastEventName());
+
+        final var response = Codec.getInstance().decodeResponse((String) client.getLastEventData()[0]);
+        final var content = (RoomContent) response.getContent();
+
+        assertEquals(ResponseCode.OK.getValue(), response.getCode());
+        assertEquals("editors", content.getRoom());
+        assertEquals(1, content.getMembers());
+
+        request.setEvent(SocketEvents.UNSUBSCRIBE);
+
+        server.unsubscribeEventHandler(client, Codec.getInstance().encodeRequest(request), null);
+
+        assertFalse(client.getAllRooms().contains("editors"));
+        assertEquals(SocketEvents.UNSUBSCRIBE.getValue(), client.getLastEventName());
+        assertEquals(0, ((RoomContent) Codec.getInstance().decodeResponse((String) client.getLastEventData()[0]).getContent()).getMembers());
+    }
+
+    @Test
+    public void testPublishEventHandlerWithoutRoom() {
+        final var client = new StubSocketIOClient();
+        final var request = Request.getBuilder()
+                .id(UUID.randomUUID().toString())
+                .dateTime(getUTCDateTime())
+                .event(SocketEvents.PUBLISH)
+                .content("Handoff ready")
+                .build();
+
+        server.publishEventHandler(client, Codec.getInstance().encodeRequest(request), null);
+
+        final var response = Codec.getInstance().decodeResponse((String) client.getLastEventData()[0]);
+
+        assertEquals(SocketEvents.PUBLISH.getValue(), response.getEvent());
+        assertEquals(ResponseCode.NOT_OK.getValue(), response.getCode());
+        assertEquals("The request has no room", ((ErrorContent) response.getContent()).getMessage());
+    }
+
+    @Test
+    public void testServiceEventHandler() {
+        final var slot = server.getDispatchTable().get(UppercaseEventHandler.EVENT);
+
+        assertNotNull(slot);
+        assertEquals(4, slot.getMaxConcurrency());
+
+        final var client = new StubSocketIOClient();
+        final var request = Request.getBuilder()
+                .id(UUID.randomUUID().toString())
+                .dateTime(getUTCDateTime())
+                .event(SocketEvents.ECHO)
+                .content("Hello")
+                .build();
+
+        request.setEvent(UppercaseEventHandler.EVENT);
+
+        server.serviceEventHandler(new UppercaseEventHandler(), client, Codec.getInstance().encodeRequest(request), null);
+
+        assertEquals(UppercaseEventHandler.EVENT, client.getLastEventName());
+
+        final var response = Codec.getInstance().decodeResponse((String) client.getLastEventData()[0]);
+
+        assertEquals(request.getId(), response.getRequestId());
+        assertEquals(UppercaseEventHandler.EVENT, response.getEvent());
+        assertEquals(ResponseCode.OK.getValue(), response.getCode());
+        assertEquals("HELLO", ((MessageContent) response.getContent()).getMessage());
+    }
+
+    @Test
+    public void testConcurrentCopiesHandledOnce() throws Exception {
+        final var started = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final var handledCount = new AtomicInteger();
+        final var handler = new EventHandler() {
+            @Override
+            public String getEvent() {
+                return UppercaseEventHandler.EVENT;
+            }
+
+            @Override
+            public String handle(final HandlerContext context) throws Exception {
+                handledCount.incrementAndGet();
+                started.countDown();
+                release.await();
+
+                return "handled";
+            }
+        };
+
+        final var request = Request.getBuilder()
+                .id(UUID.randomUUID().toString())
+                .dateTime(getUTCDateTime())
+                .event(SocketEvents.ECHO)
+                .content("Hello")
+                .build();
+
+        request.setEvent(UppercaseEventHandler.EVENT);
+
+        final var message = Codec.getInstance().encodeRequest(request);
+
+        /* The copy comes on a new session while the original is still being handled */
+
+        final var firstClient = clientWithParams(Map.of("client", List.of("cli")));
+        final var copyClient = clientWithParams(Map.of("client", List.of("cli")));
+        final var first = new Thread(() -> server.serviceEventHandler(handler, firstClient, message, null));
+        final var copy = new Thread(() -> server.serviceEventHandler(handler, copyClient, message, null));
+
+        first.start();
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        copy.start();
+
+        while (copy.getState() != Thread.State.WAITING && copy.getState() != Thread.State.TIMED_WAITING)
+            Thread.sleep(10);
+
+        release.countDown();
+        first.join(5000);
+        copy.join(5000);
+
+        assertEquals(1, handledCount.get());
+        assertEquals(firstClient.getLastEventData()[0], copyClient.getLastEventData()[0]);
+        assertEquals("handled",
+                ((MessageContent) Codec.getInstance().decodeResponse((String) copyClient.getLastEventData()[0]).getContent()).getMessage());
+    }
+
+    @Test
+    public void testServiceEventHandlerFails() {
+        final var client = new StubSocketIOClient();
+        final var request = Request.getBuilder()
+                .id(UUID.randomUUID().toString())
+                .dateTime(getUTCDateTime())
+                .event(SocketEvents.ECHO)
+                .build();
+
+        request.setEvent(UppercaseEventHandler.EVENT);
+
+        assertThrows(IllegalStateException.class, () -> server.serviceEventHandler(new UppercaseEventHandler(),
+                client, Codec.getInstance().encodeRequest(request), null));
+
+        final var response = Codec.getInstance().decodeResponse((String) client.getLastEventData()[0]);
+
+        assertEquals(ResponseCode.NOT_OK.getValue(), response.getCode());
+        assertEquals("There is nothing to upper-case", ((ErrorContent) response.getContent()).getMessage());
+    }
+
+    @Test
+    public void testDispatchRefusedWhenStarting() {
+        final var startingServer = new Server("localhost", 8088);
+        final var client = new StubSocketIOClient();
+        final var slot = startingServer.getDispatchTable().get(SocketEvents.ECHO);
+        final var request = Request.getBuilder()
+                .id(UUID.randomUUID().toString())
+                .dateTime(getUTCDateTime())
+                .event(SocketEvents.ECHO)
+                .content("Hello")
+                .build();
+
+        assertEquals(ServerState.STARTING, startingServer.getState());
+
+        startingServer.dispatch(client, slot, List.of(Codec.getInstance().encodeRequest(request)), null);
+
+        assertEquals(0, slot.getHandledCount());
+        assertEquals(SocketEvents.ECHO.getValue(), client.getLastEventName());
+
+        final var response = Codec.getInstance().decodeResponse((String) client.getLastEventData()[0]);
+
+        assertEquals(request.getId(), response.getRequestId());
+        assertEquals(ResponseCode.NOT_OK.getValue(), response.getCode());
+        assertEquals("The server is starting", ((ErrorContent) response.getContent()).getMessage());
+        assertNull(FlightEvents.getRequestId());
+    }
+
+    @Test
+    public void testDispatchOverloaded() {
+        final var executionConfig = new ExecutionConfig();
+
+        executionConfig.setVirtualThreads(false);
+        executionConfig.setMaxSessionInFlight(1);
+        executionConfig.setRetryAfterMillis(500);
+
+        final var requestLogConfig = new RequestLogConfig();
+
+        requestLogConfig.setSampleRate(0);
+
+        final var overloadedServer = Server.getBuilder()
+                .hostName("localhost")
+                .port(8088)
+                .executionConfig(executionConfig)
+                .requestLogConfig(requestLogConfig)
+                .build();
+        final var client = new StubSocketIOClient();
+        final var slot = overloadedServer.getDispatchTable().get(SocketEvents.ECHO);
+        overloadedServer.markRunning();
+
+        /* Hold the session's one place as if a request were in flight */
+
+        final var admissionController = overloadedServer.getAdmissionController();
+
+        final var session = overloadedServer.getSessionRegistry().register(client.getSessionId(), 0);
+
+        assertNull(admissionController.tryAdmit(session));
+
+        final var request = Request.getBuilder()
+                .id(UUID.randomUUID().toString())
+                .dateTime(getUTCDateTime())
+                .event(SocketEvents.ECHO)
+                .content("Hello")
+                .build();
+
+        overloadedServer.dispatch(client, slot, List.of(Codec.getInstance().encodeRequest(request)), null);
+
+        assertEquals(0, slot.getHandledCount());
+
+        final var response = Codec.getInstance().decodeResponse((String) client.getLastEventData()[0]);
+        final var content = (OverloadContent) response.getContent();
+
+        assertEquals(request.getId(), response.getRequestId());
+        assertEquals(ResponseCode.OVERLOADED.getValue(), response.getCode());
+        assertEquals(500, content.getRetryAfterMillis());
+        assertEquals(1, admissionController.getSessionRefusedCount());
+        assertEquals(0, overloadedServer.getRequestLog().getSkippedCount());
+        assertNull(FlightEvents.getRequestId());
+
+        admissionController.release(session);
+
+        overloadedServer.dispatch(client, slot, List.of(Codec.getInstance().encodeRequest(request)), null);
+
+        assertEquals(1, slot.getHandledCount());
+        assertEquals(ResponseCode.OK.getValue(),
+                Codec.getInstance().decodeResponse((String) client.getLastEventData()[0]).getCode());
+        assertEquals(0, admissionController.getInFlightCount());
+        assertEquals(1, overloadedServer.getRequestLog().getSkippedCount());
+        assertNull(RequestLog.takeCode());
+    }
+
+    @Test
+    public void testStopDrains() {
+        final var executionConfig = new ExecutionConfig();
+
+        executionConfig.setVirtualThreads(false);
+
+        final var drainingServer = Server.getBuilder()
+                .hostName("localhost")
+                .port(8088)
+                .executionConfig(executionConfig)
+                .build();
+        final var client = new StubSocketIOClient();
+        final var table = drainingServer.getDispatchTable();
+        drainingServer.markRunning();
+
+        final var echoRequest = Request.getBuilder()
+                .id(UUID.randomUUID().toString())
+                .dateTime(getUTCDateTime())
+                .event(SocketEvents.ECHO)
+                .content("Hello")
+                .build();
+
+        drainingServer.dispatch(client, table.get(SocketEvents.ECHO),
+                List.of(Codec.getInstance().encodeRequest(echoRequest)), null);
+
+        assertEquals(1, table.get(SocketEvents.ECHO).getHandledCount());
+        assertEquals(ResponseCode.OK.getValue(),
+                Codec.getInstance().decodeResponse((String) client.getLastEventData()[0]).getCode());
+
+        final var stopRequest = Request.getBuilder()
+                .id(UUID.randomUUID().toString())
+                .dateTime(getUTCDateTime())
+                .event(SocketEvents.STOP)
+                .build();
+
+        drainingServer.stopEventHandler(client, Codec.getInstance().encodeRequest(stopRequest), null);
+
+        assertEquals(ServerState.DRAINING, drainingServer.getState());
+        assertEquals(SocketEvents.STOP.getValue(), client.getLastEventName());
+
+        drainingServer.dispatch(client, table.get(SocketEvents.VERSION), List.of("{}"), null);
+
+        assertEquals(0, table.get(SocketEvents.VERSION).getHandledCount());
+
+        final var response = Codec.getInstance().decodeResponse((String) client.getLastEventData()[0]);
+
+        assertEquals(SocketEvents.VERSION.getValue(), response.getEvent());
+        assertEquals(ResponseCode.NOT_OK.getValue(), response.getCode());
+    }
+
+    @Test
+    public void testRepeatedRequestAnsweredFromCache() {
+        final var cache = server.getIdempotencyCache();
+        final var hits = cache.getHitCount();
+        final var request = Request.getBuilder()
+                .id(UUID.randomUUID().toString())
+                .dateTime(getUTCDateTime())
+                .event(SocketEvents.ECHO)
+                .content("Hello")
+                .build();
+        final var message = Codec.getInstance().encodeRequest(request);
+        final var firstClient = clientWithParams(Map.of("client", List.of("cli")));
+
+        server.echoEventHandler(firstClient, message, null);
+
+        /* The retry comes on a new session after a reconnect */
+
+        final var retryClient = clientWithParams(Map.of("client", List.of("cli")));
+
+        server.echoEventHandler(retryClient, message, null);
+
+        assertEquals(firstClient.getLastEventData()[0], retryClient.getLastEventData()[0]);
+        assertEquals(hits + 1, cache.getHitCount());
+
+        /* Another client that uses the same ID is handled */
+
+        final var otherClient = clientWithParams(Map.of("client", List.of("other")));
+
+        server.echoEventHandler(otherClient, message, null);
+
+        assertNotEquals(firstClient.getLastEventData()[0], otherClient.getLastEventData()[0]);
+        assertEquals(hits + 1, cache.getHitCount());
+
+        /* A client without an identity is only answered on its session */
+
+        final var anonymousClient = new StubSocketIOClient();
+
+        server.echoEventHandler(anonymousClient, message, null);
+        server.echoEventHandler(anonymousClient, message, null);
+
+        assertEquals(hits + 2, cache.getHitCount());
+
+        server.echoEventHandler(new StubSocketIOClient(), message, null);
+
+        assertEquals(hits + 2, cache.getHitCount());
+
+        /* The same ID for another event is handled */
+
+        server.versionEventHandler(retryClient, message, null);
+
+        final var response = Codec.getInstance().decodeResponse((String) retryClient.getLastEventData()[0]);
+
+        assertEquals(SocketEvents.VERSION.getValue(), response.getEvent());
+    }
+
+    @Test
+    public void testGetWeight() {
+        final var executionConfig = new ExecutionConfig();
+
+        executionConfig.setDefaultWeight(2);
+        executionConfig.setClientWeights(Map.of("cli", 5));
+
+        final var weightedServer = Server.getBuilder()
+                .hostName("localhost")
+                .port(8088)
+                .executionConfig(executionConfig)
+                .build();
+
+        assertEquals(2, weightedServer.getWeight(new StubSocketIOClient()));
+        assertEquals(5, weightedServer.getWeight(clientWithParams(Map.of("client", List.of("cli")))));
+        assertEquals(2, weightedServer.getWeight(clientWithParams(Map.of("client", List.of("other")))));
+    }
+
+    private static StubSocketIOClient clientWithParams(final Map<String, List<String>> urlParams) {
+        final var handshakeData = new HandshakeData(new DefaultHttpHeaders(), urlParams,
+                new InetSocketAddress(0), "/socket.io/", false);
+
+        return new StubSocketIOClient() {
+            @Override
+            public HandshakeData getHandshakeData() {
+                return handshakeData;
+            }
+        };
+    }
+
+    @Test
+    public void testCreateConfiguration() {
+        final var transportConfig = new TransportConfig();
+
+        transportConfig.setBossThreads(1);
+        transportConfig.setWorkerThreads(4);
+        transportConfig.setTcpNoDelay(false);
+        transportConfig.setAcceptBacklog(2048);
+        transportConfig.setReceiveBufferSize(131072);
+        transportConfig.setSendBufferSize(65536);
+        transportConfig.setMaxFramePayloadLength(1048576);
+        transportConfig.setPingInterval(10000);
+        transportConfig.setPingTimeout(20000);
+        transportConfig.setTransports(List.of("websocket"));
+
+        final var server = Server.getBuilder()
+                .hostName("localhost")
+                .port(8088)
+                .transportConfig(transportConfig)
+                .build();
+        final var socketIoConfig = server.createConfiguration();
+        final var socketConfig = socketIoConfig.getSocketConfig();
+
+        assertEquals("localhost", socketIoConfig.getHostname());
+        assertEquals(8088, socketIoConfig.getPort());
+        assertEquals(1, socketIoConfig.getBossThreads());
+        assertEquals(4, socketIoConfig.getWorkerThreads());
+        assertEquals(1048576, socketIoConfig.getMaxFramePayloadLength());
+        assertEquals(10000, socketIoConfig.getPingInterval());
+        assertEquals(20000, socketIoConfig.getPingTimeout());
+        assertEquals(List.of(Transport.WEBSOCKET), socketIoConfig.getTransports());
+        assertFalse(socketIoConfig.isUseLinuxNativeEpoll());
+        assertEquals(AckMode.MANUAL, socketIoConfig.getAckMode());
+        assertTrue(socketConfig.isReuseAddress());
+        assertFalse(socketConfig.isTcpNoDelay());
+        assertEquals(2048, socketConfig.getAcceptBackLog());
+        assertEquals(131072, socketConfig.getTcpReceiveBufferSize());
+        assertEquals(65536, socketConfig.getTcpSendBufferSize());
+    }
+
     @Test
     public void testGetLocalDateTime() throws Throwable {
         final var server = new Server("localhost", 8088);
@@ -328,6 +1247,20 @@ public class TestServer {
         assertEquals("2024-04-22T16:02:09 (Eastern Daylight Time)", result.get());
     }
 
+    @Test
+    public void testGetUTCDateTime() throws Throwable {
+        final var server = Server.getBuilder()
+                .hostName("localhost")
+                .port(8088)
+                .timeSource(new CachedTimeSource(Clock.fixed(Instant.parse("2024-04-22T20:02:09.952Z"), ZoneOffset.UTC)))
+                .build();
+        final var method = Server.class.getDeclaredMethod("getUTCDateTime");
+
+        method.setAccessible(true);
+
+        assertEquals("2024-04-22T20:02:09.952Z", method.invoke(server));
+    }
+
     /**
      * Get the UTC date time expressed as ISO-8601
      *
@@ -0,0 +1,68 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestServerState.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The server state test class.
+ */
+public class TestServerState {
+    @Test
+    public void testStarting() {
+        assertEquals("Starting", ServerState.STARTING.getDescriptor());
+        assertEquals("STARTING", ServerState.STARTING.getValue());
+        assertFalse(ServerState.STARTING.isAcceptingRequests());
+    }
+
+    @Test
+    public void testRunning() {
+        assertEquals("Running", ServerState.RUNNING.getDescriptor());
+        assertEquals("RUNNING", ServerState.RUNNING.getValue());
+        assertTrue(ServerState.RUNNING.isAcceptingRequests());
+    }
+
+    @Test
+    public void testDraining() {
+        assertEquals("Draining in-flight requests", ServerState.DRAINING.getDescriptor());
+        assertEquals("DRAINING", ServerState.DRAINING.getValue());
+        assertFalse(ServerState.DRAINING.isAcceptingRequests());
+    }
+
+    @Test
+    public void testStopped() {
+        assertEquals("Stopped", ServerState.STOPPED.getDescriptor());
+        assertEquals("STOPPED", ServerState.STOPPED.getValue());
+        assertFalse(ServerState.STOPPED.isAcceptingRequests());
+    }
+}
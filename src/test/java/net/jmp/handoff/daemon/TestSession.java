@@ -0,0 +1,84 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestSession.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.UUID;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The session test class.
+ */
+public class TestSession {
+    @Test
+    public void testIdentifier() {
+        final var sessionId = UUID.randomUUID();
+        final var session = new Session(sessionId, 1000);
+
+        assertEquals(sessionId, session.getId());
+        assertEquals(sessionId.getMostSignificantBits(), session.getMostSignificantBits());
+        assertEquals(sessionId.getLeastSignificantBits(), session.getLeastSignificantBits());
+        assertEquals(sessionId.toString(), session.getIdString());
+        assertSame(session.getIdString(), session.getIdString());
+        assertArrayEquals(sessionId.toString().getBytes(StandardCharsets.UTF_8), session.getIdBytes());
+        assertEquals(sessionId.toString(), session.toString());
+    }
+
+    @Test
+    public void testActivity() {
+        final var session = new Session(UUID.randomUUID(), 1000);
+
+        assertEquals(1000, session.getConnectedAtMillis());
+        assertEquals(1000, session.getLastActivityMillis());
+        assertEquals(0, session.getRequestCount());
+
+        session.recordRequest(1500);
+        session.recordRequest(2000);
+
+        assertEquals(1000, session.getConnectedAtMillis());
+        assertEquals(2000, session.getLastActivityMillis());
+        assertEquals(2, session.getRequestCount());
+    }
+
+    @Test
+    public void testInFlight() {
+        final var session = new Session(UUID.randomUUID(), 0);
+
+        assertEquals(1, session.incrementInFlight());
+        assertEquals(2, session.incrementInFlight());
+        assertEquals(1, session.decrementInFlight());
+        assertEquals(1, session.getInFlightCount());
+    }
+}
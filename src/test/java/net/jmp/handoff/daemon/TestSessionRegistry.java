@@ -0,0 +1,185 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestSessionRegistry.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.UUID;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The session registry test class.
+ */
+public class TestSessionRegistry {
+    @Test
+    public void testRegisterAndGet() {
+        final var registry = new SessionRegistry();
+        final var sessionId = UUID.randomUUID();
+
+        assertNull(registry.get(sessionId));
+
+        final var session = registry.register(sessionId, 1000);
+
+        assertSame(session, registry.get(sessionId));
+        assertSame(session, registry.get(sessionId.getMostSignificantBits(), sessionId.getLeastSignificantBits()));
+        assertSame(session, registry.register(sessionId, 2000));
+        assertEquals(1000, session.getConnectedAtMillis());
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void testRemove() {
+        final var registry = new SessionRegistry();
+        final var sessionId = UUID.randomUUID();
+        final var session = registry.register(sessionId, 0);
+
+        assertSame(session, registry.remove(sessionId));
+        assertNull(registry.get(sessionId));
+        assertNull(registry.remove(sessionId));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void testGrows() {
+        final var registry = new SessionRegistry();
+        final var sessionIds = new ArrayList<UUID>();
+
+        for (int i = 0; i < 1000; i++) {
+            final var sessionId = UUID.randomUUID();
+
+            sessionIds.add(sessionId);
+            registry.register(sessionId, i);
+        }
+
+        assertEquals(1000, registry.size());
+        assertTrue(registry.getCapacity() >= 1000 * 4 / 3);
+
+        for (int i = 0; i < 1000; i++)
+            assertEquals(i, registry.get(sessionIds.get(i)).getConnectedAtMillis());
+
+        final var count = new AtomicInteger();
+
+        registry.forEach(session -> count.incrementAndGet());
+
+        assertEquals(1000, count.get());
+    }
+
+    @Test
+    public void testAgainstHashMap() {
+        final var registry = new SessionRegistry();
+        final var model = new HashMap<UUID, Session>();
+        final var random = new Random(18);
+        final var sessionIds = new ArrayList<UUID>();
+
+        /* Sequential identifiers in a small key space make long probe runs to shift back */
+
+        for (int i = 0; i < 200; i++)
+            sessionIds.add(new UUID(0, i));
+
+        for (int i = 0; i < 100000; i++) {
+            final var sessionId = sessionIds.get(random.nextInt(sessionIds.size()));
+
+            if (random.nextBoolean()) {
+                final var session = registry.register(sessionId, i);
+
+                model.putIfAbsent(sessionId, session);
+
+                assertSame(model.get(sessionId), session);
+            } else {
+                assertSame(model.remove(sessionId), registry.remove(sessionId));
+            }
+        }
+
+        assertEquals(model.size(), registry.size());
+
+        for (final var sessionId : sessionIds)
+            assertSame(model.get(sessionId), registry.get(sessionId));
+    }
+
+    @Test
+    public void testConcurrentReaders() throws InterruptedException {
+        final var registry = new SessionRegistry();
+        final var stable = new ArrayList<UUID>();
+
+        for (int i = 0; i < 100; i++) {
+            final var sessionId = UUID.randomUUID();
+
+            stable.add(sessionId);
+            registry.register(sessionId, 0);
+        }
+
+        final var isDone = new AtomicBoolean();
+        final var isMissing = new AtomicBoolean();
+        final var readers = new CountDownLatch(4);
+
+        for (int r = 0; r < 4; r++) {
+            Thread.ofVirtual().start(() -> {
+                while (!isDone.get()) {
+                    for (final var sessionId : stable) {
+                        if (registry.get(sessionId) == null)
+                            isMissing.set(true);
+                    }
+
+                    Thread.yield();
+                }
+
+                readers.countDown();
+            });
+        }
+
+        /* Churn other sessions so that the table grows and shifts while it is read */
+
+        for (int i = 0; i < 20000; i++) {
+            final var sessionId = UUID.randomUUID();
+
+            registry.register(sessionId, 0);
+
+            if (i % 2 == 0)
+                registry.remove(sessionId);
+        }
+
+        isDone.set(true);
+
+        assertTrue(readers.await(10, TimeUnit.SECONDS));
+        assertFalse(isMissing.get());
+        assertEquals(10100, registry.size());
+    }
+}
@@ -1,10 +1,11 @@
 package net.jmp.handoff.daemon;
 
 /*
+ * (#)TestSocketEvents.java 0.8.0   10/18/2026
  * (#)TestSocketEvents.java 0.6.0   04/23/2024
  *
  * @author    Jonathan Parker
- * @version   0.6.0
+ * @version   0.8.0
  * @since     0.6.0
  *
  * MIT License
@@ -67,4 +68,52 @@ public class TestSocketEvents {
         assertEquals("VERSION", SocketEvents.VERSION.getDescriptor());
         assertEquals("VERSION", SocketEvents.VERSION.getValue());
     }
+
+    @Test
+    public void testBinaryEcho() {
+        assertEquals("BINARY_ECHO", SocketEvents.BINARY_ECHO.getDescriptor());
+        assertEquals("BINARY_ECHO", SocketEvents.BINARY_ECHO.getValue());
+    }
+
+    @Test
+    public void testBatch() {
+        assertEquals("BATCH", SocketEvents.BATCH.getDescriptor());
+        assertEquals("BATCH", SocketEvents.BATCH.getValue());
+    }
+
+    @Test
+    public void testSubscribe() {
+        assertEquals("SUBSCRIBE", SocketEvents.SUBSCRIBE.getDescriptor());
+        assertEquals("SUBSCRIBE", SocketEvents.SUBSCRIBE.getValue());
+    }
+
+    @Test
+    public void testUnsubscribe() {
+        assertEquals("UNSUBSCRIBE", SocketEvents.UNSUBSCRIBE.getDescriptor());
+        assertEquals("UNSUBSCRIBE", SocketEvents.UNSUBSCRIBE.getValue());
+    }
+
+    @Test
+    public void testPublish() {
+        assertEquals("PUBLISH", SocketEvents.PUBLISH.getDescriptor());
+        assertEquals("PUBLISH", SocketEvents.PUBLISH.getValue());
+    }
+
+    @Test
+    public void testBroadcast() {
+        assertEquals("BROADCAST", SocketEvents.BROADCAST.getDescriptor());
+        assertEquals("BROADCAST", SocketEvents.BROADCAST.getValue());
+    }
+
+    @Test
+    public void testStats() {
+        assertEquals("STATS", SocketEvents.STATS.getDescriptor());
+        assertEquals("STATS", SocketEvents.STATS.getValue());
+    }
+
+    @Test
+    public void testRecording() {
+        assertEquals("RECORDING", SocketEvents.RECORDING.getDescriptor());
+        assertEquals("RECORDING", SocketEvents.RECORDING.getValue());
+    }
 }
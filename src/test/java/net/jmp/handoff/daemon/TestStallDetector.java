@@ -0,0 +1,206 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestStallDetector.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import ch.qos.logback.core.read.ListAppender;
+
+import java.util.UUID;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import org.slf4j.LoggerFactory;
+
+/**
+ * The stall detector test class.
+ */
+public class TestStallDetector {
+    private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private Logger logger;
+    private Level level;
+    private ListAppender<ILoggingEvent> appender;
+
+    @Before
+    public void before() {
+        this.logger = (Logger) LoggerFactory.getLogger(StallDetector.class.getName());
+        this.level = this.logger.getLevel();
+        this.appender = new ListAppender<>();
+        this.appender.start();
+        this.logger.setLevel(Level.INFO);
+        this.logger.addAppender(this.appender);
+    }
+
+    @After
+    public void after() {
+        this.logger.detachAppender(this.appender);
+        this.logger.setLevel(this.level);
+    }
+
+    private static StallDetector getStallDetector(final long thresholdMillis, final long checkIntervalMillis) {
+        final var stallDetectorConfig = new StallDetectorConfig();
+
+        stallDetectorConfig.setThresholdMillis(thresholdMillis);
+        stallDetectorConfig.setCheckIntervalMillis(checkIntervalMillis);
+
+        return new StallDetector(stallDetectorConfig);
+    }
+
+    private static Thread startBlockedHandler(final StallDetector stallDetector,
+                                              final UUID sessionId,
+                                              final CountDownLatch release) throws InterruptedException {
+        final var thread = new Thread(() -> {
+            stallDetector.enter("ECHO", sessionId);
+            stallDetector.setRequestId("request-1");
+
+            try {
+                release.await();
+            } catch (final InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            } finally {
+                stallDetector.exit();
+            }
+        }, "test-io-thread");
+
+        thread.start();
+
+        while (thread.getState() != Thread.State.WAITING)
+            Thread.sleep(1);
+
+        return thread;
+    }
+
+    @Test
+    public void testStallIsReportedOnce() throws InterruptedException {
+        final var stallDetector = getStallDetector(10, 50);
+        final var sessionId = UUID.randomUUID();
+        final var release = new CountDownLatch(1);
+        final var thread = startBlockedHandler(stallDetector, sessionId, release);
+
+        assertEquals(1, stallDetector.check(System.nanoTime() + ONE_SECOND));
+        assertEquals(0, stallDetector.check(System.nanoTime() + ONE_SECOND));
+        assertEquals(1, stallDetector.getStallCount());
+
+        final var report = this.appender.list.get(0).getFormattedMessage();
+
+        assertEquals(Level.WARN, this.appender.list.get(0).getLevel());
+        assertTrue(report.startsWith("Thread test-io-thread has stalled for "));
+        assertTrue(report.contains("in the ECHO event: Session ID: " + sessionId + ", Request ID: request-1"));
+        assertTrue(report.contains("java.util.concurrent.CountDownLatch.await("));
+
+        release.countDown();
+        thread.join();
+
+        assertEquals(1, stallDetector.getStallDurations().getCount());
+        assertTrue(this.appender.list.get(1).getFormattedMessage().startsWith("Thread test-io-thread recovered after stalling for "));
+    }
+
+    @Test
+    public void testUnderThresholdIsNotReported() throws InterruptedException {
+        final var stallDetector = getStallDetector(TimeUnit.HOURS.toMillis(1), 50);
+        final var release = new CountDownLatch(1);
+        final var thread = startBlockedHandler(stallDetector, UUID.randomUUID(), release);
+
+        assertEquals(0, stallDetector.check(System.nanoTime()));
+
+        release.countDown();
+        thread.join();
+
+        assertEquals(0, stallDetector.getStallCount());
+        assertEquals(0, stallDetector.getStallDurations().getCount());
+    }
+
+    @Test
+    public void testIdleThreadIsNotReported() {
+        final var stallDetector = getStallDetector(10, 50);
+
+        stallDetector.enter("ECHO", UUID.randomUUID());
+        stallDetector.exit();
+
+        assertEquals(0, stallDetector.check(System.nanoTime() + ONE_SECOND));
+        assertTrue(this.appender.list.isEmpty());
+    }
+
+    @Test
+    public void testDisabled() throws InterruptedException {
+        final var stallDetectorConfig = new StallDetectorConfig();
+
+        stallDetectorConfig.setEnabled(false);
+
+        final var stallDetector = new StallDetector(stallDetectorConfig);
+        final var release = new CountDownLatch(1);
+        final var thread = startBlockedHandler(stallDetector, UUID.randomUUID(), release);
+
+        stallDetector.start();
+
+        assertEquals(0, stallDetector.check(System.nanoTime() + ONE_SECOND));
+
+        release.countDown();
+        thread.join();
+        stallDetector.stop();
+
+        assertTrue(this.appender.list.isEmpty());
+    }
+
+    @Test
+    public void testWatchdog() throws InterruptedException {
+        final var stallDetector = getStallDetector(20, 5);
+        final var release = new CountDownLatch(1);
+
+        stallDetector.start();
+
+        try {
+            final var thread = startBlockedHandler(stallDetector, UUID.randomUUID(), release);
+            final var deadline = System.nanoTime() + 5 * ONE_SECOND;
+
+            while (stallDetector.getStallCount() == 0 && System.nanoTime() < deadline)
+                Thread.sleep(5);
+
+            assertEquals(1, stallDetector.getStallCount());
+
+            release.countDown();
+            thread.join();
+        } finally {
+            stallDetector.stop();
+        }
+    }
+}
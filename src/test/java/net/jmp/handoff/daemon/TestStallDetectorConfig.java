@@ -0,0 +1,60 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestStallDetectorConfig.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.Gson;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The stall detector configuration test class.
+ */
+public class TestStallDetectorConfig {
+    @Test
+    public void testDefaults() {
+        final var stallDetectorConfig = new StallDetectorConfig();
+
+        assertTrue(stallDetectorConfig.isEnabled());
+        assertEquals(200, stallDetectorConfig.getThresholdMillis());
+        assertEquals(50, stallDetectorConfig.getCheckIntervalMillis());
+    }
+
+    @Test
+    public void testPartialJsonKeepsDefaults() {
+        final var stallDetectorConfig = new Gson().fromJson("{\"thresholdMillis\": 1000}", StallDetectorConfig.class);
+
+        assertEquals(1000, stallDetectorConfig.getThresholdMillis());
+        assertTrue(stallDetectorConfig.isEnabled());
+        assertEquals(50, stallDetectorConfig.getCheckIntervalMillis());
+    }
+}
@@ -0,0 +1,114 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestTimeOrderedIdGenerator.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.HashSet;
+import java.util.UUID;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The time-ordered identifier generator test class.
+ */
+public class TestTimeOrderedIdGenerator {
+    @Test
+    public void testVersionAndTimestamp() {
+        final var millis = new AtomicLong(1713816129952L);
+        final var generator = new TimeOrderedIdGenerator(new CachedTimeSource(new TestCachedTimeSource.SteppingClock(millis)));
+        final var uuid = UUID.fromString(generator.nextId());
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(1713816129952L, uuid.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    public void testSortsByTime() {
+        final var millis = new AtomicLong(1713816129952L);
+        final var generator = new TimeOrderedIdGenerator(new CachedTimeSource(new TestCachedTimeSource.SteppingClock(millis)));
+
+        String previous = generator.nextId();
+
+        for (int i = 0; i < 1_000; i++) {
+            millis.incrementAndGet();
+
+            final var next = generator.nextId();
+
+            assertTrue(next.compareTo(previous) > 0);
+
+            previous = next;
+        }
+    }
+
+    @Test
+    public void testSortsWithinMillisecond() {
+        final var millis = new AtomicLong(1713816129952L);
+        final var generator = new TimeOrderedIdGenerator(new CachedTimeSource(new TestCachedTimeSource.SteppingClock(millis)));
+
+        String previous = generator.nextId();
+
+        /* Enough to overflow the counter into the next millisecond */
+
+        for (int i = 0; i < 5_000; i++) {
+            final var next = generator.nextId();
+
+            assertTrue(next.compareTo(previous) > 0);
+
+            previous = next;
+        }
+
+        assertEquals(1713816129953L, UUID.fromString(previous).getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    public void testSortsWhenClockStepsBack() {
+        final var millis = new AtomicLong(1713816129952L);
+        final var generator = new TimeOrderedIdGenerator(new CachedTimeSource(new TestCachedTimeSource.SteppingClock(millis)));
+        final var first = generator.nextId();
+
+        millis.addAndGet(-1_000);
+
+        assertTrue(generator.nextId().compareTo(first) > 0);
+    }
+
+    @Test
+    public void testUnique() {
+        final var generator = new TimeOrderedIdGenerator(new CachedTimeSource());
+        final var ids = new HashSet<String>();
+
+        for (int i = 0; i < 10_000; i++)
+            assertTrue(ids.add(generator.nextId()));
+    }
+}
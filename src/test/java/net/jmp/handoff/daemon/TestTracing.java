@@ -0,0 +1,103 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestTracing.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.sun.management.ThreadMXBean;
+
+import java.lang.management.ManagementFactory;
+
+import java.util.UUID;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * The tracing test class.
+ */
+public class TestTracing {
+    /* Few enough calls that C2 escape analysis cannot hide an allocation */
+
+    private static final int WARM_UP_CALLS = 100;
+    private static final int CALLS = 5_000;
+
+    @Test
+    public void testDisabledByDefault() {
+        assertNull(System.getProperty(Tracing.PROPERTY));
+        assertFalse(Tracing.ENABLED);
+    }
+
+    @Test
+    public void testDisabledPathAllocatesNothing() {
+        final var threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        assumeAllocationMeasured(threadMXBean);
+
+        final var server = Server.getBuilder()
+                .hostName("localhost")
+                .port(0)
+                .build();
+        final var sessionId = UUID.randomUUID().toString();
+        final var request = Request.getBuilder()
+                .id(UUID.randomUUID().toString())
+                .dateTime("2024-04-22T20:02:09.952Z")
+                .event(SocketEvents.ECHO)
+                .content("git status --porcelain --branch")
+                .build();
+        final var message = Codec.getInstance().encodeRequest(request);
+        final var event = SocketEvents.ECHO.getValue();
+
+        /* Load and initialize what the calls use, then count the bytes they allocate */
+
+        for (int i = 0; i < WARM_UP_CALLS; i++) {
+            server.logEvent(event, sessionId, message);
+            server.logRequest(request);
+        }
+
+        final var before = threadMXBean.getCurrentThreadAllocatedBytes();
+
+        for (int i = 0; i < CALLS; i++) {
+            server.logEvent(event, sessionId, message);
+            server.logRequest(request);
+        }
+
+        final var allocated = threadMXBean.getCurrentThreadAllocatedBytes() - before;
+
+        assertTrue("Allocated " + allocated + " bytes", allocated < 1024);
+    }
+
+    private static void assumeAllocationMeasured(final ThreadMXBean threadMXBean) {
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+    }
+}
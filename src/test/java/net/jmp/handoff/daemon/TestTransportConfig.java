@@ -0,0 +1,77 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)TestTransportConfig.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import com.google.gson.Gson;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The transport configuration test class.
+ */
+public class TestTransportConfig {
+    @Test
+    public void testDefaults() {
+        final var transportConfig = new TransportConfig();
+
+        assertEquals(0, transportConfig.getBossThreads());
+        assertEquals(0, transportConfig.getWorkerThreads());
+        assertFalse(transportConfig.isUseLinuxNativeEpoll());
+        assertTrue(transportConfig.isTcpNoDelay());
+        assertFalse(transportConfig.isTcpKeepAlive());
+        assertEquals(1024, transportConfig.getAcceptBacklog());
+        assertEquals(-1, transportConfig.getReceiveBufferSize());
+        assertEquals(-1, transportConfig.getSendBufferSize());
+        assertEquals(65536, transportConfig.getMaxFramePayloadLength());
+        assertEquals(65536, transportConfig.getMaxHttpContentLength());
+        assertEquals(25000, transportConfig.getPingInterval());
+        assertEquals(60000, transportConfig.getPingTimeout());
+        assertEquals(List.of("websocket", "polling"), transportConfig.getTransports());
+    }
+
+    @Test
+    public void testPartialJsonKeepsDefaults() {
+        final var json = "{\"workerThreads\": 8, \"tcpNoDelay\": false, \"receiveBufferSize\": 262144, \"transports\": [\"websocket\"]}";
+        final var transportConfig = new Gson().fromJson(json, TransportConfig.class);
+
+        assertEquals(8, transportConfig.getWorkerThreads());
+        assertFalse(transportConfig.isTcpNoDelay());
+        assertEquals(262144, transportConfig.getReceiveBufferSize());
+        assertEquals(List.of("websocket"), transportConfig.getTransports());
+        assertEquals(1024, transportConfig.getAcceptBacklog());
+        assertEquals(-1, transportConfig.getSendBufferSize());
+        assertEquals(25000, transportConfig.getPingInterval());
+    }
+}
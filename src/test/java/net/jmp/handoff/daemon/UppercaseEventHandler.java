@@ -0,0 +1,84 @@
+package net.jmp.handoff.daemon;
+
+/*
+ * (#)UppercaseEventHandler.java   0.8.0   10/18/2026
+ *
+ * @author    Jonathan Parker
+ * @version   0.8.0
+ * @since     0.8.0
+ *
+ * MIT License
+ *
+ * Copyright (c) 2024 Jonathan M. Parker
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import java.util.Locale;
+
+/**
+ * An event handler service used by the tests.
+ * It returns the content of the request in
+ * upper case and fails when there is none.
+ */
+public class UppercaseEventHandler implements EventHandler {
+    /** The name of the event. */
+    static final String EVENT = "uppercase";
+
+    /**
+     * The default constructor.
+     */
+    public UppercaseEventHandler() {
+        super();
+    }
+
+    /**
+     * Get the name of the event.
+     *
+     * @return  java.lang.String
+     */
+    @Override
+    public String getEvent() {
+        return EVENT;
+    }
+
+    /**
+     * Get the most requests handled at once.
+     *
+     * @return  int
+     */
+    @Override
+    public int getMaxConcurrency() {
+        return 4;
+    }
+
+    /**
+     * Handle a request.
+     *
+     * @param   context     net.jmp.handoff.daemon.HandlerContext
+     * @return              java.lang.String
+     */
+    @Override
+    public String handle(final HandlerContext context) {
+        if (context.getContent() == null)
+            throw new IllegalArgumentException("There is nothing to upper-case");
+
+        return context.getContent().toUpperCase(Locale.ROOT);
+    }
+}